@@ -35,6 +35,7 @@ dependencies {
 	api("org.springframework.boot:spring-boot-starter-thymeleaf")
 	api("org.springframework.boot:spring-boot-starter-validation")
 	api("org.thymeleaf.extras:thymeleaf-extras-springsecurity6")
+	api(project(":core-crypto"))
 	
 	// Optional email support - consuming apps must add this if they want email functionality
 	compileOnly("org.springframework.boot:spring-boot-starter-mail")
@@ -61,6 +62,28 @@ tasks.withType<Test> {
 	useJUnitPlatform()
 }
 
+tasks.test {
+	useJUnitPlatform {
+		excludeTags("load")
+	}
+}
+
+// Load tests (JUnit tag "load") take minutes and depend on the machine, so they only run on request
+val loadTest by tasks.registering(Test::class) {
+	description = "Runs the load tests tagged \"load\"."
+	group = "verification"
+	testClassesDirs = sourceSets.test.get().output.classesDirs
+	classpath = sourceSets.test.get().runtimeClasspath
+	useJUnitPlatform {
+		includeTags("load")
+	}
+	maxHeapSize = "1g"
+	testLogging {
+		showStandardStreams = true
+	}
+	shouldRunAfter(tasks.test)
+}
+
 tasks.withType<JavaCompile> {
 	options.compilerArgs.add("-parameters")
 }
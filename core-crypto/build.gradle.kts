@@ -0,0 +1,82 @@
+plugins {
+	java
+	`java-library`
+	id("io.spring.dependency-management") version "1.1.7"
+	`maven-publish`
+}
+
+group = "com.control"
+version = "1.0.31"
+description = "Password encoding shared by the servlet and reactive Core Auth Starters"
+
+java {
+	toolchain {
+		languageVersion = JavaLanguageVersion.of(17)
+	}
+	withSourcesJar()
+	withJavadocJar()
+}
+
+repositories {
+	mavenCentral()
+}
+
+dependencyManagement {
+	imports {
+		mavenBom("org.springframework.boot:spring-boot-dependencies:3.5.6")
+	}
+}
+
+dependencies {
+	// Spring Security's crypto module only, so both the servlet and the reactive starter can use it
+	api("org.springframework.security:spring-security-crypto")
+}
+
+tasks.withType<JavaCompile> {
+	options.compilerArgs.add("-parameters")
+}
+
+publishing {
+	publications {
+		create<MavenPublication>("maven") {
+			from(components["java"])
+
+			groupId = project.group.toString()
+			artifactId = "core-auth-crypto"
+			version = project.version.toString()
+
+			versionMapping {
+				usage("java-api") {
+					fromResolutionOf("runtimeClasspath")
+				}
+				usage("java-runtime") {
+					fromResolutionResult()
+				}
+			}
+
+			pom {
+				name.set("Core Auth Crypto")
+				description.set("The password encoder configuration shared by the Core Auth Starter and its reactive counterpart, so both write and accept the same hashes.")
+				url.set("https://github.com/papapitufo/core")
+
+				licenses {
+					license {
+						name.set("MIT License")
+						url.set("https://opensource.org/licenses/MIT")
+					}
+				}
+			}
+		}
+	}
+
+	repositories {
+		maven {
+			name = "GitHubPackages"
+			url = uri("https://maven.pkg.github.com/papapitufo/core")
+			credentials {
+				username = project.findProperty("gpr.user") as String? ?: System.getenv("USERNAME")
+				password = project.findProperty("gpr.key") as String? ?: System.getenv("TOKEN")
+			}
+		}
+	}
+}
@@ -0,0 +1,41 @@
+package com.control.core.crypto;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The password encoder both starters use, so a hash written by one is accepted by the other.
+ *
+ * New hashes are written as {@code {bcrypt}...}. Accepted are {@code {bcrypt}} and
+ * {@code {pbkdf2@SpringSecurity_v5_8}} hashes, and hashes without a prefix (from earlier
+ * versions) as BCrypt. Any hash other than a {@code {bcrypt}} one at the given strength
+ * reports {@code upgradeEncoding}.
+ */
+public final class CorePasswordEncoders {
+
+    public static final String BCRYPT_ID = "bcrypt";
+    public static final String PBKDF2_ID = "pbkdf2@SpringSecurity_v5_8";
+
+    /**
+     * BCrypt cost used when none is configured (BCryptPasswordEncoder's own default)
+     */
+    public static final int DEFAULT_STRENGTH = 10;
+
+    private CorePasswordEncoders() {
+    }
+
+    public static DelegatingPasswordEncoder create(int bcryptStrength) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT_ID, bcrypt);
+        encoders.put(PBKDF2_ID, Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(BCRYPT_ID, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return delegating;
+    }
+}
@@ -0,0 +1,98 @@
+plugins {
+	java
+	`java-library`
+	id("io.spring.dependency-management") version "1.1.7"
+	`maven-publish`
+}
+
+group = "com.control"
+version = "1.0.31"
+description = "Reactive (WebFlux and R2DBC) authentication for the Core Auth Starter"
+
+java {
+	toolchain {
+		languageVersion = JavaLanguageVersion.of(17)
+	}
+	withSourcesJar()
+	withJavadocJar()
+}
+
+repositories {
+	mavenCentral()
+}
+
+dependencyManagement {
+	imports {
+		mavenBom("org.springframework.boot:spring-boot-dependencies:3.5.6")
+	}
+}
+
+dependencies {
+	// Reactive stack only: no servlet container, no JPA
+	api("org.springframework.boot:spring-boot-starter-webflux")
+	api("org.springframework.boot:spring-boot-starter-security")
+	api("org.springframework.boot:spring-boot-starter-data-r2dbc")
+	api(project(":core-crypto"))
+
+	// Optional dependencies - let consuming apps choose their R2DBC driver
+	compileOnly("org.postgresql:r2dbc-postgresql")
+	compileOnly("io.r2dbc:r2dbc-h2")
+
+	testImplementation("org.springframework.boot:spring-boot-starter-test")
+	testImplementation("io.projectreactor:reactor-test")
+	testImplementation("io.r2dbc:r2dbc-h2")
+	testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+tasks.withType<Test> {
+	useJUnitPlatform()
+}
+
+tasks.withType<JavaCompile> {
+	options.compilerArgs.add("-parameters")
+}
+
+publishing {
+	publications {
+		create<MavenPublication>("maven") {
+			from(components["java"])
+
+			groupId = project.group.toString()
+			artifactId = "core-auth-reactive-starter"
+			version = project.version.toString()
+
+			versionMapping {
+				usage("java-api") {
+					fromResolutionOf("runtimeClasspath")
+				}
+				usage("java-runtime") {
+					fromResolutionResult()
+				}
+			}
+
+			pom {
+				name.set("Core Auth Reactive Starter")
+				description.set("Reactive counterpart of the Core Auth Starter for WebFlux applications: user details over R2DBC, permission-based authorization managers and a Flux log stream, reading the same users, roles and permissions tables.")
+				url.set("https://github.com/papapitufo/core")
+
+				licenses {
+					license {
+						name.set("MIT License")
+						url.set("https://opensource.org/licenses/MIT")
+					}
+				}
+			}
+		}
+	}
+
+	repositories {
+		maven {
+			name = "GitHubPackages"
+			url = uri("https://maven.pkg.github.com/papapitufo/core")
+			credentials {
+				username = project.findProperty("gpr.user") as String? ?: System.getenv("USERNAME")
+				password = project.findProperty("gpr.key") as String? ?: System.getenv("TOKEN")
+			}
+		}
+	}
+}
@@ -0,0 +1,55 @@
+package com.control.core.reactive.autoconfigure;
+
+import com.control.core.crypto.CorePasswordEncoders;
+import com.control.core.reactive.service.ReactiveAuthorizationService;
+import com.control.core.reactive.service.ReactiveCustomUserDetailsService;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.data.r2dbc.R2dbcDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.reactive.ReactiveUserDetailsServiceAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Auto-configuration for the reactive variant of the Core Auth Starter
+ *
+ * For WebFlux applications with an R2DBC connection to the database the servlet starter manages
+ * (same users, roles and permissions tables). Provides the user details service Spring Security's
+ * reactive authentication manager uses, a password encoder that matches the starter's hashes and
+ * the permission-based authorization managers. The application keeps its own {@code SecurityWebFilterChain}.
+ */
+@AutoConfiguration(after = R2dbcDataAutoConfiguration.class, before = ReactiveUserDetailsServiceAutoConfiguration.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnClass({ DatabaseClient.class, ReactiveUserDetailsService.class })
+@ConditionalOnBean(DatabaseClient.class)
+public class CoreAuthReactiveAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(ReactiveUserDetailsService.class)
+    public ReactiveCustomUserDetailsService reactiveUserDetailsService(DatabaseClient databaseClient) {
+        return new ReactiveCustomUserDetailsService(databaseClient);
+    }
+
+    /**
+     * The servlet starter's encoder: writes {@code {bcrypt}} hashes and matches its {@code {pbkdf2@SpringSecurity_v5_8}}
+     * and unprefixed legacy hashes too.
+     * Spring Security's reactive authentication manager runs matching on the bounded elastic scheduler, off the event loop.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public PasswordEncoder passwordEncoder() {
+        return CorePasswordEncoders.create(CorePasswordEncoders.DEFAULT_STRENGTH);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(ReactiveCustomUserDetailsService.class)
+    public ReactiveAuthorizationService reactiveAuthorizationService(ReactiveCustomUserDetailsService userDetailsService) {
+        return new ReactiveAuthorizationService(userDetailsService);
+    }
+}
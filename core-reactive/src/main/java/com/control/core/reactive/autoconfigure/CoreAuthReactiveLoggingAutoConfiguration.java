@@ -0,0 +1,47 @@
+package com.control.core.reactive.autoconfigure;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.filter.ThresholdFilter;
+import com.control.core.reactive.logging.FluxLogAppender;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Attaches the {@link FluxLogAppender} to the root logger of a WebFlux application, so recent logs
+ * can be listed and streamed. Disable with {@code core.auth.log-streaming-enabled=false}.
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnClass(LoggerContext.class)
+@ConditionalOnProperty(name = "core.auth.log-streaming-enabled", havingValue = "true", matchIfMissing = true)
+public class CoreAuthReactiveLoggingAutoConfiguration {
+
+    @Bean(destroyMethod = "stop")
+    @ConditionalOnMissingBean
+    public FluxLogAppender fluxLogAppender() {
+        FluxLogAppender appender = new FluxLogAppender();
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return appender;
+        }
+
+        appender.setContext(context);
+        appender.setName("FLUX");
+
+        // Capture INFO and above
+        ThresholdFilter filter = new ThresholdFilter();
+        filter.setLevel("INFO");
+        filter.setContext(context);
+        filter.start();
+        appender.addFilter(filter);
+        appender.start();
+
+        // Attach to root logger for broad coverage
+        context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME).addAppender(appender);
+        return appender;
+    }
+}
@@ -0,0 +1,206 @@
+package com.control.core.reactive.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Reactive counterpart of the starter's {@code InMemoryLogAppender}: keeps the last log events in
+ * memory and publishes new ones as a {@link Flux}, which a WebFlux controller can return as a
+ * server-sent event stream:
+ *
+ * <pre>
+ * &#64;GetMapping(path = "/admin/logs/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+ * public Flux&lt;ServerSentEvent&lt;String&gt;&gt; logs() { return appender.serverSentEvents(); }
+ * </pre>
+ *
+ * Logging never waits for subscribers: events go to a best-effort multicast sink, each subscriber
+ * holds at most {@value #MAX_PENDING_EVENTS} undelivered events (the oldest are dropped for a client
+ * that falls behind) and is drained on Reactor's parallel scheduler rather than on the logging thread.
+ */
+public class FluxLogAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+
+    static final int MAX_PENDING_EVENTS = 256;
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+
+    private final Deque<LogEvent> buffer = new ArrayDeque<>();
+    private final ReentrantLock bufferLock = new ReentrantLock();
+    private final int maxSize = 1000; // Keep last 1000 log entries
+    private final Sinks.Many<LogEvent> sink = Sinks.many().multicast().directBestEffort();
+    private final AtomicInteger activeStreams = new AtomicInteger();
+
+    @Override
+    protected void append(ILoggingEvent eventObject) {
+        // Keep logs at DEBUG level and above to capture Spring framework logs
+        if (eventObject.getLevel().levelInt < Level.DEBUG_INT) {
+            return;
+        }
+
+        LogEvent logEvent = new LogEvent(eventObject);
+
+        // The sink must not be emitted to concurrently, so publishing shares the buffer lock
+        bufferLock.lock();
+        try {
+            if (buffer.size() >= maxSize) {
+                buffer.removeFirst();
+            }
+            buffer.addLast(logEvent);
+            sink.tryEmitNext(logEvent);
+        } finally {
+            bufferLock.unlock();
+        }
+    }
+
+    /**
+     * Live log events from now on; never completes while the appender runs
+     */
+    public Flux<LogEvent> stream() {
+        return sink.asFlux()
+            .onBackpressureBuffer(MAX_PENDING_EVENTS, BufferOverflowStrategy.DROP_OLDEST)
+            .publishOn(Schedulers.parallel())
+            .doOnSubscribe(subscription -> activeStreams.incrementAndGet())
+            .doFinally(signal -> activeStreams.decrementAndGet());
+    }
+
+    /**
+     * The live stream as server-sent events, in the format of the servlet admin console's log stream
+     */
+    public Flux<ServerSentEvent<String>> serverSentEvents() {
+        ServerSentEvent<String> connected = ServerSentEvent.builder(
+                "{\"message\":\"SSE connection established\",\"timestamp\":\"" + LocalDateTime.now().format(TIMESTAMP_FORMAT) + "\"}")
+            .event("connected")
+            .build();
+        return stream()
+            .map(event -> ServerSentEvent.builder(event.toJson()).event("log").build())
+            .startWith(connected);
+    }
+
+    public List<LogEvent> getRecent(int limit, String level) {
+        List<LogEvent> result = new ArrayList<>();
+        bufferLock.lock();
+        try {
+            Iterator<LogEvent> iterator = buffer.descendingIterator();
+
+            while (iterator.hasNext() && result.size() < limit) {
+                LogEvent event = iterator.next();
+                if (level == null || "ALL".equals(level) || event.getLevel().equals(level)) {
+                    result.add(event);
+                }
+            }
+        } finally {
+            bufferLock.unlock();
+        }
+
+        Collections.reverse(result);
+        return result;
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        Map<String, Integer> levelCounts = new HashMap<>();
+
+        // Initialize all level counts to 0
+        levelCounts.put("ERROR", 0);
+        levelCounts.put("WARN", 0);
+        levelCounts.put("INFO", 0);
+        levelCounts.put("DEBUG", 0);
+        levelCounts.put("TRACE", 0);
+
+        int totalEvents;
+        bufferLock.lock();
+        try {
+            for (LogEvent event : buffer) {
+                levelCounts.merge(event.getLevel(), 1, Integer::sum);
+            }
+            totalEvents = buffer.size();
+        } finally {
+            bufferLock.unlock();
+        }
+
+        stats.put("totalEvents", totalEvents);
+        stats.put("levelCounts", levelCounts);
+        stats.put("activeStreams", activeStreams.get());
+
+        return stats;
+    }
+
+    @Override
+    public void stop() {
+        super.stop();
+        sink.tryEmitComplete();
+    }
+
+    /**
+     * A log event with the same fields and JSON shape as the servlet appender's
+     */
+    public static class LogEvent {
+        private final String timestamp;
+        private final String level;
+        private final String logger;
+        private final String message;
+        private final String thread;
+        private final String levelColor;
+
+        public LogEvent(ILoggingEvent event) {
+            this.timestamp = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(event.getTimeStamp()),
+                ZoneId.systemDefault()
+            ).format(TIMESTAMP_FORMAT);
+
+            this.level = event.getLevel().toString();
+            this.logger = event.getLoggerName();
+            this.message = event.getFormattedMessage();
+            this.thread = event.getThreadName();
+            this.levelColor = getLevelColor(level);
+        }
+
+        private String getLevelColor(String level) {
+            switch (level) {
+                case "ERROR": return "#f44336"; // Red
+                case "WARN": return "#ff9800";  // Orange
+                case "INFO": return "#2196f3";  // Blue
+                case "DEBUG": return "#4caf50"; // Green
+                case "TRACE": return "#9e9e9e"; // Grey
+                default: return "#000000";      // Black
+            }
+        }
+
+        public String toJson() {
+            return String.format(
+                "{\"timestamp\":\"%s\",\"level\":\"%s\",\"logger\":\"%s\",\"message\":\"%s\",\"thread\":\"%s\",\"levelColor\":\"%s\"}",
+                timestamp, level, escapeJson(logger), escapeJson(message), thread, levelColor
+            );
+        }
+
+        private String escapeJson(String str) {
+            if (str == null) return "";
+            return str.replace("\\", "\\\\")
+                     .replace("\"", "\\\"")
+                     .replace("\n", "\\n")
+                     .replace("\r", "\\r")
+                     .replace("\t", "\\t");
+        }
+
+        // Getters
+        public String getTimestamp() { return timestamp; }
+        public String getLevel() { return level; }
+        public String getLogger() { return logger; }
+        public String getMessage() { return message; }
+        public String getThread() { return thread; }
+        public String getLevelColor() { return levelColor; }
+    }
+}
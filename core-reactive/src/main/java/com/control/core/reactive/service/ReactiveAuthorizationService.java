@@ -0,0 +1,180 @@
+package com.control.core.reactive.service;
+
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.ReactiveAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.web.server.authorization.AuthorizationContext;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Predicate;
+
+/**
+ * Reactive counterpart of the starter's {@code AuthorizationService}, with the same checks
+ * returning {@code Mono<Boolean>}, plus {@link ReactiveAuthorizationManager}s for use in a
+ * {@code SecurityWebFilterChain}:
+ *
+ * <pre>
+ * .pathMatchers("/admin/**").access(authorizationService.adminAccess())
+ * .pathMatchers("/api/users/{userId}").access(authorizationService.ownerOrAdmin("userId"))
+ * </pre>
+ */
+public class ReactiveAuthorizationService {
+
+    private final ReactiveCustomUserDetailsService userDetailsService;
+
+    public ReactiveAuthorizationService(ReactiveCustomUserDetailsService userDetailsService) {
+        this.userDetailsService = userDetailsService;
+    }
+
+    /**
+     * Check if the authenticated user has a specific permission
+     */
+    public Mono<Boolean> hasPermission(Mono<Authentication> authentication, String permissionName) {
+        return check(authentication, auth -> hasAuthority(auth, permissionName));
+    }
+
+    /**
+     * Check if the authenticated user has any of the specified permissions
+     */
+    public Mono<Boolean> hasAnyPermission(Mono<Authentication> authentication, String... permissions) {
+        return check(authentication, auth -> {
+            for (String permission : permissions) {
+                if (hasAuthority(auth, permission)) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Check if the authenticated user has all of the specified permissions
+     */
+    public Mono<Boolean> hasAllPermissions(Mono<Authentication> authentication, String... permissions) {
+        return check(authentication, auth -> {
+            for (String permission : permissions) {
+                if (!hasAuthority(auth, permission)) {
+                    return false;
+                }
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Check if the authenticated user has a specific role
+     */
+    public Mono<Boolean> hasRole(Mono<Authentication> authentication, String roleName) {
+        return check(authentication, auth -> hasAuthority(auth, "ROLE_" + roleName));
+    }
+
+    /**
+     * Check if the authenticated user is the owner of a resource or has admin role
+     */
+    public Mono<Boolean> isOwnerOrAdmin(Mono<Authentication> authentication, Long userId) {
+        return authentication
+            .filter(Authentication::isAuthenticated)
+            .flatMap(auth -> {
+                if (hasAuthority(auth, "ROLE_ADMIN")) {
+                    return Mono.just(true);
+                }
+                return userDetailsService.findUserId(auth.getName())
+                    .map(id -> id.equals(userId))
+                    .onErrorReturn(false);
+            })
+            .defaultIfEmpty(false);
+    }
+
+    /**
+     * Check if the authenticated user can access admin functions
+     */
+    public Mono<Boolean> canAccessAdmin(Mono<Authentication> authentication) {
+        return check(authentication, auth -> hasAuthority(auth, "ROLE_ADMIN") ||
+            hasAuthority(auth, "SYSTEM_ADMIN") ||
+            hasAuthority(auth, "DASHBOARD_VIEW"));
+    }
+
+    /**
+     * Check if the authenticated user can manage users
+     */
+    public Mono<Boolean> canManageUsers(Mono<Authentication> authentication) {
+        return hasAnyPermission(authentication,
+            "USER_CREATE", "USER_UPDATE", "USER_DELETE", "USER_VIEW");
+    }
+
+    /**
+     * Check if the authenticated user can view system monitoring
+     */
+    public Mono<Boolean> canViewSystemMonitoring(Mono<Authentication> authentication) {
+        return hasAnyPermission(authentication,
+            "ACTUATOR_HEALTH", "ACTUATOR_METRICS", "ACTUATOR_INFO",
+            "ACTUATOR_MAPPINGS", "ACTUATOR_BEANS", "ACTUATOR_ENV");
+    }
+
+    // Authorization managers for SecurityWebFilterChain.access(...)
+
+    public <T> ReactiveAuthorizationManager<T> permission(String permissionName) {
+        return (authentication, object) -> decide(hasPermission(authentication, permissionName));
+    }
+
+    public <T> ReactiveAuthorizationManager<T> anyPermission(String... permissions) {
+        return (authentication, object) -> decide(hasAnyPermission(authentication, permissions));
+    }
+
+    public <T> ReactiveAuthorizationManager<T> allPermissions(String... permissions) {
+        return (authentication, object) -> decide(hasAllPermissions(authentication, permissions));
+    }
+
+    public <T> ReactiveAuthorizationManager<T> role(String roleName) {
+        return (authentication, object) -> decide(hasRole(authentication, roleName));
+    }
+
+    public <T> ReactiveAuthorizationManager<T> adminAccess() {
+        return (authentication, object) -> decide(canAccessAdmin(authentication));
+    }
+
+    public <T> ReactiveAuthorizationManager<T> userManagement() {
+        return (authentication, object) -> decide(canManageUsers(authentication));
+    }
+
+    public <T> ReactiveAuthorizationManager<T> systemMonitoring() {
+        return (authentication, object) -> decide(canViewSystemMonitoring(authentication));
+    }
+
+    /**
+     * Owner or admin check for a path such as {@code /api/users/{userId}}, reading the user id from the named path variable
+     */
+    public ReactiveAuthorizationManager<AuthorizationContext> ownerOrAdmin(String userIdVariable) {
+        return (authentication, context) -> {
+            Object value = context.getVariables().get(userIdVariable);
+            Long userId;
+            try {
+                userId = value == null ? null : Long.valueOf(value.toString());
+            } catch (NumberFormatException e) {
+                userId = null;
+            }
+            if (userId == null) {
+                return decide(hasRole(authentication, "ADMIN"));
+            }
+            return decide(isOwnerOrAdmin(authentication, userId));
+        };
+    }
+
+    private static Mono<Boolean> check(Mono<Authentication> authentication, Predicate<Authentication> predicate) {
+        return authentication
+            .filter(Authentication::isAuthenticated)
+            .map(predicate::test)
+            .defaultIfEmpty(false);
+    }
+
+    private static Mono<AuthorizationDecision> decide(Mono<Boolean> granted) {
+        return granted.map(AuthorizationDecision::new);
+    }
+
+    private static boolean hasAuthority(Authentication authentication, String authority) {
+        return authentication.getAuthorities().stream()
+            .map(GrantedAuthority::getAuthority)
+            .anyMatch(authority::equals);
+    }
+}
@@ -0,0 +1,120 @@
+package com.control.core.reactive.service;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsPasswordService;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Reactive counterpart of the starter's {@code CustomUserDetailsService}, reading the same
+ * {@code users}, {@code roles} and {@code permissions} tables over R2DBC.
+ *
+ * Users are found by username first, then by email. Authorities are built the same way as the
+ * JPA {@code User} entity does: {@code ROLE_} plus the user's role column, {@code ROLE_} plus each
+ * assigned role, the permissions of those roles and the user's direct permissions.
+ */
+public class ReactiveCustomUserDetailsService implements ReactiveUserDetailsService, ReactiveUserDetailsPasswordService {
+
+    private static final String SELECT_USER = "SELECT id, username, password, enabled FROM users WHERE ";
+
+    // One round trip for every authority; kind R is a role name (prefixed with ROLE_), P a permission name
+    private static final String SELECT_AUTHORITIES =
+        "SELECT 'R' AS kind, u.role AS name FROM users u WHERE u.id = :id " +
+        "UNION SELECT 'R', r.name FROM user_roles ur JOIN roles r ON r.id = ur.role_id WHERE ur.user_id = :id " +
+        "UNION SELECT 'P', p.name FROM user_roles ur JOIN role_permissions rp ON rp.role_id = ur.role_id " +
+        "JOIN permissions p ON p.id = rp.permission_id WHERE ur.user_id = :id " +
+        "UNION SELECT 'P', p.name FROM user_permissions up JOIN permissions p ON p.id = up.permission_id WHERE up.user_id = :id";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveCustomUserDetailsService(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public Mono<UserDetails> findByUsername(String usernameOrEmail) {
+        // Try to find user by username first, then by email
+        return findUser("username", usernameOrEmail)
+            .switchIfEmpty(Mono.defer(() -> findUser("email", usernameOrEmail)))
+            .switchIfEmpty(Mono.error(() -> new UsernameNotFoundException("User not found with username or email: " + usernameOrEmail)))
+            .flatMap(user -> updateLastLogin(user.id).then(loadAuthorities(user.id))
+                .map(authorities -> User.withUsername(user.username)
+                    .password(user.password)
+                    .disabled(!user.enabled)
+                    .authorities(authorities)
+                    .build()));
+    }
+
+    /**
+     * Called after a successful login when the stored hash uses an outdated cost or algorithm
+     */
+    @Override
+    public Mono<UserDetails> updatePassword(UserDetails user, String newPassword) {
+        return databaseClient.sql("UPDATE users SET password = :password WHERE username = :username")
+            .bind("password", newPassword)
+            .bind("username", user.getUsername())
+            .fetch()
+            .rowsUpdated()
+            .map(updated -> updated == 0 ? user : User.withUserDetails(user).password(newPassword).build());
+    }
+
+    /**
+     * Id of the user with the given username, empty if there is none
+     */
+    public Mono<Long> findUserId(String username) {
+        return findUser("username", username).map(user -> user.id);
+    }
+
+    private Mono<StoredUser> findUser(String column, String value) {
+        return databaseClient.sql(SELECT_USER + column + " = :value")
+            .bind("value", value)
+            .map((row, metadata) -> new StoredUser(
+                row.get("id", Long.class),
+                row.get("username", String.class),
+                row.get("password", String.class),
+                Boolean.TRUE.equals(row.get("enabled", Boolean.class))))
+            .first();
+    }
+
+    private Mono<Long> updateLastLogin(Long userId) {
+        return databaseClient.sql("UPDATE users SET last_login = :now WHERE id = :id")
+            .bind("now", LocalDateTime.now())
+            .bind("id", userId)
+            .fetch()
+            .rowsUpdated();
+    }
+
+    private Mono<List<GrantedAuthority>> loadAuthorities(Long userId) {
+        return databaseClient.sql(SELECT_AUTHORITIES)
+            .bind("id", userId)
+            .map((row, metadata) -> {
+                String name = row.get("name", String.class);
+                return (GrantedAuthority) new SimpleGrantedAuthority("R".equals(row.get("kind", String.class)) ? "ROLE_" + name : name);
+            })
+            .all()
+            .distinct()
+            .collectList();
+    }
+
+    private static final class StoredUser {
+        private final Long id;
+        private final String username;
+        private final String password;
+        private final boolean enabled;
+
+        private StoredUser(Long id, String username, String password, boolean enabled) {
+            this.id = id;
+            this.username = username;
+            this.password = password;
+            this.enabled = enabled;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.control.core.reactive.autoconfigure;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The reactive starter accepts every hash format the servlet starter has written
+ */
+class CoreAuthReactiveAutoConfigurationTest {
+
+    private final PasswordEncoder encoder = new CoreAuthReactiveAutoConfiguration().passwordEncoder();
+
+    @Test
+    void matchesTheServletStartersHashes() {
+        String bcrypt = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("password");
+        String unprefixed = new BCryptPasswordEncoder(4).encode("password");
+        String pbkdf2 = "{pbkdf2@SpringSecurity_v5_8}" + Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8().encode("password");
+
+        assertThat(encoder.matches("password", bcrypt)).isTrue();
+        assertThat(encoder.matches("password", unprefixed)).isTrue();
+        assertThat(encoder.matches("password", pbkdf2)).isTrue();
+        assertThat(encoder.matches("wrong", pbkdf2)).isFalse();
+        assertThat(encoder.encode("password")).startsWith("{bcrypt}");
+    }
+}
@@ -0,0 +1,108 @@
+package com.control.core.reactive.service;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * User lookup and authorization checks against the starter's tables in an in-memory H2 database over R2DBC
+ */
+class ReactiveCustomUserDetailsServiceTest {
+
+    private DatabaseClient databaseClient;
+    private ReactiveCustomUserDetailsService userDetailsService;
+    private ReactiveAuthorizationService authorizationService;
+
+    @BeforeEach
+    void createDatabase() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get("r2dbc:h2:mem:///" + UUID.randomUUID() + "?options=DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).populate(connectionFactory).block();
+        databaseClient = DatabaseClient.create(connectionFactory);
+        userDetailsService = new ReactiveCustomUserDetailsService(databaseClient);
+        authorizationService = new ReactiveAuthorizationService(userDetailsService);
+    }
+
+    @Test
+    void loadsAuthoritiesFromRoleColumnRolesAndPermissions() {
+        StepVerifier.create(userDetailsService.findByUsername("editor").map(ReactiveCustomUserDetailsServiceTest::authorities))
+            .assertNext(authorities -> assertThat(authorities)
+                .containsExactlyInAnyOrder("ROLE_USER", "ROLE_MANAGER", "USER_VIEW", "USER_UPDATE", "DASHBOARD_VIEW"))
+            .verifyComplete();
+    }
+
+    @Test
+    void findsUsersByEmailAndRecordsTheLogin() {
+        StepVerifier.create(userDetailsService.findByUsername("admin@example.com"))
+            .assertNext(user -> {
+                assertThat(user.getUsername()).isEqualTo("admin");
+                assertThat(authorities(user)).containsExactly("ROLE_ADMIN");
+            })
+            .verifyComplete();
+
+        LocalDateTime lastLogin = databaseClient.sql("SELECT last_login FROM users WHERE id = 1")
+            .map(row -> row.get("last_login", LocalDateTime.class)).one().block();
+        assertThat(lastLogin).isNotNull();
+    }
+
+    @Test
+    void reportsUnknownAndDisabledUsers() {
+        StepVerifier.create(userDetailsService.findByUsername("nobody"))
+            .expectError(UsernameNotFoundException.class)
+            .verify();
+        StepVerifier.create(userDetailsService.findByUsername("gone"))
+            .assertNext(user -> assertThat(user.isEnabled()).isFalse())
+            .verifyComplete();
+    }
+
+    @Test
+    void storesUpgradedPasswordHashes() {
+        UserDetails editor = userDetailsService.findByUsername("editor").block();
+
+        StepVerifier.create(userDetailsService.updatePassword(editor, "{bcrypt}upgraded"))
+            .assertNext(user -> assertThat(user.getPassword()).isEqualTo("{bcrypt}upgraded"))
+            .verifyComplete();
+        assertThat(userDetailsService.findByUsername("editor").block().getPassword()).isEqualTo("{bcrypt}upgraded");
+    }
+
+    @Test
+    void checksPermissionsLikeTheServletAuthorizationService() {
+        Mono<Authentication> editor = userDetailsService.findByUsername("editor").map(ReactiveCustomUserDetailsServiceTest::authenticated);
+        Mono<Authentication> admin = userDetailsService.findByUsername("admin").map(ReactiveCustomUserDetailsServiceTest::authenticated);
+
+        StepVerifier.create(authorizationService.canManageUsers(editor)).expectNext(true).verifyComplete();
+        StepVerifier.create(authorizationService.canAccessAdmin(editor)).expectNext(true).verifyComplete();
+        StepVerifier.create(authorizationService.canViewSystemMonitoring(editor)).expectNext(false).verifyComplete();
+        StepVerifier.create(authorizationService.hasAllPermissions(editor, "USER_VIEW", "USER_DELETE")).expectNext(false).verifyComplete();
+        StepVerifier.create(authorizationService.isOwnerOrAdmin(editor, 2L)).expectNext(true).verifyComplete();
+        StepVerifier.create(authorizationService.isOwnerOrAdmin(editor, 1L)).expectNext(false).verifyComplete();
+        StepVerifier.create(authorizationService.isOwnerOrAdmin(admin, 2L)).expectNext(true).verifyComplete();
+        StepVerifier.create(authorizationService.hasPermission(Mono.empty(), "USER_VIEW")).expectNext(false).verifyComplete();
+        StepVerifier.create(authorizationService.permission("USER_DELETE").authorize(editor, null))
+            .assertNext(decision -> assertThat(decision.isGranted()).isFalse())
+            .verifyComplete();
+    }
+
+    private static Authentication authenticated(UserDetails user) {
+        return UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities());
+    }
+
+    private static java.util.List<String> authorities(UserDetails user) {
+        return user.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
+    }
+}
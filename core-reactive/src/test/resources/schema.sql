@@ -0,0 +1,46 @@
+-- Subset of the starter's schema.sql read by the reactive module
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username VARCHAR(50) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    role VARCHAR(20) NOT NULL DEFAULT 'USER',
+    enabled BOOLEAN NOT NULL DEFAULT TRUE,
+    last_login TIMESTAMP
+);
+CREATE TABLE IF NOT EXISTS permissions (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(100) NOT NULL UNIQUE
+);
+CREATE TABLE IF NOT EXISTS roles (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(50) NOT NULL UNIQUE
+);
+CREATE TABLE IF NOT EXISTS role_permissions (
+    role_id BIGINT NOT NULL,
+    permission_id BIGINT NOT NULL,
+    PRIMARY KEY (role_id, permission_id)
+);
+CREATE TABLE IF NOT EXISTS user_roles (
+    user_id BIGINT NOT NULL,
+    role_id BIGINT NOT NULL,
+    PRIMARY KEY (user_id, role_id)
+);
+CREATE TABLE IF NOT EXISTS user_permissions (
+    user_id BIGINT NOT NULL,
+    permission_id BIGINT NOT NULL,
+    PRIMARY KEY (user_id, permission_id)
+);
+
+INSERT INTO users (id, username, password, email, role) VALUES (1, 'admin', '{bcrypt}hash', 'admin@example.com', 'ADMIN');
+INSERT INTO users (id, username, password, email, role) VALUES (2, 'editor', 'hash', 'editor@example.com', 'USER');
+INSERT INTO users (id, username, password, email, role, enabled) VALUES (3, 'gone', 'hash', 'gone@example.com', 'USER', FALSE);
+INSERT INTO roles (id, name) VALUES (1, 'MANAGER');
+INSERT INTO permissions (id, name) VALUES (1, 'USER_VIEW');
+INSERT INTO permissions (id, name) VALUES (2, 'USER_UPDATE');
+INSERT INTO permissions (id, name) VALUES (3, 'DASHBOARD_VIEW');
+INSERT INTO role_permissions (role_id, permission_id) VALUES (1, 1);
+INSERT INTO role_permissions (role_id, permission_id) VALUES (1, 2);
+INSERT INTO user_roles (user_id, role_id) VALUES (2, 1);
+INSERT INTO user_permissions (user_id, permission_id) VALUES (2, 1);
+INSERT INTO user_permissions (user_id, permission_id) VALUES (2, 3);
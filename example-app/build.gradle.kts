@@ -1,6 +1,7 @@
 plugins {
     id("org.springframework.boot") version "3.5.6"
     id("io.spring.dependency-management") version "1.1.7"
+    id("org.graalvm.buildtools.native") version "0.10.6"
     id("java")
 }
 
@@ -29,6 +30,7 @@ dependencies {
     implementation("org.thymeleaf.extras:thymeleaf-extras-springsecurity6")
     implementation("com.h2database:h2")
     testImplementation("org.springframework.boot:spring-boot-starter-test")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
 
 tasks.withType<Test> {
@@ -39,3 +41,54 @@ tasks.withType<Test> {
 springBoot {
     mainClass.set("com.example.demo.DemoApplication")
 }
+
+// Native image: `gradle :example-app:nativeCompile` builds it, `gradle :example-app:nativeTest` runs the
+// tests (booting the app, logging in and rendering the admin pages) as a native executable. Both need
+// a GraalVM JDK (GRAALVM_HOME or the toolchain); the regular build only runs the AOT processing.
+graalvmNative {
+    binaries {
+        named("main") {
+            imageName.set("example-app")
+        }
+    }
+}
+
+// CDS (class data sharing): `cdsTrain` extracts the boot jar into build/cds and runs it once with
+// -XX:ArchiveClassesAtExit while CdsTrainingDriver logs in, renders the admin pages and reads the SSE
+// streams, leaving build/cds/application.jsa. `cdsBenchmark` compares time to first login with and
+// without the archive (-PcdsRuns=N, default 5). Launch flags are in CDS_GUIDE.md.
+val cds by sourceSets.creating
+
+val cdsDir = layout.buildDirectory.dir("cds")
+val cdsJar = cdsDir.map { it.file("${project.name}-${project.version}.jar") }
+val cdsArchive = cdsDir.map { it.file("application.jsa") }
+
+val cdsExtract by tasks.registering(JavaExec::class) {
+    group = "cds"
+    description = "Extracts the boot jar into build/cds, the layout the archive is created for."
+    val bootJar = tasks.named<org.springframework.boot.gradle.tasks.bundling.BootJar>("bootJar")
+    inputs.files(bootJar)
+    outputs.dir(cdsDir)
+    classpath = files(bootJar.flatMap { it.archiveFile })
+    jvmArgs("-Djarmode=tools")
+    args("extract", "--force", "--destination", cdsDir.get().asFile.absolutePath)
+}
+
+val cdsTrain by tasks.registering(JavaExec::class) {
+    group = "cds"
+    description = "Runs the training workload against the extracted jar and writes build/cds/application.jsa."
+    dependsOn(cdsExtract)
+    classpath = cds.runtimeClasspath
+    mainClass.set("com.example.demo.cds.CdsTrainingDriver")
+    args("train", cdsJar.get().asFile, cdsArchive.get().asFile, cdsDir.get().file("train.log").asFile)
+}
+
+val cdsBenchmark by tasks.registering(JavaExec::class) {
+    group = "cds"
+    description = "Measures time to first login with and without the CDS archive."
+    dependsOn(cdsTrain)
+    classpath = cds.runtimeClasspath
+    mainClass.set("com.example.demo.cds.CdsTrainingDriver")
+    args("benchmark", cdsJar.get().asFile, cdsArchive.get().asFile, cdsDir.get().file("benchmark.log").asFile,
+        providers.gradleProperty("cdsRuns").getOrElse("5"))
+}
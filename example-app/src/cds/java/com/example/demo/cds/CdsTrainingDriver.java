@@ -0,0 +1,247 @@
+package com.example.demo.cds;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Drives the example app from the outside for the CDS tasks in {@code example-app/build.gradle.kts}.
+ *
+ * {@code train} starts the extracted jar with {@code -XX:ArchiveClassesAtExit}, logs in, renders the
+ * admin pages, reads one event from each SSE stream and stops the app, which writes the archive with
+ * every class that run loaded. {@code benchmark} starts the app repeatedly with and without
+ * {@code -XX:SharedArchiveFile} and reports the time from process launch to the first successful login.
+ *
+ * Usage: {@code train <jar> <archive> <log>} or {@code benchmark <jar> <archive> <log> <runs>}
+ */
+public final class CdsTrainingDriver {
+
+    private static final Pattern CSRF = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"");
+
+    private static final String[] ADMIN_PAGES = {
+        "/admin/users",
+        "/admin/roles",
+        "/admin/permissions",
+        "/admin/actuator",
+        "/admin/actuator/health-detail",
+        "/admin/actuator/info-detail",
+        "/admin/actuator/metrics-detail",
+        "/admin/actuator/environment-detail",
+        "/admin/actuator/mappings-detail",
+        "/admin/actuator/configprops-detail",
+        "/admin/actuator/beans-detail",
+        "/admin/actuator/threaddump-detail",
+        "/admin/actuator/logs-detail",
+        "/admin/actuator/startup-detail"
+    };
+
+    private static final String[] SSE_STREAMS = {
+        "/admin/actuator/logs/stream",
+        "/admin/actuator/metrics/stream"
+    };
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final Duration SSE_TIMEOUT = Duration.ofSeconds(10);
+
+    private final Path jar;
+    private final Path archive;
+    private final Path log;
+
+    private CdsTrainingDriver(Path jar, Path archive, Path log) {
+        this.jar = jar;
+        this.archive = archive;
+        this.log = log;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 4) {
+            throw new IllegalArgumentException("Usage: train <jar> <archive> <log> | benchmark <jar> <archive> <log> <runs>");
+        }
+        CdsTrainingDriver driver = new CdsTrainingDriver(Path.of(args[1]), Path.of(args[2]), Path.of(args[3]));
+        switch (args[0]) {
+            case "train" -> driver.train();
+            case "benchmark" -> driver.benchmark(args.length > 4 ? Integer.parseInt(args[4]) : 5);
+            default -> throw new IllegalArgumentException("Unknown mode: " + args[0]);
+        }
+    }
+
+    private void train() throws Exception {
+        Files.deleteIfExists(archive);
+        int port = freePort();
+        Process app = start(port, "-XX:ArchiveClassesAtExit=" + archive);
+        try {
+            HttpClient client = newClient();
+            login(client, port);
+            for (String page : ADMIN_PAGES) {
+                HttpResponse<String> response = get(client, port, page);
+                if (response.statusCode() != 200) {
+                    throw new IllegalStateException(page + " returned " + response.statusCode());
+                }
+            }
+            for (String stream : SSE_STREAMS) {
+                readFirstEvent(client, port, stream);
+            }
+        } finally {
+            stop(app);
+        }
+        if (!Files.exists(archive)) {
+            throw new IllegalStateException("The training run did not write " + archive + ", see " + log);
+        }
+        System.out.printf("CDS archive written: %s (%d KB)%n", archive, Files.size(archive) / 1024);
+    }
+
+    private void benchmark(int runs) throws Exception {
+        if (!Files.exists(archive)) {
+            throw new IllegalStateException("No archive at " + archive + ", run cdsTrain first");
+        }
+        List<Long> withoutArchive = new ArrayList<>();
+        List<Long> withArchive = new ArrayList<>();
+        // Alternate the two variants so disk cache and CPU frequency affect both alike
+        for (int run = 0; run < runs; run++) {
+            withoutArchive.add(timeToFirstLogin());
+            withArchive.add(timeToFirstLogin("-XX:SharedArchiveFile=" + archive));
+        }
+
+        long baseline = median(withoutArchive);
+        long shared = median(withArchive);
+        System.out.println("Time to first login (process launch -> authenticated redirect), " + runs + " runs each:");
+        System.out.printf("  without archive: median %5d ms  (runs: %s)%n", baseline, withoutArchive);
+        System.out.printf("  with archive:    median %5d ms  (runs: %s)%n", shared, withArchive);
+        System.out.printf("  difference:      %5d ms (%.1f%%)%n", baseline - shared, 100.0 * (baseline - shared) / baseline);
+    }
+
+    private long timeToFirstLogin(String... jvmArgs) throws Exception {
+        int port = freePort();
+        long started = System.nanoTime();
+        Process app = start(port, jvmArgs);
+        try {
+            login(newClient(), port);
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        } finally {
+            stop(app);
+        }
+    }
+
+    private Process start(int port, String... jvmArgs) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        Collections.addAll(command, jvmArgs);
+        command.add("-jar");
+        command.add(jar.toString());
+        command.add("--server.port=" + port);
+        return new ProcessBuilder(command)
+            .directory(jar.getParent().toFile())
+            .redirectErrorStream(true)
+            .redirectOutput(ProcessBuilder.Redirect.appendTo(log.toFile()))
+            .start();
+    }
+
+    /**
+     * SIGTERM: the JVM runs its shutdown sequence, which is also when a dynamic archive is dumped
+     */
+    private static void stop(Process app) throws InterruptedException {
+        app.destroy();
+        if (!app.waitFor(1, TimeUnit.MINUTES)) {
+            app.destroyForcibly();
+        }
+    }
+
+    /**
+     * Polls until the login page is served, then retries the form login until it succeeds: with
+     * background initialization the admin user may not be seeded yet when the server first answers.
+     */
+    private static void login(HttpClient client, int port) throws Exception {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            Optional<String> csrf = loginPageToken(client, port);
+            if (csrf.isPresent()) {
+                String form = "username=admin&password=admin123&_csrf=" + URLEncoder.encode(csrf.get(), StandardCharsets.UTF_8);
+                HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri(port, "/login"))
+                        .header("Content-Type", "application/x-www-form-urlencoded")
+                        .POST(HttpRequest.BodyPublishers.ofString(form))
+                        .build(), HttpResponse.BodyHandlers.ofString());
+                String location = response.headers().firstValue("Location").orElse("");
+                if (response.statusCode() == 302 && !location.contains("error")) {
+                    return;
+                }
+            }
+            Thread.sleep(20);
+        }
+        throw new TimeoutException("No successful login within " + STARTUP_TIMEOUT);
+    }
+
+    private static Optional<String> loginPageToken(HttpClient client, int port) throws InterruptedException {
+        try {
+            HttpResponse<String> page = get(client, port, "/login");
+            Matcher matcher = CSRF.matcher(page.body());
+            return page.statusCode() == 200 && matcher.find() ? Optional.of(matcher.group(1)) : Optional.empty();
+        } catch (IOException notListeningYet) {
+            return Optional.empty();
+        }
+    }
+
+    private static void readFirstEvent(HttpClient client, int port, String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri(port, path)).header("Accept", "text/event-stream").GET().build();
+        HttpResponse<Stream<String>> response = client.sendAsync(request, HttpResponse.BodyHandlers.ofLines())
+            .get(SSE_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(path + " returned " + response.statusCode());
+        }
+        Thread reader = new Thread(() -> {
+            try (Stream<String> lines = response.body()) {
+                lines.filter(line -> line.startsWith("data:")).findFirst();
+            }
+        }, "cds-sse-reader");
+        reader.setDaemon(true);
+        reader.start();
+        reader.join(SSE_TIMEOUT.toMillis());
+        if (reader.isAlive()) {
+            System.out.println("No event from " + path + " within " + SSE_TIMEOUT + ", continuing");
+        }
+    }
+
+    private static HttpResponse<String> get(HttpClient client, int port, String path) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(uri(port, path)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpClient newClient() {
+        return HttpClient.newBuilder()
+            .cookieHandler(new CookieManager())
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+    }
+
+    private static URI uri(int port, String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static long median(List<Long> values) {
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+}
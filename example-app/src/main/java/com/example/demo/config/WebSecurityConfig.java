@@ -64,12 +64,12 @@ public class WebSecurityConfig {
         System.out.println("Consumer App: Configuring SSE security filter chain");
         
         return http
-            .securityMatcher("/admin/actuator/logs/stream")
+            .securityMatcher("/admin/actuator/logs/stream", "/admin/actuator/metrics/stream")
             .authorizeHttpRequests(authz -> authz
                 .anyRequest().authenticated()
             )
             .csrf(csrf -> csrf
-                .ignoringRequestMatchers("/admin/actuator/logs/stream")
+                .ignoringRequestMatchers("/admin/actuator/logs/stream", "/admin/actuator/metrics/stream")
             )
             .build();
     }
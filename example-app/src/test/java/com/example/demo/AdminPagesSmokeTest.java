@@ -0,0 +1,91 @@
+package com.example.demo;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the example app, logs in as the default admin and renders the admin pages over HTTP.
+ *
+ * Runs on the JVM with the regular build and as a native executable with {@code nativeTest}, where
+ * it catches missing reflection and resource hints (templates, entities, actuator descriptors).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "core.auth.initialization.mode=blocking",
+    "core.auth.password-hashing.strength=4"
+})
+class AdminPagesSmokeTest {
+
+    private static final Pattern CSRF = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"");
+
+    private static final String[] ADMIN_PAGES = {
+        "/admin/users",
+        "/admin/roles",
+        "/admin/permissions",
+        "/admin/actuator",
+        "/admin/actuator/health-detail",
+        "/admin/actuator/info-detail",
+        "/admin/actuator/metrics-detail",
+        "/admin/actuator/environment-detail",
+        "/admin/actuator/mappings-detail",
+        "/admin/actuator/configprops-detail",
+        "/admin/actuator/beans-detail",
+        "/admin/actuator/threaddump-detail",
+        "/admin/actuator/logs-detail",
+        "/admin/actuator/startup-detail"
+    };
+
+    @LocalServerPort
+    private int port;
+
+    private HttpClient client;
+
+    @BeforeEach
+    void createClient() {
+        client = HttpClient.newBuilder().cookieHandler(new CookieManager()).build();
+    }
+
+    @Test
+    void adminCanLogInAndRenderTheAdminPages() throws Exception {
+        HttpResponse<String> loginPage = get("/login");
+        assertThat(loginPage.statusCode()).isEqualTo(200);
+        Matcher csrf = CSRF.matcher(loginPage.body());
+        assertThat(csrf.find()).as("login form carries a CSRF token").isTrue();
+
+        String form = "username=admin&password=admin123&_csrf=" + URLEncoder.encode(csrf.group(1), StandardCharsets.UTF_8);
+        HttpResponse<String> login = client.send(HttpRequest.newBuilder(uri("/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(login.statusCode()).isEqualTo(302);
+        assertThat(login.headers().firstValue("Location")).get().asString().doesNotContain("error");
+
+        for (String page : ADMIN_PAGES) {
+            HttpResponse<String> response = get(page);
+            assertThat(response.statusCode()).as(page).isEqualTo(200);
+            assertThat(response.body()).as(page).contains("</html>").doesNotContain("class=\"card error-card\"");
+        }
+    }
+
+    private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(uri(path)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
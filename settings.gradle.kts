@@ -1,2 +1,4 @@
 rootProject.name = "core"
 include("example-app")
+include("core-reactive")
+include("core-crypto")
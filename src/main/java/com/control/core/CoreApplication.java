@@ -1,9 +1,12 @@
 package com.control.core;
 
 import org.springframework.boot.SpringApplication;
-import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 
-@SpringBootApplication
+// No component scan: the starter's beans come from its auto-configurations, exactly as in a consuming application
+@SpringBootConfiguration
+@EnableAutoConfiguration
 public class CoreApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,175 @@
+package com.control.core.actuator;
+
+import com.control.core.autoconfigure.CoreAuthProperties;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.InvocationContext;
+import org.springframework.boot.actuate.endpoint.OperationArgumentResolver;
+import org.springframework.boot.actuate.endpoint.OperationType;
+import org.springframework.boot.actuate.endpoint.SecurityContext;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.ExposableWebEndpoint;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointsSupplier;
+import org.springframework.boot.actuate.endpoint.web.WebOperation;
+import org.springframework.boot.actuate.endpoint.web.WebServerNamespace;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Invokes actuator endpoints in-process for the admin console.
+ *
+ * Endpoints exposed over the web are called through their {@link WebOperation} invokers,
+ * anything else falls back to the endpoint bean's no-argument {@link ReadOperation}.
+ * The admin console never loops back over HTTP to its own server, and each endpoint
+ * result is cached for {@code core.auth.actuator.cache-ttl}.
+ */
+public class ActuatorEndpointInvoker {
+
+    private final ObjectProvider<WebEndpointsSupplier> webEndpointsSupplier;
+    private final ApplicationContext applicationContext;
+    private final SnapshotCache cache;
+
+    private volatile Map<String, Object> endpointBeans;
+
+    public ActuatorEndpointInvoker(ObjectProvider<WebEndpointsSupplier> webEndpointsSupplier,
+                                   ApplicationContext applicationContext,
+                                   CoreAuthProperties properties) {
+        this.webEndpointsSupplier = webEndpointsSupplier;
+        this.applicationContext = applicationContext;
+        this.cache = new SnapshotCache(properties.getActuator().getCacheTtl());
+    }
+
+    /**
+     * List the endpoints available to the admin console, web-exposed ones first
+     */
+    public List<EndpointReference> getEndpoints() {
+        Map<String, EndpointReference> references = new LinkedHashMap<>();
+        WebEndpointsSupplier supplier = webEndpointsSupplier.getIfAvailable();
+        if (supplier != null) {
+            for (ExposableWebEndpoint endpoint : supplier.getEndpoints()) {
+                String id = endpoint.getEndpointId().toLowerCaseString();
+                references.put(id, new EndpointReference(id, endpoint.getRootPath()));
+            }
+        }
+        for (String id : getEndpointBeans().keySet()) {
+            references.putIfAbsent(id, new EndpointReference(id, null));
+        }
+        return new ArrayList<>(references.values());
+    }
+
+    /**
+     * Invoke the root read operation of an endpoint, reusing a recent result when available
+     */
+    public Object invoke(String endpointId) {
+        String id = endpointId.toLowerCase();
+        return cache.get(id, () -> doInvoke(id));
+    }
+
+    /**
+     * Drop the cached result for an endpoint so the next call invokes it again
+     */
+    public void evict(String endpointId) {
+        cache.invalidate(endpointId.toLowerCase());
+    }
+
+    private Object doInvoke(String id) {
+        WebOperation operation = findRootReadOperation(id);
+        if (operation != null) {
+            Object result = operation.invoke(createInvocationContext());
+            return (result instanceof WebEndpointResponse<?> response) ? response.getBody() : result;
+        }
+
+        Object bean = getEndpointBeans().get(id);
+        if (bean != null) {
+            Method method = findNoArgReadOperation(AopUtils.getTargetClass(bean));
+            if (method != null) {
+                ReflectionUtils.makeAccessible(method);
+                return ReflectionUtils.invokeMethod(method, bean);
+            }
+        }
+
+        throw new IllegalStateException("Actuator endpoint '" + id + "' is not available");
+    }
+
+    private WebOperation findRootReadOperation(String id) {
+        WebEndpointsSupplier supplier = webEndpointsSupplier.getIfAvailable();
+        if (supplier == null) {
+            return null;
+        }
+
+        for (ExposableWebEndpoint endpoint : supplier.getEndpoints()) {
+            if (!endpoint.getEndpointId().toLowerCaseString().equals(id)) {
+                continue;
+            }
+            for (WebOperation operation : endpoint.getOperations()) {
+                if (operation.getType() == OperationType.READ
+                        && endpoint.getRootPath().equals(operation.getRequestPredicate().getPath())
+                        && producesJson(operation)) {
+                    return operation;
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean producesJson(WebOperation operation) {
+        return operation.getRequestPredicate().getProduces().isEmpty()
+            || operation.getRequestPredicate().getProduces().stream().anyMatch(type -> type.contains("json"));
+    }
+
+    private InvocationContext createInvocationContext() {
+        return new InvocationContext(SecurityContext.NONE, Collections.emptyMap(),
+            OperationArgumentResolver.of(WebServerNamespace.class, () -> WebServerNamespace.SERVER));
+    }
+
+    private Method findNoArgReadOperation(Class<?> endpointType) {
+        for (Method method : ReflectionUtils.getUniqueDeclaredMethods(endpointType)) {
+            ReadOperation readOperation = AnnotatedElementUtils.findMergedAnnotation(method, ReadOperation.class);
+            if (readOperation != null && method.getParameterCount() == 0 && readOperation.produces().length == 0) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private Map<String, Object> getEndpointBeans() {
+        Map<String, Object> beans = endpointBeans;
+        if (beans == null) {
+            beans = new LinkedHashMap<>();
+            for (Object bean : applicationContext.getBeansWithAnnotation(Endpoint.class).values()) {
+                Endpoint endpoint = AnnotatedElementUtils.findMergedAnnotation(AopUtils.getTargetClass(bean), Endpoint.class);
+                if (endpoint != null) {
+                    beans.put(endpoint.id().toLowerCase(), bean);
+                }
+            }
+            endpointBeans = beans;
+        }
+        return beans;
+    }
+
+    /**
+     * Identifier and web root path (if exposed over HTTP) of an actuator endpoint
+     */
+    public static class EndpointReference {
+        private final String id;
+        private final String rootPath;
+
+        public EndpointReference(String id, String rootPath) {
+            this.id = id;
+            this.rootPath = rootPath;
+        }
+
+        public String getId() { return id; }
+        public String getRootPath() { return rootPath; }
+    }
+}
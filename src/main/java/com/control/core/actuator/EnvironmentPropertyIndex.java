@@ -0,0 +1,297 @@
+package com.control.core.actuator;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.env.EnvironmentEndpoint;
+import org.springframework.boot.actuate.env.EnvironmentEndpoint.EnvironmentDescriptor;
+import org.springframework.boot.actuate.env.EnvironmentEndpoint.PropertySourceDescriptor;
+import org.springframework.boot.actuate.env.EnvironmentEndpoint.PropertyValueDescriptor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Precomputed, searchable view of the environment for the admin console.
+ *
+ * The {@link EnvironmentEndpoint} descriptor is walked once per refresh and flattened into
+ * an array of entries sorted by key, so a key-prefix search is a binary search and a page
+ * is a sub-list. Sensitive values are masked while the index is built, regardless of
+ * {@code management.endpoint.env.show-values}, so they never reach the view.
+ */
+public class EnvironmentPropertyIndex {
+
+    public static final String MASK = "******";
+
+    private static final int MAX_VALUE_LENGTH = 200;
+
+    // Same rules as Boot's sanitizer: keys ending in these suffixes, or containing these fragments
+    private static final String[] SENSITIVE_KEY_SUFFIXES = { "password", "passwd", "secret", "key", "token" };
+    private static final String[] SENSITIVE_KEY_FRAGMENTS = { "credentials", "vcap_services", "vcap.services" };
+
+    private static final Set<String> SENSITIVE_KEYS = Set.of(
+        "sun.java.command", "spring.application.json", "spring_application_json"
+    );
+
+    // user:password@ in URIs, e.g. jdbc:postgresql://app:s3cret@db:5432/app
+    private static final Pattern URI_USER_INFO = Pattern.compile("(?<=://)([^:/@\\s]+):([^@/\\s]+)(?=@)");
+
+    private final ObjectProvider<EnvironmentEndpoint> environmentEndpoint;
+
+    private volatile Snapshot snapshot;
+
+    public EnvironmentPropertyIndex(ObjectProvider<EnvironmentEndpoint> environmentEndpoint) {
+        this.environmentEndpoint = environmentEndpoint;
+    }
+
+    public boolean isAvailable() {
+        return environmentEndpoint.getIfAvailable() != null;
+    }
+
+    /**
+     * Return the current index, building it on first use or when a refresh is requested
+     */
+    public Snapshot getSnapshot(boolean refresh) {
+        Snapshot current = snapshot;
+        if (current == null || refresh) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null || refresh) {
+                    current = build();
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private Snapshot build() {
+        EnvironmentEndpoint endpoint = environmentEndpoint.getIfAvailable();
+        if (endpoint == null) {
+            throw new IllegalStateException("EnvironmentEndpoint is not available");
+        }
+
+        EnvironmentDescriptor descriptor = endpoint.environment(null);
+        List<SourceSummary> sources = new ArrayList<>();
+        List<Entry> entries = new ArrayList<>();
+        // Property sources come in precedence order, so the first occurrence of a key wins
+        Set<String> seenKeys = new HashSet<>();
+        int masked = 0;
+
+        for (PropertySourceDescriptor source : descriptor.getPropertySources()) {
+            Map<String, PropertyValueDescriptor> properties = source.getProperties();
+            int order = sources.size();
+            sources.add(new SourceSummary(source.getName(), properties.size()));
+
+            for (Map.Entry<String, PropertyValueDescriptor> property : properties.entrySet()) {
+                String key = property.getKey();
+                PropertyValueDescriptor value = property.getValue();
+                boolean sensitive = isSensitive(key);
+                if (sensitive) {
+                    masked++;
+                }
+                entries.add(new Entry(
+                    key,
+                    sensitive ? MASK : displayValue(value.getValue()),
+                    source.getName(),
+                    order,
+                    value.getOrigin(),
+                    sensitive,
+                    seenKeys.add(key)
+                ));
+            }
+        }
+
+        Entry[] sorted = entries.toArray(new Entry[0]);
+        Arrays.sort(sorted, Comparator.comparing((Entry entry) -> entry.searchKey).thenComparingInt(entry -> entry.sourceOrder));
+        return new Snapshot(sorted, Collections.unmodifiableList(sources), seenKeys.size(), masked, LocalDateTime.now());
+    }
+
+    static boolean isSensitive(String key) {
+        String lowerKey = key.toLowerCase(Locale.ROOT);
+        if (SENSITIVE_KEYS.contains(lowerKey)) {
+            return true;
+        }
+        for (String suffix : SENSITIVE_KEY_SUFFIXES) {
+            if (lowerKey.endsWith(suffix)) {
+                return true;
+            }
+        }
+        for (String fragment : SENSITIVE_KEY_FRAGMENTS) {
+            if (lowerKey.contains(fragment)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String displayValue(Object value) {
+        if (value == null) {
+            return null;
+        }
+        String text = URI_USER_INFO.matcher(value.toString()).replaceAll("$1:" + MASK);
+        return text.length() > MAX_VALUE_LENGTH ? text.substring(0, MAX_VALUE_LENGTH) + "..." : text;
+    }
+
+    /**
+     * Immutable index built from one environment descriptor
+     */
+    public static final class Snapshot {
+        private final Entry[] entries;
+        private final List<SourceSummary> sources;
+        private final int distinctKeys;
+        private final int maskedCount;
+        private final LocalDateTime builtAt;
+
+        private Snapshot(Entry[] entries, List<SourceSummary> sources, int distinctKeys, int maskedCount, LocalDateTime builtAt) {
+            this.entries = entries;
+            this.sources = sources;
+            this.distinctKeys = distinctKeys;
+            this.maskedCount = maskedCount;
+            this.builtAt = builtAt;
+        }
+
+        /**
+         * Find properties whose key starts with the given prefix (case-insensitive),
+         * optionally limited to one property source, and return the requested page
+         */
+        public Page search(String keyPrefix, String sourceName, int page, int size) {
+            String prefix = keyPrefix != null ? keyPrefix.trim().toLowerCase(Locale.ROOT) : "";
+            int from = lowerBound(prefix);
+            int to = prefix.isEmpty() ? entries.length : lowerBound(prefix + Character.MAX_VALUE);
+            boolean filterSource = sourceName != null && !sourceName.isEmpty();
+
+            int pageSize = Math.max(1, size);
+            int pageNumber = Math.max(0, page);
+            // A long, so a large page number cannot wrap around to a negative offset
+            long skip = (long) pageNumber * pageSize;
+            int matches = 0;
+            List<Entry> content = new ArrayList<>(Math.min(pageSize, Math.max(0, to - from)));
+
+            if (!filterSource) {
+                matches = to - from;
+                if (skip < matches) {
+                    for (int i = from + (int) skip; i < to && content.size() < pageSize; i++) {
+                        content.add(entries[i]);
+                    }
+                }
+            } else {
+                for (int i = from; i < to; i++) {
+                    if (!entries[i].source.equals(sourceName)) {
+                        continue;
+                    }
+                    if (matches >= skip && content.size() < pageSize) {
+                        content.add(entries[i]);
+                    }
+                    matches++;
+                }
+            }
+            return new Page(content, pageNumber, pageSize, matches);
+        }
+
+        private int lowerBound(String searchKey) {
+            int low = 0;
+            int high = entries.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (entries[mid].searchKey.compareTo(searchKey) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        public List<SourceSummary> getSources() { return sources; }
+        public int getTotalSources() { return sources.size(); }
+        public int getTotalProperties() { return entries.length; }
+        public int getDistinctKeys() { return distinctKeys; }
+        public int getMaskedCount() { return maskedCount; }
+        public LocalDateTime getBuiltAt() { return builtAt; }
+    }
+
+    /**
+     * One property as it appears in one property source
+     */
+    public static final class Entry {
+        private final String key;
+        private final String searchKey;
+        private final String value;
+        private final String source;
+        private final int sourceOrder;
+        private final String origin;
+        private final boolean masked;
+        private final boolean effective;
+
+        private Entry(String key, String value, String source, int sourceOrder, String origin, boolean masked, boolean effective) {
+            this.key = key;
+            this.searchKey = key.toLowerCase(Locale.ROOT);
+            this.value = value;
+            this.source = source;
+            this.sourceOrder = sourceOrder;
+            this.origin = origin;
+            this.masked = masked;
+            this.effective = effective;
+        }
+
+        public String getKey() { return key; }
+        public String getValue() { return value; }
+        public String getSource() { return source; }
+        public String getOrigin() { return origin; }
+        public boolean isMasked() { return masked; }
+
+        /**
+         * False when a higher-precedence property source defines the same key
+         */
+        public boolean isEffective() { return effective; }
+    }
+
+    /**
+     * Name and property count of a property source
+     */
+    public static final class SourceSummary {
+        private final String name;
+        private final int propertyCount;
+
+        private SourceSummary(String name, int propertyCount) {
+            this.name = name;
+            this.propertyCount = propertyCount;
+        }
+
+        public String getName() { return name; }
+        public int getPropertyCount() { return propertyCount; }
+    }
+
+    /**
+     * One page of search results
+     */
+    public static final class Page {
+        private final List<Entry> content;
+        private final int number;
+        private final int size;
+        private final int totalElements;
+
+        private Page(List<Entry> content, int number, int size, int totalElements) {
+            this.content = content;
+            this.number = number;
+            this.size = size;
+            this.totalElements = totalElements;
+        }
+
+        public List<Entry> getContent() { return content; }
+        public int getNumber() { return number; }
+        public int getSize() { return size; }
+        public int getTotalElements() { return totalElements; }
+        public int getTotalPages() { return (int) ((totalElements + (long) size - 1) / size); }
+        public boolean hasPrevious() { return number > 0; }
+        public boolean hasNext() { return number < getTotalPages() - 1; }
+    }
+}
@@ -0,0 +1,335 @@
+package com.control.core.actuator;
+
+import com.control.core.autoconfigure.CoreAuthProperties;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.health.CompositeHealthContributor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthContributor;
+import org.springframework.boot.actuate.health.HealthContributorRegistry;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.NamedContributor;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.actuate.health.StatusAggregator;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Health aggregation for the admin console.
+ *
+ * Unlike {@code HealthEndpoint.health()}, which runs every contributor one after another,
+ * contributors are evaluated in parallel on a small dedicated pool and each one is given
+ * {@code core.auth.actuator.health-timeout} to answer. A check that does not answer in time
+ * is reported DOWN, and is not started again until the stuck call returns, so a hung SMTP
+ * or database check cannot pile up threads. The whole report is reused for
+ * {@code core.auth.actuator.health-cache-ttl}.
+ */
+public class HealthAggregator {
+
+    private final ObjectProvider<HealthContributorRegistry> registry;
+    private final ObjectProvider<StatusAggregator> statusAggregator;
+    private final Duration timeout;
+    private final SnapshotCache reports;
+    // Kept apart from the reports so that no status load ever runs inside a report load
+    private final SnapshotCache statuses;
+    private final ExecutorService executor;
+    private final Map<String, CompletableFuture<TimedHealth>> inFlight = new ConcurrentHashMap<>();
+
+    public HealthAggregator(ObjectProvider<HealthContributorRegistry> registry,
+                            ObjectProvider<StatusAggregator> statusAggregator,
+                            CoreAuthProperties properties) {
+        this.registry = registry;
+        this.statusAggregator = statusAggregator;
+        this.timeout = properties.getActuator().getHealthTimeout();
+        this.reports = new SnapshotCache(properties.getActuator().getHealthCacheTtl());
+        this.statuses = new SnapshotCache(properties.getActuator().getHealthCacheTtl());
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, properties.getActuator().getHealthParallelism()), runnable -> {
+            Thread thread = new Thread(runnable, "core-auth-health-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    public boolean isAvailable() {
+        return registry.getIfAvailable() != null;
+    }
+
+    /**
+     * Return the cached report, evaluating all contributors when it is older than the TTL
+     */
+    public HealthReport getReport() {
+        return (HealthReport) reports.get("health", this::evaluate);
+    }
+
+    /**
+     * Return the cached report as a versioned snapshot whose version only moves when a status changes
+     */
+    public SnapshotCache.Snapshot getStatusSnapshot() {
+        HealthReport report = getReport();
+        return statuses.getSnapshot("status", report::toStatusMap);
+    }
+
+    /**
+     * Drop the cached report so the next call evaluates every contributor again
+     */
+    public void evict() {
+        reports.invalidateAll();
+        statuses.invalidateAll();
+    }
+
+    private HealthReport evaluate() {
+        HealthContributorRegistry contributors = registry.getIfAvailable();
+        if (contributors == null) {
+            throw new IllegalStateException("HealthContributorRegistry is not available");
+        }
+
+        long started = System.nanoTime();
+        Map<String, PendingCheck> pending = new LinkedHashMap<>();
+        for (NamedContributor<HealthContributor> contributor : contributors) {
+            pending.put(contributor.getName(), submit(contributor.getName(), contributor.getContributor()));
+        }
+
+        Map<String, ComponentHealth> components = new LinkedHashMap<>();
+        for (Map.Entry<String, PendingCheck> entry : pending.entrySet()) {
+            components.put(entry.getKey(), entry.getValue().await());
+        }
+
+        Set<Status> statuses = new LinkedHashSet<>();
+        components.values().forEach(component -> statuses.add(component.getStatus()));
+        Status overall = getStatusAggregator().getAggregateStatus(statuses);
+        return new HealthReport(overall, components, elapsedMillis(started), LocalDateTime.now());
+    }
+
+    private PendingCheck submit(String name, HealthContributor contributor) {
+        if (contributor instanceof HealthIndicator indicator) {
+            return new SingleCheck(name, check(name, indicator), System.nanoTime());
+        }
+        if (contributor instanceof CompositeHealthContributor composite) {
+            Map<String, PendingCheck> children = new LinkedHashMap<>();
+            for (NamedContributor<HealthContributor> child : composite) {
+                String childName = name + "/" + child.getName();
+                children.put(child.getName(), submit(childName, child.getContributor()));
+            }
+            return new CompositeCheck(children);
+        }
+        // Reactive contributors are not evaluated by the servlet admin console
+        return () -> new ComponentHealth(Status.UNKNOWN, Map.of(), 0L, false, Map.of());
+    }
+
+    private CompletableFuture<TimedHealth> check(String name, HealthIndicator indicator) {
+        // Join a call that is still running rather than starting another one on a stuck dependency.
+        // Evaluations are serialized by the snapshot cache, so a plain get-then-put is enough here.
+        CompletableFuture<TimedHealth> running = inFlight.get(name);
+        if (running != null && !running.isDone()) {
+            return running;
+        }
+
+        CompletableFuture<TimedHealth> future = new CompletableFuture<>();
+        inFlight.put(name, future);
+        executor.execute(() -> {
+            long started = System.nanoTime();
+            try {
+                future.complete(new TimedHealth(indicator.getHealth(true), elapsedMillis(started)));
+            } catch (Throwable ex) {
+                future.completeExceptionally(ex);
+            } finally {
+                inFlight.remove(name, future);
+            }
+        });
+        return future;
+    }
+
+    private StatusAggregator getStatusAggregator() {
+        StatusAggregator aggregator = statusAggregator.getIfAvailable();
+        return aggregator != null ? aggregator : StatusAggregator.getDefault();
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    private static final class TimedHealth {
+        private final Health health;
+        private final long durationMs;
+
+        TimedHealth(Health health, long durationMs) {
+            this.health = health;
+            this.durationMs = durationMs;
+        }
+    }
+
+    private interface PendingCheck {
+        ComponentHealth await();
+    }
+
+    private class SingleCheck implements PendingCheck {
+        private final String name;
+        private final CompletableFuture<TimedHealth> future;
+        private final long submittedAt;
+
+        SingleCheck(String name, CompletableFuture<TimedHealth> future, long submittedAt) {
+            this.name = name;
+            this.future = future;
+            this.submittedAt = submittedAt;
+        }
+
+        @Override
+        public ComponentHealth await() {
+            long remaining = timeout.toNanos() - (System.nanoTime() - submittedAt);
+            try {
+                TimedHealth result = future.get(Math.max(0L, remaining), TimeUnit.NANOSECONDS);
+                return new ComponentHealth(result.health.getStatus(), result.health.getDetails(), result.durationMs, false, Map.of());
+            } catch (TimeoutException e) {
+                return new ComponentHealth(Status.DOWN,
+                    Map.of("error", "Health check '" + name + "' did not respond within " + timeout.toMillis() + "ms"),
+                    elapsedMillis(submittedAt), true, Map.of());
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                return new ComponentHealth(Status.DOWN, Map.of("error", cause.getClass().getName() + ": " + cause.getMessage()),
+                    elapsedMillis(submittedAt), false, Map.of());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new ComponentHealth(Status.UNKNOWN, Map.of(), elapsedMillis(submittedAt), false, Map.of());
+            }
+        }
+    }
+
+    private class CompositeCheck implements PendingCheck {
+        private final Map<String, PendingCheck> children;
+
+        CompositeCheck(Map<String, PendingCheck> children) {
+            this.children = children;
+        }
+
+        @Override
+        public ComponentHealth await() {
+            Map<String, ComponentHealth> results = new LinkedHashMap<>();
+            Map<String, Object> details = new LinkedHashMap<>();
+            Set<Status> statuses = new LinkedHashSet<>();
+            long slowest = 0L;
+            boolean timedOut = false;
+            for (Map.Entry<String, PendingCheck> child : children.entrySet()) {
+                ComponentHealth result = child.getValue().await();
+                results.put(child.getKey(), result);
+                details.put(child.getKey(), result.getStatus().getCode());
+                statuses.add(result.getStatus());
+                slowest = Math.max(slowest, result.getDurationMs());
+                timedOut |= result.isTimedOut();
+            }
+            // Children run in parallel, so the composite takes as long as its slowest child
+            return new ComponentHealth(getStatusAggregator().getAggregateStatus(statuses), details, slowest, timedOut, results);
+        }
+    }
+
+    /**
+     * Outcome of a single evaluation of every health contributor
+     */
+    public static final class HealthReport {
+        private final Status status;
+        private final Map<String, ComponentHealth> components;
+        private final long durationMs;
+        private final LocalDateTime evaluatedAt;
+
+        private HealthReport(Status status, Map<String, ComponentHealth> components, long durationMs, LocalDateTime evaluatedAt) {
+            this.status = status;
+            this.components = components;
+            this.durationMs = durationMs;
+            this.evaluatedAt = evaluatedAt;
+        }
+
+        public Status getStatus() { return status; }
+        public Map<String, ComponentHealth> getComponents() { return components; }
+        public long getDurationMs() { return durationMs; }
+        public LocalDateTime getEvaluatedAt() { return evaluatedAt; }
+
+        /**
+         * Full report including details and timings, in the shape of the actuator health response
+         */
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = toStatusMap(true);
+            map.put("durationMs", durationMs);
+            return map;
+        }
+
+        /**
+         * Statuses only, leaving out details and timings so that unchanged health compares equal
+         */
+        public Map<String, Object> toStatusMap() {
+            return toStatusMap(false);
+        }
+
+        private Map<String, Object> toStatusMap(boolean full) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("status", status.getCode());
+            Map<String, Object> componentMap = new LinkedHashMap<>();
+            components.forEach((name, component) -> componentMap.put(name, component.toMap(full)));
+            map.put("components", componentMap);
+            return map;
+        }
+    }
+
+    /**
+     * Health of one contributor together with how long its check took
+     */
+    public static final class ComponentHealth {
+        private final Status status;
+        private final Map<String, Object> details;
+        private final long durationMs;
+        private final boolean timedOut;
+        private final Map<String, ComponentHealth> components;
+
+        private ComponentHealth(Status status, Map<String, Object> details, long durationMs, boolean timedOut,
+                                Map<String, ComponentHealth> components) {
+            this.status = Objects.requireNonNull(status);
+            this.details = details;
+            this.durationMs = durationMs;
+            this.timedOut = timedOut;
+            this.components = components;
+        }
+
+        public Status getStatus() { return status; }
+        public Map<String, Object> getDetails() { return details; }
+        public long getDurationMs() { return durationMs; }
+        public boolean isTimedOut() { return timedOut; }
+        public Map<String, ComponentHealth> getComponents() { return components; }
+
+        Map<String, Object> toMap(boolean full) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("status", status.getCode());
+            if (full) {
+                if (!details.isEmpty()) {
+                    map.put("details", details);
+                }
+                map.put("durationMs", durationMs);
+                map.put("timedOut", timedOut);
+            }
+            if (!components.isEmpty()) {
+                Map<String, Object> componentMap = new LinkedHashMap<>();
+                components.forEach((name, component) -> componentMap.put(name, component.toMap(full)));
+                map.put("components", componentMap);
+            }
+            return map;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.control.core.actuator;
+
+import com.control.core.autoconfigure.CoreAuthProperties;
+import com.control.core.concurrent.CoreAuthThreads;
+import com.control.core.sse.SseHub;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes live metric deltas to the actuator dashboard over server-sent events.
+ *
+ * A single sampler thread reads the meter registry at {@code core.auth.actuator.metrics-stream-interval}
+ * and broadcasts the same payload to every open dashboard, so the cost does not grow with the
+ * number of tabs. Sampling is skipped entirely while nobody is subscribed.
+ */
+public class MetricsStreamPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricsStreamPublisher.class);
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final Duration interval;
+    private final SseHub hub;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ScheduledExecutorService scheduler;
+    private volatile String lastPayload;
+
+    // Previous cumulative totals, only touched by the sampler thread
+    private long lastSampleNanos;
+    private double lastGcCount;
+    private double lastGcTimeMs;
+    private double lastHttpCount;
+    private double lastHttpTimeMs;
+
+    public MetricsStreamPublisher(ObjectProvider<MeterRegistry> meterRegistry, CoreAuthProperties properties,
+                                  CoreAuthThreads threads) {
+        this.meterRegistry = meterRegistry;
+        this.interval = properties.getActuator().getMetricsStreamInterval();
+        this.hub = new SseHub("metrics", threads);
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "core-auth-metrics-stream");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long periodMillis = Math.max(interval.toMillis(), 250L);
+        scheduler.scheduleAtFixedRate(this::publish, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Subscribe a dashboard; the latest sample is sent straight away so the panel is not empty
+     */
+    public SseEmitter subscribe(long timeoutMillis) {
+        SseEmitter emitter = hub.subscribe(timeoutMillis);
+        String payload = lastPayload;
+        if (payload != null) {
+            hub.send(emitter, "metrics", payload);
+        }
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return hub.getSubscriberCount();
+    }
+
+    private void publish() {
+        if (!hub.hasSubscribers()) {
+            // Forget the baseline so the first sample after an idle period does not report a huge delta
+            lastSampleNanos = 0L;
+            return;
+        }
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return;
+        }
+
+        try {
+            String payload = objectMapper.writeValueAsString(sample(registry));
+            lastPayload = payload;
+            hub.broadcast("metrics", payload);
+        } catch (Exception e) {
+            logger.warn("Failed to publish live metrics sample: {}", e.getMessage());
+        }
+    }
+
+    private Map<String, Object> sample(MeterRegistry registry) {
+        long now = System.nanoTime();
+        boolean hasBaseline = lastSampleNanos != 0L;
+        double elapsedSeconds = hasBaseline ? (now - lastSampleNanos) / 1_000_000_000.0 : 0.0;
+
+        Map<String, Object> heap = new LinkedHashMap<>();
+        heap.put("usedBytes", sumGauges(registry.find("jvm.memory.used").tag("area", "heap").gauges()));
+        heap.put("maxBytes", sumGauges(registry.find("jvm.memory.max").tag("area", "heap").gauges()));
+
+        Collection<Timer> gcTimers = registry.find("jvm.gc.pause").timers();
+        double gcCount = gcTimers.stream().mapToDouble(Timer::count).sum();
+        double gcTimeMs = gcTimers.stream().mapToDouble(timer -> timer.totalTime(TimeUnit.MILLISECONDS)).sum();
+        Map<String, Object> gc = new LinkedHashMap<>();
+        gc.put("pauses", hasBaseline ? gcCount - lastGcCount : 0.0);
+        gc.put("pauseMs", hasBaseline ? gcTimeMs - lastGcTimeMs : 0.0);
+
+        Collection<Timer> httpTimers = registry.find("http.server.requests").timers();
+        double httpCount = httpTimers.stream().mapToDouble(Timer::count).sum();
+        double httpTimeMs = httpTimers.stream().mapToDouble(timer -> timer.totalTime(TimeUnit.MILLISECONDS)).sum();
+        double httpDelta = hasBaseline ? httpCount - lastHttpCount : 0.0;
+        Map<String, Object> http = new LinkedHashMap<>();
+        http.put("requestsPerSecond", elapsedSeconds > 0 ? httpDelta / elapsedSeconds : 0.0);
+        http.put("avgLatencyMs", httpDelta > 0 ? (httpTimeMs - lastHttpTimeMs) / httpDelta : 0.0);
+
+        Map<String, Object> hikari = new LinkedHashMap<>();
+        hikari.put("active", sumGauges(registry.find("hikaricp.connections.active").gauges()));
+        hikari.put("idle", sumGauges(registry.find("hikaricp.connections.idle").gauges()));
+        hikari.put("pending", sumGauges(registry.find("hikaricp.connections.pending").gauges()));
+        hikari.put("max", sumGauges(registry.find("hikaricp.connections.max").gauges()));
+
+        Map<String, Object> sessions = new LinkedHashMap<>();
+        sessions.put("active", sumGauges(registry.find("tomcat.sessions.active.current").gauges()));
+
+        lastSampleNanos = now;
+        lastGcCount = gcCount;
+        lastGcTimeMs = gcTimeMs;
+        lastHttpCount = httpCount;
+        lastHttpTimeMs = httpTimeMs;
+
+        Map<String, Object> sample = new LinkedHashMap<>();
+        sample.put("timestamp", Instant.now().toString());
+        sample.put("heap", heap);
+        sample.put("gc", gc);
+        sample.put("http", http);
+        sample.put("hikari", hikari);
+        sample.put("sessions", sessions);
+        sample.put("subscribers", hub.getSubscriberCount());
+        return sample;
+    }
+
+    private double sumGauges(Collection<Gauge> gauges) {
+        return gauges.stream()
+            .mapToDouble(Gauge::value)
+            .filter(value -> !Double.isNaN(value) && value >= 0)
+            .sum();
+    }
+}
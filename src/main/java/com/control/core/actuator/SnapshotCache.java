@@ -0,0 +1,130 @@
+package com.control.core.actuator;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Small keyed cache that keeps the last computed value for a fixed time-to-live.
+ * Concurrent callers asking for the same stale key wait for a single load instead
+ * of all recomputing it. The load runs outside the map, with the waiters parked on
+ * a per-key future rather than a map lock, so a slow loader neither blocks other keys
+ * nor pins the carrier of a virtual thread.
+ *
+ * Every snapshot carries a version that only moves forward when a reload produces a
+ * different value, which makes it usable as a strong HTTP entity tag.
+ */
+public class SnapshotCache {
+
+    private final long ttlNanos;
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Snapshot>> loads = new ConcurrentHashMap<>();
+    // Seeded from the clock so versions handed out before a restart are never reused
+    private final AtomicLong versions = new AtomicLong(System.currentTimeMillis());
+
+    public SnapshotCache(Duration ttl) {
+        this.ttlNanos = ttl != null ? ttl.toNanos() : 0L;
+    }
+
+    /**
+     * Return the cached value for the key, loading it if absent or older than the TTL
+     */
+    public Object get(String key, Supplier<Object> loader) {
+        return getSnapshot(key, loader).getValue();
+    }
+
+    /**
+     * Return the cached snapshot for the key, loading it if absent or older than the TTL
+     */
+    public Snapshot getSnapshot(String key, Supplier<Object> loader) {
+        Snapshot current = snapshots.get(key);
+        if (isFresh(current)) {
+            return current;
+        }
+        CompletableFuture<Snapshot> pending = new CompletableFuture<>();
+        CompletableFuture<Snapshot> inFlight = loads.putIfAbsent(key, pending);
+        if (inFlight != null) {
+            return await(inFlight);
+        }
+        try {
+            // Another caller may have finished loading between the first read and taking over the key
+            Snapshot existing = snapshots.get(key);
+            Snapshot loaded = isFresh(existing) ? existing : load(key, existing, loader);
+            snapshots.put(key, loaded);
+            pending.complete(loaded);
+            return loaded;
+        } catch (RuntimeException | Error e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            loads.remove(key, pending);
+        }
+    }
+
+    public void invalidate(String key) {
+        snapshots.remove(key);
+    }
+
+    public void invalidateAll() {
+        snapshots.clear();
+    }
+
+    private static Snapshot await(CompletableFuture<Snapshot> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            // Waiters see the loader's own failure, as the caller that ran it does
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Snapshot load(String key, Snapshot previous, Supplier<Object> loader) {
+        Object value = loader.get();
+        long version = (previous != null && Objects.equals(previous.value, value))
+            ? previous.version
+            : versions.incrementAndGet();
+        return new Snapshot(key, value, version, System.nanoTime());
+    }
+
+    private boolean isFresh(Snapshot snapshot) {
+        return snapshot != null && System.nanoTime() - snapshot.loadedAt < ttlNanos;
+    }
+
+    /**
+     * A cached value together with the version it was assigned when it last changed
+     */
+    public static final class Snapshot {
+        private final String key;
+        private final Object value;
+        private final long version;
+        private final long loadedAt;
+
+        private Snapshot(String key, Object value, long version, long loadedAt) {
+            this.key = key;
+            this.value = value;
+            this.version = version;
+            this.loadedAt = loadedAt;
+        }
+
+        public Object getValue() { return value; }
+        public long getVersion() { return version; }
+
+        /**
+         * Strong entity tag for this snapshot, e.g. {@code "health-1718000000123"}
+         */
+        public String getETag() {
+            return "\"" + key + "-" + version + "\"";
+        }
+    }
+}
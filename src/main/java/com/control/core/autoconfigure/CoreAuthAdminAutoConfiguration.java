@@ -0,0 +1,134 @@
+package com.control.core.autoconfigure;
+
+import com.control.core.actuator.ActuatorEndpointInvoker;
+import com.control.core.actuator.EnvironmentPropertyIndex;
+import com.control.core.actuator.HealthAggregator;
+import com.control.core.actuator.MetricsStreamPublisher;
+import com.control.core.concurrent.CoreAuthThreads;
+import com.control.core.controller.AdminApiController;
+import com.control.core.controller.AdminController;
+import com.control.core.controller.UserController;
+import com.control.core.repository.RoleRepository;
+import com.control.core.repository.UserRepository;
+import com.control.core.service.UserBulkService;
+import com.control.core.service.UserImportService;
+import com.control.core.startup.InitializationOrchestrator;
+import com.control.core.startup.StartupTimelineReport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointsSupplier;
+import org.springframework.boot.actuate.env.EnvironmentEndpoint;
+import org.springframework.boot.actuate.health.HealthContributorRegistry;
+import org.springframework.boot.actuate.health.StatusAggregator;
+import org.springframework.boot.actuate.info.InfoEndpoint;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Admin panel: the user management REST API and bulk operations, plus the admin console with its
+ * actuator views when {@code spring-boot-starter-actuator} is on the classpath. Disable everything
+ * with {@code core.auth.admin-panel-enabled=false}, e.g. for headless services that only authenticate.
+ */
+@AutoConfiguration(after = CoreAuthAutoConfiguration.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "core.auth.admin-panel-enabled", havingValue = "true", matchIfMissing = true)
+public class CoreAuthAdminAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public UserImportService userImportService(UserRepository userRepository,
+                                               PasswordEncoder passwordEncoder,
+                                               JdbcTemplate jdbcTemplate,
+                                               PlatformTransactionManager transactionManager,
+                                               ObjectMapper objectMapper,
+                                               CoreAuthProperties properties,
+                                               CoreAuthThreads threads) {
+        return new UserImportService(userRepository, passwordEncoder, jdbcTemplate, transactionManager, objectMapper,
+            properties, threads);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public UserBulkService userBulkService(NamedParameterJdbcTemplate jdbcTemplate,
+                                           PlatformTransactionManager transactionManager,
+                                           RoleRepository roleRepository,
+                                           ApplicationEventPublisher eventPublisher) {
+        return new UserBulkService(jdbcTemplate, transactionManager, roleRepository, eventPublisher);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public UserController userController() {
+        return new UserController();
+    }
+
+    /**
+     * The HTML console and its actuator integration
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(InfoEndpoint.class)
+    static class AdminConsoleConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public ActuatorEndpointInvoker actuatorEndpointInvoker(ObjectProvider<WebEndpointsSupplier> webEndpointsSupplier,
+                                                               ApplicationContext applicationContext,
+                                                               CoreAuthProperties properties) {
+            return new ActuatorEndpointInvoker(webEndpointsSupplier, applicationContext, properties);
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public EnvironmentPropertyIndex environmentPropertyIndex(ObjectProvider<EnvironmentEndpoint> environmentEndpoint) {
+            return new EnvironmentPropertyIndex(environmentEndpoint);
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public HealthAggregator healthAggregator(ObjectProvider<HealthContributorRegistry> registry,
+                                                 ObjectProvider<StatusAggregator> statusAggregator,
+                                                 CoreAuthProperties properties) {
+            return new HealthAggregator(registry, statusAggregator, properties);
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public MetricsStreamPublisher metricsStreamPublisher(ObjectProvider<MeterRegistry> meterRegistry,
+                                                             CoreAuthProperties properties,
+                                                             CoreAuthThreads threads) {
+            return new MetricsStreamPublisher(meterRegistry, properties, threads);
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public StartupTimelineReport startupTimelineReport(ConfigurableApplicationContext context,
+                                                           InitializationOrchestrator orchestrator) {
+            return new StartupTimelineReport(context, orchestrator);
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public AdminController adminController() {
+            return new AdminController();
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        public AdminApiController adminApiController(CoreAuthProperties properties) {
+            return new AdminApiController(properties);
+        }
+    }
+}
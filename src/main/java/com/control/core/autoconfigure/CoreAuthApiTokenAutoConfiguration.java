@@ -0,0 +1,113 @@
+package com.control.core.autoconfigure;
+
+import com.control.core.controller.ApiTokenController;
+import com.control.core.repository.PermissionRepository;
+import com.control.core.repository.RefreshTokenRepository;
+import com.control.core.repository.RoleRepository;
+import com.control.core.repository.UserRepository;
+import com.control.core.security.LoginThrottleService;
+import com.control.core.security.token.AccessTokenAuthenticationFilter;
+import com.control.core.security.token.AccessTokenCodec;
+import com.control.core.security.token.AuthorityCatalog;
+import com.control.core.service.ApiTokenService;
+import com.control.core.service.CustomUserDetailsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.DefaultAuthenticationEventPublisher;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Stateless bearer-token authentication for /api/**, enabled with {@code core.auth.api-token.enabled=true}.
+ *
+ * Clients log in at {@code POST /api/auth/token} and send the signed access token on every call.
+ * The /api/** chain creates no session and authorizes from the token alone; refresh tokens are
+ * rotated in the database at {@code /api/auth/refresh}. Form login and the admin console keep
+ * using the session.
+ */
+@AutoConfiguration(after = CoreAuthAutoConfiguration.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "core.auth.api-token.enabled", havingValue = "true")
+public class CoreAuthApiTokenAutoConfiguration {
+
+    private static final Logger logger = LoggerFactory.getLogger(CoreAuthApiTokenAutoConfiguration.class);
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AccessTokenCodec accessTokenCodec(CoreAuthProperties properties) {
+        String secret = properties.getApiToken().getSecret();
+        if (secret == null || secret.isBlank()) {
+            logger.warn("core.auth.api-token.secret is not set; using a random key, so access tokens stop working "
+                + "after a restart and are not accepted by other nodes");
+            secret = AccessTokenCodec.randomSecret();
+        }
+        return new AccessTokenCodec(secret);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AuthorityCatalog authorityCatalog(PermissionRepository permissionRepository, RoleRepository roleRepository,
+                                             CoreAuthProperties properties) {
+        return new AuthorityCatalog(permissionRepository, roleRepository, properties.getApiToken().getCatalogRefreshInterval());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ApiTokenService apiTokenService(RefreshTokenRepository tokenRepository, UserRepository userRepository,
+                                           AccessTokenCodec codec, PlatformTransactionManager transactionManager,
+                                           CoreAuthProperties properties) {
+        return new ApiTokenService(tokenRepository, userRepository, codec, transactionManager, properties);
+    }
+
+    /**
+     * Checks API logins against the same users, password encoder and login throttling as the login form
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ApiTokenController apiTokenController(ApiTokenService tokenService, CustomUserDetailsService userDetailsService,
+                                                 PasswordEncoder passwordEncoder, LoginThrottleService throttleService,
+                                                 ApplicationEventPublisher eventPublisher) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder);
+        provider.setUserDetailsPasswordService(userDetailsService);
+        ProviderManager authenticationManager = new ProviderManager(provider);
+        // Failure and success events feed the login throttle
+        authenticationManager.setAuthenticationEventPublisher(new DefaultAuthenticationEventPublisher(eventPublisher));
+        return new ApiTokenController(tokenService, authenticationManager, throttleService);
+    }
+
+    @Bean
+    @Order(0)
+    @ConditionalOnMissingBean(name = "coreAuthApiSecurityFilterChain")
+    public SecurityFilterChain coreAuthApiSecurityFilterChain(HttpSecurity http, AccessTokenCodec codec,
+                                                              AuthorityCatalog catalog) throws Exception {
+        return http
+            .securityMatcher("/api/**")
+            .authorizeHttpRequests(authz -> authz
+                .requestMatchers("/api/auth/token", "/api/auth/refresh", "/api/auth/revoke").permitAll()
+                .anyRequest().authenticated()
+            )
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            // No cookies are involved, so there is nothing for a cross-site request to ride on
+            .csrf(csrf -> csrf.disable())
+            .requestCache(cache -> cache.disable())
+            .exceptionHandling(exceptions -> exceptions.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+            .addFilterBefore(new AccessTokenAuthenticationFilter(codec, catalog), UsernamePasswordAuthenticationFilter.class)
+            .build();
+    }
+}
@@ -1,6 +1,27 @@
 package com.control.core.autoconfigure;
 
+import com.control.core.concurrent.CoreAuthThreads;
+import com.control.core.repository.JobLeaseRepository;
+import com.control.core.repository.LoginAttemptRepository;
+import com.control.core.repository.PasswordResetTokenRepository;
+import com.control.core.repository.PermissionRepository;
+import com.control.core.repository.RoleRepository;
+import com.control.core.security.AdaptivePasswordEncoder;
 import com.control.core.security.CustomAuthenticationSuccessHandler;
+import com.control.core.security.LoginThrottleService;
+import com.control.core.security.LoginThrottlingFilter;
+import com.control.core.service.AuthorizationService;
+import com.control.core.service.CustomUserDetailsService;
+import com.control.core.service.JobLeaseService;
+import com.control.core.service.PasswordResetService;
+import com.control.core.service.PasswordResetTokenPurgeJob;
+import com.control.core.service.PermissionService;
+import com.control.core.service.RoleService;
+import com.control.core.service.UserService;
+import com.control.core.startup.InitializationOrchestrator;
+import com.control.core.startup.InitializationTask;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -9,23 +30,34 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.core.annotation.Order;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.transaction.PlatformTransactionManager;
 
 /**
  * Auto-configuration for Core Auth Starter
- * 
+ *
  * This auto-configuration provides default beans for authentication functionality
  * but allows consuming applications to override any configuration as needed.
+ *
+ * Only authentication itself lives here: entities and repositories, the user, role and permission
+ * services, login throttling, password reset and the security filter chain. The optional parts are
+ * registered by their own auto-configurations, each behind a property:
+ * {@link CoreAuthWebAutoConfiguration} (login and registration pages),
+ * {@link CoreAuthAdminAutoConfiguration} (admin console and user API),
+ * {@link CoreAuthEmailAutoConfiguration}, {@link CoreAuthLoggingAutoConfiguration},
+ * {@link CoreAuthSeedAutoConfiguration} and {@link CoreAuthApiTokenAutoConfiguration} (stateless /api/**). Nothing is component scanned, so do not add
+ * {@code com.control.core} to your application's scan.
  */
 @AutoConfiguration
 @AutoConfigureBefore(SecurityAutoConfiguration.class)
@@ -33,17 +65,28 @@ import org.springframework.security.web.SecurityFilterChain;
 @EnableConfigurationProperties(CoreAuthProperties.class)
 @EnableJpaRepositories(basePackages = "com.control.core.repository")
 @EntityScan(basePackages = "com.control.core.model")
-@ComponentScan(basePackages = "com.control.core")
 @EnableMethodSecurity(prePostEnabled = true, securedEnabled = true, jsr250Enabled = true)
+@ImportRuntimeHints(CoreAuthRuntimeHints.class)
 public class CoreAuthAutoConfiguration {
 
     /**
-     * Provides a default password encoder if none is defined
+     * Provides a default password encoder if none is defined: BCrypt with a calibrated cost,
+     * hashed on a bounded pool (see core.auth.password-hashing.*)
      */
     @Bean
     @ConditionalOnMissingBean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(CoreAuthProperties properties) {
+        return new AdaptivePasswordEncoder(properties.getPasswordHashing());
+    }
+
+    /**
+     * Platform or virtual threads for request handling, SSE delivery and email dispatch
+     * (core.auth.virtual-threads-enabled)
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public CoreAuthThreads coreAuthThreads(CoreAuthProperties properties) {
+        return new CoreAuthThreads(properties.isVirtualThreadsEnabled());
     }
 
     /**
@@ -55,7 +98,8 @@ public class CoreAuthAutoConfiguration {
     @Order(1)
     @ConditionalOnMissingBean(name = "coreAuthDefaultSecurityFilterChain")
     @ConditionalOnProperty(name = "core.auth.security.auto-configure", havingValue = "true", matchIfMissing = true)
-    public SecurityFilterChain coreAuthDefaultSecurityFilterChain(HttpSecurity http, CoreAuthProperties properties) throws Exception {
+    public SecurityFilterChain coreAuthDefaultSecurityFilterChain(HttpSecurity http, CoreAuthProperties properties,
+                                                                 LoginThrottleService loginThrottleService) throws Exception {
         System.out.println("🔧 CoreAuth: Configuring security with defaultSuccessUrl: " + properties.getDefaultSuccessUrl());
         
         return http
@@ -75,9 +119,88 @@ public class CoreAuthAutoConfiguration {
                 .logoutSuccessUrl("/login?logout=true")
                 .permitAll()
             )
+            // Locked-out usernames and addresses are turned away before any user lookup or password hashing
+            .addFilterBefore(new LoginThrottlingFilter(loginThrottleService, "/login", "/login?locked=true"),
+                UsernamePasswordAuthenticationFilter.class)
             .build();
     }
-    
+
+    @Bean
+    @ConditionalOnMissingBean
+    public CustomUserDetailsService customUserDetailsService() {
+        return new CustomUserDetailsService();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public UserService userService() {
+        return new UserService();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RoleService roleService(RoleRepository roleRepository, PermissionRepository permissionRepository,
+                                   PermissionService permissionService) {
+        return new RoleService(roleRepository, permissionRepository, permissionService);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public PermissionService permissionService(PermissionRepository permissionRepository) {
+        return new PermissionService(permissionRepository);
+    }
+
+    /**
+     * Referenced by name from {@code @PreAuthorize} expressions ({@code @authorizationService.hasPermission(...)})
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public AuthorizationService authorizationService(UserService userService) {
+        return new AuthorizationService(userService);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public LoginThrottleService loginThrottleService(LoginAttemptRepository attemptRepository,
+                                                     PlatformTransactionManager transactionManager,
+                                                     ObjectProvider<MeterRegistry> meterRegistry,
+                                                     CoreAuthProperties properties) {
+        return new LoginThrottleService(attemptRepository, transactionManager, meterRegistry, properties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public JobLeaseService jobLeaseService(JobLeaseRepository leaseRepository, PlatformTransactionManager transactionManager) {
+        return new JobLeaseService(leaseRepository, transactionManager);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public PasswordResetService passwordResetService() {
+        return new PasswordResetService();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public PasswordResetTokenPurgeJob passwordResetTokenPurgeJob(PasswordResetTokenRepository tokenRepository,
+                                                                 JobLeaseService leaseService,
+                                                                 PlatformTransactionManager transactionManager,
+                                                                 ObjectProvider<MeterRegistry> meterRegistry,
+                                                                 CoreAuthProperties properties) {
+        return new PasswordResetTokenPurgeJob(tokenRepository, leaseService, transactionManager, meterRegistry, properties);
+    }
+
+    /**
+     * Runs every {@link InitializationTask} bean (the starter's seeding and any of the application's own)
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public InitializationOrchestrator initializationOrchestrator(ObjectProvider<InitializationTask> tasks,
+                                                                 ApplicationEventPublisher eventPublisher,
+                                                                 CoreAuthProperties properties) {
+        return new InitializationOrchestrator(tasks, eventPublisher, properties);
+    }
+
     /**
      * Configuration bean that makes properties available to other components
      */
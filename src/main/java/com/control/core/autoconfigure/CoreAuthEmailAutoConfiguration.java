@@ -0,0 +1,57 @@
+package com.control.core.autoconfigure;
+
+import com.control.core.concurrent.CoreAuthThreads;
+import com.control.core.repository.EmailOutboxRepository;
+import com.control.core.service.BulkMailSender;
+import com.control.core.service.EmailOutboxService;
+import com.control.core.service.EmailService;
+import com.control.core.service.EmailTemplateRegistry;
+import com.control.core.service.JobLeaseService;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Password reset and notification email, delivered through the outbox. Needs
+ * {@code spring-boot-starter-mail} on the classpath; disable with {@code core.auth.email.enabled=false}.
+ * Without it, password reset links are printed to the console instead.
+ */
+@AutoConfiguration(after = CoreAuthAutoConfiguration.class)
+@ConditionalOnClass(JavaMailSender.class)
+@ConditionalOnProperty(name = "core.auth.email.enabled", havingValue = "true", matchIfMissing = true)
+public class CoreAuthEmailAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public EmailTemplateRegistry emailTemplateRegistry(ResourceLoader resourceLoader, CoreAuthProperties properties) {
+        return new EmailTemplateRegistry(resourceLoader, properties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public BulkMailSender bulkMailSender(JavaMailSender mailSender, CoreAuthProperties properties) {
+        return new BulkMailSender(mailSender, properties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public EmailOutboxService emailOutboxService(EmailOutboxRepository outboxRepository,
+                                                 BulkMailSender bulkMailSender,
+                                                 JobLeaseService leaseService,
+                                                 PlatformTransactionManager transactionManager,
+                                                 CoreAuthProperties properties,
+                                                 CoreAuthThreads threads) {
+        return new EmailOutboxService(outboxRepository, bulkMailSender, leaseService, transactionManager, properties, threads);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public EmailService emailService() {
+        return new EmailService();
+    }
+}
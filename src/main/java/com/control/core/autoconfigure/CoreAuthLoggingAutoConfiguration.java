@@ -0,0 +1,70 @@
+package com.control.core.autoconfigure;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.filter.ThresholdFilter;
+import com.control.core.concurrent.CoreAuthThreads;
+import com.control.core.logging.InMemoryLogAppender;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Attaches the in-memory log appender to the root logger at application startup, so the admin
+ * dashboard can show and stream recent logs. Disable with {@code core.auth.log-streaming-enabled=false}.
+ */
+@AutoConfiguration(after = CoreAuthAutoConfiguration.class)
+@ConditionalOnClass(LoggerContext.class)
+@ConditionalOnProperty(name = "core.auth.log-streaming-enabled", havingValue = "true", matchIfMissing = true)
+public class CoreAuthLoggingAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public InMemoryLogAppender inMemoryLogAppender(CoreAuthThreads threads) {
+        InMemoryLogAppender inMemoryLogAppender = new InMemoryLogAppender();
+        inMemoryLogAppender.setThreads(threads);
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return inMemoryLogAppender;
+        }
+
+        // Configure the appender
+        inMemoryLogAppender.setContext(context);
+        inMemoryLogAppender.setName("IN_MEMORY");
+
+        // Add threshold filter to capture INFO and above
+        ThresholdFilter filter = new ThresholdFilter();
+        filter.setLevel("INFO");
+        filter.setContext(context);
+        filter.start();
+        inMemoryLogAppender.addFilter(filter);
+
+        // Start the appender
+        inMemoryLogAppender.start();
+
+        // Attach to root logger for broad coverage
+        Logger rootLogger = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        rootLogger.addAppender(inMemoryLogAppender);
+
+        // Configure specific loggers for better coverage
+        configureLogger(context, inMemoryLogAppender, "com.control", Level.INFO);
+        configureLogger(context, inMemoryLogAppender, "com.example", Level.INFO);
+        configureLogger(context, inMemoryLogAppender, "org.springframework.web", Level.DEBUG);
+        configureLogger(context, inMemoryLogAppender, "org.springframework.security", Level.DEBUG);
+
+        System.out.println("🔧 CoreAuth: InMemoryLogAppender configured");
+        System.out.println("📊 InMemoryLogAppender instance: " + inMemoryLogAppender.getClass().getName() + "@" + inMemoryLogAppender.hashCode());
+        System.out.println("🚀 InMemoryLogAppender started: " + inMemoryLogAppender.isStarted());
+        return inMemoryLogAppender;
+    }
+
+    private static void configureLogger(LoggerContext context, InMemoryLogAppender appender, String loggerName, Level level) {
+        Logger logger = context.getLogger(loggerName);
+        logger.setLevel(level);
+        logger.addAppender(appender);
+        // Keep additivity true so logs also go to root logger and console
+    }
+}
@@ -2,6 +2,12 @@ package com.control.core.autoconfigure;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Configuration properties for Core Auth Starter
  */
@@ -33,6 +39,17 @@ public class CoreAuthProperties {
      */
     private boolean forgotPasswordEnabled = true;
     
+    /**
+     * Capture recent log events in memory and stream them to the admin console
+     */
+    private boolean logStreamingEnabled = true;
+    
+    /**
+     * Run request handling, SSE delivery and email dispatch on virtual threads (Java 21+; ignored
+     * with a warning on older JVMs)
+     */
+    private boolean virtualThreadsEnabled = false;
+    
     /**
      * Base URL for the application (used in emails)
      */
@@ -53,6 +70,51 @@ public class CoreAuthProperties {
      */
     private Security security = new Security();
     
+    /**
+     * Admin console actuator integration settings
+     */
+    private Actuator actuator = new Actuator();
+    
+    /**
+     * Password reset token settings
+     */
+    private PasswordReset passwordReset = new PasswordReset();
+    
+    /**
+     * Login attempt throttling settings
+     */
+    private LoginThrottle loginThrottle = new LoginThrottle();
+    
+    /**
+     * Password hashing settings for the default password encoder
+     */
+    private PasswordHashing passwordHashing = new PasswordHashing();
+    
+    /**
+     * Bulk user import settings
+     */
+    private UserImport userImport = new UserImport();
+    
+    /**
+     * Startup seeding of default permissions, roles and users
+     */
+    private Seed seed = new Seed();
+    
+    /**
+     * Startup initialization tasks (seeding) and readiness gating
+     */
+    private Initialization initialization = new Initialization();
+    
+    /**
+     * Startup timeline recording shown in the admin console
+     */
+    private Startup startup = new Startup();
+    
+    /**
+     * Stateless signed-token authentication for /api/**
+     */
+    private ApiToken apiToken = new ApiToken();
+    
     // Getters and Setters
     public String getDefaultSuccessUrl() {
         return defaultSuccessUrl;
@@ -94,6 +156,22 @@ public class CoreAuthProperties {
         this.forgotPasswordEnabled = forgotPasswordEnabled;
     }
     
+    public boolean isLogStreamingEnabled() {
+        return logStreamingEnabled;
+    }
+    
+    public void setLogStreamingEnabled(boolean logStreamingEnabled) {
+        this.logStreamingEnabled = logStreamingEnabled;
+    }
+    
+    public boolean isVirtualThreadsEnabled() {
+        return virtualThreadsEnabled;
+    }
+    
+    public void setVirtualThreadsEnabled(boolean virtualThreadsEnabled) {
+        this.virtualThreadsEnabled = virtualThreadsEnabled;
+    }
+    
     public String getBaseUrl() {
         return baseUrl;
     }
@@ -126,6 +204,78 @@ public class CoreAuthProperties {
         this.security = security;
     }
     
+    public Actuator getActuator() {
+        return actuator;
+    }
+    
+    public void setActuator(Actuator actuator) {
+        this.actuator = actuator;
+    }
+    
+    public PasswordReset getPasswordReset() {
+        return passwordReset;
+    }
+    
+    public void setPasswordReset(PasswordReset passwordReset) {
+        this.passwordReset = passwordReset;
+    }
+    
+    public LoginThrottle getLoginThrottle() {
+        return loginThrottle;
+    }
+    
+    public void setLoginThrottle(LoginThrottle loginThrottle) {
+        this.loginThrottle = loginThrottle;
+    }
+    
+    public PasswordHashing getPasswordHashing() {
+        return passwordHashing;
+    }
+    
+    public void setPasswordHashing(PasswordHashing passwordHashing) {
+        this.passwordHashing = passwordHashing;
+    }
+    
+    public UserImport getUserImport() {
+        return userImport;
+    }
+    
+    public void setUserImport(UserImport userImport) {
+        this.userImport = userImport;
+    }
+    
+    public Seed getSeed() {
+        return seed;
+    }
+    
+    public void setSeed(Seed seed) {
+        this.seed = seed;
+    }
+    
+    public Initialization getInitialization() {
+        return initialization;
+    }
+    
+    public void setInitialization(Initialization initialization) {
+        this.initialization = initialization;
+    }
+    
+    public Startup getStartup() {
+        return startup;
+    }
+    
+    public void setStartup(Startup startup) {
+        this.startup = startup;
+    }
+    
+    public ApiToken getApiToken() {
+        return apiToken;
+    }
+    
+    public void setApiToken(ApiToken apiToken) {
+        this.apiToken = apiToken;
+    }
+    
     /**
      * Admin user configuration
      */
@@ -177,6 +327,31 @@ public class CoreAuthProperties {
         private String fromAddress = "noreply@example.com";
         private String fromName = "Core Auth";
         
+        /**
+         * Maximum number of messages delivered over one SMTP connection
+         */
+        private int messagesPerConnection = 50;
+        
+        /**
+         * Messages per second sent to a mail server without its own limit (0 = unlimited)
+         */
+        private double rateLimit = 10.0;
+        
+        /**
+         * Messages per second per mail server host, e.g. provider-rate-limits[smtp.gmail.com]=5
+         */
+        private Map<String, Double> providerRateLimits = new HashMap<>();
+        
+        /**
+         * Where email templates (name[_locale].txt / .html) are loaded from; earlier locations win
+         */
+        private List<String> templateLocations = new ArrayList<>(List.of("classpath:/email-templates/"));
+        
+        /**
+         * Outbox used to deliver emails in the background
+         */
+        private Outbox outbox = new Outbox();
+        
         // Getters and Setters
         public boolean isEnabled() {
             return enabled;
@@ -201,6 +376,117 @@ public class CoreAuthProperties {
         public void setFromName(String fromName) {
             this.fromName = fromName;
         }
+        
+        public int getMessagesPerConnection() {
+            return messagesPerConnection;
+        }
+        
+        public void setMessagesPerConnection(int messagesPerConnection) {
+            this.messagesPerConnection = messagesPerConnection;
+        }
+        
+        public double getRateLimit() {
+            return rateLimit;
+        }
+        
+        public void setRateLimit(double rateLimit) {
+            this.rateLimit = rateLimit;
+        }
+        
+        public Map<String, Double> getProviderRateLimits() {
+            return providerRateLimits;
+        }
+        
+        public void setProviderRateLimits(Map<String, Double> providerRateLimits) {
+            this.providerRateLimits = providerRateLimits;
+        }
+        
+        public List<String> getTemplateLocations() {
+            return templateLocations;
+        }
+        
+        public void setTemplateLocations(List<String> templateLocations) {
+            this.templateLocations = templateLocations;
+        }
+        
+        public Outbox getOutbox() {
+            return outbox;
+        }
+        
+        public void setOutbox(Outbox outbox) {
+            this.outbox = outbox;
+        }
+        
+        /**
+         * Email outbox dispatcher settings
+         */
+        public static class Outbox {
+            /**
+             * How often the dispatcher looks for due messages (new messages are also picked up right after commit)
+             */
+            private Duration pollInterval = Duration.ofSeconds(10);
+            
+            /**
+             * Maximum number of messages sent over one mail server connection
+             */
+            private int batchSize = 50;
+            
+            /**
+             * Delivery attempts before a message is marked FAILED
+             */
+            private int maxAttempts = 8;
+            
+            /**
+             * Delay before the first retry, doubled after every failed attempt
+             */
+            private Duration initialBackoff = Duration.ofSeconds(30);
+            
+            /**
+             * Upper bound for the retry delay
+             */
+            private Duration maxBackoff = Duration.ofHours(1);
+            
+            // Getters and Setters
+            public Duration getPollInterval() {
+                return pollInterval;
+            }
+            
+            public void setPollInterval(Duration pollInterval) {
+                this.pollInterval = pollInterval;
+            }
+            
+            public int getBatchSize() {
+                return batchSize;
+            }
+            
+            public void setBatchSize(int batchSize) {
+                this.batchSize = batchSize;
+            }
+            
+            public int getMaxAttempts() {
+                return maxAttempts;
+            }
+            
+            public void setMaxAttempts(int maxAttempts) {
+                this.maxAttempts = maxAttempts;
+            }
+            
+            public Duration getInitialBackoff() {
+                return initialBackoff;
+            }
+            
+            public void setInitialBackoff(Duration initialBackoff) {
+                this.initialBackoff = initialBackoff;
+            }
+            
+            public Duration getMaxBackoff() {
+                return maxBackoff;
+            }
+            
+            public void setMaxBackoff(Duration maxBackoff) {
+                this.maxBackoff = maxBackoff;
+            }
+        }
     }
     
     /**
@@ -221,4 +507,568 @@ public class CoreAuthProperties {
             this.autoConfigure = autoConfigure;
         }
     }
+    
+    /**
+     * Admin console actuator integration settings
+     */
+    public static class Actuator {
+        /**
+         * How long an in-process endpoint invocation result is reused by the admin console
+         */
+        private Duration cacheTtl = Duration.ofSeconds(5);
+        
+        /**
+         * How often the shared sampler pushes metric deltas to live dashboard subscribers
+         */
+        private Duration metricsStreamInterval = Duration.ofSeconds(2);
+        
+        /**
+         * Number of properties shown per page on the environment detail view
+         */
+        private int environmentPageSize = 100;
+        
+        /**
+         * How long the admin console reuses an aggregated health report
+         */
+        private Duration healthCacheTtl = Duration.ofSeconds(10);
+        
+        /**
+         * How long a single health contributor may take before it is reported DOWN
+         */
+        private Duration healthTimeout = Duration.ofSeconds(3);
+        
+        /**
+         * Number of health contributors evaluated concurrently
+         */
+        private int healthParallelism = 4;
+        
+        // Getters and Setters
+        public Duration getCacheTtl() {
+            return cacheTtl;
+        }
+        
+        public void setCacheTtl(Duration cacheTtl) {
+            this.cacheTtl = cacheTtl;
+        }
+        
+        public Duration getMetricsStreamInterval() {
+            return metricsStreamInterval;
+        }
+        
+        public void setMetricsStreamInterval(Duration metricsStreamInterval) {
+            this.metricsStreamInterval = metricsStreamInterval;
+        }
+        
+        public int getEnvironmentPageSize() {
+            return environmentPageSize;
+        }
+        
+        public void setEnvironmentPageSize(int environmentPageSize) {
+            this.environmentPageSize = environmentPageSize;
+        }
+        
+        public Duration getHealthCacheTtl() {
+            return healthCacheTtl;
+        }
+        
+        public void setHealthCacheTtl(Duration healthCacheTtl) {
+            this.healthCacheTtl = healthCacheTtl;
+        }
+        
+        public Duration getHealthTimeout() {
+            return healthTimeout;
+        }
+        
+        public void setHealthTimeout(Duration healthTimeout) {
+            this.healthTimeout = healthTimeout;
+        }
+        
+        public int getHealthParallelism() {
+            return healthParallelism;
+        }
+        
+        public void setHealthParallelism(int healthParallelism) {
+            this.healthParallelism = healthParallelism;
+        }
+    }
+    
+    /**
+     * Password reset token settings
+     */
+    public static class PasswordReset {
+        /**
+         * How long a password reset link stays valid
+         */
+        private Duration tokenValidity = Duration.ofHours(24);
+        
+        /**
+         * How long a token lookup is remembered in memory (0 disables the cache)
+         */
+        private Duration cacheTtl = Duration.ofSeconds(60);
+        
+        /**
+         * Maximum number of token lookups kept in memory
+         */
+        private int cacheSize = 1000;
+        
+        /**
+         * Whether expired tokens are purged by a background job
+         */
+        private boolean purgeEnabled = true;
+        
+        /**
+         * How often the expired token purge runs
+         */
+        private Duration purgeInterval = Duration.ofHours(1);
+        
+        /**
+         * Maximum number of tokens deleted per transaction by the purge job
+         */
+        private int purgeBatchSize = 500;
+        
+        // Getters and Setters
+        public Duration getTokenValidity() {
+            return tokenValidity;
+        }
+        
+        public void setTokenValidity(Duration tokenValidity) {
+            this.tokenValidity = tokenValidity;
+        }
+        
+        public Duration getCacheTtl() {
+            return cacheTtl;
+        }
+        
+        public void setCacheTtl(Duration cacheTtl) {
+            this.cacheTtl = cacheTtl;
+        }
+        
+        public int getCacheSize() {
+            return cacheSize;
+        }
+        
+        public void setCacheSize(int cacheSize) {
+            this.cacheSize = cacheSize;
+        }
+        
+        public boolean isPurgeEnabled() {
+            return purgeEnabled;
+        }
+        
+        public void setPurgeEnabled(boolean purgeEnabled) {
+            this.purgeEnabled = purgeEnabled;
+        }
+        
+        public Duration getPurgeInterval() {
+            return purgeInterval;
+        }
+        
+        public void setPurgeInterval(Duration purgeInterval) {
+            this.purgeInterval = purgeInterval;
+        }
+        
+        public int getPurgeBatchSize() {
+            return purgeBatchSize;
+        }
+        
+        public void setPurgeBatchSize(int purgeBatchSize) {
+            this.purgeBatchSize = purgeBatchSize;
+        }
+    }
+    
+    /**
+     * Login attempt throttling settings
+     */
+    public static class LoginThrottle {
+        /**
+         * Whether failed logins are counted and repeated failures locked out
+         */
+        private boolean enabled = true;
+        
+        /**
+         * Failed logins for one username within the window before it is locked out
+         */
+        private int maxFailuresPerUsername = 5;
+        
+        /**
+         * Failed logins from one client IP address within the window before it is locked out, 0 to
+         * not limit per address. Off by default: behind a reverse proxy every client has the proxy's
+         * address unless {@code server.forward-headers-strategy} is set, so one attacker would lock
+         * everybody out.
+         */
+        private int maxFailuresPerIp = 0;
+        
+        /**
+         * Sliding window over which failures are counted
+         */
+        private Duration window = Duration.ofMinutes(15);
+        
+        /**
+         * How long a username or IP address stays locked out
+         */
+        private Duration lockoutDuration = Duration.ofMinutes(15);
+        
+        /**
+         * Maximum number of usernames and IP addresses tracked in memory
+         */
+        private int maxTrackedKeys = 100_000;
+        
+        /**
+         * Where failures and lockouts are kept: MEMORY (per node) or DATABASE (shared by all nodes)
+         */
+        private Store store = Store.MEMORY;
+        
+        public enum Store {
+            MEMORY, DATABASE
+        }
+        
+        // Getters and Setters
+        public boolean isEnabled() {
+            return enabled;
+        }
+        
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+        
+        public int getMaxFailuresPerUsername() {
+            return maxFailuresPerUsername;
+        }
+        
+        public void setMaxFailuresPerUsername(int maxFailuresPerUsername) {
+            this.maxFailuresPerUsername = maxFailuresPerUsername;
+        }
+        
+        public int getMaxFailuresPerIp() {
+            return maxFailuresPerIp;
+        }
+        
+        public void setMaxFailuresPerIp(int maxFailuresPerIp) {
+            this.maxFailuresPerIp = maxFailuresPerIp;
+        }
+        
+        public Duration getWindow() {
+            return window;
+        }
+        
+        public void setWindow(Duration window) {
+            this.window = window;
+        }
+        
+        public Duration getLockoutDuration() {
+            return lockoutDuration;
+        }
+        
+        public void setLockoutDuration(Duration lockoutDuration) {
+            this.lockoutDuration = lockoutDuration;
+        }
+        
+        public int getMaxTrackedKeys() {
+            return maxTrackedKeys;
+        }
+        
+        public void setMaxTrackedKeys(int maxTrackedKeys) {
+            this.maxTrackedKeys = maxTrackedKeys;
+        }
+        
+        public Store getStore() {
+            return store;
+        }
+        
+        public void setStore(Store store) {
+            this.store = store;
+        }
+    }
+    
+    /**
+     * Password hashing settings for the default password encoder
+     */
+    public static class PasswordHashing {
+        /**
+         * Fixed BCrypt cost (4-31); 0 calibrates it to the target latency after startup
+         */
+        private int strength = 0;
+        
+        /**
+         * How long one hash should take on this machine when the cost is calibrated
+         */
+        private Duration targetLatency = Duration.ofMillis(250);
+        
+        /**
+         * Lowest BCrypt cost calibration may choose
+         */
+        private int minStrength = 10;
+        
+        /**
+         * Highest BCrypt cost calibration may choose
+         */
+        private int maxStrength = 14;
+        
+        /**
+         * Threads used for hashing (0 = one per available processor)
+         */
+        private int threads = 0;
+        
+        /**
+         * Hashes allowed to wait for a thread before new ones are refused
+         */
+        private int queueCapacity = 200;
+        
+        // Getters and Setters
+        public int getStrength() {
+            return strength;
+        }
+        
+        public void setStrength(int strength) {
+            this.strength = strength;
+        }
+        
+        public Duration getTargetLatency() {
+            return targetLatency;
+        }
+        
+        public void setTargetLatency(Duration targetLatency) {
+            this.targetLatency = targetLatency;
+        }
+        
+        public int getMinStrength() {
+            return minStrength;
+        }
+        
+        public void setMinStrength(int minStrength) {
+            this.minStrength = minStrength;
+        }
+        
+        public int getMaxStrength() {
+            return maxStrength;
+        }
+        
+        public void setMaxStrength(int maxStrength) {
+            this.maxStrength = maxStrength;
+        }
+        
+        public int getThreads() {
+            return threads;
+        }
+        
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+        
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+        
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+    
+    /**
+     * Bulk user import settings
+     */
+    public static class UserImport {
+        /**
+         * Rows checked, hashed and inserted together in one JDBC batch and transaction
+         */
+        private int batchSize = 500;
+        
+        /**
+         * Maximum number of row errors reported back; further errors are only counted
+         */
+        private int maxReportedErrors = 1000;
+        
+        // Getters and Setters
+        public int getBatchSize() {
+            return batchSize;
+        }
+        
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+        
+        public int getMaxReportedErrors() {
+            return maxReportedErrors;
+        }
+        
+        public void setMaxReportedErrors(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+    }
+    
+    /**
+     * Startup seeding of default permissions, roles and users
+     */
+    public static class Seed {
+        /**
+         * Apply the seed manifests on startup
+         */
+        private boolean enabled = true;
+        
+        /**
+         * JSON manifests to apply, merged in order; add your own to seed application roles and permissions
+         */
+        private List<String> manifests = new ArrayList<>(List.of("classpath:/core-auth-seed.json"));
+        
+        // Getters and Setters
+        public boolean isEnabled() {
+            return enabled;
+        }
+        
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+        
+        public List<String> getManifests() {
+            return manifests;
+        }
+        
+        public void setManifests(List<String> manifests) {
+            this.manifests = manifests;
+        }
+    }
+    
+    /**
+     * Startup initialization tasks (seeding) and readiness gating
+     */
+    public static class Initialization {
+        /**
+         * DEFERRED runs the tasks in the background after the web server started and holds readiness
+         * until they finish; BLOCKING runs them during context startup, before the web server starts
+         */
+        private Mode mode = Mode.DEFERRED;
+        
+        /**
+         * Threads running independent tasks in parallel (0 = one per task, at most one per CPU)
+         */
+        private int threads = 0;
+        
+        public enum Mode {
+            DEFERRED,
+            BLOCKING
+        }
+        
+        // Getters and Setters
+        public Mode getMode() {
+            return mode;
+        }
+        
+        public void setMode(Mode mode) {
+            this.mode = mode;
+        }
+        
+        public int getThreads() {
+            return threads;
+        }
+        
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+    }
+    
+    /**
+     * Startup timeline recording. Read before the context refreshes, so it can only be set
+     * in the environment (application properties, system properties, ...)
+     */
+    public static class Startup {
+        /**
+         * Record startup steps in a BufferingApplicationStartup unless the application set its own ApplicationStartup.
+         * Off by default: every bean creation then allocates a step that is kept for the life of the application
+         */
+        private boolean timelineEnabled = false;
+        
+        /**
+         * Maximum number of startup steps kept in the buffer
+         */
+        private int timelineCapacity = 10000;
+        
+        // Getters and Setters
+        public boolean isTimelineEnabled() {
+            return timelineEnabled;
+        }
+        
+        public void setTimelineEnabled(boolean timelineEnabled) {
+            this.timelineEnabled = timelineEnabled;
+        }
+        
+        public int getTimelineCapacity() {
+            return timelineCapacity;
+        }
+        
+        public void setTimelineCapacity(int timelineCapacity) {
+            this.timelineCapacity = timelineCapacity;
+        }
+    }
+    
+    /**
+     * Stateless authentication for /api/** with short-lived signed access tokens and rotating refresh tokens
+     */
+    public static class ApiToken {
+        /**
+         * Authenticate /api/** with bearer tokens instead of the session (off by default)
+         */
+        private boolean enabled = false;
+        
+        /**
+         * HMAC-SHA256 key for access tokens, at least 32 characters and the same on every node.
+         * When empty a random key is generated, so tokens stop working after a restart
+         */
+        private String secret = "";
+        
+        /**
+         * How long an access token is accepted; permission changes and disabled accounts apply after at most this long
+         */
+        private Duration accessTokenValidity = Duration.ofMinutes(5);
+        
+        /**
+         * How long a refresh token can be exchanged for a new access token
+         */
+        private Duration refreshTokenValidity = Duration.ofDays(14);
+        
+        /**
+         * How often the permission and role names behind the token id lists are reloaded
+         */
+        private Duration catalogRefreshInterval = Duration.ofMinutes(1);
+        
+        // Getters and Setters
+        public boolean isEnabled() {
+            return enabled;
+        }
+        
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+        
+        public String getSecret() {
+            return secret;
+        }
+        
+        public void setSecret(String secret) {
+            this.secret = secret;
+        }
+        
+        public Duration getAccessTokenValidity() {
+            return accessTokenValidity;
+        }
+        
+        public void setAccessTokenValidity(Duration accessTokenValidity) {
+            this.accessTokenValidity = accessTokenValidity;
+        }
+        
+        public Duration getRefreshTokenValidity() {
+            return refreshTokenValidity;
+        }
+        
+        public void setRefreshTokenValidity(Duration refreshTokenValidity) {
+            this.refreshTokenValidity = refreshTokenValidity;
+        }
+        
+        public Duration getCatalogRefreshInterval() {
+            return catalogRefreshInterval;
+        }
+        
+        public void setCatalogRefreshInterval(Duration catalogRefreshInterval) {
+            this.catalogRefreshInterval = catalogRefreshInterval;
+        }
+    }
 }
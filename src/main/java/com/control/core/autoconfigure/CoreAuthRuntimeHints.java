@@ -0,0 +1,102 @@
+package com.control.core.autoconfigure;
+
+import com.control.core.actuator.EnvironmentPropertyIndex;
+import com.control.core.actuator.HealthAggregator;
+import com.control.core.actuator.SnapshotCache;
+import com.control.core.dto.ApiTokenRequest;
+import com.control.core.dto.BulkUserActionRequest;
+import com.control.core.dto.ChangePasswordRequest;
+import com.control.core.dto.CreateUserRequest;
+import com.control.core.dto.UpdateUserRequest;
+import com.control.core.logging.InMemoryLogAppender;
+import com.control.core.model.EmailOutboxMessage;
+import com.control.core.model.JobLease;
+import com.control.core.model.LoginAttempt;
+import com.control.core.model.PasswordResetToken;
+import com.control.core.model.Permission;
+import com.control.core.model.RefreshToken;
+import com.control.core.model.Role;
+import com.control.core.model.SeedState;
+import com.control.core.model.User;
+import com.control.core.security.CoreUserPrincipal;
+import com.control.core.service.ApiTokenService;
+import com.control.core.service.AuthorizationService;
+import com.control.core.service.SeedManifest;
+import com.control.core.service.UserImportService;
+import com.control.core.startup.InitializationOrchestrator;
+import com.control.core.startup.StartupTimelineReport;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.util.ClassUtils;
+
+
+/**
+ * What a native image of an application using the starter needs beyond what Spring's AOT
+ * processing finds by itself (bean definitions, repositories, controller signatures).
+ *
+ * Entities and view objects are read reflectively by Thymeleaf expressions and Jackson,
+ * {@code @authorizationService} is called from {@code @PreAuthorize} SpEL, the seed manifest is
+ * bound by Jackson, the admin console serializes actuator descriptors to maps, and templates,
+ * the seed manifest and the schema are loaded as classpath resources.
+ */
+public class CoreAuthRuntimeHints implements RuntimeHintsRegistrar {
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Entities: rendered by the admin templates and returned as JSON by the user API
+        bindingRegistrar.registerReflectionHints(hints.reflection(),
+            User.class, Role.class, Permission.class, PasswordResetToken.class, LoginAttempt.class,
+            JobLease.class, SeedState.class, EmailOutboxMessage.class, RefreshToken.class);
+
+        // Form and request bodies, and objects the templates and admin API read properties from
+        bindingRegistrar.registerReflectionHints(hints.reflection(),
+            CreateUserRequest.class, UpdateUserRequest.class, ChangePasswordRequest.class, BulkUserActionRequest.class,
+            ApiTokenRequest.class, ApiTokenService.IssuedTokens.class,
+            SeedManifest.class, UserImportService.ImportResult.class, UserImportService.RowError.class,
+            StartupTimelineReport.Step.class, InitializationOrchestrator.TaskTiming.class, InMemoryLogAppender.LogEvent.class,
+            HealthAggregator.HealthReport.class, HealthAggregator.ComponentHealth.class, SnapshotCache.Snapshot.class,
+            EnvironmentPropertyIndex.Entry.class, EnvironmentPropertyIndex.SourceSummary.class,
+            EnvironmentPropertyIndex.Page.class);
+
+        // Read by "authentication.principal.id" in @PreAuthorize, and written to persisted sessions
+        bindingRegistrar.registerReflectionHints(hints.reflection(), CoreUserPrincipal.class);
+        hints.serialization().registerType(CoreUserPrincipal.class).registerType(long[].class);
+
+        hints.reflection().registerType(AuthorizationService.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+        // Lets a logback configuration file declare the appender by class name
+        hints.reflection().registerType(InMemoryLogAppender.class,
+            MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+        hints.resources()
+            .registerPattern("templates/*.html")
+            .registerPattern("email-templates/*")
+            .registerPattern("core-auth-seed.json")
+            .registerPattern("schema.sql");
+
+        if (ClassUtils.isPresent("org.springframework.boot.actuate.endpoint.annotation.Endpoint", classLoader)) {
+            ActuatorHints.register(bindingRegistrar, hints);
+        }
+    }
+
+    /**
+     * Separate class so the actuator types (optional for the starter) are only loaded when present
+     */
+    private static final class ActuatorHints {
+
+        static void register(BindingReflectionHintsRegistrar registrar, RuntimeHints hints) {
+            // The admin console turns these into maps with Jackson rather than going over HTTP
+            registrar.registerReflectionHints(hints.reflection(),
+                org.springframework.boot.actuate.beans.BeansEndpoint.BeansDescriptor.class,
+                org.springframework.boot.actuate.context.properties.ConfigurationPropertiesReportEndpoint.ConfigurationPropertiesDescriptor.class,
+                org.springframework.boot.actuate.env.EnvironmentEndpoint.EnvironmentDescriptor.class,
+                org.springframework.boot.actuate.management.ThreadDumpEndpoint.ThreadDumpDescriptor.class,
+                org.springframework.boot.actuate.metrics.MetricsEndpoint.MetricDescriptor.class,
+                org.springframework.boot.actuate.metrics.MetricsEndpoint.MetricNamesDescriptor.class,
+                org.springframework.boot.actuate.web.mappings.MappingsEndpoint.ApplicationMappingsDescriptor.class);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.control.core.autoconfigure;
+
+import com.control.core.repository.SeedStateRepository;
+import com.control.core.service.DataInitializationService;
+import com.control.core.service.SeedService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Seeds the default permissions, roles and users at startup; disable with {@code core.auth.seed.enabled=false}
+ */
+@AutoConfiguration(after = CoreAuthAutoConfiguration.class)
+@ConditionalOnProperty(name = "core.auth.seed.enabled", havingValue = "true", matchIfMissing = true)
+public class CoreAuthSeedAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public SeedService seedService(ResourceLoader resourceLoader,
+                                   ObjectMapper objectMapper,
+                                   NamedParameterJdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   PasswordEncoder passwordEncoder,
+                                   SeedStateRepository seedStateRepository,
+                                   CoreAuthProperties properties) {
+        return new SeedService(resourceLoader, objectMapper, jdbcTemplate, transactionManager, passwordEncoder,
+            seedStateRepository, properties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public DataInitializationService dataInitializationService(SeedService seedService) {
+        return new DataInitializationService(seedService);
+    }
+}
@@ -0,0 +1,62 @@
+package com.control.core.autoconfigure;
+
+import com.control.core.concurrent.CoreAuthThreads;
+import com.control.core.config.GlobalCsrfAdvice;
+import com.control.core.controller.RegistrationController;
+import com.control.core.controller.WebController;
+import org.apache.catalina.startup.Tomcat;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Login, logout, password reset and dashboard pages, plus self-registration unless
+ * {@code core.auth.registration-enabled=false}. With {@code core.auth.virtual-threads-enabled=true}
+ * an embedded Tomcat handles requests on virtual threads.
+ */
+@AutoConfiguration(after = CoreAuthAutoConfiguration.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CoreAuthWebAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public WebController webController() {
+        return new WebController();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "core.auth.registration-enabled", havingValue = "true", matchIfMissing = true)
+    public RegistrationController registrationController() {
+        return new RegistrationController();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public GlobalCsrfAdvice globalCsrfAdvice() {
+        return new GlobalCsrfAdvice();
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(Tomcat.class)
+    @ConditionalOnProperty(name = "core.auth.virtual-threads-enabled", havingValue = "true")
+    static class VirtualThreadRequestConfiguration {
+
+        @Bean
+        public TomcatProtocolHandlerCustomizer<?> coreAuthVirtualThreadProtocolHandlerCustomizer(CoreAuthThreads threads) {
+            return protocolHandler -> {
+                Executor executor = threads.requestExecutor();
+                if (executor != null) {
+                    protocolHandler.setExecutor(executor);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.control.core.concurrent;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the threads the starter blocks on: Tomcat request handling, SSE delivery and email dispatch.
+ *
+ * With {@code core.auth.virtual-threads-enabled=true} on Java 21 or later these are virtual threads, so
+ * a slow SSE client or SMTP server parks a cheap virtual thread instead of holding a platform thread.
+ * Otherwise (the default, and the fallback on older JVMs) they are named platform daemon threads.
+ */
+public class CoreAuthThreads {
+
+    private static final Logger logger = LoggerFactory.getLogger(CoreAuthThreads.class);
+
+    private static final int VIRTUAL_THREADS_MIN_JAVA = 21;
+
+    private final boolean virtual;
+
+    public CoreAuthThreads(boolean virtualThreadsEnabled) {
+        if (virtualThreadsEnabled && !isVirtualThreadSupported()) {
+            logger.warn("core.auth.virtual-threads-enabled is set but Java {} has no virtual threads (needs {}+); using platform threads",
+                Runtime.version().feature(), VIRTUAL_THREADS_MIN_JAVA);
+        }
+        this.virtual = virtualThreadsEnabled && isVirtualThreadSupported();
+    }
+
+    /**
+     * Platform threads only, for components created outside the application context (e.g. by logback)
+     */
+    public static CoreAuthThreads platform() {
+        return new CoreAuthThreads(false);
+    }
+
+    public static boolean isVirtualThreadSupported() {
+        return Runtime.version().feature() >= VIRTUAL_THREADS_MIN_JAVA;
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * Thread factory for a long-lived worker such as a scheduler, named {@code <name>-<n>}
+     */
+    public ThreadFactory threadFactory(String name) {
+        if (virtual) {
+            return new VirtualThreadTaskExecutor(name + "-").getVirtualThreadFactory();
+        }
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Executor for short blocking tasks. Virtual: a new virtual thread per task. Platform: at most
+     * {@code platformThreads} threads that exit when idle, with further tasks queued.
+     */
+    public ExecutorService newDispatcher(String name, int platformThreads) {
+        if (virtual) {
+            return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 0L, TimeUnit.MILLISECONDS,
+                new SynchronousQueue<>(), threadFactory(name));
+        }
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(platformThreads, platformThreads, 30L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), threadFactory(name));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Executor for Tomcat's protocol handler, or null to keep Tomcat's own platform thread pool
+     */
+    public Executor requestExecutor() {
+        return virtual ? new VirtualThreadTaskExecutor("core-auth-http-") : null;
+    }
+}
@@ -0,0 +1,168 @@
+package com.control.core.controller;
+
+import com.control.core.actuator.ActuatorEndpointInvoker;
+import com.control.core.actuator.HealthAggregator;
+import com.control.core.actuator.SnapshotCache;
+import com.control.core.autoconfigure.CoreAuthProperties;
+import com.control.core.logging.InMemoryLogAppender;
+import com.control.core.service.UserService;
+import com.control.core.service.UsersChangedEvent;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.metrics.MetricsEndpoint;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Lightweight JSON API backing auto-refreshing admin dashboards.
+ *
+ * Every response carries a strong ETag taken from the snapshot version, so polling
+ * clients that send {@code If-None-Match} get a 304 until the data actually changes.
+ */
+@RestController
+@RequestMapping("/admin/api")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminApiController {
+
+    private static final List<String> KEY_METRICS = List.of(
+        "jvm.memory.used", "jvm.memory.max", "jvm.threads.live", "jvm.gc.pause",
+        "process.cpu.usage", "system.cpu.usage", "process.uptime",
+        "http.server.requests", "hikaricp.connections.active", "tomcat.sessions.active.current"
+    );
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SnapshotCache snapshots;
+
+    @Autowired
+    private ActuatorEndpointInvoker endpointInvoker;
+
+    @Autowired
+    private HealthAggregator healthAggregator;
+
+    @Autowired(required = false)
+    private MetricsEndpoint metricsEndpoint;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired(required = false)
+    private InMemoryLogAppender logAppender;
+
+    public AdminApiController(CoreAuthProperties properties) {
+        this.snapshots = new SnapshotCache(properties.getActuator().getCacheTtl());
+    }
+
+    @GetMapping("/health")
+    public ResponseEntity<Object> health(WebRequest request) {
+        return conditional(request, healthAggregator.getStatusSnapshot());
+    }
+
+    @GetMapping("/metrics")
+    public ResponseEntity<Object> metrics(WebRequest request) {
+        return conditional(request, snapshots.getSnapshot("metrics", this::loadKeyMetrics));
+    }
+
+    @GetMapping("/logs/stats")
+    public ResponseEntity<Object> logStatistics(WebRequest request) {
+        return conditional(request, snapshots.getSnapshot("logs", () -> logAppender().getStatistics()));
+    }
+
+    @GetMapping("/users/stats")
+    public ResponseEntity<Object> userStatistics(WebRequest request) {
+        return conditional(request, snapshots.getSnapshot("users", userService::getUserStatistics));
+    }
+
+    /**
+     * Bulk user changes make the cached user statistics stale immediately, not after the TTL
+     */
+    @EventListener
+    public void onUsersChanged(UsersChangedEvent event) {
+        snapshots.invalidate("users");
+    }
+
+    @GetMapping("/threads")
+    public ResponseEntity<Object> threadSummary(WebRequest request) {
+        return conditional(request, snapshots.getSnapshot("threads", this::loadThreadSummary));
+    }
+
+    /**
+     * Answer with 304 when the client already holds the current snapshot version
+     */
+    private ResponseEntity<Object> conditional(WebRequest request, SnapshotCache.Snapshot snapshot) {
+        String etag = snapshot.getETag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(snapshot.getValue());
+    }
+
+    private Map<String, Object> loadKeyMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        if (metricsEndpoint == null) {
+            return metrics;
+        }
+
+        for (String metricName : KEY_METRICS) {
+            MetricsEndpoint.MetricDescriptor descriptor = metricsEndpoint.metric(metricName, null);
+            if (descriptor == null) {
+                continue;
+            }
+            Map<String, Object> measurements = new LinkedHashMap<>();
+            for (MetricsEndpoint.Sample sample : descriptor.getMeasurements()) {
+                measurements.put(sample.getStatistic().name().toLowerCase(), sample.getValue());
+            }
+            metrics.put(metricName, measurements);
+        }
+        return metrics;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> loadThreadSummary() {
+        Map<String, Object> threadDump = objectMapper.convertValue(endpointInvoker.invoke("threaddump"),
+            new TypeReference<Map<String, Object>>() {});
+        List<Map<String, Object>> threads = (List<Map<String, Object>>) threadDump.getOrDefault("threads", List.of());
+
+        Map<String, Integer> threadsByState = new TreeMap<>();
+        int daemonThreads = 0;
+        for (Map<String, Object> thread : threads) {
+            Object state = thread.get("threadState");
+            if (state != null) {
+                threadsByState.merge(state.toString(), 1, Integer::sum);
+            }
+            if (Boolean.TRUE.equals(thread.get("daemon"))) {
+                daemonThreads++;
+            }
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("totalThreads", threads.size());
+        summary.put("daemonThreads", daemonThreads);
+        summary.put("userThreads", threads.size() - daemonThreads);
+        summary.put("threadsByState", threadsByState);
+        return summary;
+    }
+
+    /**
+     * The appender is only registered while core.auth.log-streaming-enabled is true
+     */
+    private InMemoryLogAppender logAppender() {
+        // Use singleton instance if available, fallback to injected instance
+        InMemoryLogAppender appender = InMemoryLogAppender.getInstance() != null ?
+            InMemoryLogAppender.getInstance() : logAppender;
+        if (appender == null) {
+            throw new IllegalStateException("Log streaming is disabled (core.auth.log-streaming-enabled=false)");
+        }
+        return appender;
+    }
+}
@@ -1,5 +1,6 @@
 package com.control.core.controller;
 
+import com.control.core.dto.BulkUserActionRequest;
 import com.control.core.dto.CreateUserRequest;
 import com.control.core.model.User;
 import com.control.core.model.Role;
@@ -7,10 +8,16 @@ import com.control.core.model.Permission;
 import com.control.core.service.UserService;
 import com.control.core.service.RoleService;
 import com.control.core.service.PermissionService;
+import com.control.core.service.PasswordResetService;
+import com.control.core.service.UserBulkService;
 import com.control.core.logging.InMemoryLogAppender;
+import com.control.core.actuator.ActuatorEndpointInvoker;
+import com.control.core.actuator.MetricsStreamPublisher;
+import com.control.core.actuator.EnvironmentPropertyIndex;
+import com.control.core.actuator.HealthAggregator;
+import com.control.core.autoconfigure.CoreAuthProperties;
+import com.control.core.startup.StartupTimelineReport;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.actuate.health.HealthEndpoint;
-import org.springframework.boot.actuate.health.HealthComponent;
 import org.springframework.boot.actuate.info.InfoEndpoint;
 import org.springframework.boot.actuate.metrics.MetricsEndpoint;
 import org.springframework.boot.actuate.env.EnvironmentEndpoint;
@@ -25,10 +32,10 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.http.MediaType;
-import org.springframework.web.client.RestTemplate;
 
 import jakarta.validation.Valid;
 import jakarta.servlet.http.HttpServletRequest;
+import java.security.Principal;
 import java.util.*;
 import java.util.stream.Collectors;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -55,7 +62,10 @@ public class AdminController {
     private PermissionService permissionService;
     
     @Autowired
-    private HealthEndpoint healthEndpoint;
+    private PasswordResetService passwordResetService;
+
+    @Autowired
+    private UserBulkService userBulkService;
     
     @Autowired
     private InfoEndpoint infoEndpoint;
@@ -75,14 +85,26 @@ public class AdminController {
     @Autowired(required = false)
     private BeansEndpoint beansEndpoint;
     
-    @Autowired(required = false)
-    private org.springframework.boot.actuate.management.ThreadDumpEndpoint threadDumpEndpoint;
+    @Autowired
+    private ActuatorEndpointInvoker endpointInvoker;
     
-    @Autowired(required = false)
-    private org.springframework.boot.actuate.endpoint.web.WebEndpointsSupplier webEndpointsSupplier;
+    @Autowired
+    private MetricsStreamPublisher metricsStreamPublisher;
     
     @Autowired
+    private EnvironmentPropertyIndex environmentIndex;
+    
+    @Autowired
+    private HealthAggregator healthAggregator;
+    
+    @Autowired
+    private CoreAuthProperties coreAuthProperties;
+    
+    @Autowired(required = false)
     private com.control.core.logging.InMemoryLogAppender logAppender;
+
+    @Autowired
+    private StartupTimelineReport startupTimelineReport;
     
     @GetMapping("/users")
     public String userManagement(@RequestParam(value = "search", required = false) String search,
@@ -123,20 +145,14 @@ public class AdminController {
         }
         
         // Calculate statistics
-        List<User> allUsers = userService.getAllUsers();
-        long totalUsers = allUsers.size();
-        long activeUsers = allUsers.stream().mapToLong(user -> user.isEnabled() ? 1 : 0).sum();
-        long inactiveUsers = totalUsers - activeUsers;
-        long adminUsers = allUsers.stream().mapToLong(user -> "ADMIN".equals(user.getRole()) ? 1 : 0).sum();
+        Map<String, Long> userStats = userService.getUserStatistics();
         
         model.addAttribute("users", users);
-        model.addAttribute("totalUsers", totalUsers);
-        model.addAttribute("activeUsers", activeUsers);
-        model.addAttribute("inactiveUsers", inactiveUsers);
-        model.addAttribute("adminUsers", adminUsers);
+        model.addAllAttributes(userStats);
         model.addAttribute("search", search);
         model.addAttribute("roleFilter", roleFilter);
         model.addAttribute("statusFilter", statusFilter);
+        model.addAttribute("roles", roleService.findAll());
         
         return "user-management";
     }
@@ -168,6 +184,28 @@ public class AdminController {
         return "redirect:/admin/users";
     }
     
+    @PostMapping("/users/bulk")
+    public String bulkUpdateUsers(@ModelAttribute BulkUserActionRequest request,
+                                  Principal principal,
+                                  RedirectAttributes redirectAttributes) {
+        try {
+            int affected = userBulkService.apply(request, principal != null ? principal.getName() : null);
+            String verb = switch (request.getAction()) {
+                case ACTIVATE -> "Activated";
+                case DEACTIVATE -> "Deactivated";
+                case ASSIGN_ROLE -> "Assigned " + request.getRoleName() + " to";
+                case REMOVE_ROLE -> "Removed " + request.getRoleName() + " from";
+            };
+            redirectAttributes.addFlashAttribute("success", request.isDryRun()
+                ? affected + " user(s) match this selection"
+                : verb + " " + affected + " user(s)");
+        } catch (RuntimeException e) {
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
+        }
+        
+        return "redirect:/admin/users";
+    }
+    
     @PostMapping("/users/{id}/activate")
     public String activateUser(@PathVariable("id") Long id, RedirectAttributes redirectAttributes) {
         try {
@@ -258,96 +296,47 @@ public class AdminController {
     }
     
     @GetMapping("/actuator/endpoints")
-    @SuppressWarnings("unchecked")
-    public String allEndpoints(Model model, HttpServletRequest request) {
+    public String allEndpoints(Model model) {
         try {
             Map<String, Map<String, Object>> endpoints = new LinkedHashMap<>();
             
-            if (webEndpointsSupplier != null) {
-                // Use injected WebEndpointsSupplier directly (recommended approach)
-                Collection<org.springframework.boot.actuate.endpoint.web.ExposableWebEndpoint> webEndpoints = 
-                    webEndpointsSupplier.getEndpoints();
+            for (ActuatorEndpointInvoker.EndpointReference endpoint : endpointInvoker.getEndpoints()) {
+                String endpointId = endpoint.getId();
                 
-                for (org.springframework.boot.actuate.endpoint.web.ExposableWebEndpoint endpoint : webEndpoints) {
-                    String endpointId = endpoint.getEndpointId().toLowerCaseString();
-                    
-                    Map<String, Object> endpointInfo = new HashMap<>();
-                    endpointInfo.put("name", endpointId);
-                    endpointInfo.put("displayName", formatEndpointName(endpointId));
-                    endpointInfo.put("description", getEndpointDescription(endpointId));
-                    endpointInfo.put("category", getEndpointCategory(endpointId));
-                    endpointInfo.put("icon", getEndpointIcon(endpointId));
-                    endpointInfo.put("url", getEndpointUrl(endpointId));
-                    endpointInfo.put("available", true);
-                    
-                    // Add root path for the endpoint
-                    String rootPath = endpoint.getRootPath();
-                    if (rootPath != null && !rootPath.isEmpty()) {
-                        endpointInfo.put("href", rootPath);
-                    }
-                    
-                    endpoints.put(endpointId, endpointInfo);
-                }
-                
-                // Add custom logs endpoint
-                Map<String, Object> logsEndpoint = new HashMap<>();
-                logsEndpoint.put("name", "logs");
-                logsEndpoint.put("displayName", "Logs");
-                logsEndpoint.put("description", "Application logs and real-time monitoring");
-                logsEndpoint.put("category", "Diagnostics");
-                logsEndpoint.put("icon", "article");
-                logsEndpoint.put("url", "/admin/actuator/logs-detail");
-                logsEndpoint.put("available", true);
-                endpoints.put("logs", logsEndpoint);
-            } else {
-                // Fallback to HTTP call if WebEndpointsSupplier is not available
-                String actuatorUrl = buildAbsoluteActuatorUrl(request, "");
+                Map<String, Object> endpointInfo = new HashMap<>();
+                endpointInfo.put("name", endpointId);
+                endpointInfo.put("displayName", formatEndpointName(endpointId));
+                endpointInfo.put("description", getEndpointDescription(endpointId));
+                endpointInfo.put("category", getEndpointCategory(endpointId));
+                endpointInfo.put("icon", getEndpointIcon(endpointId));
+                endpointInfo.put("url", getEndpointUrl(endpointId));
+                endpointInfo.put("available", true);
                 
-                RestTemplate restTemplate = createAuthenticatedRestTemplate(request);
-                @SuppressWarnings("rawtypes")
-                ResponseEntity<Map> response = restTemplate.getForEntity(actuatorUrl, Map.class);
-                Map<String, Object> actuatorData = (Map<String, Object>) response.getBody();
-                
-                if (actuatorData != null && actuatorData.containsKey("_links")) {
-                    Map<String, Object> links = (Map<String, Object>) actuatorData.get("_links");
-                    
-                    for (Map.Entry<String, Object> entry : links.entrySet()) {
-                        String endpointName = entry.getKey();
-                        if (!"self".equals(endpointName)) {
-                            Map<String, Object> endpointInfo = new HashMap<>();
-                            endpointInfo.put("name", endpointName);
-                            endpointInfo.put("displayName", formatEndpointName(endpointName));
-                            endpointInfo.put("description", getEndpointDescription(endpointName));
-                            endpointInfo.put("category", getEndpointCategory(endpointName));
-                            endpointInfo.put("icon", getEndpointIcon(endpointName));
-                            endpointInfo.put("url", getEndpointUrl(endpointName));
-                            endpointInfo.put("available", true);
-                            
-                            Map<String, Object> linkData = (Map<String, Object>) entry.getValue();
-                            if (linkData.containsKey("href")) {
-                                endpointInfo.put("href", linkData.get("href"));
-                            }
-                            
-                            endpoints.put(endpointName, endpointInfo);
-                        }
-                    }
-                    
-                    // Add custom logs endpoint
-                    Map<String, Object> logsEndpoint = new HashMap<>();
-                    logsEndpoint.put("name", "logs");
-                    logsEndpoint.put("displayName", "Logs");
-                    logsEndpoint.put("description", "Application logs and real-time monitoring");
-                    logsEndpoint.put("category", "Diagnostics");
-                    logsEndpoint.put("icon", "article");
-                    logsEndpoint.put("url", "/admin/actuator/logs-detail");
-                    logsEndpoint.put("available", true);
-                    endpoints.put("logs", logsEndpoint);
-                } else {
-                    model.addAttribute("error", "No actuator endpoints found");
-                    return "endpoints-overview";
+                // Add root path for the endpoint
+                String rootPath = endpoint.getRootPath();
+                if (rootPath != null && !rootPath.isEmpty()) {
+                    endpointInfo.put("href", rootPath);
                 }
+                
+                endpoints.put(endpointId, endpointInfo);
+            }
+            
+            if (endpoints.isEmpty()) {
+                model.addAttribute("error", "No actuator endpoints found");
+                return "endpoints-overview";
             }
             
+            // Add custom logs endpoint
+            Map<String, Object> logsEndpoint = new HashMap<>();
+            logsEndpoint.put("name", "logs");
+            logsEndpoint.put("displayName", "Logs");
+            logsEndpoint.put("description", "Application logs and real-time monitoring");
+            logsEndpoint.put("category", "Diagnostics");
+            logsEndpoint.put("icon", "article");
+            logsEndpoint.put("url", "/admin/actuator/logs-detail");
+            logsEndpoint.put("available", true);
+            endpoints.put("logs", logsEndpoint);
+            
             model.addAttribute("endpoints", endpoints);
             model.addAttribute("totalEndpoints", endpoints.size());
             
@@ -451,27 +440,19 @@ public class AdminController {
     }
     
     @GetMapping("/actuator/health-detail")
-    public String healthDetail(Model model) {
+    public String healthDetail(@RequestParam(defaultValue = "false") boolean refresh, Model model) {
         try {
-            HealthComponent health = healthEndpoint.health();
-            
-            if (health != null) {
-                System.out.println("Health object class: " + health.getClass().getName());
-                System.out.println("Health status: " + health.getStatus().getCode());
-                
-                // Use Jackson to convert HealthComponent to a Map structure
-                ObjectMapper mapper = new ObjectMapper();
-                Map<String, Object> healthMap = mapper.convertValue(health, new TypeReference<Map<String, Object>>() {});
-                
-                System.out.println("Health map keys: " + healthMap.keySet());
-                System.out.println("Health map: " + healthMap);
-                
-                model.addAttribute("healthData", healthMap);
-                model.addAttribute("component", "health");
+            if (refresh) {
+                healthAggregator.evict();
             }
+            // Contributors are evaluated in parallel with per-check timeouts, and the report is cached
+            HealthAggregator.HealthReport report = healthAggregator.getReport();
+            model.addAttribute("healthData", report.toMap());
+            model.addAttribute("healthDurationMs", report.getDurationMs());
+            model.addAttribute("lastUpdated", report.getEvaluatedAt());
+            model.addAttribute("component", "health");
         } catch (Exception e) {
             System.err.println("Error in healthDetail: " + e.getMessage());
-            e.printStackTrace();
             model.addAttribute("error", "Unable to fetch health information: " + e.getMessage());
         }
         
@@ -627,81 +608,25 @@ public class AdminController {
     }
     
     @GetMapping("/actuator/environment-detail")
-    public String environmentDetail(Model model) {
+    public String environmentDetail(@RequestParam(required = false) String q,
+                                    @RequestParam(required = false) String source,
+                                    @RequestParam(defaultValue = "0") int page,
+                                    @RequestParam(required = false) Integer size,
+                                    @RequestParam(defaultValue = "false") boolean refresh,
+                                    Model model) {
         try {
-            if (environmentEndpoint != null) {
-                // Get the complete environment information
-                Object environmentResponse = environmentEndpoint.environment(null);
-                
-                // Use Jackson ObjectMapper to convert to Map structure
-                ObjectMapper objectMapper = new ObjectMapper();
-                String environmentJson = objectMapper.writeValueAsString(environmentResponse);
-                @SuppressWarnings("unchecked")
-                Map<String, Object> environmentMap = objectMapper.readValue(environmentJson, Map.class);
-                
-                System.out.println("Environment data keys: " + environmentMap.keySet());
-                
-                // Process property sources for better display
-                Object propertySources = environmentMap.get("propertySources");
-                Map<String, Object> processedSources = new HashMap<>();
-                Map<String, Integer> sourceCounts = new HashMap<>();
-                java.util.List<Map<String, Object>> keyPropertiesList = new java.util.ArrayList<>();
-                
-                if (propertySources instanceof java.util.Collection) {
-                    @SuppressWarnings("unchecked")
-                    java.util.Collection<Map<String, Object>> sources = 
-                        (java.util.Collection<Map<String, Object>>) propertySources;
-                    
-                    for (Map<String, Object> source : sources) {
-                        String sourceName = (String) source.get("name");
-                        Object properties = source.get("properties");
-                        
-                        if (sourceName != null && properties instanceof Map) {
-                            @SuppressWarnings("unchecked")
-                            Map<String, Object> props = (Map<String, Object>) properties;
-                            
-                            // Process properties to extract values from Spring's nested structure
-                            Map<String, Object> processedProps = new HashMap<>();
-                            for (Map.Entry<String, Object> propEntry : props.entrySet()) {
-                                String propKey = propEntry.getKey();
-                                Object propValue = propEntry.getValue();
-                                
-                                // Create a property object with key and extracted value
-                                Map<String, Object> propertyInfo = new HashMap<>();
-                                propertyInfo.put("key", propKey);
-                                propertyInfo.put("value", extractPropertyValue(propValue));
-                                
-                                processedProps.put(propKey, propertyInfo);
-                            }
-                            
-                            // Store processed source info
-                            Map<String, Object> sourceInfo = new HashMap<>();
-                            sourceInfo.put("name", sourceName);
-                            sourceInfo.put("propertyCount", props.size());
-                            sourceInfo.put("properties", processedProps);
-                            
-                            processedSources.put(sourceName, sourceInfo);
-                            sourceCounts.put(sourceName, props.size());
-                            
-                            // Extract key properties for quick overview
-                            extractKeyProperties(props, keyPropertiesList, sourceName);
-                        }
-                    }
-                }
-                
-                // Prepare summary statistics
-                Map<String, Object> environmentSummary = new HashMap<>();
-                environmentSummary.put("totalSources", processedSources.size());
-                environmentSummary.put("totalProperties", sourceCounts.values().stream().mapToInt(Integer::intValue).sum());
-                
-                // Add data to model
-                model.addAttribute("environmentData", environmentMap);
-                model.addAttribute("propertySources", processedSources);
-                model.addAttribute("sourceCounts", sourceCounts);
-                model.addAttribute("keyProperties", keyPropertiesList);
-                model.addAttribute("environmentSummary", environmentSummary);
-                model.addAttribute("lastUpdated", LocalDateTime.now());
+            if (environmentIndex.isAvailable()) {
+                // The index is only rebuilt when explicitly refreshed, paging and searching reuse it
+                EnvironmentPropertyIndex.Snapshot snapshot = environmentIndex.getSnapshot(refresh);
+                int pageSize = Math.min(size != null ? size : coreAuthProperties.getActuator().getEnvironmentPageSize(), 500);
+                EnvironmentPropertyIndex.Page results = snapshot.search(q, source, page, pageSize);
                 
+                model.addAttribute("environment", snapshot);
+                model.addAttribute("propertySources", snapshot.getSources());
+                model.addAttribute("results", results);
+                model.addAttribute("q", q != null ? q : "");
+                model.addAttribute("source", source != null ? source : "");
+                model.addAttribute("lastUpdated", snapshot.getBuiltAt());
             } else {
                 model.addAttribute("error", "EnvironmentEndpoint is not available");
             }
@@ -709,7 +634,6 @@ public class AdminController {
             model.addAttribute("section", "environment");
         } catch (Exception e) {
             System.out.println("Error fetching environment: " + e.getMessage());
-            e.printStackTrace();
             model.addAttribute("error", "Unable to fetch environment information: " + e.getMessage());
         }
         
@@ -1118,61 +1042,6 @@ public class AdminController {
         return stringValue;
     }
     
-    /**
-     * Extract key properties that are commonly of interest for environment overview
-     */
-    private void extractKeyProperties(Map<String, Object> properties, java.util.List<Map<String, Object>> keyPropertiesList, String sourceName) {
-        String[] keyPrefixes = {
-            "server.", "spring.", "management.", "logging.", "app.", "java.", 
-            "user.", "os.", "file.separator", "line.separator", "path.separator"
-        };
-        
-        for (Map.Entry<String, Object> entry : properties.entrySet()) {
-            String propName = entry.getKey();
-            Object propValue = entry.getValue();
-            
-            // Extract value from property structure
-            String displayValue = extractPropertyValue(propValue);
-            
-            // Check if this is a key property we want to highlight
-            for (String prefix : keyPrefixes) {
-                if (propName.startsWith(prefix) || propName.equals("java.version") || 
-                    propName.equals("os.name") || propName.equals("user.name") ||
-                    propName.contains("port") || propName.contains("url") || propName.contains("path")) {
-                    
-                    Map<String, Object> propertyInfo = new HashMap<>();
-                    propertyInfo.put("key", propName);
-                    propertyInfo.put("value", displayValue);
-                    propertyInfo.put("source", sourceName);
-                    keyPropertiesList.add(propertyInfo);
-                    break;
-                }
-            }
-        }
-    }
-    
-    /**
-     * Extract the actual value from Spring's property value structure
-     */
-    private String extractPropertyValue(Object propValue) {
-        if (propValue instanceof Map) {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> propMap = (Map<String, Object>) propValue;
-            Object value = propMap.get("value");
-            if (value != null) {
-                return value.toString();
-            }
-            // If no "value" key, try "origin" or return the whole map as string
-            Object origin = propMap.get("origin");
-            if (origin != null) {
-                return origin.toString();
-            }
-            // Return a cleaned up version of the map
-            return propMap.toString().replaceAll("\\{|\\}", "");
-        }
-        return propValue != null ? propValue.toString() : "null";
-    }
-    
     /**
      * Enhance metric data to provide better display information for metrics
      * that might not have measurements but have available tags or other data structures.
@@ -1350,37 +1219,15 @@ public class AdminController {
     @GetMapping("/actuator/threaddump-detail")
     @PreAuthorize("hasRole('ADMIN')")
     @SuppressWarnings("unchecked")
-    public String threadDumpDetail(Model model, HttpServletRequest request) {
+    public String threadDumpDetail(Model model) {
         try {
-            List<Map<String, Object>> threads;
+            // Thread dump is taken in-process (and briefly cached) rather than over HTTP
+            Object threadDumpResponse = endpointInvoker.invoke("threaddump");
             
-            if (threadDumpEndpoint != null) {
-                // Use injected ThreadDumpEndpoint directly (recommended approach)
-                Object threadDumpResponse = threadDumpEndpoint.threadDump();
-                
-                if (threadDumpResponse instanceof org.springframework.boot.actuate.management.ThreadDumpEndpoint.ThreadDumpDescriptor) {
-                    org.springframework.boot.actuate.management.ThreadDumpEndpoint.ThreadDumpDescriptor descriptor = 
-                        (org.springframework.boot.actuate.management.ThreadDumpEndpoint.ThreadDumpDescriptor) threadDumpResponse;
-                    
-                    // Convert to Map using Jackson for easier template processing
-                    ObjectMapper mapper = new ObjectMapper();
-                    Map<String, Object> threadDumpMap = mapper.convertValue(descriptor, new TypeReference<Map<String, Object>>() {});
-                    threads = (List<Map<String, Object>>) threadDumpMap.get("threads");
-                } else {
-                    // Fallback: convert response to Map directly
-                    ObjectMapper mapper = new ObjectMapper();
-                    String jsonString = mapper.writeValueAsString(threadDumpResponse);
-                    Map<String, Object> threadDumpMap = mapper.readValue(jsonString, new TypeReference<Map<String, Object>>() {});
-                    threads = (List<Map<String, Object>>) threadDumpMap.get("threads");
-                }
-            } else {
-                // Fallback to HTTP call if ThreadDumpEndpoint is not available
-                RestTemplate restTemplate = createAuthenticatedRestTemplate(request);
-                String threadDumpUrl = buildAbsoluteActuatorUrl(request, "/threaddump");
-                Map<String, Object> threadDumpResponse = restTemplate.getForObject(threadDumpUrl, Map.class);
-                threads = threadDumpResponse != null ? 
-                    (List<Map<String, Object>>) threadDumpResponse.get("threads") : new ArrayList<>();
-            }
+            // Convert to Map using Jackson for easier template processing
+            ObjectMapper mapper = new ObjectMapper();
+            Map<String, Object> threadDumpMap = mapper.convertValue(threadDumpResponse, new TypeReference<Map<String, Object>>() {});
+            List<Map<String, Object>> threads = (List<Map<String, Object>>) threadDumpMap.get("threads");
             
             if (threads == null) {
                 threads = new ArrayList<>();
@@ -1449,6 +1296,39 @@ public class AdminController {
         }
     }
     
+    @GetMapping("/actuator/startup-detail")
+    @PreAuthorize("hasRole('ADMIN')")
+    public String startupDetail(Model model) {
+        try {
+            List<StartupTimelineReport.Step> steps = new ArrayList<>(startupTimelineReport.getSteps());
+            // Slowest first; the table can be re-sorted client side
+            steps.sort(Comparator.comparingLong(StartupTimelineReport.Step::getSelfMillis).reversed());
+
+            Map<String, Long> byCategory = startupTimelineReport.getSelfTimeByCategory(steps).entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .collect(LinkedHashMap::new, (m, e) -> m.put(e.getKey(), e.getValue()), Map::putAll);
+            long starterMillis = steps.stream()
+                    .filter(StartupTimelineReport.Step::isStarter)
+                    .mapToLong(StartupTimelineReport.Step::getSelfMillis)
+                    .sum();
+            long refreshMillis = steps.stream()
+                    .filter(step -> "spring.context.refresh".equals(step.getName()))
+                    .mapToLong(StartupTimelineReport.Step::getDurationMillis)
+                    .max()
+                    .orElse(0);
+
+            model.addAttribute("recording", startupTimelineReport.isRecording());
+            model.addAttribute("steps", steps);
+            model.addAttribute("totalSteps", steps.size());
+            model.addAttribute("selfTimeByCategory", byCategory);
+            model.addAttribute("starterMillis", starterMillis);
+            model.addAttribute("refreshMillis", refreshMillis);
+        } catch (Exception e) {
+            model.addAttribute("error", "Failed to load startup timeline: " + e.getMessage());
+        }
+        return "startup-timeline";
+    }
+    
     /**
      * Determine metric category for better display organization
      */
@@ -1463,138 +1343,6 @@ public class AdminController {
         return "Other";
     }
     
-    /**
-     * Helper method to build absolute URL for actuator endpoints
-     * Handles production environments with load balancers and proxies
-     */
-    private String buildAbsoluteActuatorUrl(HttpServletRequest request, String endpoint) {
-        // Try to get the original scheme and host from proxy headers first
-        String scheme = getOriginalScheme(request);
-        String serverName = getOriginalHost(request);
-        int serverPort = getOriginalPort(request, scheme);
-        String contextPath = request.getContextPath();
-        
-        // Build the base URL
-        String baseUrl;
-        if ((scheme.equals("http") && serverPort == 80) || (scheme.equals("https") && serverPort == 443)) {
-            // Don't include standard ports in the URL
-            baseUrl = scheme + "://" + serverName + contextPath;
-        } else {
-            baseUrl = scheme + "://" + serverName + ":" + serverPort + contextPath;
-        }
-        
-        return baseUrl + "/actuator" + endpoint;
-    }
-    
-    /**
-     * Get the original scheme, handling X-Forwarded-Proto and other proxy headers
-     */
-    private String getOriginalScheme(HttpServletRequest request) {
-        // Check for X-Forwarded-Proto header (common in load balancers)
-        String forwardedProto = request.getHeader("X-Forwarded-Proto");
-        if (forwardedProto != null && !forwardedProto.isEmpty()) {
-            return forwardedProto.toLowerCase();
-        }
-        
-        // Check for X-Forwarded-SSL header
-        String forwardedSsl = request.getHeader("X-Forwarded-SSL");
-        if ("on".equalsIgnoreCase(forwardedSsl)) {
-            return "https";
-        }
-        
-        // Fall back to request scheme
-        return request.getScheme();
-    }
-    
-    /**
-     * Get the original host, handling X-Forwarded-Host and other proxy headers
-     */
-    private String getOriginalHost(HttpServletRequest request) {
-        // Check for X-Forwarded-Host header (common in load balancers)
-        String forwardedHost = request.getHeader("X-Forwarded-Host");
-        if (forwardedHost != null && !forwardedHost.isEmpty()) {
-            // Handle comma-separated list of hosts (take the first one)
-            return forwardedHost.split(",")[0].trim();
-        }
-        
-        // Check for Host header
-        String hostHeader = request.getHeader("Host");
-        if (hostHeader != null && !hostHeader.isEmpty()) {
-            // Extract hostname from Host header (remove port if present)
-            return hostHeader.split(":")[0].trim();
-        }
-        
-        // Fall back to request server name
-        return request.getServerName();
-    }
-    
-    /**
-     * Get the original port, handling X-Forwarded-Port and other proxy headers
-     */
-    private int getOriginalPort(HttpServletRequest request, String scheme) {
-        // Check for X-Forwarded-Port header
-        String forwardedPort = request.getHeader("X-Forwarded-Port");
-        if (forwardedPort != null && !forwardedPort.isEmpty()) {
-            try {
-                return Integer.parseInt(forwardedPort.trim());
-            } catch (NumberFormatException e) {
-                // Invalid port, fall through to defaults
-            }
-        }
-        
-        // Check for Host header with port
-        String hostHeader = request.getHeader("Host");
-        if (hostHeader != null && hostHeader.contains(":")) {
-            String[] hostParts = hostHeader.split(":");
-            if (hostParts.length == 2) {
-                try {
-                    return Integer.parseInt(hostParts[1].trim());
-                } catch (NumberFormatException e) {
-                    // Invalid port, fall through to defaults
-                }
-            }
-        }
-        
-        // Use standard ports for schemes
-        if ("https".equals(scheme)) {
-            return 443;
-        } else if ("http".equals(scheme)) {
-            return 80;
-        }
-        
-        // Fall back to request server port
-        return request.getServerPort();
-    }
-    
-    /**
-     * Create a RestTemplate with proper authentication context for internal actuator calls
-     */
-    private RestTemplate createAuthenticatedRestTemplate(HttpServletRequest request) {
-        RestTemplate restTemplate = new RestTemplate();
-        
-        // Add session cookie for authentication
-        String sessionId = null;
-        if (request.getCookies() != null) {
-            for (jakarta.servlet.http.Cookie cookie : request.getCookies()) {
-                if ("JSESSIONID".equals(cookie.getName())) {
-                    sessionId = cookie.getValue();
-                    break;
-                }
-            }
-        }
-        
-        if (sessionId != null) {
-            // Add interceptor to include session cookie in requests
-            final String finalSessionId = sessionId;
-            restTemplate.getInterceptors().add((httpRequest, body, execution) -> {
-                httpRequest.getHeaders().add("Cookie", "JSESSIONID=" + finalSessionId);
-                return execution.execute(httpRequest, body);
-            });
-        }
-        
-        return restTemplate;
-    }
-    
     // Role and Permission Management Methods
     
     @GetMapping("/roles")
@@ -1655,6 +1403,21 @@ public class AdminController {
         return "redirect:/admin/roles";
     }
     
+    @PostMapping("/roles/{id}/password-reset")
+    public String sendPasswordResetToRole(@PathVariable Long id, RedirectAttributes redirectAttributes) {
+        try {
+            Role role = roleService.findById(id)
+                .orElseThrow(() -> new RuntimeException("Role not found"));
+            int notified = passwordResetService.sendPasswordResetToRole(role.getName());
+            redirectAttributes.addFlashAttribute("success",
+                "Password reset links queued for " + notified + " user(s) with role " + role.getName());
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("error", "Failed to send password reset links: " + e.getMessage());
+        }
+        
+        return "redirect:/admin/roles";
+    }
+    
     @PostMapping("/roles/{id}/delete")
     public String deleteRole(@PathVariable Long id, RedirectAttributes redirectAttributes) {
         try {
@@ -1892,9 +1655,7 @@ public class AdminController {
     @PreAuthorize("hasRole('ADMIN')")
     public String logsDetail(Model model) {
         try {
-            // Use singleton instance if available, fallback to injected instance
-            InMemoryLogAppender appender = InMemoryLogAppender.getInstance() != null ? 
-                InMemoryLogAppender.getInstance() : logAppender;
+            InMemoryLogAppender appender = logAppender();
             
             // Get log statistics
             Map<String, Object> stats = appender.getStatistics();
@@ -1915,18 +1676,33 @@ public class AdminController {
     public List<com.control.core.logging.InMemoryLogAppender.LogEvent> getRecentLogs(
             @RequestParam(defaultValue = "200") int limit,
             @RequestParam(defaultValue = "ALL") String level) {
-        // Use singleton instance if available, fallback to injected instance
-        InMemoryLogAppender appender = InMemoryLogAppender.getInstance() != null ? 
-            InMemoryLogAppender.getInstance() : logAppender;
+        InMemoryLogAppender appender = logAppender();
         return appender.getRecent(limit, level);
     }
     
     @GetMapping(value = "/actuator/logs/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
     @PreAuthorize("hasRole('ADMIN')")
     public SseEmitter streamLogs() {
+        InMemoryLogAppender appender = logAppender();
+        return appender.createEmitter(30 * 60 * 1000L); // 30 minutes timeout
+    }
+    
+    @GetMapping(value = "/actuator/metrics/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public SseEmitter streamMetrics() {
+        return metricsStreamPublisher.subscribe(30 * 60 * 1000L); // 30 minutes timeout
+    }
+
+    /**
+     * The appender is only registered while core.auth.log-streaming-enabled is true
+     */
+    private InMemoryLogAppender logAppender() {
         // Use singleton instance if available, fallback to injected instance
-        InMemoryLogAppender appender = InMemoryLogAppender.getInstance() != null ? 
+        InMemoryLogAppender appender = InMemoryLogAppender.getInstance() != null ?
             InMemoryLogAppender.getInstance() : logAppender;
-        return appender.createEmitter(30 * 60 * 1000L); // 30 minutes timeout
+        if (appender == null) {
+            throw new IllegalStateException("Log streaming is disabled (core.auth.log-streaming-enabled=false)");
+        }
+        return appender;
     }
 }
@@ -0,0 +1,89 @@
+package com.control.core.controller;
+
+import com.control.core.dto.ApiTokenRequest;
+import com.control.core.security.CoreUserPrincipal;
+import com.control.core.security.LoginThrottleService;
+import com.control.core.service.ApiTokenService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Login, refresh and logout for the stateless API mode ({@code core.auth.api-token.enabled=true}).
+ * Clients send the returned access token as {@code Authorization: Bearer ...} on /api/** requests.
+ */
+@RestController
+@RequestMapping("/api/auth")
+public class ApiTokenController {
+    
+    private final ApiTokenService tokenService;
+    private final AuthenticationManager authenticationManager;
+    private final LoginThrottleService throttleService;
+    
+    public ApiTokenController(ApiTokenService tokenService, AuthenticationManager authenticationManager,
+                              LoginThrottleService throttleService) {
+        this.tokenService = tokenService;
+        this.authenticationManager = authenticationManager;
+        this.throttleService = throttleService;
+    }
+    
+    /**
+     * Log in with username (or email) and password, counted by the same login throttling as the login form
+     */
+    @PostMapping("/token")
+    public ResponseEntity<?> token(@RequestBody ApiTokenRequest request, HttpServletRequest httpRequest) {
+        if (request.getUsername() == null || request.getPassword() == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "username and password are required"));
+        }
+        if (throttleService.isBlocked(request.getUsername(), httpRequest.getRemoteAddr())) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .body(Map.of("error", "Too many failed logins, try again later"));
+        }
+        try {
+            UsernamePasswordAuthenticationToken attempt =
+                UsernamePasswordAuthenticationToken.unauthenticated(request.getUsername(), request.getPassword());
+            attempt.setDetails(new WebAuthenticationDetails(httpRequest));
+            Authentication authentication = authenticationManager.authenticate(attempt);
+            return ResponseEntity.ok(tokenService.issue((CoreUserPrincipal) authentication.getPrincipal()));
+        } catch (AuthenticationException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Invalid username or password"));
+        }
+    }
+    
+    /**
+     * Exchange a refresh token for a new token pair; the presented refresh token cannot be used again
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody ApiTokenRequest request) {
+        if (request.getRefreshToken() == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "refreshToken is required"));
+        }
+        try {
+            return ResponseEntity.ok(tokenService.refresh(request.getRefreshToken()));
+        } catch (AuthenticationException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    /**
+     * Log out: revoke the refresh token and every token rotated from the same login
+     */
+    @PostMapping("/revoke")
+    public ResponseEntity<?> revoke(@RequestBody ApiTokenRequest request) {
+        if (request.getRefreshToken() != null) {
+            tokenService.revoke(request.getRefreshToken());
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,59 @@
+package com.control.core.controller;
+
+import com.control.core.dto.CreateUserRequest;
+import com.control.core.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+import jakarta.validation.Valid;
+
+/**
+ * Self-registration page; only registered when {@code core.auth.registration-enabled} is true
+ */
+@Controller
+public class RegistrationController {
+    
+    @Autowired
+    private UserService userService;
+    
+    @GetMapping("/signup")
+    public String signup(Model model) {
+        model.addAttribute("createUserRequest", new CreateUserRequest());
+        return "signup";
+    }
+    
+    @PostMapping("/signup")
+    public String processSignup(@Valid @ModelAttribute CreateUserRequest createUserRequest,
+                               BindingResult bindingResult,
+                               @RequestParam("confirmPassword") String confirmPassword,
+                               Model model,
+                               RedirectAttributes redirectAttributes) {
+        
+        // Check if passwords match
+        if (!createUserRequest.getPassword().equals(confirmPassword)) {
+            bindingResult.rejectValue("password", "error.password", "Passwords do not match");
+        }
+        
+        if (bindingResult.hasErrors()) {
+            return "signup";
+        }
+        
+        try {
+            userService.createUser(
+                createUserRequest.getUsername(),
+                createUserRequest.getPassword(),
+                createUserRequest.getEmail(),
+                "USER" // Default role for signup
+            );
+            redirectAttributes.addFlashAttribute("success", "Account created successfully! Please log in.");
+            return "redirect:/login";
+        } catch (RuntimeException e) {
+            model.addAttribute("error", e.getMessage());
+            return "signup";
+        }
+    }
+}
@@ -1,17 +1,23 @@
 package com.control.core.controller;
 
+import com.control.core.dto.BulkUserActionRequest;
 import com.control.core.dto.CreateUserRequest;
 import com.control.core.dto.UpdateUserRequest;
 import com.control.core.dto.ChangePasswordRequest;
 import com.control.core.model.User;
+import com.control.core.service.UserBulkService;
+import com.control.core.service.UserImportService;
 import com.control.core.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
@@ -22,6 +28,12 @@ public class UserController {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private UserImportService userImportService;
+    
+    @Autowired
+    private UserBulkService userBulkService;
+    
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<User>> getAllUsers() {
@@ -53,6 +65,42 @@ public class UserController {
         }
     }
     
+    /**
+     * Bulk import users from a CSV (text/csv, with header row) or NDJSON (application/x-ndjson) request body.
+     * The body is streamed, so large files are not held in memory; rows that fail are reported by line number.
+     */
+    @PostMapping(value = "/import", consumes = { "text/csv", "application/x-ndjson" })
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> importUsers(HttpServletRequest request) {
+        try {
+            UserImportService.ImportResult result = request.getContentType().startsWith("text/csv")
+                ? userImportService.importCsv(request.getInputStream())
+                : userImportService.importNdjson(request.getInputStream());
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException | IOException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    /**
+     * Activate, deactivate, assign or remove a role for every user matched by ids and/or filters in one statement.
+     * With dryRun the number of matching users is returned and nothing is changed.
+     */
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> bulkUpdateUsers(@RequestBody BulkUserActionRequest request, Authentication authentication) {
+        try {
+            int affected = userBulkService.apply(request, authentication != null ? authentication.getName() : null);
+            return ResponseEntity.ok(Map.of(
+                "action", String.valueOf(request.getAction()),
+                "affected", affected,
+                "dryRun", request.isDryRun()
+            ));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+    
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> updateUser(@PathVariable Long id, @RequestBody UpdateUserRequest request) {
@@ -1,25 +1,20 @@
 package com.control.core.controller;
 
-import com.control.core.dto.CreateUserRequest;
-import com.control.core.service.UserService;
+import com.control.core.autoconfigure.CoreAuthProperties;
 import com.control.core.service.PasswordResetService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
-import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.servlet.mvc.support.RedirectAttributes;
-
-import jakarta.validation.Valid;
 
 @Controller
 public class WebController {
     
     @Autowired
-    private UserService userService;
+    private PasswordResetService passwordResetService;
     
     @Autowired
-    private PasswordResetService passwordResetService;
+    private CoreAuthProperties properties;
     
     // Removed root mapping to allow consumer applications to define their own root route
     // @GetMapping("/")
@@ -37,46 +32,11 @@ public class WebController {
         if (logout != null) {
             model.addAttribute("success", "You have been logged out successfully");
         }
+        // The signup link is hidden when RegistrationController is not registered
+        model.addAttribute("registrationEnabled", properties.isRegistrationEnabled());
         return "login";
     }
     
-    @GetMapping("/signup")
-    public String signup(Model model) {
-        model.addAttribute("createUserRequest", new CreateUserRequest());
-        return "signup";
-    }
-    
-    @PostMapping("/signup")
-    public String processSignup(@Valid @ModelAttribute CreateUserRequest createUserRequest,
-                               BindingResult bindingResult,
-                               @RequestParam("confirmPassword") String confirmPassword,
-                               Model model,
-                               RedirectAttributes redirectAttributes) {
-        
-        // Check if passwords match
-        if (!createUserRequest.getPassword().equals(confirmPassword)) {
-            bindingResult.rejectValue("password", "error.password", "Passwords do not match");
-        }
-        
-        if (bindingResult.hasErrors()) {
-            return "signup";
-        }
-        
-        try {
-            userService.createUser(
-                createUserRequest.getUsername(),
-                createUserRequest.getPassword(),
-                createUserRequest.getEmail(),
-                "USER" // Default role for signup
-            );
-            redirectAttributes.addFlashAttribute("success", "Account created successfully! Please log in.");
-            return "redirect:/login";
-        } catch (RuntimeException e) {
-            model.addAttribute("error", e.getMessage());
-            return "signup";
-        }
-    }
-    
     @GetMapping("/dashboard")
     public String dashboard() {
         return "dashboard";
@@ -0,0 +1,42 @@
+package com.control.core.dto;
+
+/**
+ * Body of the API token endpoints: username and password to log in, or the refresh token to
+ * rotate or revoke
+ */
+public class ApiTokenRequest {
+    
+    private String username;
+    
+    private String password;
+    
+    private String refreshToken;
+    
+    // Constructors
+    public ApiTokenRequest() {}
+    
+    // Getters and Setters
+    public String getUsername() {
+        return username;
+    }
+    
+    public void setUsername(String username) {
+        this.username = username;
+    }
+    
+    public String getPassword() {
+        return password;
+    }
+    
+    public void setPassword(String password) {
+        this.password = password;
+    }
+    
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+    
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+}
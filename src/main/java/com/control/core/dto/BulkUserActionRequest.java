@@ -0,0 +1,100 @@
+package com.control.core.dto;
+
+import java.util.List;
+
+/**
+ * A bulk user operation and the users it applies to: either explicit ids, or a filter made of
+ * any combination of inactivity, role and status. At least one selector is required.
+ */
+public class BulkUserActionRequest {
+    
+    public enum Action {
+        ACTIVATE, DEACTIVATE, ASSIGN_ROLE, REMOVE_ROLE
+    }
+    
+    private Action action;
+    
+    /**
+     * Explicit selection
+     */
+    private List<Long> ids;
+    
+    /**
+     * Users who have not logged in (or, if they never did, were created) at least this many days ago
+     */
+    private Integer inactiveDays;
+    
+    /**
+     * Users holding this role, through a role assignment or the legacy role column
+     */
+    private String role;
+    
+    private Boolean enabled;
+    
+    /**
+     * Role assigned or removed by ASSIGN_ROLE / REMOVE_ROLE
+     */
+    private String roleName;
+    
+    /**
+     * Only count the matching users, change nothing
+     */
+    private boolean dryRun;
+    
+    // Getters and Setters
+    public Action getAction() {
+        return action;
+    }
+    
+    public void setAction(Action action) {
+        this.action = action;
+    }
+    
+    public List<Long> getIds() {
+        return ids;
+    }
+    
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+    
+    public Integer getInactiveDays() {
+        return inactiveDays;
+    }
+    
+    public void setInactiveDays(Integer inactiveDays) {
+        this.inactiveDays = inactiveDays;
+    }
+    
+    public String getRole() {
+        return role;
+    }
+    
+    public void setRole(String role) {
+        this.role = role;
+    }
+    
+    public Boolean getEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(Boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public String getRoleName() {
+        return roleName;
+    }
+    
+    public void setRoleName(String roleName) {
+        this.roleName = roleName;
+    }
+    
+    public boolean isDryRun() {
+        return dryRun;
+    }
+    
+    public void setDryRun(boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+}
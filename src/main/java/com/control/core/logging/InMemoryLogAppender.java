@@ -1,8 +1,9 @@
 package com.control.core.logging;
 
 import ch.qos.logback.classic.spi.ILoggingEvent;
-import ch.qos.logback.core.AppenderBase;
-import org.springframework.stereotype.Component;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import com.control.core.concurrent.CoreAuthThreads;
+import com.control.core.sse.SseHub;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.Instant;
@@ -10,20 +11,24 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * In-memory log appender that stores recent log events and provides live streaming capability.
  * Integrates with the admin dashboard for real-time log monitoring.
+ *
+ * Every logging thread passes through {@link #append}, so it holds a {@link ReentrantLock} only
+ * around the buffer update (no monitor, which would pin a virtual thread's carrier) and hands
+ * the event to the SSE hub, which delivers it off the logging thread.
  */
-@Component
-public class InMemoryLogAppender extends AppenderBase<ILoggingEvent> {
+public class InMemoryLogAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
 
     private static InMemoryLogAppender INSTANCE;
     
     private final Deque<LogEvent> buffer = new ArrayDeque<>();
+    private final ReentrantLock bufferLock = new ReentrantLock();
     private final int maxSize = 1000; // Keep last 1000 log entries
-    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    private volatile SseHub streamHub = new SseHub("log", CoreAuthThreads.platform());
 
     public InMemoryLogAppender() {
         INSTANCE = this;
@@ -36,8 +41,15 @@ public class InMemoryLogAppender extends AppenderBase<ILoggingEvent> {
         return INSTANCE;
     }
 
+    /**
+     * Deliver the live stream on the given threads; call before any client subscribes
+     */
+    public void setThreads(CoreAuthThreads threads) {
+        streamHub = new SseHub("log", threads);
+    }
+
     @Override
-    protected synchronized void append(ILoggingEvent eventObject) {
+    protected void append(ILoggingEvent eventObject) {
         // Keep logs at DEBUG level and above to capture Spring framework logs
         if (eventObject.getLevel().levelInt < ch.qos.logback.classic.Level.DEBUG_INT) {
             return;
@@ -45,40 +57,41 @@ public class InMemoryLogAppender extends AppenderBase<ILoggingEvent> {
 
         LogEvent logEvent = new LogEvent(eventObject);
         
-        if (buffer.size() >= maxSize) {
-            buffer.removeFirst();
+        bufferLock.lock();
+        try {
+            if (buffer.size() >= maxSize) {
+                buffer.removeFirst();
+            }
+            buffer.addLast(logEvent);
+        } finally {
+            bufferLock.unlock();
         }
-        buffer.addLast(logEvent);
 
         // Push to active SSE clients
         notifyEmitters(logEvent);
     }
 
     private void notifyEmitters(LogEvent logEvent) {
-        String payload = logEvent.toJson();
-        Iterator<SseEmitter> iterator = emitters.iterator();
-        while (iterator.hasNext()) {
-            SseEmitter emitter = iterator.next();
-            try {
-                emitter.send(SseEmitter.event()
-                    .name("log")
-                    .data(payload));
-            } catch (Exception ex) {
-                iterator.remove();
-                emitter.completeWithError(ex);
-            }
+        SseHub hub = streamHub;
+        if (hub.hasSubscribers()) {
+            hub.broadcast("log", logEvent.toJson());
         }
     }
 
-    public synchronized List<LogEvent> getRecent(int limit, String level) {
+    public List<LogEvent> getRecent(int limit, String level) {
         List<LogEvent> result = new ArrayList<>();
-        Iterator<LogEvent> iterator = buffer.descendingIterator();
-        
-        while (iterator.hasNext() && result.size() < limit) {
-            LogEvent event = iterator.next();
-            if (level == null || "ALL".equals(level) || event.getLevel().equals(level)) {
-                result.add(event);
+        bufferLock.lock();
+        try {
+            Iterator<LogEvent> iterator = buffer.descendingIterator();
+            
+            while (iterator.hasNext() && result.size() < limit) {
+                LogEvent event = iterator.next();
+                if (level == null || "ALL".equals(level) || event.getLevel().equals(level)) {
+                    result.add(event);
+                }
             }
+        } finally {
+            bufferLock.unlock();
         }
         
         Collections.reverse(result);
@@ -86,28 +99,10 @@ public class InMemoryLogAppender extends AppenderBase<ILoggingEvent> {
     }
 
     public SseEmitter createEmitter(long timeoutMillis) {
-        SseEmitter emitter = new SseEmitter(timeoutMillis);
-        emitters.add(emitter);
-        
-        emitter.onCompletion(() -> emitters.remove(emitter));
-        emitter.onTimeout(() -> emitters.remove(emitter));
-        emitter.onError((e) -> emitters.remove(emitter));
-        
-        // Send immediate connection established event to trigger browser onopen callback
-        try {
-            emitter.send(SseEmitter.event()
-                .name("connected")
-                .data("{\"message\":\"SSE connection established\",\"timestamp\":\"" + 
-                      LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS")) + 
-                      "\"}"));
-        } catch (Exception e) {
-            System.err.println("Failed to send initial SSE connection event: " + e.getMessage());
-        }
-        
-        return emitter;
+        return streamHub.subscribe(timeoutMillis);
     }
 
-    public synchronized Map<String, Object> getStatistics() {
+    public Map<String, Object> getStatistics() {
         Map<String, Object> stats = new HashMap<>();
         Map<String, Integer> levelCounts = new HashMap<>();
         
@@ -118,14 +113,21 @@ public class InMemoryLogAppender extends AppenderBase<ILoggingEvent> {
         levelCounts.put("DEBUG", 0);
         levelCounts.put("TRACE", 0);
         
-        // Count actual log events by level
-        for (LogEvent event : buffer) {
-            levelCounts.merge(event.getLevel(), 1, Integer::sum);
+        int totalEvents;
+        bufferLock.lock();
+        try {
+            // Count actual log events by level
+            for (LogEvent event : buffer) {
+                levelCounts.merge(event.getLevel(), 1, Integer::sum);
+            }
+            totalEvents = buffer.size();
+        } finally {
+            bufferLock.unlock();
         }
         
-        stats.put("totalEvents", buffer.size());
+        stats.put("totalEvents", totalEvents);
         stats.put("levelCounts", levelCounts);
-        stats.put("activeStreams", emitters.size());
+        stats.put("activeStreams", streamHub.getSubscriberCount());
         
         return stats;
     }
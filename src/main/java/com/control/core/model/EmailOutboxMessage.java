@@ -0,0 +1,213 @@
+package com.control.core.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * An email waiting to be delivered by the outbox dispatcher.
+ * Rows are written in the same transaction as the change that triggers the email and are
+ * deleted once the mail server accepts the message. A dispatcher claims a row before sending it
+ * by pushing {@code nextAttemptAt} past the end of its run, so no other node picks it up meanwhile.
+ */
+@Entity
+@Table(name = "email_outbox", indexes = {
+    @Index(name = "idx_email_outbox_due", columnList = "status, next_attempt_at")
+})
+public class EmailOutboxMessage {
+    
+    public enum Status {
+        PENDING,
+        FAILED
+    }
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "from_address", length = 255)
+    private String fromAddress;
+    
+    @Column(nullable = false, length = 255)
+    private String recipient;
+    
+    @Column(nullable = false, length = 255)
+    private String subject;
+    
+    @Column(length = 10000)
+    private String body;
+    
+    /**
+     * HTML alternative of the body; when set the message is sent as multipart/alternative
+     */
+    @Column(name = "html_body", length = 20000)
+    private String htmlBody;
+    
+    /**
+     * Set instead of a body for messages rendered at send time, e.g. ones carrying a one-time link
+     */
+    @Column(name = "template_name", length = 100)
+    private String templateName;
+    
+    /**
+     * Id of the row the template renders from, such as the password reset token
+     */
+    @Column(name = "reference_id")
+    private Long referenceId;
+    
+    @Column(length = 35)
+    private String locale;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status = Status.PENDING;
+    
+    @Column(nullable = false)
+    private int attempts = 0;
+    
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+    
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+    
+    /**
+     * Node currently sending the message; the claim lasts until {@code nextAttemptAt}
+     */
+    @Column(name = "claimed_by", length = 100)
+    private String claimedBy;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt = LocalDateTime.now();
+    
+    // Constructors
+    public EmailOutboxMessage() {}
+    
+    public EmailOutboxMessage(String fromAddress, String recipient, String subject, String body) {
+        this.fromAddress = fromAddress;
+        this.recipient = recipient;
+        this.subject = subject;
+        this.body = body;
+        this.nextAttemptAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getFromAddress() {
+        return fromAddress;
+    }
+    
+    public void setFromAddress(String fromAddress) {
+        this.fromAddress = fromAddress;
+    }
+    
+    public String getRecipient() {
+        return recipient;
+    }
+    
+    public void setRecipient(String recipient) {
+        this.recipient = recipient;
+    }
+    
+    public String getSubject() {
+        return subject;
+    }
+    
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+    
+    public String getBody() {
+        return body;
+    }
+    
+    public void setBody(String body) {
+        this.body = body;
+    }
+    
+    public String getHtmlBody() {
+        return htmlBody;
+    }
+    
+    public void setHtmlBody(String htmlBody) {
+        this.htmlBody = htmlBody;
+    }
+    
+    public String getTemplateName() {
+        return templateName;
+    }
+    
+    public void setTemplateName(String templateName) {
+        this.templateName = templateName;
+    }
+    
+    public Long getReferenceId() {
+        return referenceId;
+    }
+    
+    public void setReferenceId(Long referenceId) {
+        this.referenceId = referenceId;
+    }
+    
+    public String getLocale() {
+        return locale;
+    }
+    
+    public void setLocale(String locale) {
+        this.locale = locale;
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+    
+    public int getAttempts() {
+        return attempts;
+    }
+    
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+    
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+    
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+    
+    public String getLastError() {
+        return lastError;
+    }
+    
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+    
+    public String getClaimedBy() {
+        return claimedBy;
+    }
+    
+    public void setClaimedBy(String claimedBy) {
+        this.claimedBy = claimedBy;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
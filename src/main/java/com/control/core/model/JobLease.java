@@ -0,0 +1,57 @@
+package com.control.core.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Database lease that lets only one node at a time run a background job.
+ * A node owns the lease until {@code leasedUntil}; after that any node may take it over.
+ */
+@Entity
+@Table(name = "job_leases")
+public class JobLease {
+    
+    @Id
+    @Column(length = 100)
+    private String name;
+    
+    @Column(length = 255)
+    private String owner;
+    
+    @Column(name = "leased_until", nullable = false)
+    private LocalDateTime leasedUntil;
+    
+    // Constructors
+    public JobLease() {}
+    
+    public JobLease(String name, String owner, LocalDateTime leasedUntil) {
+        this.name = name;
+        this.owner = owner;
+        this.leasedUntil = leasedUntil;
+    }
+    
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public String getOwner() {
+        return owner;
+    }
+    
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+    
+    public LocalDateTime getLeasedUntil() {
+        return leasedUntil;
+    }
+    
+    public void setLeasedUntil(LocalDateTime leasedUntil) {
+        this.leasedUntil = leasedUntil;
+    }
+}
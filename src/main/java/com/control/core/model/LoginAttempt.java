@@ -0,0 +1,69 @@
+package com.control.core.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Failed login counter shared by all nodes when login throttling uses the database store.
+ * The key is either a username ({@code u:alice}) or a client address ({@code ip:10.0.0.1});
+ * failures are counted in a fixed window starting at {@code windowStart}.
+ */
+@Entity
+@Table(name = "login_attempts")
+public class LoginAttempt {
+    
+    @Id
+    @Column(name = "attempt_key", length = 255)
+    private String attemptKey;
+    
+    @Column(nullable = false)
+    private int failures;
+    
+    @Column(name = "window_start", nullable = false)
+    private LocalDateTime windowStart;
+    
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+    
+    // Constructors
+    public LoginAttempt() {}
+    
+    public LoginAttempt(String attemptKey, LocalDateTime windowStart) {
+        this.attemptKey = attemptKey;
+        this.failures = 1;
+        this.windowStart = windowStart;
+    }
+    
+    // Getters and Setters
+    public String getAttemptKey() {
+        return attemptKey;
+    }
+    
+    public void setAttemptKey(String attemptKey) {
+        this.attemptKey = attemptKey;
+    }
+    
+    public int getFailures() {
+        return failures;
+    }
+    
+    public void setFailures(int failures) {
+        this.failures = failures;
+    }
+    
+    public LocalDateTime getWindowStart() {
+        return windowStart;
+    }
+    
+    public void setWindowStart(LocalDateTime windowStart) {
+        this.windowStart = windowStart;
+    }
+    
+    public LocalDateTime getLockedUntil() {
+        return lockedUntil;
+    }
+    
+    public void setLockedUntil(LocalDateTime lockedUntil) {
+        this.lockedUntil = lockedUntil;
+    }
+}
@@ -1,24 +1,28 @@
 package com.control.core.model;
 
 import jakarta.persistence.*;
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "password_reset_tokens")
+@Table(name = "password_reset_tokens", indexes = {
+    @Index(name = "idx_password_reset_tokens_expiry", columnList = "expiry_date")
+})
 public class PasswordResetToken {
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @Column(nullable = false, unique = true)
-    private String token;
+    // SHA-256 hex digest of the token sent to the user, the raw token is never stored
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
     
-    @OneToOne(targetEntity = User.class, fetch = FetchType.EAGER)
+    @ManyToOne(targetEntity = User.class, fetch = FetchType.LAZY)
     @JoinColumn(nullable = false, name = "user_id")
     private User user;
     
-    @Column(nullable = false)
+    @Column(name = "expiry_date", nullable = false)
     private LocalDateTime expiryDate;
     
     @Column(nullable = false)
@@ -30,10 +34,14 @@ public class PasswordResetToken {
     // Constructors
     public PasswordResetToken() {}
     
-    public PasswordResetToken(String token, User user) {
-        this.token = token;
+    public PasswordResetToken(String tokenHash, User user) {
+        this(tokenHash, user, Duration.ofHours(24)); // 24 hours expiry
+    }
+    
+    public PasswordResetToken(String tokenHash, User user, Duration validity) {
+        this.tokenHash = tokenHash;
         this.user = user;
-        this.expiryDate = LocalDateTime.now().plusHours(24); // 24 hours expiry
+        this.expiryDate = LocalDateTime.now().plus(validity);
     }
     
     // Helper method to check if token is expired
@@ -50,12 +58,12 @@ public class PasswordResetToken {
         this.id = id;
     }
     
-    public String getToken() {
-        return token;
+    public String getTokenHash() {
+        return tokenHash;
     }
     
-    public void setToken(String token) {
-        this.token = token;
+    public void setTokenHash(String tokenHash) {
+        this.tokenHash = tokenHash;
     }
     
     public User getUser() {
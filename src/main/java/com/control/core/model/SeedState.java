@@ -0,0 +1,57 @@
+package com.control.core.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Content hash of the last seed manifest applied to this database.
+ * When the hash of the current manifest matches, startup seeding is skipped.
+ */
+@Entity
+@Table(name = "seed_state")
+public class SeedState {
+
+    @Id
+    @Column(name = "seed_key", length = 100)
+    private String seedKey;
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(name = "applied_at", nullable = false)
+    private LocalDateTime appliedAt;
+
+    // Constructors
+    public SeedState() {}
+
+    public SeedState(String seedKey, String contentHash, LocalDateTime appliedAt) {
+        this.seedKey = seedKey;
+        this.contentHash = contentHash;
+        this.appliedAt = appliedAt;
+    }
+
+    // Getters and Setters
+    public String getSeedKey() {
+        return seedKey;
+    }
+
+    public void setSeedKey(String seedKey) {
+        this.seedKey = seedKey;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public LocalDateTime getAppliedAt() {
+        return appliedAt;
+    }
+
+    public void setAppliedAt(LocalDateTime appliedAt) {
+        this.appliedAt = appliedAt;
+    }
+}
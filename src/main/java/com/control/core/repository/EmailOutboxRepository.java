@@ -0,0 +1,32 @@
+package com.control.core.repository;
+
+import com.control.core.model.EmailOutboxMessage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+    
+    /**
+     * Pending messages whose next attempt is due, oldest first
+     */
+    @Query("SELECT m FROM EmailOutboxMessage m WHERE m.status = com.control.core.model.EmailOutboxMessage.Status.PENDING " +
+           "AND m.nextAttemptAt <= ?1 ORDER BY m.id")
+    List<EmailOutboxMessage> findDue(LocalDateTime now, Pageable pageable);
+    
+    /**
+     * Claim a due message for this node until the given time, returns 0 when another node got it first
+     */
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage m SET m.claimedBy = ?2, m.nextAttemptAt = ?3 " +
+           "WHERE m.id = ?1 AND m.status = com.control.core.model.EmailOutboxMessage.Status.PENDING AND m.nextAttemptAt <= ?4")
+    int claim(Long id, String owner, LocalDateTime claimedUntil, LocalDateTime now);
+    
+    long countByStatus(EmailOutboxMessage.Status status);
+}
@@ -0,0 +1,25 @@
+package com.control.core.repository;
+
+import com.control.core.model.JobLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+    
+    /**
+     * Take or extend the lease if it has lapsed or is already ours, returns 1 when acquired
+     */
+    @Modifying
+    @Query("UPDATE JobLease l SET l.owner = ?2, l.leasedUntil = ?3 " +
+           "WHERE l.name = ?1 AND (l.leasedUntil < ?4 OR l.owner = ?2)")
+    int tryAcquire(String name, String owner, LocalDateTime leasedUntil, LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE JobLease l SET l.leasedUntil = ?3 WHERE l.name = ?1 AND l.owner = ?2")
+    int release(String name, String owner, LocalDateTime now);
+}
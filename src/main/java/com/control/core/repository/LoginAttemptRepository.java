@@ -0,0 +1,42 @@
+package com.control.core.repository;
+
+import com.control.core.model.LoginAttempt;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@Repository
+public interface LoginAttemptRepository extends JpaRepository<LoginAttempt, String> {
+    
+    /**
+     * Count one more failure if the key's window started after windowFloor, returns 1 when counted
+     */
+    @Modifying
+    @Query("UPDATE LoginAttempt a SET a.failures = a.failures + 1 WHERE a.attemptKey = ?1 AND a.windowStart > ?2")
+    int incrementFailures(String attemptKey, LocalDateTime windowFloor);
+    
+    /**
+     * Start a new window with a single failure, keeping any lockout that is still running
+     */
+    @Modifying
+    @Query("UPDATE LoginAttempt a SET a.failures = 1, a.windowStart = ?2 WHERE a.attemptKey = ?1")
+    int restartWindow(String attemptKey, LocalDateTime windowStart);
+    
+    @Modifying
+    @Query("UPDATE LoginAttempt a SET a.lockedUntil = ?2 WHERE a.attemptKey = ?1 AND a.failures >= ?3")
+    int lockIfExceeded(String attemptKey, LocalDateTime lockedUntil, int maxFailures);
+    
+    /**
+     * Latest running lockout among the given keys, or null
+     */
+    @Query("SELECT MAX(a.lockedUntil) FROM LoginAttempt a WHERE a.attemptKey IN ?1 AND a.lockedUntil > ?2")
+    LocalDateTime findActiveLockout(Collection<String> attemptKeys, LocalDateTime now);
+    
+    @Modifying
+    @Query("DELETE FROM LoginAttempt a WHERE a.windowStart < ?1 AND (a.lockedUntil IS NULL OR a.lockedUntil < ?2)")
+    int deleteStale(LocalDateTime windowFloor, LocalDateTime now);
+}
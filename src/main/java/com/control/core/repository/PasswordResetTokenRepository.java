@@ -2,26 +2,58 @@ package com.control.core.repository;
 
 import com.control.core.model.PasswordResetToken;
 import com.control.core.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, Long> {
     
-    Optional<PasswordResetToken> findByToken(String token);
+    Optional<PasswordResetToken> findByTokenHash(String tokenHash);
+    
+    /**
+     * Everything needed to validate a reset link, read from the token row alone
+     */
+    @Query("SELECT p.id AS id, p.user.id AS userId, p.expiryDate AS expiryDate, p.used AS used " +
+           "FROM PasswordResetToken p WHERE p.tokenHash = ?1")
+    Optional<TokenStatus> findStatusByTokenHash(String tokenHash);
     
     Optional<PasswordResetToken> findByUser(User user);
     
+    /**
+     * Mark a token as used, returns 0 when it was already used so concurrent resets cannot both succeed
+     */
+    @Modifying
+    @Query("UPDATE PasswordResetToken p SET p.used = true WHERE p.id = ?1 AND p.used = false")
+    int markUsed(Long id);
+    
     @Modifying
     @Query("DELETE FROM PasswordResetToken p WHERE p.expiryDate < ?1")
     void deleteExpiredTokens(LocalDateTime now);
     
+    /**
+     * Ids of expired tokens, one bounded chunk at a time, for the purge job
+     */
+    @Query("SELECT p.id FROM PasswordResetToken p WHERE p.expiryDate < ?1 ORDER BY p.id")
+    List<Long> findExpiredIds(LocalDateTime now, Pageable pageable);
+    
     @Modifying
     @Query("DELETE FROM PasswordResetToken p WHERE p.user = ?1")
     void deleteByUser(User user);
+    
+    /**
+     * Projection of a password reset token used for validation
+     */
+    interface TokenStatus {
+        Long getId();
+        Long getUserId();
+        LocalDateTime getExpiryDate();
+        Boolean getUsed();
+    }
 }
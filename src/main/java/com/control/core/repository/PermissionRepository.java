@@ -31,5 +31,19 @@ public interface PermissionRepository extends JpaRepository<Permission, Long> {
     @Query("SELECT p FROM Permission p LEFT JOIN FETCH p.users WHERE p.id = :id")
     Optional<Permission> findByIdWithUsers(@Param("id") Long id);
     
+    /**
+     * Id and name of every permission, for decoding the permission ids carried by API access tokens
+     */
+    @Query("SELECT p.id AS id, p.name AS name FROM Permission p")
+    List<IdAndName> findAllIdsAndNames();
+    
     boolean existsByName(String name);
+    
+    /**
+     * Projection of a permission id and its name
+     */
+    interface IdAndName {
+        Long getId();
+        String getName();
+    }
 }
@@ -0,0 +1,47 @@
+package com.control.core.repository;
+
+import com.control.core.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    
+    /**
+     * Everything needed to validate a refresh token, read from the token row alone
+     */
+    @Query("SELECT t.id AS id, t.user.id AS userId, t.familyId AS familyId, t.expiryDate AS expiryDate, t.used AS used " +
+           "FROM RefreshToken t WHERE t.tokenHash = ?1")
+    Optional<TokenStatus> findStatusByTokenHash(String tokenHash);
+    
+    /**
+     * Mark a token as used, returns 0 when it was already used so concurrent refreshes cannot both succeed
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.used = true WHERE t.id = ?1 AND t.used = false")
+    int markUsed(Long id);
+    
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.familyId = ?1")
+    int deleteByFamilyId(String familyId);
+    
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.user.id = ?1 AND t.expiryDate < ?2")
+    int deleteExpiredByUserId(Long userId, LocalDateTime now);
+    
+    /**
+     * Projection of a refresh token used for validation
+     */
+    interface TokenStatus {
+        Long getId();
+        Long getUserId();
+        String getFamilyId();
+        LocalDateTime getExpiryDate();
+        Boolean getUsed();
+    }
+}
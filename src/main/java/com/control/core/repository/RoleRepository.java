@@ -26,5 +26,19 @@ public interface RoleRepository extends JpaRepository<Role, Long> {
     @Query("SELECT r FROM Role r LEFT JOIN FETCH r.users WHERE r.id = :id")
     Optional<Role> findByIdWithUsers(@Param("id") Long id);
     
+    /**
+     * Id and name of every role, for decoding the role ids carried by API access tokens
+     */
+    @Query("SELECT r.id AS id, r.name AS name FROM Role r")
+    List<IdAndName> findAllIdsAndNames();
+    
     boolean existsByName(String name);
+    
+    /**
+     * Projection of a role id and its name
+     */
+    interface IdAndName {
+        Long getId();
+        String getName();
+    }
 }
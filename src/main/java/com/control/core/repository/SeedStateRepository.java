@@ -0,0 +1,9 @@
+package com.control.core.repository;
+
+import com.control.core.model.SeedState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SeedStateRepository extends JpaRepository<SeedState, String> {
+}
@@ -2,8 +2,11 @@ package com.control.core.repository;
 
 import com.control.core.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +15,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+    long countByEnabled(boolean enabled);
+    long countByRole(String role);
+    
+    /**
+     * Enabled users holding the role, either through the role assignment or the legacy role column
+     */
+    @Query("SELECT DISTINCT u FROM User u LEFT JOIN u.roles r WHERE u.enabled = true AND (r.name = ?1 OR u.role = ?1)")
+    List<User> findEnabledByRoleName(String roleName);
+    
+    @Query("SELECT u.username FROM User u WHERE u.username IN ?1")
+    List<String> findExistingUsernames(Collection<String> usernames);
+    
+    @Query("SELECT u.email FROM User u WHERE u.email IN ?1")
+    List<String> findExistingEmails(Collection<String> emails);
 }
@@ -0,0 +1,160 @@
+package com.control.core.security;
+
+import com.control.core.autoconfigure.CoreAuthProperties;
+import com.control.core.crypto.CorePasswordEncoders;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Password encoder that hashes on a bounded pool sized to the CPU instead of on request threads.
+ *
+ * Hashes are written and matched by {@link CorePasswordEncoders}, the encoder the reactive starter
+ * uses as well: {@code {bcrypt}...}, with unprefixed hashes from earlier versions matched as BCrypt. Unless {@code core.auth.password-hashing.strength} is set, the BCrypt
+ * cost is calibrated in the background after startup so one hash takes about
+ * {@code target-latency} on this machine. When more than {@code queue-capacity} hashes are
+ * waiting, {@link #matches} - the login path - is refused with an
+ * {@link AuthenticationServiceException}, which Spring Security reports as a failed login, rather
+ * than queueing without bound. {@link #encode} is called from account changes, resets and imports
+ * that must not fail for load, so it runs on the caller's thread instead, which also slows such
+ * callers down. {@link #upgradeEncoding} reports hashes with a lower cost or another algorithm,
+ * so Spring Security rehashes them on the next successful login.
+ */
+public class AdaptivePasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptivePasswordEncoder.class);
+
+    private final CoreAuthProperties.PasswordHashing settings;
+    private final ThreadPoolExecutor executor;
+
+    private volatile PasswordEncoder delegate;
+    private volatile int strength;
+
+    public AdaptivePasswordEncoder(CoreAuthProperties.PasswordHashing settings) {
+        this.settings = settings;
+        int threads = settings.getThreads() > 0 ? settings.getThreads() : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, settings.getQueueCapacity())),
+            runnable -> {
+                Thread thread = new Thread(runnable, "core-auth-password-hash-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+
+        boolean calibrate = settings.getStrength() <= 0;
+        useStrength(calibrate ? settings.getMinStrength() : settings.getStrength());
+        if (calibrate) {
+            // Measuring takes a few hashes; do it off the startup path
+            executor.execute(this::calibrate);
+        }
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        Future<String> future;
+        try {
+            future = executor.submit(() -> delegate.encode(rawPassword));
+        } catch (RejectedExecutionException e) {
+            // Not a login: slow the caller down rather than fail an account change
+            return delegate.encode(rawPassword);
+        }
+        return await(future);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hash(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Run the work on the pool, refusing it when the queue is full
+     */
+    <T> T hash(Callable<T> work) {
+        Future<T> future;
+        try {
+            future = executor.submit(work);
+        } catch (RejectedExecutionException e) {
+            throw new AuthenticationServiceException("Password hashing is at capacity, please try again shortly");
+        }
+        return await(future);
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new AuthenticationServiceException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private void calibrate() {
+        try {
+            int min = settings.getMinStrength();
+            BCryptPasswordEncoder probe = new BCryptPasswordEncoder(min);
+            probe.encode("calibration");
+            long started = System.nanoTime();
+            probe.encode("calibration");
+            long nanosAtMin = Math.max(1L, System.nanoTime() - started);
+
+            // Each BCrypt cost step doubles the work
+            int chosen = min;
+            long estimate = nanosAtMin;
+            while (chosen < settings.getMaxStrength() && estimate * 2 <= settings.getTargetLatency().toNanos()) {
+                chosen++;
+                estimate *= 2;
+            }
+            useStrength(chosen);
+            logger.info("Password hashing calibrated to BCrypt strength {} (~{} ms per hash, target {} ms)",
+                chosen, TimeUnit.NANOSECONDS.toMillis(estimate), settings.getTargetLatency().toMillis());
+        } catch (Exception e) {
+            logger.warn("Password hashing calibration failed, keeping BCrypt strength {}: {}", strength, e.getMessage());
+        }
+    }
+
+    private void useStrength(int newStrength) {
+        this.delegate = CorePasswordEncoders.create(newStrength);
+        this.strength = newStrength;
+    }
+}
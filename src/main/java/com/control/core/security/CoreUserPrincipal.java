@@ -0,0 +1,155 @@
+package com.control.core.security;
+
+import com.control.core.model.Permission;
+import com.control.core.model.Role;
+import com.control.core.model.User;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The logged-in user as kept in the HTTP session, instead of the {@link User} entity.
+ *
+ * The entity would drag its password hash, email, timestamps and the eagerly loaded role and
+ * permission graph (Hibernate collection wrappers and back-references included) into every
+ * serialized session. This keeps the id, username, enabled flag, sorted role and permission ids,
+ * and a version that changes with the password, enabled flag or authorities. The granted
+ * authorities are the same instances the {@code Authentication} holds, so serialization writes
+ * them once; the password is only held until authentication erases it.
+ *
+ * Code that needs the full entity loads it by id with {@code UserService.findCurrentUser}.
+ */
+public final class CoreUserPrincipal implements UserDetails, CredentialsContainer {
+
+    private static final long serialVersionUID = 2L;
+
+    private final long id;
+    private final String username;
+    private final boolean enabled;
+    private final String role;
+    private final long[] roleIds;
+    private final long[] permissionIds;
+    private final List<GrantedAuthority> authorities;
+    private final long version;
+    private transient String password;
+
+    private CoreUserPrincipal(User user, long[] roleIds, long[] permissionIds) {
+        this.id = user.getId();
+        this.username = user.getUsername();
+        this.enabled = user.isEnabled();
+        this.role = user.getRole();
+        this.roleIds = roleIds;
+        this.permissionIds = permissionIds;
+        this.authorities = Collections.unmodifiableList(new ArrayList<>(user.getAuthorities()));
+        this.version = versionOf(user, roleIds, permissionIds);
+        this.password = user.getPassword();
+    }
+
+    /**
+     * Snapshot a loaded user; its roles and permissions must be initialized
+     */
+    public static CoreUserPrincipal from(User user) {
+        return new CoreUserPrincipal(user, roleIds(user), permissionIds(user));
+    }
+
+    /**
+     * Whether this principal still describes the given entity: same password, enabled flag and authorities
+     */
+    public boolean isCurrent(User user) {
+        return user != null && user.getId() != null && user.getId() == id
+            && versionOf(user, roleIds(user), permissionIds(user)) == version;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        password = null;
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getRole() { return role; }
+    public long[] getRoleIds() { return roleIds.clone(); }
+    public long[] getPermissionIds() { return permissionIds.clone(); }
+    public long getVersion() { return version; }
+
+    @Override
+    public String getUsername() { return username; }
+
+    @Override
+    public String getPassword() { return password; }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() { return authorities; }
+
+    @Override
+    public boolean isEnabled() { return enabled; }
+
+    // Same identity as Spring Security's own User, so session registries see one principal per username
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof CoreUserPrincipal && username.equals(((CoreUserPrincipal) other).username);
+    }
+
+    @Override
+    public int hashCode() {
+        return username.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "CoreUserPrincipal[id=" + id + ", username=" + username + ", enabled=" + enabled + "]";
+    }
+
+    private static long[] roleIds(User user) {
+        return sortedIds(user.getRoles().stream().map(Role::getId));
+    }
+
+    /**
+     * Direct permissions and those of the user's roles, as {@code User.getAuthorities()} grants them
+     */
+    private static long[] permissionIds(User user) {
+        return sortedIds(Stream.concat(
+            user.getRoles().stream().flatMap(role -> role.getPermissions().stream()),
+            user.getDirectPermissions().stream()).map(Permission::getId));
+    }
+
+    private static long[] sortedIds(Stream<Long> ids) {
+        return ids.mapToLong(Long::longValue).sorted().distinct().toArray();
+    }
+
+    /**
+     * The users table has no version column, so the version is a digest of the state sessions depend on
+     */
+    private static long versionOf(User user, long[] roleIds, long[] permissionIds) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(String.valueOf(user.getPassword()).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) (user.isEnabled() ? 1 : 0));
+            digest.update(String.valueOf(user.getRole()).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            update(digest, roleIds);
+            digest.update((byte) 0);
+            update(digest, permissionIds);
+            return ByteBuffer.wrap(digest.digest()).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static void update(MessageDigest digest, long[] ids) {
+        ByteBuffer bytes = ByteBuffer.allocate(Long.BYTES * ids.length);
+        bytes.asLongBuffer().put(ids);
+        digest.update(bytes.array());
+    }
+}
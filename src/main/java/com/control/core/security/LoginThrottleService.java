@@ -0,0 +1,342 @@
+package com.control.core.security;
+
+import com.control.core.autoconfigure.CoreAuthProperties;
+import com.control.core.model.LoginAttempt;
+import com.control.core.repository.LoginAttemptRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.event.AuthenticationFailureBadCredentialsEvent;
+import org.springframework.security.authentication.event.AuthenticationSuccessEvent;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts failed logins per username and, when {@code max-failures-per-ip} is set, per client IP
+ * address, and locks out repeat offenders. The address is {@code getRemoteAddr()}, which is only the
+ * real client behind a proxy when {@code server.forward-headers-strategy} is configured.
+ *
+ * Failures are kept in a sliding window of {@code core.auth.login-throttle.window} made of ten
+ * buckets; each bucket is a single {@link AtomicLong} word holding its time slot and count, so
+ * recording a failure is a CAS and never takes a lock. {@link LoginThrottlingFilter} asks
+ * {@link #isBlocked} before the user is looked up or the password hashed, so a locked-out
+ * credential-stuffing burst costs a map lookup per attempt. With the DATABASE store the counters
+ * and lockouts are also written to {@code login_attempts}, so every node sees them.
+ */
+public class LoginThrottleService {
+
+    static final String USERNAME_PREFIX = "u:";
+    static final String IP_PREFIX = "ip:";
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginThrottleService.class);
+
+    private static final int BUCKETS = 10;
+
+    private final LoginAttemptRepository attemptRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final CoreAuthProperties.LoginThrottle settings;
+    private final long bucketMillis;
+
+    private final Map<String, SlidingWindow> windows = new ConcurrentHashMap<>();
+    private ScheduledExecutorService cleaner;
+
+    public LoginThrottleService(LoginAttemptRepository attemptRepository,
+                                PlatformTransactionManager transactionManager,
+                                ObjectProvider<MeterRegistry> meterRegistry,
+                                CoreAuthProperties properties) {
+        this.attemptRepository = attemptRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.meterRegistry = meterRegistry;
+        this.settings = properties.getLoginThrottle();
+        this.bucketMillis = Math.max(1L, settings.getWindow().toMillis() / BUCKETS);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            Gauge.builder("core.auth.login.throttle.tracked", windows, Map::size)
+                .description("Usernames and client addresses with recent failed logins")
+                .register(registry);
+        }
+        cleaner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "core-auth-login-throttle");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long periodMillis = Math.max(1000L, Math.min(settings.getWindow().toMillis(), 60_000L));
+        cleaner.scheduleWithFixedDelay(this::cleanUp, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (cleaner != null) {
+            cleaner.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return settings.isEnabled();
+    }
+
+    /**
+     * Whether a login for this username from this address must be rejected without checking the password
+     */
+    public boolean isBlocked(String username, String remoteAddress) {
+        if (!settings.isEnabled()) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        String usernameKey = usernameKey(username);
+        String ipKey = ipKey(remoteAddress);
+
+        String reason = isLocked(usernameKey, now) ? "username" : isLocked(ipKey, now) ? "ip" : null;
+        if (reason == null && settings.getStore() == CoreAuthProperties.LoginThrottle.Store.DATABASE) {
+            reason = isLockedInDatabase(usernameKey, ipKey);
+        }
+        if (reason != null) {
+            increment("core.auth.login.rejected", reason);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Count a failed login and lock the username or address out when it crosses its limit
+     */
+    public void recordFailure(String username, String remoteAddress) {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long lockedUntil = now + settings.getLockoutDuration().toMillis();
+        increment("core.auth.login.failures", null);
+
+        List<String> keys = new ArrayList<>(2);
+        List<Integer> limits = new ArrayList<>(2);
+        String usernameKey = usernameKey(username);
+        if (usernameKey != null) {
+            keys.add(usernameKey);
+            limits.add(settings.getMaxFailuresPerUsername());
+        }
+        String ipKey = ipKey(remoteAddress);
+        if (ipKey != null) {
+            keys.add(ipKey);
+            limits.add(settings.getMaxFailuresPerIp());
+        }
+
+        for (int i = 0; i < keys.size(); i++) {
+            SlidingWindow window = window(keys.get(i));
+            if (window != null && window.recordFailure(now, bucketMillis) >= limits.get(i)) {
+                window.lock(lockedUntil);
+                increment("core.auth.login.lockouts", keys.get(i).startsWith(IP_PREFIX) ? "ip" : "username");
+                logger.warn("Locking out {} after repeated failed logins", keys.get(i));
+            }
+        }
+
+        if (settings.getStore() == CoreAuthProperties.LoginThrottle.Store.DATABASE) {
+            LocalDateTime dbNow = LocalDateTime.now();
+            for (int i = 0; i < keys.size(); i++) {
+                recordFailureInDatabase(keys.get(i), limits.get(i), dbNow);
+            }
+        }
+    }
+
+    /**
+     * Forget the failures of a username after it logged in successfully
+     */
+    public void recordSuccess(String username) {
+        String usernameKey = usernameKey(username);
+        if (!settings.isEnabled() || usernameKey == null) {
+            return;
+        }
+        windows.remove(usernameKey);
+        if (settings.getStore() == CoreAuthProperties.LoginThrottle.Store.DATABASE) {
+            transactionTemplate.executeWithoutResult(status -> attemptRepository.deleteById(usernameKey));
+        }
+    }
+
+    @EventListener
+    public void onAuthenticationFailure(AuthenticationFailureBadCredentialsEvent event) {
+        recordFailure(event.getAuthentication().getName(), remoteAddress(event.getAuthentication()));
+    }
+
+    @EventListener
+    public void onAuthenticationSuccess(AuthenticationSuccessEvent event) {
+        recordSuccess(event.getAuthentication().getName());
+    }
+
+    private boolean isLocked(String key, long now) {
+        SlidingWindow window = key != null ? windows.get(key) : null;
+        return window != null && window.isLocked(now);
+    }
+
+    private String isLockedInDatabase(String usernameKey, String ipKey) {
+        List<String> keys = new ArrayList<>(2);
+        if (usernameKey != null) {
+            keys.add(usernameKey);
+        }
+        if (ipKey != null) {
+            keys.add(ipKey);
+        }
+        if (keys.isEmpty()) {
+            return null;
+        }
+        LocalDateTime lockedUntil = attemptRepository.findActiveLockout(keys, LocalDateTime.now());
+        return lockedUntil != null ? "shared" : null;
+    }
+
+    private void recordFailureInDatabase(String key, int limit, LocalDateTime now) {
+        LocalDateTime windowFloor = now.minus(settings.getWindow());
+        LocalDateTime lockedUntil = now.plus(settings.getLockoutDuration());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (attemptRepository.incrementFailures(key, windowFloor) == 0
+                        && attemptRepository.restartWindow(key, now) == 0) {
+                    attemptRepository.saveAndFlush(new LoginAttempt(key, now));
+                }
+                attemptRepository.lockIfExceeded(key, lockedUntil, limit);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another node inserted the row at the same moment; its failure was counted, this one is dropped
+            logger.debug("Concurrent first failure for {}", key);
+        }
+    }
+
+    private SlidingWindow window(String key) {
+        SlidingWindow window = windows.get(key);
+        if (window != null) {
+            return window;
+        }
+        if (windows.size() >= settings.getMaxTrackedKeys()) {
+            // A spray of random usernames must not grow the map without bound; stop tracking new keys until cleanup
+            return null;
+        }
+        return windows.computeIfAbsent(key, k -> new SlidingWindow());
+    }
+
+    void cleanUp() {
+        try {
+            long now = System.currentTimeMillis();
+            long idleBefore = now - settings.getWindow().toMillis();
+            windows.entrySet().removeIf(entry -> entry.getValue().isIdle(idleBefore, now));
+            if (settings.getStore() == CoreAuthProperties.LoginThrottle.Store.DATABASE) {
+                LocalDateTime dbNow = LocalDateTime.now();
+                transactionTemplate.executeWithoutResult(status ->
+                    attemptRepository.deleteStale(dbNow.minus(settings.getWindow()), dbNow));
+            }
+        } catch (Exception e) {
+            logger.warn("Login throttle cleanup failed: {}", e.getMessage());
+        }
+    }
+
+    private void increment(String name, String reason) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return;
+        }
+        Counter.Builder builder = Counter.builder(name);
+        if (reason != null) {
+            builder.tag("reason", reason);
+        }
+        builder.register(registry).increment();
+    }
+
+    private static String usernameKey(String username) {
+        return StringUtils.hasText(username) ? USERNAME_PREFIX + username.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
+    /**
+     * Key for the per-address limit, {@code null} when that limit is off
+     */
+    private String ipKey(String remoteAddress) {
+        return settings.getMaxFailuresPerIp() > 0 && StringUtils.hasText(remoteAddress) ? IP_PREFIX + remoteAddress : null;
+    }
+
+    private static String remoteAddress(Authentication authentication) {
+        return authentication.getDetails() instanceof WebAuthenticationDetails details ? details.getRemoteAddress() : null;
+    }
+
+    /**
+     * Failure counts for one key in {@value #BUCKETS} time buckets. Each bucket word holds
+     * {@code slot << 20 | count}, so a stale bucket is reset and incremented in the same CAS.
+     */
+    static final class SlidingWindow {
+        private static final int COUNT_BITS = 20;
+        private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final AtomicLong lockedUntil = new AtomicLong();
+        private volatile long lastFailureAt;
+
+        int recordFailure(long now, long bucketMillis) {
+            long slot = now / bucketMillis;
+            int index = (int) (slot % BUCKETS);
+            long current;
+            long next;
+            do {
+                current = buckets.get(index);
+                long count = current & COUNT_MASK;
+                next = (current >>> COUNT_BITS) == slot
+                    ? (slot << COUNT_BITS) | Math.min(count + 1, COUNT_MASK)
+                    : (slot << COUNT_BITS) | 1;
+            } while (!buckets.compareAndSet(index, current, next));
+            lastFailureAt = now;
+            return count(now, bucketMillis);
+        }
+
+        int count(long now, long bucketMillis) {
+            long slot = now / bucketMillis;
+            long oldest = slot - BUCKETS + 1;
+            int total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                long value = buckets.get(i);
+                long bucketSlot = value >>> COUNT_BITS;
+                if (bucketSlot >= oldest && bucketSlot <= slot) {
+                    total += (int) (value & COUNT_MASK);
+                }
+            }
+            return total;
+        }
+
+        void lock(long until) {
+            lockedUntil.accumulateAndGet(until, Math::max);
+        }
+
+        boolean isLocked(long now) {
+            return lockedUntil.get() > now;
+        }
+
+        boolean isIdle(long idleBefore, long now) {
+            return lastFailureAt < idleBefore && !isLocked(now);
+        }
+    }
+}
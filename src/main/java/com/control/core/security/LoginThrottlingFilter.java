@@ -0,0 +1,49 @@
+package com.control.core.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Rejects form logins for locked-out usernames or client addresses before the
+ * {@code UsernamePasswordAuthenticationFilter} looks the user up and checks the password.
+ */
+public class LoginThrottlingFilter extends OncePerRequestFilter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LoginThrottlingFilter.class);
+    
+    private final LoginThrottleService throttleService;
+    private final String loginProcessingUrl;
+    private final String lockedUrl;
+    
+    public LoginThrottlingFilter(LoginThrottleService throttleService, String loginProcessingUrl, String lockedUrl) {
+        this.throttleService = throttleService;
+        this.loginProcessingUrl = loginProcessingUrl;
+        this.lockedUrl = lockedUrl;
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !throttleService.isEnabled()
+            || !"POST".equals(request.getMethod())
+            || !loginProcessingUrl.equals(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String username = request.getParameter("username");
+        if (throttleService.isBlocked(username, request.getRemoteAddr())) {
+            logger.debug("Rejected login for '{}' from {}: locked out", username, request.getRemoteAddr());
+            response.sendRedirect(request.getContextPath() + lockedUrl);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,47 @@
+package com.control.core.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Helpers for opaque bearer tokens (password reset links and the like).
+ *
+ * Only the SHA-256 digest of a token is ever stored, so a leaked table cannot be replayed.
+ * The digest is fixed-width (64 hex characters), which keeps the lookup column and its
+ * index compact.
+ */
+public final class TokenHashing {
+
+    public static final int HASH_LENGTH = 64;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private TokenHashing() {
+    }
+
+    /**
+     * Generate a URL-safe random token carrying 256 bits of entropy
+     */
+    public static String generateToken() {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * Lower-case hex SHA-256 digest of the raw token
+     */
+    public static String sha256Hex(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
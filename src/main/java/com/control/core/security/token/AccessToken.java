@@ -0,0 +1,53 @@
+package com.control.core.security.token;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Claims of an API access token: who the user is and what they may do, as of when the token was issued.
+ *
+ * Roles and permissions are kept as sorted database ids, which {@link AccessTokenCodec} writes as
+ * deltas of a few bytes each whatever the ids' size; {@link AuthorityCatalog} turns them back into names.
+ */
+public final class AccessToken {
+
+    private final long userId;
+    private final String username;
+    private final String role;
+    private final long[] roleIds;
+    private final long[] permissionIds;
+    private final long issuedAt;
+    private final long expiresAt;
+
+    public AccessToken(long userId, String username, String role, long[] roleIds, long[] permissionIds,
+                       Instant issuedAt, Instant expiresAt) {
+        this(userId, username, role, roleIds, permissionIds, issuedAt.getEpochSecond(), expiresAt.getEpochSecond());
+    }
+
+    AccessToken(long userId, String username, String role, long[] roleIds, long[] permissionIds,
+                long issuedAt, long expiresAt) {
+        this.userId = userId;
+        this.username = username;
+        this.role = role;
+        this.roleIds = Arrays.stream(roleIds).sorted().distinct().toArray();
+        this.permissionIds = Arrays.stream(permissionIds).sorted().distinct().toArray();
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isExpired(Instant now) {
+        return now.getEpochSecond() >= expiresAt;
+    }
+
+    // Getters
+    public long getUserId() { return userId; }
+    public String getUsername() { return username; }
+    public String getRole() { return role; }
+    public long[] getRoleIds() { return roleIds.clone(); }
+    public long[] getPermissionIds() { return permissionIds.clone(); }
+    public Instant getIssuedAt() { return Instant.ofEpochSecond(issuedAt); }
+    public Instant getExpiresAt() { return Instant.ofEpochSecond(expiresAt); }
+
+    long getIssuedAtSeconds() { return issuedAt; }
+    long getExpiresAtSeconds() { return expiresAt; }
+}
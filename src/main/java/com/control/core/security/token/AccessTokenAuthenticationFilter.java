@@ -0,0 +1,64 @@
+package com.control.core.security.token;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Authenticates {@code Authorization: Bearer <access token>} requests from the token alone: the
+ * signature is checked locally and the authorities come from the token's role and permission ids, so no session,
+ * user lookup or database query is involved. Requests without a bearer token pass through
+ * unauthenticated; an invalid or expired token is answered with 401 right away.
+ */
+public class AccessTokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccessTokenAuthenticationFilter.class);
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final AccessTokenCodec codec;
+    private final AuthorityCatalog catalog;
+    private final SecurityContextHolderStrategy securityContextHolderStrategy = SecurityContextHolder.getContextHolderStrategy();
+
+    public AccessTokenAuthenticationFilter(AccessTokenCodec codec, AuthorityCatalog catalog) {
+        this.codec = codec;
+        this.catalog = catalog;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        try {
+            AccessToken token = codec.decode(header.substring(BEARER_PREFIX.length()).trim());
+            SecurityContext context = securityContextHolderStrategy.createEmptyContext();
+            context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                new AccessTokenPrincipal(token.getUserId(), token.getUsername()), null, catalog.authorities(token)));
+            securityContextHolderStrategy.setContext(context);
+        } catch (AuthenticationException e) {
+            logger.debug("Rejected API access token: {}", e.getMessage());
+            securityContextHolderStrategy.clearContext();
+            response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
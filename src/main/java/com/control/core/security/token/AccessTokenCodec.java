@@ -0,0 +1,205 @@
+package com.control.core.security.token;
+
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.CredentialsExpiredException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.Base64;
+
+/**
+ * Writes and verifies API access tokens: {@code base64url(claims) "." base64url(HMAC-SHA256(claims))}.
+ *
+ * The claims are a small binary record (format version, user id, issue and expiry time, username,
+ * role, role and permission ids), typically well under 200 characters encoded. Ids are written
+ * as a count and the gaps between sorted ids in 7-bit groups, so each takes one to three bytes
+ * whatever the size of the database ids. Verifying one is
+ * a single HMAC over those bytes with the shared key, so no database or session is involved.
+ */
+public class AccessTokenCodec {
+
+    static final int MIN_SECRET_LENGTH = 32;
+
+    // 1 wrote ids as bitmaps whose size grew with the largest id
+    private static final byte FORMAT_VERSION = 2;
+    private static final String ALGORITHM = "HmacSHA256";
+    // Claims are a few dozen bytes; anything much larger was not written by this codec (roughly a thousand ids)
+    private static final int MAX_ENCODED_LENGTH = 4096;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final Clock clock;
+
+    public AccessTokenCodec(String secret) {
+        this(secret, Clock.systemUTC());
+    }
+
+    AccessTokenCodec(String secret, Clock clock) {
+        if (secret == null || secret.length() < MIN_SECRET_LENGTH) {
+            throw new IllegalArgumentException("core.auth.api-token.secret must be at least " + MIN_SECRET_LENGTH + " characters");
+        }
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.clock = clock;
+        // Fail at startup rather than on the first request if the algorithm is unavailable
+        newMac();
+    }
+
+    /**
+     * A random key for a single node whose tokens need not survive a restart
+     */
+    public static String randomSecret() {
+        byte[] bytes = new byte[MIN_SECRET_LENGTH];
+        new SecureRandom().nextBytes(bytes);
+        return ENCODER.encodeToString(bytes);
+    }
+
+    /**
+     * @throws IllegalStateException if the user has so many roles and permissions that {@link #decode}
+     * would refuse the token as too long
+     */
+    public String encode(AccessToken token) {
+        byte[] claims = writeClaims(token);
+        String value = ENCODER.encodeToString(claims) + "." + ENCODER.encodeToString(newMac().doFinal(claims));
+        if (value.length() > MAX_ENCODED_LENGTH) {
+            throw new IllegalStateException("Access token for " + token.getUsername() + " would be " + value.length()
+                + " characters, more than the " + MAX_ENCODED_LENGTH + " accepted: too many roles and permissions ("
+                + token.getRoleIds().length + " and " + token.getPermissionIds().length + ")");
+        }
+        return value;
+    }
+
+    /**
+     * Verify the signature and expiry of a token and return its claims
+     *
+     * @throws BadCredentialsException if the token is malformed or its signature does not match
+     * @throws CredentialsExpiredException if the token is valid but expired
+     */
+    public AccessToken decode(String value) {
+        int separator = value != null ? value.indexOf('.') : -1;
+        if (separator <= 0 || value.length() > MAX_ENCODED_LENGTH) {
+            throw new BadCredentialsException("Malformed access token");
+        }
+        byte[] claims;
+        byte[] signature;
+        try {
+            claims = DECODER.decode(value.substring(0, separator));
+            signature = DECODER.decode(value.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            throw new BadCredentialsException("Malformed access token");
+        }
+        if (!MessageDigest.isEqual(newMac().doFinal(claims), signature)) {
+            throw new BadCredentialsException("Invalid access token signature");
+        }
+        AccessToken token = readClaims(claims);
+        if (token.isExpired(clock.instant())) {
+            throw new CredentialsExpiredException("Access token expired");
+        }
+        return token;
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            // Every Java platform is required to support HmacSHA256
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        }
+    }
+
+    private static byte[] writeClaims(AccessToken token) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(96);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(token.getUserId());
+            out.writeLong(token.getIssuedAtSeconds());
+            out.writeLong(token.getExpiresAtSeconds());
+            out.writeUTF(token.getUsername());
+            out.writeUTF(token.getRole() != null ? token.getRole() : "");
+            writeIds(out, token.getRoleIds());
+            writeIds(out, token.getPermissionIds());
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot write access token claims", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static AccessToken readClaims(byte[] claims) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(claims))) {
+            if (in.readByte() != FORMAT_VERSION) {
+                throw new BadCredentialsException("Unsupported access token format");
+            }
+            long userId = in.readLong();
+            long issuedAt = in.readLong();
+            long expiresAt = in.readLong();
+            String username = in.readUTF();
+            String role = in.readUTF();
+            long[] roleIds = readIds(in);
+            long[] permissionIds = readIds(in);
+            return new AccessToken(userId, username, role.isEmpty() ? null : role, roleIds, permissionIds, issuedAt, expiresAt);
+        } catch (IOException e) {
+            // Signed with this key but not a record this codec wrote
+            throw new BadCredentialsException("Malformed access token");
+        }
+    }
+
+    /**
+     * Sorted ids as a count followed by the gap to the previous id
+     */
+    private static void writeIds(DataOutputStream out, long[] sortedIds) throws IOException {
+        writeVarLong(out, sortedIds.length);
+        long previous = 0;
+        for (long id : sortedIds) {
+            writeVarLong(out, id - previous);
+            previous = id;
+        }
+    }
+
+    private static long[] readIds(DataInputStream in) throws IOException {
+        long count = readVarLong(in);
+        // Every id takes at least one byte
+        if (count < 0 || count > in.available()) {
+            throw new IOException("Id count exceeds the claims");
+        }
+        long[] ids = new long[(int) count];
+        long previous = 0;
+        for (int i = 0; i < ids.length; i++) {
+            previous += readVarLong(in);
+            ids[i] = previous;
+        }
+        return ids;
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Variable-length number too long");
+    }
+}
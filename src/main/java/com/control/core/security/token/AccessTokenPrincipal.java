@@ -0,0 +1,32 @@
+package com.control.core.security.token;
+
+import java.security.Principal;
+
+/**
+ * Principal of a request authenticated with an API access token. Exposes the user id so expressions
+ * such as {@code authentication.principal.id == #id} work without loading the user.
+ */
+public final class AccessTokenPrincipal implements Principal {
+
+    private final Long id;
+    private final String username;
+
+    public AccessTokenPrincipal(Long id, String username) {
+        this.id = id;
+        this.username = username;
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getUsername() { return username; }
+
+    @Override
+    public String toString() {
+        return username;
+    }
+}
@@ -0,0 +1,154 @@
+package com.control.core.security.token;
+
+import com.control.core.repository.PermissionRepository;
+import com.control.core.repository.RoleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Role and permission names by id, for turning the id lists of access tokens back into authorities.
+ *
+ * The whole catalog is a few hundred rows at most, so it is held in memory and reloaded every
+ * {@code core.auth.api-token.catalog-refresh-interval}: one query per interval per node instead of
+ * one per request. A token naming an id the catalog does not know yet (created on another node
+ * since the last load) triggers an early reload, at most once per second.
+ */
+public class AuthorityCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthorityCatalog.class);
+
+    private static final long MIN_RELOAD_INTERVAL_NANOS = Duration.ofSeconds(1).toNanos();
+
+    private final PermissionRepository permissionRepository;
+    private final RoleRepository roleRepository;
+    private final long refreshIntervalNanos;
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+
+    public AuthorityCatalog(PermissionRepository permissionRepository, RoleRepository roleRepository, Duration refreshInterval) {
+        this.permissionRepository = permissionRepository;
+        this.roleRepository = roleRepository;
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+    }
+
+    /**
+     * The authorities a token grants: {@code ROLE_} plus its role and role names, and its permission names
+     */
+    public List<GrantedAuthority> authorities(AccessToken token) {
+        long[] roleIds = token.getRoleIds();
+        long[] permissionIds = token.getPermissionIds();
+        Snapshot current = current();
+        if (!current.knows(roleIds, permissionIds) && System.nanoTime() - current.loadedAt >= MIN_RELOAD_INTERVAL_NANOS) {
+            current = reload(current);
+        }
+
+        List<GrantedAuthority> authorities = new ArrayList<>(1 + roleIds.length + permissionIds.length);
+        if (token.getRole() != null) {
+            authorities.add(new SimpleGrantedAuthority("ROLE_" + token.getRole()));
+        }
+        // Ids still unknown after a reload were deleted since the token was issued and grant nothing
+        addAll(authorities, roleIds, current.roles);
+        addAll(authorities, permissionIds, current.permissions);
+        return authorities;
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return reload(null);
+        }
+        if (System.nanoTime() - current.loadedAt >= refreshIntervalNanos && reloadLock.tryLock()) {
+            // One thread reloads, the others keep using the previous names meanwhile
+            try {
+                Snapshot latest = snapshot;
+                return latest != current ? latest : load(current);
+            } finally {
+                reloadLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    private Snapshot reload(Snapshot seen) {
+        reloadLock.lock();
+        try {
+            Snapshot current = snapshot;
+            // Another thread may have reloaded while this one waited for the lock
+            if (current != null && current != seen) {
+                return current;
+            }
+            return load(current);
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private Snapshot load(Snapshot previous) {
+        try {
+            Map<Long, GrantedAuthority> roles = new HashMap<>();
+            for (RoleRepository.IdAndName role : roleRepository.findAllIdsAndNames()) {
+                roles.put(role.getId(), new SimpleGrantedAuthority("ROLE_" + role.getName()));
+            }
+            Map<Long, GrantedAuthority> permissions = new HashMap<>();
+            for (PermissionRepository.IdAndName permission : permissionRepository.findAllIdsAndNames()) {
+                permissions.put(permission.getId(), new SimpleGrantedAuthority(permission.getName()));
+            }
+            Snapshot loaded = new Snapshot(roles, permissions, System.nanoTime());
+            snapshot = loaded;
+            return loaded;
+        } catch (RuntimeException e) {
+            if (previous == null) {
+                throw e;
+            }
+            // Keep authorizing with the names we have, the next interval tries again
+            logger.warn("Could not reload role and permission names for API tokens: {}", e.getMessage());
+            Snapshot retained = new Snapshot(previous.roles, previous.permissions, System.nanoTime());
+            snapshot = retained;
+            return retained;
+        }
+    }
+
+    private static void addAll(List<GrantedAuthority> authorities, long[] ids, Map<Long, GrantedAuthority> names) {
+        for (long id : ids) {
+            GrantedAuthority authority = names.get(id);
+            if (authority != null) {
+                authorities.add(authority);
+            }
+        }
+    }
+
+    private static final class Snapshot {
+        private final Map<Long, GrantedAuthority> roles;
+        private final Map<Long, GrantedAuthority> permissions;
+        private final long loadedAt;
+
+        private Snapshot(Map<Long, GrantedAuthority> roles, Map<Long, GrantedAuthority> permissions, long loadedAt) {
+            this.roles = roles;
+            this.permissions = permissions;
+            this.loadedAt = loadedAt;
+        }
+
+        boolean knows(long[] roleIds, long[] permissionIds) {
+            return containsAll(roles, roleIds) && containsAll(permissions, permissionIds);
+        }
+
+        private static boolean containsAll(Map<Long, GrantedAuthority> names, long[] ids) {
+            for (long id : ids) {
+                if (!names.containsKey(id)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.control.core.service;
+
+import com.control.core.autoconfigure.CoreAuthProperties;
+import com.control.core.model.RefreshToken;
+import com.control.core.model.User;
+import com.control.core.repository.RefreshTokenRepository;
+import com.control.core.repository.UserRepository;
+import com.control.core.security.CoreUserPrincipal;
+import com.control.core.security.TokenHashing;
+import com.control.core.security.token.AccessToken;
+import com.control.core.security.token.AccessTokenCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.CredentialsExpiredException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Issues, rotates and revokes the tokens of the stateless API mode.
+ *
+ * A login yields a short-lived signed access token, verified without any lookup, and a refresh
+ * token stored as a SHA-256 digest. Each refresh marks the presented token used and returns a new
+ * pair; a used token presented again means it was copied, so the whole family (every token from
+ * that login) is revoked and both holders have to log in again.
+ */
+public class ApiTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApiTokenService.class);
+
+    private final RefreshTokenRepository tokenRepository;
+    private final UserRepository userRepository;
+    private final AccessTokenCodec codec;
+    private final TransactionTemplate transactionTemplate;
+    private final CoreAuthProperties.ApiToken settings;
+
+    public ApiTokenService(RefreshTokenRepository tokenRepository,
+                           UserRepository userRepository,
+                           AccessTokenCodec codec,
+                           PlatformTransactionManager transactionManager,
+                           CoreAuthProperties properties) {
+        this.tokenRepository = tokenRepository;
+        this.userRepository = userRepository;
+        this.codec = codec;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.settings = properties.getApiToken();
+    }
+
+    /**
+     * Start a new token family for a user who just authenticated
+     */
+    public IssuedTokens issue(CoreUserPrincipal principal) {
+        return transactionTemplate.execute(status -> issue(principal, UUID.randomUUID().toString()));
+    }
+
+    /**
+     * Exchange a refresh token for a new access and refresh token
+     *
+     * @throws BadCredentialsException if the token is unknown, was already used or its user is gone or disabled
+     * @throws CredentialsExpiredException if the token expired
+     */
+    public IssuedTokens refresh(String rawRefreshToken) {
+        RefreshTokenRepository.TokenStatus status = tokenRepository.findStatusByTokenHash(TokenHashing.sha256Hex(rawRefreshToken))
+            .orElseThrow(() -> new BadCredentialsException("Unknown refresh token"));
+        if (status.getExpiryDate().isBefore(LocalDateTime.now())) {
+            throw new CredentialsExpiredException("Refresh token expired");
+        }
+
+        IssuedTokens tokens = Boolean.TRUE.equals(status.getUsed()) ? null : transactionTemplate.execute(tx -> {
+            // Loses to a concurrent refresh with the same token, which is treated like reuse
+            if (tokenRepository.markUsed(status.getId()) == 0) {
+                return null;
+            }
+            User user = userRepository.findById(status.getUserId()).filter(User::isEnabled).orElse(null);
+            if (user == null) {
+                return null;
+            }
+            tokenRepository.deleteExpiredByUserId(user.getId(), LocalDateTime.now());
+            return issue(CoreUserPrincipal.from(user), status.getFamilyId());
+        });
+        if (tokens == null) {
+            int revoked = revokeFamily(status.getFamilyId());
+            logger.warn("Refresh token of user {} was reused or its account is disabled; revoked {} tokens of its family",
+                status.getUserId(), revoked);
+            throw new BadCredentialsException("Refresh token is no longer valid");
+        }
+        return tokens;
+    }
+
+    /**
+     * Log out: revoke the family of the given refresh token, if it exists
+     */
+    public void revoke(String rawRefreshToken) {
+        tokenRepository.findStatusByTokenHash(TokenHashing.sha256Hex(rawRefreshToken))
+            .ifPresent(status -> revokeFamily(status.getFamilyId()));
+    }
+
+    private int revokeFamily(String familyId) {
+        Integer deleted = transactionTemplate.execute(tx -> tokenRepository.deleteByFamilyId(familyId));
+        return deleted != null ? deleted : 0;
+    }
+
+    private IssuedTokens issue(CoreUserPrincipal principal, String familyId) {
+        String refreshToken = TokenHashing.generateToken();
+        // The principal carries everything the access token needs; the entity is only referenced by id
+        User user = userRepository.getReferenceById(principal.getId());
+        tokenRepository.save(new RefreshToken(TokenHashing.sha256Hex(refreshToken), user, familyId, settings.getRefreshTokenValidity()));
+
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(settings.getAccessTokenValidity());
+        String accessToken = codec.encode(new AccessToken(principal.getId(), principal.getUsername(), principal.getRole(),
+            principal.getRoleIds(), principal.getPermissionIds(), now, expiresAt));
+        return new IssuedTokens(accessToken, settings.getAccessTokenValidity().toSeconds(), refreshToken,
+            settings.getRefreshTokenValidity().toSeconds());
+    }
+
+    /**
+     * Tokens handed to the client; only the access token is self-contained, the refresh token is looked up
+     */
+    public static class IssuedTokens {
+        private final String accessToken;
+        private final long expiresIn;
+        private final String refreshToken;
+        private final long refreshExpiresIn;
+
+        public IssuedTokens(String accessToken, long expiresIn, String refreshToken, long refreshExpiresIn) {
+            this.accessToken = accessToken;
+            this.expiresIn = expiresIn;
+            this.refreshToken = refreshToken;
+            this.refreshExpiresIn = refreshExpiresIn;
+        }
+
+        // Getters
+        public String getAccessToken() { return accessToken; }
+        public String getTokenType() { return "Bearer"; }
+        public long getExpiresIn() { return expiresIn; }
+        public String getRefreshToken() { return refreshToken; }
+        public long getRefreshExpiresIn() { return refreshExpiresIn; }
+    }
+}
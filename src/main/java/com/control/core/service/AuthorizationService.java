@@ -1,10 +1,10 @@
 package com.control.core.service;
 
+import com.control.core.security.CoreUserPrincipal;
+import com.control.core.security.token.AccessTokenPrincipal;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.stereotype.Service;
 
-@Service("authorizationService")
 public class AuthorizationService {
     
     private final UserService userService;
@@ -86,7 +86,13 @@ public class AuthorizationService {
             return true;
         }
         
-        // Check if user is the owner
+        // Check if user is the owner; session and access token principals already carry the id
+        if (authentication.getPrincipal() instanceof CoreUserPrincipal principal) {
+            return principal.getId().equals(userId);
+        }
+        if (authentication.getPrincipal() instanceof AccessTokenPrincipal principal) {
+            return principal.getId().equals(userId);
+        }
         try {
             var user = userService.findByUsername(authentication.getName());
             return user.isPresent() && user.get().getId().equals(userId);
@@ -0,0 +1,183 @@
+package com.control.core.service;
+
+import com.control.core.autoconfigure.CoreAuthProperties;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailMessage;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMailMessage;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends many messages over as few SMTP sessions as possible.
+ *
+ * Messages are split into chunks of {@code core.auth.email.messages-per-connection}; each chunk
+ * is handed to {@link JavaMailSender#send(SimpleMailMessage...)}, or for multipart messages
+ * ({@link MimeMailMessage}) to {@link JavaMailSender#send(MimeMessage...)}, which opens one
+ * transport and delivers the whole chunk over it. Plain and multipart messages never share a chunk. Chunks are paced by a {@link MailRateLimiter} keyed by the
+ * mail server host, so bulk notifications stay within the provider's sending limits.
+ */
+public class BulkMailSender {
+
+    private final JavaMailSender mailSender;
+    private final MailRateLimiter rateLimiter;
+    private final int messagesPerConnection;
+
+    public BulkMailSender(JavaMailSender mailSender, CoreAuthProperties properties) {
+        this.mailSender = mailSender;
+        CoreAuthProperties.Email email = properties.getEmail();
+        this.rateLimiter = new MailRateLimiter(email.getRateLimit(), email.getProviderRateLimits());
+        this.messagesPerConnection = Math.max(1, email.getMessagesPerConnection());
+    }
+
+    /**
+     * Send all messages, reporting the ones the mail server did not accept instead of throwing.
+     * Messages are {@link SimpleMailMessage}s or {@link MimeMailMessage}s.
+     */
+    public Result send(List<? extends MailMessage> messages) {
+        List<List<MailMessage>> chunks = chunks(messages);
+        Map<MailMessage, Exception> failures = new IdentityHashMap<>();
+        String provider = getProvider();
+        int sent = 0;
+
+        for (int i = 0; i < chunks.size(); i++) {
+            List<MailMessage> chunk = chunks.get(i);
+            try {
+                rateLimiter.acquire(provider, chunk.size());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                // Shutting down: report everything not yet sent as failed so callers can retry it later
+                chunks.subList(i, chunks.size()).forEach(rest -> rest.forEach(message -> failures.put(message, e)));
+                break;
+            }
+            sent += sendChunk(chunk, failures);
+        }
+        return new Result(sent, failures);
+    }
+
+    /**
+     * Plain messages first, then multipart ones, each in chunks of at most {@code messagesPerConnection}
+     */
+    private List<List<MailMessage>> chunks(List<? extends MailMessage> messages) {
+        List<MailMessage> plain = new ArrayList<>(messages.size());
+        List<MailMessage> multipart = new ArrayList<>();
+        for (MailMessage message : messages) {
+            if (message instanceof MimeMailMessage) {
+                multipart.add(message);
+            } else if (message instanceof SimpleMailMessage) {
+                plain.add(message);
+            } else {
+                throw new IllegalArgumentException("Unsupported mail message type: " + message.getClass().getName());
+            }
+        }
+        List<List<MailMessage>> chunks = new ArrayList<>();
+        for (List<MailMessage> group : List.of(plain, multipart)) {
+            for (int from = 0; from < group.size(); from += messagesPerConnection) {
+                chunks.add(group.subList(from, Math.min(from + messagesPerConnection, group.size())));
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * A multipart/alternative message with a plain text and an HTML body, sent by {@link #send}
+     */
+    public MimeMailMessage createMultipartMessage(String from, String to, String subject, String text, String html) {
+        try {
+            MimeMessageHelper helper = new MimeMessageHelper(mailSender.createMimeMessage(), true, StandardCharsets.UTF_8.name());
+            if (from != null) {
+                helper.setFrom(from);
+            }
+            helper.setTo(to);
+            helper.setSubject(subject);
+            helper.setText(text, html);
+            return new MimeMailMessage(helper);
+        } catch (MessagingException e) {
+            throw new MailPreparationException("Failed to build multipart email to " + to, e);
+        }
+    }
+
+    /**
+     * Messages per second allowed for the configured mail server, zero or less when unlimited
+     */
+    public double getRate() {
+        return rateLimiter.getRate(getProvider());
+    }
+
+    /**
+     * Host of the mail server, used as the rate limiting key
+     */
+    public String getProvider() {
+        if (mailSender instanceof JavaMailSenderImpl impl && impl.getHost() != null) {
+            return impl.getHost();
+        }
+        return "default";
+    }
+
+    private int sendChunk(List<MailMessage> chunk, Map<MailMessage, Exception> failures) {
+        try {
+            if (chunk.get(0) instanceof MimeMailMessage) {
+                mailSender.send(chunk.stream().map(message -> ((MimeMailMessage) message).getMimeMessage()).toArray(MimeMessage[]::new));
+            } else {
+                mailSender.send(chunk.toArray(new SimpleMailMessage[0]));
+            }
+            return chunk.size();
+        } catch (MailSendException e) {
+            Map<Object, Exception> failedMessages = e.getFailedMessages();
+            if (failedMessages.isEmpty()) {
+                chunk.forEach(message -> failures.put(message, e));
+                return 0;
+            }
+            int sent = 0;
+            for (MailMessage message : chunk) {
+                // Failures of multipart messages are reported against the MimeMessage that was sent
+                Object key = message instanceof MimeMailMessage mime ? mime.getMimeMessage() : message;
+                Exception error = failedMessages.get(key);
+                if (error != null) {
+                    failures.put(message, error);
+                } else {
+                    sent++;
+                }
+            }
+            return sent;
+        } catch (MailException e) {
+            // e.g. authentication failed: nothing in this chunk went out
+            chunk.forEach(message -> failures.put(message, e));
+            return 0;
+        }
+    }
+
+    /**
+     * Outcome of a bulk send
+     */
+    public static final class Result {
+        private final int sentCount;
+        private final Map<MailMessage, Exception> failures;
+
+        private Result(int sentCount, Map<MailMessage, Exception> failures) {
+            this.sentCount = sentCount;
+            this.failures = Collections.unmodifiableMap(failures);
+        }
+
+        public int getSentCount() { return sentCount; }
+
+        /**
+         * Messages that were not accepted, keyed by the message instance passed in
+         */
+        public Map<MailMessage, Exception> getFailures() { return failures; }
+
+        public boolean hasFailures() { return !failures.isEmpty(); }
+    }
+}
@@ -2,17 +2,21 @@ package com.control.core.service;
 
 import com.control.core.model.User;
 import com.control.core.repository.UserRepository;
+import com.control.core.security.CoreUserPrincipal;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
 
-@Service
-public class CustomUserDetailsService implements UserDetailsService {
+/**
+ * Loads users for form login and API tokens as a {@link CoreUserPrincipal}, so the session holds
+ * ids and authority names rather than the entity graph
+ */
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     
     @Autowired
     private UserRepository userRepository;
@@ -36,6 +40,20 @@ public class CustomUserDetailsService implements UserDetailsService {
         user.setLastLogin(LocalDateTime.now());
         userRepository.save(user);
         
-        return user;
+        return CoreUserPrincipal.from(user);
+    }
+    
+    /**
+     * Called after a successful login when the stored hash uses an outdated cost or algorithm
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newEncodedPassword) {
+        Optional<User> stored = userRepository.findByUsername(userDetails.getUsername());
+        if (stored.isEmpty()) {
+            return userDetails;
+        }
+        User user = stored.get();
+        user.setPassword(newEncodedPassword);
+        return CoreUserPrincipal.from(userRepository.save(user));
     }
 }
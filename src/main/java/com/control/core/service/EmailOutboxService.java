@@ -0,0 +1,347 @@
+package com.control.core.service;
+
+import com.control.core.autoconfigure.CoreAuthProperties;
+import com.control.core.concurrent.CoreAuthThreads;
+import com.control.core.model.EmailOutboxMessage;
+import com.control.core.repository.EmailOutboxRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailMessage;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Durable outbox for outgoing email.
+ *
+ * Callers {@link #enqueue} a message inside their own transaction, so the email is stored
+ * atomically with the change that triggered it and the request never waits on SMTP. A single
+ * dispatcher thread delivers due messages in batches through {@link BulkMailSender}, is nudged
+ * right after the enqueuing transaction commits and also polls as a safety net. Failed messages
+ * are retried with exponential backoff; when several nodes share the database only the holder
+ * of the {@value #LEASE_NAME} lease dispatches, renewing it before every batch, and each message
+ * is claimed with a conditional update before it is sent. Messages carrying a secret, such as a
+ * reset link, are queued with {@link #enqueueTemplate} and rendered only when they are sent. With virtual threads enabled the dispatcher is a
+ * virtual thread, so waiting on SMTP does not hold a platform thread.
+ */
+public class EmailOutboxService {
+    
+    static final String LEASE_NAME = "email-outbox";
+    static final Duration LEASE_DURATION = Duration.ofMinutes(5);
+    
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxService.class);
+    
+    private final EmailOutboxRepository outboxRepository;
+    private final BulkMailSender bulkMailSender;
+    private final JobLeaseService leaseService;
+    private final TransactionTemplate transactionTemplate;
+    private final CoreAuthProperties.Email.Outbox settings;
+    private final CoreAuthThreads threads;
+    
+    private final Map<String, MessageRenderer> renderers = new ConcurrentHashMap<>();
+    private final AtomicBoolean dispatchQueued = new AtomicBoolean();
+    private ScheduledExecutorService dispatcher;
+    
+    public EmailOutboxService(EmailOutboxRepository outboxRepository,
+                              BulkMailSender bulkMailSender,
+                              JobLeaseService leaseService,
+                              PlatformTransactionManager transactionManager,
+                              CoreAuthProperties properties,
+                              CoreAuthThreads threads) {
+        this.outboxRepository = outboxRepository;
+        this.bulkMailSender = bulkMailSender;
+        this.leaseService = leaseService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.settings = properties.getEmail().getOutbox();
+        this.threads = threads;
+    }
+    
+    @PostConstruct
+    public void start() {
+        // One thread: deliveries from this node never overlap, and the backlog is bounded by the table, not by memory
+        dispatcher = Executors.newSingleThreadScheduledExecutor(threads.threadFactory("core-auth-mail-outbox"));
+        long periodMillis = Math.max(settings.getPollInterval().toMillis(), 1000L);
+        dispatcher.scheduleWithFixedDelay(this::requestDispatch, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (dispatcher != null) {
+            dispatcher.shutdownNow();
+        }
+    }
+    
+    /**
+     * Store a message for delivery; it is sent after the current transaction commits
+     */
+    public void enqueue(SimpleMailMessage message) {
+        enqueue(message, null);
+    }
+    
+    /**
+     * Store a message with an HTML alternative of its text; it is sent as multipart/alternative
+     * after the current transaction commits
+     */
+    public void enqueue(SimpleMailMessage message, String html) {
+        String[] recipients = message.getTo() != null ? message.getTo() : new String[0];
+        for (String recipient : recipients) {
+            EmailOutboxMessage queued = new EmailOutboxMessage(message.getFrom(), recipient, message.getSubject(), message.getText());
+            queued.setHtmlBody(html);
+            outboxRepository.save(queued);
+        }
+        dispatchAfterCommit();
+    }
+    
+    private void dispatchAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    requestDispatch();
+                }
+            });
+        } else {
+            requestDispatch();
+        }
+    }
+    
+    /**
+     * Queue a message that is rendered only when it is sent, so a secret it carries (such as a
+     * reset link) is never stored in the outbox. The subject is a placeholder for listings until then.
+     */
+    public void enqueueTemplate(String from, String recipient, String subject, String templateName,
+                                Long referenceId, Locale locale) {
+        EmailOutboxMessage message = new EmailOutboxMessage(from, recipient, subject, null);
+        message.setTemplateName(templateName);
+        message.setReferenceId(referenceId);
+        message.setLocale(locale != null ? locale.toLanguageTag() : null);
+        outboxRepository.save(message);
+        dispatchAfterCommit();
+    }
+    
+    /**
+     * Provide the message for rows queued with {@link #enqueueTemplate} under the given template name
+     */
+    public void registerRenderer(String templateName, MessageRenderer renderer) {
+        renderers.put(templateName, renderer);
+    }
+    
+    public long getPendingCount() {
+        return outboxRepository.countByStatus(EmailOutboxMessage.Status.PENDING);
+    }
+    
+    public long getFailedCount() {
+        return outboxRepository.countByStatus(EmailOutboxMessage.Status.FAILED);
+    }
+    
+    /**
+     * Ask the dispatcher thread to run; requests arriving while one is queued are coalesced
+     */
+    private void requestDispatch() {
+        if (dispatcher == null || !dispatchQueued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            dispatcher.execute(this::dispatch);
+        } catch (RejectedExecutionException e) {
+            dispatchQueued.set(false);
+        }
+    }
+    
+    void dispatch() {
+        dispatchQueued.set(false);
+        try {
+            if (!leaseService.tryAcquire(LEASE_NAME, LEASE_DURATION)) {
+                return;
+            }
+            try {
+                int batchSize = batchSize();
+                while (!Thread.currentThread().isInterrupted() && dispatchBatch(batchSize) == batchSize) {
+                    // Rate limiting can stretch a run past one lease: renew it before every further batch,
+                    // and stop if another node took it over after it lapsed
+                    if (!leaseService.tryAcquire(LEASE_NAME, LEASE_DURATION)) {
+                        logger.warn("Email outbox lease was lost during a run, leaving the remaining messages to its new holder");
+                        return;
+                    }
+                }
+            } finally {
+                leaseService.release(LEASE_NAME);
+            }
+        } catch (Exception e) {
+            // Keep the dispatcher alive, undelivered messages stay in the outbox
+            logger.warn("Email outbox dispatch failed: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * The configured batch size, reduced so a rate-limited batch goes out within half a lease
+     */
+    int batchSize() {
+        int batchSize = Math.max(1, settings.getBatchSize());
+        double rate = bulkMailSender.getRate();
+        if (rate > 0) {
+            batchSize = (int) Math.max(1, Math.min(batchSize, rate * LEASE_DURATION.toSeconds() / 2));
+        }
+        return batchSize;
+    }
+    
+    private int dispatchBatch(int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutboxMessage> due = transactionTemplate.execute(status ->
+            outboxRepository.findDue(now, PageRequest.of(0, batchSize)));
+        if (due == null || due.isEmpty()) {
+            return 0;
+        }
+        
+        List<EmailOutboxMessage> claimed = claim(due, now);
+        if (claimed.isEmpty()) {
+            return due.size();
+        }
+        
+        List<EmailOutboxMessage> sending = new ArrayList<>(claimed.size());
+        List<MailMessage> messages = new ArrayList<>(claimed.size());
+        List<EmailOutboxMessage> unwanted = new ArrayList<>();
+        Map<EmailOutboxMessage, Exception> renderFailures = new IdentityHashMap<>();
+        for (EmailOutboxMessage queued : claimed) {
+            try {
+                MailMessage message = toMailMessage(queued);
+                if (message == null) {
+                    unwanted.add(queued);
+                } else {
+                    sending.add(queued);
+                    messages.add(message);
+                }
+            } catch (RuntimeException e) {
+                renderFailures.put(queued, e);
+            }
+        }
+        
+        // Chunks go out over a single connection each, paced by the provider rate limit
+        BulkMailSender.Result result = messages.isEmpty() ? null : bulkMailSender.send(messages);
+        
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < messages.size(); i++) {
+                Exception error = result.getFailures().get(messages.get(i));
+                if (error == null) {
+                    outboxRepository.deleteById(sending.get(i).getId());
+                } else {
+                    scheduleRetry(sending.get(i), error);
+                }
+            }
+            for (EmailOutboxMessage queued : unwanted) {
+                outboxRepository.deleteById(queued.getId());
+            }
+            renderFailures.forEach(this::scheduleRetry);
+        });
+        return due.size();
+    }
+    
+    /**
+     * Claim each message for the length of a lease before sending it. A node still finishing a run
+     * after its lease lapsed can find the same rows due, but only one conditional update wins each.
+     */
+    private List<EmailOutboxMessage> claim(List<EmailOutboxMessage> due, LocalDateTime now) {
+        LocalDateTime claimedUntil = now.plus(LEASE_DURATION);
+        List<EmailOutboxMessage> claimed = new ArrayList<>(due.size());
+        transactionTemplate.executeWithoutResult(status -> {
+            for (EmailOutboxMessage message : due) {
+                if (outboxRepository.claim(message.getId(), leaseService.getOwner(), claimedUntil, now) == 1) {
+                    claimed.add(message);
+                }
+            }
+        });
+        return claimed;
+    }
+    
+    private void scheduleRetry(EmailOutboxMessage message, Exception error) {
+        int attempts = message.getAttempts() + 1;
+        message.setClaimedBy(null);
+        message.setAttempts(attempts);
+        message.setLastError(truncate(error.getMessage()));
+        
+        if (attempts >= settings.getMaxAttempts()) {
+            message.setStatus(EmailOutboxMessage.Status.FAILED);
+            message.setBody(null);
+            message.setHtmlBody(null);
+            logger.error("Giving up on email to {} after {} attempts: {}", message.getRecipient(), attempts, error.getMessage());
+        } else {
+            message.setNextAttemptAt(LocalDateTime.now().plus(backoff(attempts)));
+            logger.warn("Email to {} failed (attempt {}), retrying at {}: {}",
+                message.getRecipient(), attempts, message.getNextAttemptAt(), error.getMessage());
+        }
+        outboxRepository.save(message);
+    }
+    
+    /**
+     * Exponential backoff: initial, 2x, 4x, ... capped at the configured maximum
+     */
+    Duration backoff(int attempts) {
+        Duration delay = settings.getInitialBackoff();
+        for (int i = 1; i < attempts && delay.compareTo(settings.getMaxBackoff()) < 0; i++) {
+            delay = delay.multipliedBy(2);
+        }
+        return delay.compareTo(settings.getMaxBackoff()) > 0 ? settings.getMaxBackoff() : delay;
+    }
+    
+    /**
+     * The message to send for a row: its stored content, or what its template renders at send time.
+     * Returns {@code null} when the renderer reports the message is no longer wanted.
+     */
+    private MailMessage toMailMessage(EmailOutboxMessage outboxMessage) {
+        if (outboxMessage.getTemplateName() != null) {
+            MessageRenderer renderer = renderers.get(outboxMessage.getTemplateName());
+            if (renderer == null) {
+                throw new IllegalStateException("No renderer registered for email template " + outboxMessage.getTemplateName());
+            }
+            return renderer.render(outboxMessage);
+        }
+        if (outboxMessage.getHtmlBody() != null) {
+            return bulkMailSender.createMultipartMessage(outboxMessage.getFromAddress(), outboxMessage.getRecipient(),
+                outboxMessage.getSubject(), outboxMessage.getBody(), outboxMessage.getHtmlBody());
+        }
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(outboxMessage.getFromAddress());
+        message.setTo(outboxMessage.getRecipient());
+        message.setSubject(outboxMessage.getSubject());
+        message.setText(outboxMessage.getBody());
+        return message;
+    }
+    
+    private String truncate(String text) {
+        if (text == null) {
+            return null;
+        }
+        return text.length() > 1000 ? text.substring(0, 1000) : text;
+    }
+    
+    /**
+     * Builds the message for a row queued with {@link #enqueueTemplate}
+     */
+    public interface MessageRenderer {
+        
+        /**
+         * Render the message ({@link SimpleMailMessage} or multipart {@code MimeMailMessage}), or return
+         * {@code null} when it should be dropped (e.g. its token was used)
+         */
+        MailMessage render(EmailOutboxMessage queued);
+    }
+}
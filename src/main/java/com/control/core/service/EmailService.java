@@ -3,23 +3,44 @@ package com.control.core.service;
 import com.control.core.autoconfigure.CoreAuthProperties;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.mail.MailMessage;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.stereotype.Service;
+import org.springframework.mail.javamail.MimeMailMessage;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
 
-@Service
-@ConditionalOnClass(JavaMailSender.class)
-@ConditionalOnProperty(name = "core.auth.email.enabled", havingValue = "true", matchIfMissing = true)
 public class EmailService {
     
+    public static final String PASSWORD_RESET_TEMPLATE = "password-reset";
+    
+    private static final String PASSWORD_RESET_SUBJECT = "Password Reset Request - Core Application";
+    
+    private static final String PASSWORD_CHANGE_CONFIRMATION_TEMPLATE = "password-change-confirmation";
+    
+    private static final String PASSWORD_CHANGE_CONFIRMATION_SUBJECT = "Password Changed Successfully - Core Application";
+    
     @Autowired
     private JavaMailSender mailSender;
     
     @Autowired
     private CoreAuthProperties coreAuthProperties;
     
+    @Autowired
+    private EmailOutboxService outbox;
+    
+    @Autowired
+    private BulkMailSender bulkMailSender;
+    
+    @Autowired
+    private EmailTemplateRegistry templates;
+    
     // Fallback to legacy property names for backward compatibility
     @Value("${app.mail.from:#{null}}")
     private String legacyFromEmail;
@@ -41,57 +62,145 @@ public class EmailService {
         return coreAuthProperties.getBaseUrl();
     }
     
+    /**
+     * Queue the password reset email in the outbox; it is delivered after the current transaction commits.
+     * Only the token row is referenced: the link is created and rendered when the email is sent, see
+     * {@link PasswordResetService}, so the outbox never holds a usable reset token.
+     */
+    public void queuePasswordResetEmail(String toEmail, Long resetTokenId) {
+        outbox.enqueueTemplate(getFromEmail(), toEmail, PASSWORD_RESET_SUBJECT, PASSWORD_RESET_TEMPLATE,
+            resetTokenId, LocaleContextHolder.getLocale());
+    }
+    
+    /**
+     * Queue the password change confirmation in the outbox; it is delivered after the current transaction commits
+     */
+    public void queuePasswordChangeConfirmation(String toEmail, String username) {
+        EmailTemplateRegistry.Rendered rendered = renderPasswordChangeConfirmation(username);
+        outbox.enqueue(buildPasswordChangeConfirmation(toEmail, username, rendered), rendered != null ? rendered.getHtml() : null);
+    }
+    
+    /**
+     * Send many messages over as few SMTP connections as possible, within the provider rate limit.
+     * Messages without a sender get the configured from address. Failures are reported, not thrown.
+     */
+    public BulkMailSender.Result sendBatch(List<SimpleMailMessage> messages) {
+        for (SimpleMailMessage message : messages) {
+            if (message.getFrom() == null) {
+                message.setFrom(getFromEmail());
+            }
+        }
+        return bulkMailSender.send(messages);
+    }
+    
     public void sendPasswordResetEmail(String toEmail, String username, String resetToken) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(getFromEmail());
-        message.setTo(toEmail);
-        message.setSubject("Password Reset Request - Core Application");
-        
-        String resetUrl = getBaseUrl() + "/reset-password?token=" + resetToken;
-        
-        String emailBody = String.format(
-            "Hello %s,\n\n" +
-            "You have requested to reset your password for Core Application.\n\n" +
-            "Please click the link below to reset your password:\n" +
-            "%s\n\n" +
-            "This link will expire in 24 hours.\n\n" +
-            "If you did not request this password reset, please ignore this email.\n\n" +
-            "Best regards,\n" +
-            "Core Application Team",
-            username, resetUrl
-        );
-        
-        message.setText(emailBody);
+        MailMessage message = buildPasswordResetEmail(toEmail, username, resetToken, LocaleContextHolder.getLocale());
         
         try {
-            mailSender.send(message);
+            send(message);
         } catch (Exception e) {
             throw new RuntimeException("Failed to send password reset email: " + e.getMessage());
         }
     }
     
     public void sendPasswordChangeConfirmation(String toEmail, String username) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(getFromEmail());
-        message.setTo(toEmail);
-        message.setSubject("Password Changed Successfully - Core Application");
-        
-        String emailBody = String.format(
-            "Hello %s,\n\n" +
-            "Your password has been successfully changed for Core Application.\n\n" +
-            "If you did not make this change, please contact our support team immediately.\n\n" +
-            "Best regards,\n" +
-            "Core Application Team",
-            username
-        );
-        
-        message.setText(emailBody);
+        EmailTemplateRegistry.Rendered rendered = renderPasswordChangeConfirmation(username);
+        MailMessage message = buildMessage(buildPasswordChangeConfirmation(toEmail, username, rendered), rendered);
         
         try {
-            mailSender.send(message);
+            send(message);
         } catch (Exception e) {
             // Log the error but don't throw exception for confirmation emails
             System.err.println("Failed to send password change confirmation: " + e.getMessage());
         }
     }
+    
+    /**
+     * Password reset email for the given raw token, in the given locale. Multipart when the
+     * template has an HTML variant.
+     */
+    public MailMessage buildPasswordResetEmail(String toEmail, String username, String resetToken, Locale locale) {
+        String resetUrl = getBaseUrl() + "/reset-password?token=" + resetToken;
+        String expiresIn = describe(coreAuthProperties.getPasswordReset().getTokenValidity());
+        
+        Map<String, Object> variables = new LinkedHashMap<>();
+        variables.put("username", username);
+        variables.put("resetUrl", resetUrl);
+        variables.put("expiresIn", expiresIn);
+        variables.put("baseUrl", getBaseUrl());
+        
+        EmailTemplateRegistry.Rendered rendered = templates.render(PASSWORD_RESET_TEMPLATE, locale, variables);
+        return buildMessage(textMessage(toEmail, rendered, PASSWORD_RESET_SUBJECT,
+            () -> String.format(
+                "Hello %s,\n\n" +
+                "You have requested to reset your password for Core Application.\n\n" +
+                "Please click the link below to reset your password:\n" +
+                "%s\n\n" +
+                "This link will expire in %s.\n\n" +
+                "If you did not request this password reset, please ignore this email.\n\n" +
+                "Best regards,\n" +
+                "Core Application Team",
+                username, resetUrl, expiresIn
+            )), rendered);
+    }
+    
+    private EmailTemplateRegistry.Rendered renderPasswordChangeConfirmation(String username) {
+        Map<String, Object> variables = new LinkedHashMap<>();
+        variables.put("username", username);
+        variables.put("baseUrl", getBaseUrl());
+        return templates.render(PASSWORD_CHANGE_CONFIRMATION_TEMPLATE, LocaleContextHolder.getLocale(), variables);
+    }
+    
+    private SimpleMailMessage buildPasswordChangeConfirmation(String toEmail, String username, EmailTemplateRegistry.Rendered rendered) {
+        return textMessage(toEmail, rendered, PASSWORD_CHANGE_CONFIRMATION_SUBJECT,
+            () -> String.format(
+                "Hello %s,\n\n" +
+                "Your password has been successfully changed for Core Application.\n\n" +
+                "If you did not make this change, please contact our support team immediately.\n\n" +
+                "Best regards,\n" +
+                "Core Application Team",
+                username
+            ));
+    }
+    
+    /**
+     * Plain text message from a rendered template, falling back to the built-in subject and body
+     * for whatever the template does not provide
+     */
+    private SimpleMailMessage textMessage(String toEmail, EmailTemplateRegistry.Rendered rendered,
+                                          String defaultSubject, Supplier<String> defaultBody) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(getFromEmail());
+        message.setTo(toEmail);
+        message.setSubject(rendered != null && rendered.getSubject() != null ? rendered.getSubject() : defaultSubject);
+        message.setText(rendered != null && rendered.getText() != null ? rendered.getText() : defaultBody.get());
+        return message;
+    }
+    
+    /**
+     * The text message as is, or as multipart/alternative with the template's HTML variant when it has one
+     */
+    private MailMessage buildMessage(SimpleMailMessage text, EmailTemplateRegistry.Rendered rendered) {
+        if (rendered == null || rendered.getHtml() == null) {
+            return text;
+        }
+        return bulkMailSender.createMultipartMessage(text.getFrom(), text.getTo()[0], text.getSubject(), text.getText(), rendered.getHtml());
+    }
+    
+    private void send(MailMessage message) {
+        if (message instanceof MimeMailMessage mime) {
+            mailSender.send(mime.getMimeMessage());
+        } else {
+            mailSender.send((SimpleMailMessage) message);
+        }
+    }
+    
+    private String describe(Duration validity) {
+        long hours = validity.toHours();
+        if (hours >= 1 && validity.equals(Duration.ofHours(hours))) {
+            return hours == 1 ? "1 hour" : hours + " hours";
+        }
+        long minutes = Math.max(1, validity.toMinutes());
+        return minutes == 1 ? "1 minute" : minutes + " minutes";
+    }
 }
@@ -0,0 +1,263 @@
+package com.control.core.service;
+
+import com.control.core.autoconfigure.CoreAuthProperties;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Email templates loaded and compiled once at startup.
+ *
+ * Every {@code *.txt} and {@code *.html} file found in {@code core.auth.email.template-locations}
+ * is parsed into literal text and {@code ${variable}} slots, so rendering is a single pass of
+ * appends. Files are named {@code <name>[_<language>[_<COUNTRY>]].<txt|html>}, e.g.
+ * {@code password-reset_fr.html}; a suffix only counts as a locale when it is an ISO 639 language
+ * (and ISO 3166 country), otherwise it is part of the name. An optional first line
+ * {@code Subject: ...} sets the subject, taken from the text file when both have one. Values are
+ * HTML-escaped in {@code .html} templates. A lookup falls back from the requested locale to its
+ * language and then to the unlocalized files, and the text and HTML variants always come from the
+ * same locale. It is cached per locale. When no file exists for a template {@link #render} returns
+ * {@code null} and callers use their built-in text.
+ */
+public class EmailTemplateRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailTemplateRegistry.class);
+
+    private static final String SUBJECT_PREFIX = "Subject:";
+    private static final String TEXT_EXTENSION = ".txt";
+    private static final String HTML_EXTENSION = ".html";
+
+    private static final Set<String> LANGUAGES = Arrays.stream(Locale.getISOLanguages()).collect(Collectors.toUnmodifiableSet());
+    private static final Set<String> COUNTRIES = Arrays.stream(Locale.getISOCountries()).collect(Collectors.toUnmodifiableSet());
+
+    private final ResourcePatternResolver resourceResolver;
+    private final List<String> locations;
+
+    private final Map<String, TemplateSet> templates = new HashMap<>();
+    private final Map<String, Optional<TemplateSet>> resolved = new ConcurrentHashMap<>();
+
+    public EmailTemplateRegistry(ResourceLoader resourceLoader, CoreAuthProperties properties) {
+        this.resourceResolver = ResourcePatternUtils.getResourcePatternResolver(resourceLoader);
+        this.locations = properties.getEmail().getTemplateLocations();
+    }
+
+    @PostConstruct
+    public void load() {
+        // Earlier locations win, so an application can shadow templates from a later, shared location
+        for (String location : locations) {
+            String base = location.endsWith("/") ? location : location + "/";
+            for (String extension : new String[] { TEXT_EXTENSION, HTML_EXTENSION }) {
+                try {
+                    for (Resource resource : resourceResolver.getResources(base + "*" + extension)) {
+                        compile(resource, extension);
+                    }
+                } catch (IOException e) {
+                    logger.debug("No email templates found in {}: {}", base, e.getMessage());
+                }
+            }
+        }
+        if (!templates.isEmpty()) {
+            logger.info("Compiled {} email template(s): {}", templates.size(), templates.keySet());
+        }
+    }
+
+    private void compile(Resource resource, String extension) {
+        String fileName = resource.getFilename();
+        if (fileName == null || !fileName.endsWith(extension) || fileName.length() == extension.length()) {
+            return;
+        }
+
+        String key = templateKey(fileName.substring(0, fileName.length() - extension.length()));
+        boolean html = HTML_EXTENSION.equals(extension);
+        TemplateSet set = templates.computeIfAbsent(key, k -> new TemplateSet());
+        if ((html ? set.html : set.text) != null) {
+            return;
+        }
+
+        String content;
+        try {
+            content = resource.getContentAsString(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read email template " + resource.getDescription(), e);
+        }
+
+        String body = content;
+        if (content.startsWith(SUBJECT_PREFIX)) {
+            int lineEnd = content.indexOf('\n');
+            String subjectLine = lineEnd >= 0 ? content.substring(0, lineEnd) : content;
+            body = lineEnd >= 0 ? content.substring(lineEnd + 1) : "";
+            // The first subject read wins: earlier locations first, and the text file before the HTML one
+            if (set.subject == null) {
+                set.subject = CompiledTemplate.compile(subjectLine.substring(SUBJECT_PREFIX.length()).trim(), false, fileName);
+            }
+        }
+
+        if (html) {
+            set.html = CompiledTemplate.compile(body, true, fileName);
+        } else {
+            set.text = CompiledTemplate.compile(body, false, fileName);
+        }
+    }
+
+    /**
+     * Key of a file name stem {@code name[_ll[_CC]]}, where the locale parts must be an ISO language
+     * and country, e.g. {@code password-reset_pt_BR} is {@code password-reset} in {@code pt_BR}
+     */
+    static String templateKey(String stem) {
+        int last = stem.lastIndexOf('_');
+        if (last <= 0) {
+            return stem;
+        }
+        String tail = stem.substring(last + 1);
+        if (LANGUAGES.contains(tail)) {
+            return key(stem.substring(0, last), tail);
+        }
+        int previous = stem.lastIndexOf('_', last - 1);
+        if (previous > 0 && COUNTRIES.contains(tail)) {
+            String language = stem.substring(previous + 1, last);
+            if (LANGUAGES.contains(language)) {
+                return key(stem.substring(0, previous), language + "_" + tail);
+            }
+        }
+        return stem;
+    }
+
+    /**
+     * Render a template for the given locale, or return {@code null} when it has not been provided
+     */
+    public Rendered render(String name, Locale locale, Map<String, ?> variables) {
+        TemplateSet set = resolve(name, locale != null ? locale : Locale.ROOT);
+        if (set == null) {
+            return null;
+        }
+        return new Rendered(
+            set.subject != null ? set.subject.render(variables) : null,
+            set.text != null ? set.text.render(variables) : null,
+            set.html != null ? set.html.render(variables) : null
+        );
+    }
+
+    private TemplateSet resolve(String name, Locale locale) {
+        return resolved.computeIfAbsent(key(name, locale.toString()), k -> {
+            List<String> candidates = new ArrayList<>(3);
+            if (StringUtils.hasText(locale.getLanguage())) {
+                if (StringUtils.hasText(locale.getCountry())) {
+                    candidates.add(locale.getLanguage() + "_" + locale.getCountry());
+                }
+                candidates.add(locale.getLanguage());
+            }
+            candidates.add("");
+            for (String candidate : candidates) {
+                TemplateSet set = templates.get(key(name, candidate));
+                if (set != null) {
+                    return Optional.of(set);
+                }
+            }
+            return Optional.empty();
+        }).orElse(null);
+    }
+
+    // '/' cannot appear in a file name, so a name ending in "_xx" never collides with a locale key
+    private static String key(String name, String locale) {
+        return locale.isEmpty() ? name : name + "/" + locale;
+    }
+
+    private static final class TemplateSet {
+        private CompiledTemplate subject;
+        private CompiledTemplate text;
+        private CompiledTemplate html;
+    }
+
+    /**
+     * Template split into literal parts and variable names: literals[0] var[0] literals[1] ... literals[n]
+     */
+    static final class CompiledTemplate {
+        private final String[] literals;
+        private final String[] variables;
+        private final boolean escapeHtml;
+        private final int estimatedLength;
+
+        private CompiledTemplate(String[] literals, String[] variables, boolean escapeHtml) {
+            this.literals = literals;
+            this.variables = variables;
+            this.escapeHtml = escapeHtml;
+            int length = 0;
+            for (String literal : literals) {
+                length += literal.length();
+            }
+            this.estimatedLength = length + variables.length * 32;
+        }
+
+        static CompiledTemplate compile(String source, boolean escapeHtml, String fileName) {
+            List<String> literals = new ArrayList<>();
+            List<String> variables = new ArrayList<>();
+            int position = 0;
+            while (true) {
+                int start = source.indexOf("${", position);
+                if (start < 0) {
+                    break;
+                }
+                int end = source.indexOf('}', start + 2);
+                if (end < 0) {
+                    throw new IllegalStateException("Unterminated ${ in email template " + fileName);
+                }
+                literals.add(source.substring(position, start));
+                variables.add(source.substring(start + 2, end).trim());
+                position = end + 1;
+            }
+            literals.add(source.substring(position));
+            return new CompiledTemplate(literals.toArray(new String[0]), variables.toArray(new String[0]), escapeHtml);
+        }
+
+        String render(Map<String, ?> values) {
+            StringBuilder out = new StringBuilder(estimatedLength);
+            for (int i = 0; i < variables.length; i++) {
+                out.append(literals[i]);
+                Object value = values.get(variables[i]);
+                if (value != null) {
+                    out.append(escapeHtml ? HtmlUtils.htmlEscape(value.toString()) : value.toString());
+                }
+            }
+            out.append(literals[variables.length]);
+            return out.toString();
+        }
+    }
+
+    /**
+     * Result of rendering a template; parts without a template file (or subject line) are {@code null}
+     */
+    public static final class Rendered {
+        private final String subject;
+        private final String text;
+        private final String html;
+
+        private Rendered(String subject, String text, String html) {
+            this.subject = subject;
+            this.text = text;
+            this.html = html;
+        }
+
+        public String getSubject() { return subject; }
+        public String getText() { return text; }
+        public String getHtml() { return html; }
+    }
+}
@@ -0,0 +1,76 @@
+package com.control.core.service;
+
+import com.control.core.model.JobLease;
+import com.control.core.repository.JobLeaseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Coordinates background jobs across nodes sharing one database.
+ *
+ * A job calls {@link #tryAcquire} before each run and only proceeds when it gets the lease;
+ * acquiring is a single conditional UPDATE, so two nodes can never both win. A node that dies
+ * mid-run simply lets its lease lapse. Lease changes commit in their own transaction so they
+ * are visible to other nodes straight away.
+ */
+public class JobLeaseService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(JobLeaseService.class);
+    
+    private final JobLeaseRepository leaseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String owner;
+    
+    public JobLeaseService(JobLeaseRepository leaseRepository, PlatformTransactionManager transactionManager) {
+        this.leaseRepository = leaseRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        // e.g. "12345@host:3f2a9c1e", unique per running instance
+        this.owner = ManagementFactory.getRuntimeMXBean().getName() + ":" + UUID.randomUUID().toString().substring(0, 8);
+    }
+    
+    /**
+     * Try to take (or extend) the named lease for the given duration
+     */
+    public boolean tryAcquire(String name, Duration duration) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plus(duration);
+        try {
+            Boolean acquired = transactionTemplate.execute(status -> {
+                if (leaseRepository.tryAcquire(name, owner, until, now) == 1) {
+                    return true;
+                }
+                if (leaseRepository.existsById(name)) {
+                    return false;
+                }
+                leaseRepository.saveAndFlush(new JobLease(name, owner, until));
+                return true;
+            });
+            return Boolean.TRUE.equals(acquired);
+        } catch (DataIntegrityViolationException e) {
+            // Another node created the lease row first
+            logger.debug("Lease '{}' was created concurrently by another node", name);
+            return false;
+        }
+    }
+    
+    /**
+     * Give the lease back early so another node does not have to wait for it to lapse
+     */
+    public void release(String name) {
+        transactionTemplate.executeWithoutResult(status -> leaseRepository.release(name, owner, LocalDateTime.now()));
+    }
+    
+    public String getOwner() {
+        return owner;
+    }
+}
@@ -0,0 +1,56 @@
+package com.control.core.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-provider send rate limiter.
+ *
+ * Each provider gets its own schedule: acquiring permits reserves the next free slots at the
+ * provider's rate and sleeps until the first of them, so messages leave at a steady average
+ * rate without bursts beyond what the provider allows. A rate of zero or less means unlimited.
+ */
+public class MailRateLimiter {
+
+    private final double defaultRate;
+    private final Map<String, Double> providerRates;
+    private final Map<String, Long> nextFreeNanos = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public MailRateLimiter(double defaultRate, Map<String, Double> providerRates) {
+        this.defaultRate = defaultRate;
+        this.providerRates = providerRates != null ? providerRates : Map.of();
+    }
+
+    /**
+     * Wait until the given number of messages may be sent to the provider
+     */
+    public void acquire(String provider, int permits) throws InterruptedException {
+        long waitNanos = reserve(provider, permits);
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    public double getRate(String provider) {
+        return providerRates.getOrDefault(provider, defaultRate);
+    }
+
+    private long reserve(String provider, int permits) {
+        double rate = getRate(provider);
+        if (rate <= 0 || permits <= 0) {
+            return 0L;
+        }
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            long nextFree = Math.max(nextFreeNanos.getOrDefault(provider, now), now);
+            nextFreeNanos.put(provider, nextFree + (long) (permits * 1_000_000_000L / rate));
+            return nextFree - now;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
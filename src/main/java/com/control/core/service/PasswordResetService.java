@@ -1,19 +1,25 @@
 package com.control.core.service;
 
+import com.control.core.autoconfigure.CoreAuthProperties;
+import com.control.core.model.EmailOutboxMessage;
 import com.control.core.model.PasswordResetToken;
 import com.control.core.model.User;
 import com.control.core.repository.PasswordResetTokenRepository;
 import com.control.core.repository.UserRepository;
+import com.control.core.security.TokenHashing;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mail.MailMessage;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
-import java.util.UUID;
 
-@Service
 public class PasswordResetService {
     
     @Autowired
@@ -28,6 +34,31 @@ public class PasswordResetService {
     @Autowired(required = false)
     private EmailService emailService;
     
+    @Autowired(required = false)
+    private EmailOutboxService emailOutbox;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private CoreAuthProperties properties;
+    
+    @Autowired
+    private PasswordResetTokenPurgeJob purgeJob;
+    
+    private PasswordResetTokenCache tokenCache;
+    private TransactionTemplate transactionTemplate;
+    
+    @PostConstruct
+    public void init() {
+        CoreAuthProperties.PasswordReset settings = properties.getPasswordReset();
+        tokenCache = new PasswordResetTokenCache(settings.getCacheTtl(), settings.getCacheSize());
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        if (emailService != null && emailOutbox != null) {
+            emailOutbox.registerRenderer(EmailService.PASSWORD_RESET_TEMPLATE, this::renderPasswordResetEmail);
+        }
+    }
+    
     @Transactional
     public void sendPasswordResetEmail(String email) {
         createPasswordResetToken(email);
@@ -41,25 +72,38 @@ public class PasswordResetService {
             return;
         }
         
-        User user = userOpt.get();
-        
+        issueToken(userOpt.get());
+    }
+    
+    /**
+     * Send a fresh password reset link to every enabled user holding the role, e.g. after a
+     * credential leak. The emails go through the outbox, which delivers them in batches over
+     * shared SMTP connections. Returns the number of users notified.
+     */
+    @Transactional
+    public int sendPasswordResetToRole(String roleName) {
+        List<User> users = userRepository.findEnabledByRoleName(roleName);
+        for (User user : users) {
+            issueToken(user);
+        }
+        return users.size();
+    }
+    
+    private void issueToken(User user) {
         // Delete any existing tokens for this user
         tokenRepository.deleteByUser(user);
+        tokenCache.invalidateUser(user.getId());
         
-        // Generate new token
-        String token = UUID.randomUUID().toString();
-        PasswordResetToken resetToken = new PasswordResetToken(token, user);
+        // Generate new token, only its digest is stored
+        String token = TokenHashing.generateToken();
+        PasswordResetToken resetToken = new PasswordResetToken(TokenHashing.sha256Hex(token), user,
+            properties.getPasswordReset().getTokenValidity());
         tokenRepository.save(resetToken);
         
-        // Send email (we'll handle email service errors gracefully)
+        // Queue the email in the outbox, it is sent in the background once this transaction commits.
+        // The outbox only references the token row; the link is minted at send time, so this token is never sent.
         if (emailService != null) {
-            try {
-                emailService.sendPasswordResetEmail(user.getEmail(), user.getUsername(), token);
-            } catch (Exception e) {
-                // Log error but don't fail the request
-                System.err.println("Failed to send password reset email: " + e.getMessage());
-                throw new RuntimeException("Failed to send password reset email. Please try again later.");
-            }
+            emailService.queuePasswordResetEmail(user.getEmail(), resetToken.getId());
         } else {
             // Email service not available - log the token for manual handling
             System.out.println("Password reset token generated for user " + user.getUsername() + ": " + token);
@@ -67,8 +111,27 @@ public class PasswordResetService {
         }
     }
     
+    /**
+     * Render a queued reset email: give the token row a fresh secret and put it in the link. Every
+     * delivery attempt re-keys the row, so only the link in the last email sent works. Returns
+     * {@code null} when the token was used, expired or replaced in the meantime.
+     */
+    MailMessage renderPasswordResetEmail(EmailOutboxMessage queued) {
+        return transactionTemplate.execute(status -> tokenRepository.findById(queued.getReferenceId())
+            .filter(token -> !token.isUsed() && !token.isExpired())
+            .map(token -> {
+                String secret = TokenHashing.generateToken();
+                token.setTokenHash(TokenHashing.sha256Hex(secret));
+                tokenRepository.save(token);
+                tokenCache.invalidateUser(token.getUser().getId());
+                Locale locale = queued.getLocale() != null ? Locale.forLanguageTag(queued.getLocale()) : Locale.getDefault();
+                return emailService.buildPasswordResetEmail(queued.getRecipient(), token.getUser().getUsername(), secret, locale);
+            })
+            .orElse(null));
+    }
+    
     public Optional<PasswordResetToken> findByToken(String token) {
-        return tokenRepository.findByToken(token);
+        return tokenRepository.findByTokenHash(TokenHashing.sha256Hex(token));
     }
     
     public boolean isTokenValid(PasswordResetToken token) {
@@ -76,46 +139,65 @@ public class PasswordResetService {
     }
     
     public boolean isTokenValid(String tokenString) {
-        Optional<PasswordResetToken> tokenOpt = tokenRepository.findByToken(tokenString);
-        return tokenOpt.isPresent() && isTokenValid(tokenOpt.get());
+        if (tokenString == null || tokenString.isEmpty()) {
+            return false;
+        }
+        
+        String tokenHash = TokenHashing.sha256Hex(tokenString);
+        PasswordResetTokenCache.Entry cached = tokenCache.get(tokenHash);
+        if (cached != null) {
+            return cached.isValid();
+        }
+        
+        Optional<PasswordResetTokenRepository.TokenStatus> status = tokenRepository.findStatusByTokenHash(tokenHash);
+        if (status.isEmpty() || !isUsable(status.get())) {
+            tokenCache.putInvalid(tokenHash);
+            return false;
+        }
+        tokenCache.putValid(tokenHash, status.get().getUserId(), status.get().getExpiryDate());
+        return true;
     }
     
     @Transactional
     public void resetPassword(String token, String newPassword) {
-        Optional<PasswordResetToken> tokenOpt = tokenRepository.findByToken(token);
+        String tokenHash = TokenHashing.sha256Hex(token);
+        // Always validated against the database, the cache only serves the reset page
+        Optional<PasswordResetTokenRepository.TokenStatus> statusOpt = tokenRepository.findStatusByTokenHash(tokenHash);
         
-        if (tokenOpt.isEmpty()) {
+        if (statusOpt.isEmpty()) {
+            tokenCache.putInvalid(tokenHash);
             throw new RuntimeException("Invalid password reset token");
         }
         
-        PasswordResetToken resetToken = tokenOpt.get();
+        PasswordResetTokenRepository.TokenStatus status = statusOpt.get();
         
-        if (!isTokenValid(resetToken)) {
+        // Mark token as used first; the conditional update lets only one concurrent reset through
+        if (!isUsable(status) || tokenRepository.markUsed(status.getId()) == 0) {
+            tokenCache.putInvalid(tokenHash);
             throw new RuntimeException("Password reset token is expired or already used");
         }
+        tokenCache.putInvalid(tokenHash);
         
         // Update user password
-        User user = resetToken.getUser();
+        User user = userRepository.findById(status.getUserId())
+            .orElseThrow(() -> new RuntimeException("Invalid password reset token"));
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
         
-        // Mark token as used
-        resetToken.setUsed(true);
-        tokenRepository.save(resetToken);
-        
-        // Send confirmation email
+        // Queue confirmation email
         if (emailService != null) {
-            try {
-                emailService.sendPasswordChangeConfirmation(user.getEmail(), user.getUsername());
-            } catch (Exception e) {
-                // Log error but don't fail the password reset
-                System.err.println("Failed to send password change confirmation: " + e.getMessage());
-            }
+            emailService.queuePasswordChangeConfirmation(user.getEmail(), user.getUsername());
         }
     }
     
-    @Transactional
+    private boolean isUsable(PasswordResetTokenRepository.TokenStatus status) {
+        return !Boolean.TRUE.equals(status.getUsed()) && LocalDateTime.now().isBefore(status.getExpiryDate());
+    }
+    
+    /**
+     * Delete expired tokens now; the same work also runs on a schedule, see {@link PasswordResetTokenPurgeJob}
+     */
     public void cleanupExpiredTokens() {
-        tokenRepository.deleteExpiredTokens(LocalDateTime.now());
+        purgeJob.purgeExpired();
     }
 }
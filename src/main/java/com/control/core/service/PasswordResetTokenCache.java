@@ -0,0 +1,115 @@
+package com.control.core.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Small LRU cache of recent password reset token lookups, keyed by token hash.
+ *
+ * Both outcomes are cached: known tokens (user id and expiry) and unknown ones, so a
+ * reset link opened, submitted and retried only reaches the database once per TTL.
+ * Entries are dropped as soon as a token is used or replaced. The reset itself always
+ * goes through the database, so a stale entry can never allow a token to be used twice.
+ * Guarded by a {@link ReentrantLock} rather than a monitor, as lookups run on request threads
+ * that may be virtual.
+ */
+public class PasswordResetTokenCache {
+
+    private final long ttlNanos;
+    private final Map<String, Entry> entries;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public PasswordResetTokenCache(Duration ttl, int maxEntries) {
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Return the cached lookup for the token hash, or null when it has to be read from the database
+     */
+    public Entry get(String tokenHash) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(tokenHash);
+            if (entry != null && System.nanoTime() - entry.cachedAt >= ttlNanos) {
+                entries.remove(tokenHash);
+                return null;
+            }
+            return entry;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void putValid(String tokenHash, Long userId, LocalDateTime expiryDate) {
+        if (ttlNanos > 0) {
+            put(tokenHash, new Entry(userId, expiryDate, System.nanoTime()));
+        }
+    }
+
+    public void putInvalid(String tokenHash) {
+        if (ttlNanos > 0) {
+            put(tokenHash, new Entry(null, null, System.nanoTime()));
+        }
+    }
+
+    public void invalidate(String tokenHash) {
+        lock.lock();
+        try {
+            entries.remove(tokenHash);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drop every cached token belonging to the user, e.g. when a new reset link replaces the old one
+     */
+    public void invalidateUser(Long userId) {
+        lock.lock();
+        try {
+            entries.values().removeIf(entry -> userId.equals(entry.userId));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void put(String tokenHash, Entry entry) {
+        lock.lock();
+        try {
+            entries.put(tokenHash, entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A cached lookup; an entry without a user id records a token that is unknown, used or expired
+     */
+    public static final class Entry {
+        private final Long userId;
+        private final LocalDateTime expiryDate;
+        private final long cachedAt;
+
+        private Entry(Long userId, LocalDateTime expiryDate, long cachedAt) {
+            this.userId = userId;
+            this.expiryDate = expiryDate;
+            this.cachedAt = cachedAt;
+        }
+
+        public boolean isValid() {
+            return userId != null && LocalDateTime.now().isBefore(expiryDate);
+        }
+
+        public Long getUserId() { return userId; }
+        public LocalDateTime getExpiryDate() { return expiryDate; }
+    }
+}
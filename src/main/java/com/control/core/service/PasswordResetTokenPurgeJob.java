@@ -0,0 +1,151 @@
+package com.control.core.service;
+
+import com.control.core.autoconfigure.CoreAuthProperties;
+import com.control.core.repository.PasswordResetTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically deletes expired password reset tokens.
+ *
+ * Rows are removed in chunks of {@code core.auth.password-reset.purge-batch-size}, each in its
+ * own short transaction, so a large backlog never holds locks on the table for long. When
+ * several nodes share the database only the holder of the {@value #LEASE_NAME} lease purges.
+ */
+public class PasswordResetTokenPurgeJob {
+    
+    static final String LEASE_NAME = "password-reset-token-purge";
+    
+    private static final Logger logger = LoggerFactory.getLogger(PasswordResetTokenPurgeJob.class);
+    
+    private final PasswordResetTokenRepository tokenRepository;
+    private final JobLeaseService leaseService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final CoreAuthProperties.PasswordReset settings;
+    
+    private ScheduledExecutorService scheduler;
+    
+    public PasswordResetTokenPurgeJob(PasswordResetTokenRepository tokenRepository,
+                                      JobLeaseService leaseService,
+                                      PlatformTransactionManager transactionManager,
+                                      ObjectProvider<MeterRegistry> meterRegistry,
+                                      CoreAuthProperties properties) {
+        this.tokenRepository = tokenRepository;
+        this.leaseService = leaseService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.settings = properties.getPasswordReset();
+    }
+    
+    @PostConstruct
+    public void start() {
+        if (!settings.isPurgeEnabled()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "core-auth-token-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long periodMillis = Math.max(settings.getPurgeInterval().toMillis(), 1000L);
+        // First run shortly after startup rather than at boot, so it never delays the application starting
+        long initialDelayMillis = Math.min(periodMillis, 60_000L);
+        scheduler.scheduleWithFixedDelay(this::runScheduled, initialDelayMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+    
+    private void runScheduled() {
+        try {
+            purgeIfLeader();
+        } catch (Exception e) {
+            // Keep the schedule alive, the next run will pick up where this one stopped
+            logger.warn("Password reset token purge failed: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Purge expired tokens if this node holds the purge lease, returns the number of rows deleted
+     */
+    public int purgeIfLeader() {
+        // Hold the lease for a full interval so a slow purge is never overlapped by another node
+        Duration leaseDuration = settings.getPurgeInterval().compareTo(Duration.ofMinutes(1)) > 0
+            ? settings.getPurgeInterval() : Duration.ofMinutes(1);
+        if (!leaseService.tryAcquire(LEASE_NAME, leaseDuration)) {
+            logger.debug("Skipping password reset token purge, another node holds the lease");
+            return 0;
+        }
+        try {
+            return purgeExpired();
+        } finally {
+            leaseService.release(LEASE_NAME);
+        }
+    }
+    
+    /**
+     * Delete every token that expired before now, one bounded chunk per transaction
+     */
+    public int purgeExpired() {
+        long started = System.nanoTime();
+        LocalDateTime cutoff = LocalDateTime.now();
+        int batchSize = Math.max(1, settings.getPurgeBatchSize());
+        int purged = 0;
+        int chunk;
+        
+        do {
+            Integer deleted = transactionTemplate.execute(status -> {
+                List<Long> ids = tokenRepository.findExpiredIds(cutoff, PageRequest.of(0, batchSize));
+                if (!ids.isEmpty()) {
+                    tokenRepository.deleteAllByIdInBatch(ids);
+                }
+                return ids.size();
+            });
+            chunk = deleted != null ? deleted : 0;
+            purged += chunk;
+        } while (chunk == batchSize && !Thread.currentThread().isInterrupted());
+        
+        long elapsedNanos = System.nanoTime() - started;
+        recordMetrics(purged, elapsedNanos);
+        if (purged > 0) {
+            logger.info("Purged {} expired password reset tokens in {} ms", purged, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        }
+        return purged;
+    }
+    
+    private void recordMetrics(int purged, long elapsedNanos) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return;
+        }
+        Counter.builder("core.auth.password.reset.tokens.purged")
+            .description("Expired password reset tokens deleted by the purge job")
+            .register(registry)
+            .increment(purged);
+        Timer.builder("core.auth.password.reset.purge")
+            .description("Duration of password reset token purge runs")
+            .register(registry)
+            .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -3,15 +3,16 @@ package com.control.core.service;
 import com.control.core.model.Permission;
 import com.control.core.repository.PermissionRepository;
 import jakarta.persistence.EntityNotFoundException;
-import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
-@Service
 @Transactional
 public class PermissionService {
     
@@ -29,6 +30,22 @@ public class PermissionService {
         return permissionRepository.findById(id);
     }
     
+    /**
+     * Load all permissions with one query, failing on the first id that does not exist
+     */
+    public Set<Permission> findAllById(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return new HashSet<>();
+        }
+        Set<Long> wanted = new HashSet<>(ids);
+        Set<Permission> permissions = new HashSet<>(permissionRepository.findAllById(wanted));
+        if (permissions.size() < wanted.size()) {
+            permissions.forEach(permission -> wanted.remove(permission.getId()));
+            throw new EntityNotFoundException("Permission not found with id: " + wanted.iterator().next());
+        }
+        return permissions;
+    }
+    
     public Optional<Permission> findByName(String name) {
         return permissionRepository.findByName(name);
     }
@@ -91,53 +108,6 @@ public class PermissionService {
         permissionRepository.delete(permission);
     }
     
-    public void initializeDefaultPermissions() {
-        if (permissionRepository.count() == 0) {
-            createDefaultPermissions();
-        }
-    }
-    
-    private void createDefaultPermissions() {
-        // User Management Permissions
-        createPermissionIfNotExists("USER_VIEW", "View user information", "USER_MANAGEMENT");
-        createPermissionIfNotExists("USER_CREATE", "Create new users", "USER_MANAGEMENT");
-        createPermissionIfNotExists("USER_UPDATE", "Update user information", "USER_MANAGEMENT");
-        createPermissionIfNotExists("USER_DELETE", "Delete users", "USER_MANAGEMENT");
-        createPermissionIfNotExists("USER_PERMISSION_MANAGEMENT", "Manage user permissions", "USER_MANAGEMENT");
-        
-        // Role Management Permissions
-        createPermissionIfNotExists("ROLE_VIEW", "View roles", "ROLE_MANAGEMENT");
-        createPermissionIfNotExists("ROLE_CREATE", "Create new roles", "ROLE_MANAGEMENT");
-        createPermissionIfNotExists("ROLE_UPDATE", "Update roles", "ROLE_MANAGEMENT");
-        createPermissionIfNotExists("ROLE_DELETE", "Delete roles", "ROLE_MANAGEMENT");
-        createPermissionIfNotExists("ROLE_PERMISSION_MANAGEMENT", "Manage role permissions", "ROLE_MANAGEMENT");
-        
-        // System Monitoring Permissions
-        createPermissionIfNotExists("ACTUATOR_HEALTH", "View system health", "SYSTEM_MONITORING");
-        createPermissionIfNotExists("ACTUATOR_METRICS", "View system metrics", "SYSTEM_MONITORING");
-        createPermissionIfNotExists("ACTUATOR_INFO", "View application info", "SYSTEM_MONITORING");
-        createPermissionIfNotExists("ACTUATOR_MAPPINGS", "View request mappings", "SYSTEM_MONITORING");
-        createPermissionIfNotExists("ACTUATOR_BEANS", "View application beans", "SYSTEM_MONITORING");
-        createPermissionIfNotExists("ACTUATOR_ENV", "View environment properties", "SYSTEM_MONITORING");
-        
-        // Permission Management
-        createPermissionIfNotExists("PERMISSION_VIEW", "View permissions", "PERMISSION_MANAGEMENT");
-        createPermissionIfNotExists("PERMISSION_CREATE", "Create new permissions", "PERMISSION_MANAGEMENT");
-        createPermissionIfNotExists("PERMISSION_UPDATE", "Update permissions", "PERMISSION_MANAGEMENT");
-        createPermissionIfNotExists("PERMISSION_DELETE", "Delete permissions", "PERMISSION_MANAGEMENT");
-        
-        // System Administration
-        createPermissionIfNotExists("SYSTEM_ADMIN", "Full system administration", "SYSTEM_ADMINISTRATION");
-        createPermissionIfNotExists("DASHBOARD_VIEW", "View admin dashboard", "SYSTEM_ADMINISTRATION");
-    }
-    
-    private void createPermissionIfNotExists(String name, String description, String category) {
-        if (!permissionRepository.existsByName(name)) {
-            Permission permission = new Permission(name, description, category);
-            permissionRepository.save(permission);
-        }
-    }
-    
     private void validatePermission(Permission permission) {
         if (permission.getName() == null || permission.getName().trim().isEmpty()) {
             throw new IllegalArgumentException("Permission name cannot be empty");
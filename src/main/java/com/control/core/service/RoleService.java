@@ -5,23 +5,24 @@ import com.control.core.model.Permission;
 import com.control.core.repository.RoleRepository;
 import com.control.core.repository.PermissionRepository;
 import jakarta.persistence.EntityNotFoundException;
-import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
-@Service
 @Transactional
 public class RoleService {
     
     private final RoleRepository roleRepository;
     private final PermissionRepository permissionRepository;
+    private final PermissionService permissionService;
     
-    public RoleService(RoleRepository roleRepository, PermissionRepository permissionRepository) {
+    public RoleService(RoleRepository roleRepository, PermissionRepository permissionRepository,
+                       PermissionService permissionService) {
         this.roleRepository = roleRepository;
         this.permissionRepository = permissionRepository;
+        this.permissionService = permissionService;
     }
     
     public List<Role> findAll() {
@@ -109,45 +110,21 @@ public class RoleService {
         roleRepository.save(role);
     }
     
+    /**
+     * Replace a role's permissions. The permissions are loaded with one query and the role's
+     * set is edited in place, so only the join rows that actually change are deleted or inserted.
+     */
     public void updateRolePermissions(Long roleId, Set<Long> permissionIds) {
         Role role = roleRepository.findByIdWithPermissions(roleId)
             .orElseThrow(() -> new EntityNotFoundException("Role not found with id: " + roleId));
         
-        // Clear existing permissions
-        role.getPermissions().clear();
-        
-        // Add new permissions
-        if (permissionIds != null && !permissionIds.isEmpty()) {
-            for (Long permissionId : permissionIds) {
-                Permission permission = permissionRepository.findById(permissionId)
-                    .orElseThrow(() -> new EntityNotFoundException("Permission not found with id: " + permissionId));
-                role.getPermissions().add(permission);
-            }
-        }
+        Set<Permission> permissions = permissionService.findAllById(permissionIds);
         
+        role.getPermissions().retainAll(permissions);
+        role.getPermissions().addAll(permissions);
         roleRepository.save(role);
     }
     
-    public void initializeDefaultRoles() {
-        if (roleRepository.count() == 0) {
-            createDefaultRoles();
-        }
-    }
-    
-    private void createDefaultRoles() {
-        // Create basic roles
-        createRoleIfNotExists("ADMIN", "System Administrator");
-        createRoleIfNotExists("USER", "Regular User");
-        createRoleIfNotExists("MODERATOR", "Content Moderator");
-    }
-    
-    private void createRoleIfNotExists(String name, String description) {
-        if (!roleRepository.existsByName(name)) {
-            Role role = new Role(name, description);
-            roleRepository.save(role);
-        }
-    }
-    
     private void validateRole(Role role) {
         if (role.getName() == null || role.getName().trim().isEmpty()) {
             throw new IllegalArgumentException("Role name cannot be empty");
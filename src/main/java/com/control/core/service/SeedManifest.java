@@ -0,0 +1,69 @@
+package com.control.core.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Permissions, roles and users that must exist, as read from the JSON seed manifest
+ */
+public class SeedManifest {
+
+    private List<PermissionSeed> permissions = new ArrayList<>();
+    private List<RoleSeed> roles = new ArrayList<>();
+    private List<UserSeed> users = new ArrayList<>();
+
+    public List<PermissionSeed> getPermissions() { return permissions; }
+    public void setPermissions(List<PermissionSeed> permissions) { this.permissions = permissions; }
+    public List<RoleSeed> getRoles() { return roles; }
+    public void setRoles(List<RoleSeed> roles) { this.roles = roles; }
+    public List<UserSeed> getUsers() { return users; }
+    public void setUsers(List<UserSeed> users) { this.users = users; }
+
+    public static class PermissionSeed {
+        private String name;
+        private String description;
+        private String category;
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        public String getDescription() { return description; }
+        public void setDescription(String description) { this.description = description; }
+        public String getCategory() { return category; }
+        public void setCategory(String category) { this.category = category; }
+    }
+
+    public static class RoleSeed {
+        private String name;
+        private String description;
+        private List<String> permissions = new ArrayList<>();
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        public String getDescription() { return description; }
+        public void setDescription(String description) { this.description = description; }
+        public List<String> getPermissions() { return permissions; }
+        public void setPermissions(List<String> permissions) { this.permissions = permissions; }
+    }
+
+    /**
+     * A user created only when neither the username nor the email exists yet; existing users are never modified
+     */
+    public static class UserSeed {
+        private String username;
+        private String email;
+        private String password;
+        private String role = "USER";
+        private List<String> roles = new ArrayList<>();
+
+        public String getUsername() { return username; }
+        public void setUsername(String username) { this.username = username; }
+        public String getEmail() { return email; }
+        public void setEmail(String email) { this.email = email; }
+        public String getPassword() { return password; }
+        public void setPassword(String password) { this.password = password; }
+        public String getRole() { return role; }
+        public void setRole(String role) { this.role = role; }
+        public List<String> getRoles() { return roles; }
+        public void setRoles(List<String> roles) { this.roles = roles; }
+    }
+}
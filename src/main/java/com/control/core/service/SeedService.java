@@ -0,0 +1,271 @@
+package com.control.core.service;
+
+import com.control.core.autoconfigure.CoreAuthProperties;
+import com.control.core.model.SeedState;
+import com.control.core.repository.SeedStateRepository;
+import com.control.core.security.TokenHashing;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Applies the seed manifest (permissions, roles with their permissions, and users) at startup.
+ *
+ * The manifests listed in {@code core.auth.seed.manifests} plus the configured default admin are
+ * hashed; when the hash equals the one stored in {@code seed_state} nothing else is queried. Otherwise
+ * everything is applied in one transaction with a handful of set-based statements: one IN query per
+ * table to find what already exists, a JDBC batch for the missing rows, and one
+ * {@code INSERT ... SELECT ... WHERE NOT EXISTS} per role for its permissions. Seeding only adds
+ * what is missing; rows an administrator changed or removed since are not touched until the
+ * manifest itself changes.
+ */
+public class SeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeedService.class);
+
+    static final String SEED_KEY = "core-auth";
+
+    // Bump when the way a manifest is applied changes, so existing databases are seeded again
+    private static final String FORMAT_VERSION = "1";
+
+    private final ResourceLoader resourceLoader;
+    private final ObjectMapper objectMapper;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final SeedStateRepository seedStateRepository;
+    private final CoreAuthProperties properties;
+
+    public SeedService(ResourceLoader resourceLoader,
+                       ObjectMapper objectMapper,
+                       NamedParameterJdbcTemplate jdbcTemplate,
+                       PlatformTransactionManager transactionManager,
+                       PasswordEncoder passwordEncoder,
+                       SeedStateRepository seedStateRepository,
+                       CoreAuthProperties properties) {
+        this.resourceLoader = resourceLoader;
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordEncoder = passwordEncoder;
+        this.seedStateRepository = seedStateRepository;
+        this.properties = properties;
+    }
+
+    /**
+     * Apply the manifests unless the same content was already applied; returns true when seeding ran
+     */
+    public boolean seed() {
+        if (!properties.getSeed().isEnabled()) {
+            return false;
+        }
+
+        StringBuilder content = new StringBuilder("format:").append(FORMAT_VERSION).append('\n');
+        SeedManifest manifest = new SeedManifest();
+        for (String location : properties.getSeed().getManifests()) {
+            String json = read(location);
+            content.append(location).append('\n').append(json).append('\n');
+            merge(manifest, json, location);
+        }
+        CoreAuthProperties.AdminUser admin = properties.getAdmin();
+        if (admin.isEnabled()) {
+            // The password is left out: an existing admin is never updated, so changing it must not trigger a run
+            content.append("admin:").append(admin.getUsername()).append(':').append(admin.getEmail()).append('\n');
+            SeedManifest.UserSeed adminSeed = new SeedManifest.UserSeed();
+            adminSeed.setUsername(admin.getUsername());
+            adminSeed.setEmail(admin.getEmail());
+            adminSeed.setPassword(admin.getPassword());
+            adminSeed.setRole("ADMIN");
+            adminSeed.setRoles(List.of("ADMIN"));
+            manifest.getUsers().add(0, adminSeed);
+        }
+        String hash = TokenHashing.sha256Hex(content.toString());
+
+        String applied = seedStateRepository.findById(SEED_KEY).map(SeedState::getContentHash).orElse(null);
+        if (hash.equals(applied)) {
+            logger.debug("Seed manifest unchanged ({}), skipping", hash.substring(0, 12));
+            return false;
+        }
+
+        try {
+            apply(manifest, hash);
+        } catch (DataIntegrityViolationException e) {
+            // Another node seeded the same rows at the same time; a second pass only sees what is still missing
+            logger.debug("Seeding raced with another instance, retrying: {}", e.getMostSpecificCause().getMessage());
+            apply(manifest, hash);
+        }
+        return true;
+    }
+
+    private void apply(SeedManifest manifest, String hash) {
+        long started = System.nanoTime();
+        int[] added = transactionTemplate.execute(status -> {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            int permissions = insertPermissions(manifest.getPermissions(), now);
+            int roles = insertRoles(manifest.getRoles(), now);
+            int grants = grantRolePermissions(manifest.getRoles());
+            int users = insertUsers(manifest.getUsers(), now);
+
+            SeedState state = seedStateRepository.findById(SEED_KEY).orElseGet(SeedState::new);
+            state.setSeedKey(SEED_KEY);
+            state.setContentHash(hash);
+            state.setAppliedAt(now.toLocalDateTime());
+            seedStateRepository.save(state);
+            return new int[] { permissions, roles, grants, users };
+        });
+        logger.info("Seed manifest applied in {} ms: {} permission(s), {} role(s), {} role grant(s), {} user(s) added",
+            (System.nanoTime() - started) / 1_000_000, added[0], added[1], added[2], added[3]);
+    }
+
+    private int insertPermissions(List<SeedManifest.PermissionSeed> seeds, Timestamp now) {
+        Map<String, SeedManifest.PermissionSeed> byName = new LinkedHashMap<>();
+        seeds.forEach(seed -> byName.putIfAbsent(seed.getName(), seed));
+        Set<String> existing = existing("SELECT name FROM permissions WHERE name IN (:names)", byName.keySet());
+        List<SeedManifest.PermissionSeed> missing = new ArrayList<>(byName.values());
+        missing.removeIf(seed -> existing.contains(seed.getName()));
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                "INSERT INTO permissions (name, description, category, created_at, updated_at) " +
+                "VALUES (:name, :description, :category, :now, :now)",
+                missing.stream().map(seed -> new MapSqlParameterSource()
+                    .addValue("name", seed.getName())
+                    .addValue("description", seed.getDescription())
+                    .addValue("category", seed.getCategory())
+                    .addValue("now", now)).toArray(MapSqlParameterSource[]::new));
+        }
+        return missing.size();
+    }
+
+    private int insertRoles(List<SeedManifest.RoleSeed> seeds, Timestamp now) {
+        Map<String, SeedManifest.RoleSeed> byName = new LinkedHashMap<>();
+        seeds.forEach(seed -> byName.putIfAbsent(seed.getName(), seed));
+        Set<String> existing = existing("SELECT name FROM roles WHERE name IN (:names)", byName.keySet());
+        List<SeedManifest.RoleSeed> missing = new ArrayList<>(byName.values());
+        missing.removeIf(seed -> existing.contains(seed.getName()));
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                "INSERT INTO roles (name, description, created_at, updated_at) VALUES (:name, :description, :now, :now)",
+                missing.stream().map(seed -> new MapSqlParameterSource()
+                    .addValue("name", seed.getName())
+                    .addValue("description", seed.getDescription())
+                    .addValue("now", now)).toArray(MapSqlParameterSource[]::new));
+        }
+        return missing.size();
+    }
+
+    private int grantRolePermissions(List<SeedManifest.RoleSeed> seeds) {
+        int granted = 0;
+        for (SeedManifest.RoleSeed seed : seeds) {
+            if (seed.getPermissions() == null || seed.getPermissions().isEmpty()) {
+                continue;
+            }
+            granted += jdbcTemplate.update(
+                "INSERT INTO role_permissions (role_id, permission_id) " +
+                "SELECT r.id, p.id FROM roles r, permissions p WHERE r.name = :role AND p.name IN (:permissions) " +
+                "AND NOT EXISTS (SELECT 1 FROM role_permissions rp WHERE rp.role_id = r.id AND rp.permission_id = p.id)",
+                new MapSqlParameterSource("role", seed.getName()).addValue("permissions", seed.getPermissions()));
+        }
+        return granted;
+    }
+
+    private int insertUsers(List<SeedManifest.UserSeed> seeds, Timestamp now) {
+        if (seeds.isEmpty()) {
+            return 0;
+        }
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        seeds.forEach(seed -> {
+            usernames.add(seed.getUsername());
+            emails.add(seed.getEmail());
+        });
+        Set<String> existingUsernames = existing("SELECT username FROM users WHERE username IN (:names)", usernames);
+        Set<String> existingEmails = existing("SELECT email FROM users WHERE email IN (:names)", emails);
+
+        List<SeedManifest.UserSeed> missing = new ArrayList<>();
+        for (SeedManifest.UserSeed seed : seeds) {
+            // Both sets are updated so a later duplicate in the manifest is skipped as well
+            boolean newUsername = existingUsernames.add(seed.getUsername());
+            boolean newEmail = existingEmails.add(seed.getEmail());
+            if (newUsername && newEmail) {
+                missing.add(seed);
+            }
+        }
+        if (missing.isEmpty()) {
+            return 0;
+        }
+
+        List<String> hashes = missing.parallelStream().map(seed -> passwordEncoder.encode(seed.getPassword())).toList();
+        MapSqlParameterSource[] rows = new MapSqlParameterSource[missing.size()];
+        for (int i = 0; i < rows.length; i++) {
+            SeedManifest.UserSeed seed = missing.get(i);
+            rows[i] = new MapSqlParameterSource()
+                .addValue("username", seed.getUsername())
+                .addValue("password", hashes.get(i))
+                .addValue("email", seed.getEmail())
+                .addValue("role", seed.getRole())
+                .addValue("now", now);
+        }
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO users (username, password, email, role, enabled, created_at) " +
+            "VALUES (:username, :password, :email, :role, TRUE, :now)", rows);
+
+        // Roles are only granted to users created here; existing accounts are left as administrators set them
+        for (SeedManifest.UserSeed seed : missing) {
+            if (seed.getRoles() != null && !seed.getRoles().isEmpty()) {
+                jdbcTemplate.update(
+                    "INSERT INTO user_roles (user_id, role_id) " +
+                    "SELECT u.id, r.id FROM users u, roles r WHERE u.username = :username AND r.name IN (:roles)",
+                    new MapSqlParameterSource("username", seed.getUsername()).addValue("roles", seed.getRoles()));
+            }
+            logger.info("Seeded user: {}", seed.getUsername());
+        }
+        return missing.size();
+    }
+
+    private Set<String> existing(String sql, Set<String> names) {
+        if (names.isEmpty()) {
+            return new HashSet<>();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList(sql, new MapSqlParameterSource("names", names), String.class));
+    }
+
+    private String read(String location) {
+        Resource resource = resourceLoader.getResource(location);
+        try {
+            return resource.getContentAsString(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read seed manifest " + location, e);
+        }
+    }
+
+    private void merge(SeedManifest target, String json, String location) {
+        SeedManifest manifest;
+        try {
+            manifest = objectMapper.readValue(json, SeedManifest.class);
+        } catch (IOException e) {
+            throw new IllegalStateException("Invalid seed manifest " + location + ": " + e.getMessage(), e);
+        }
+        target.getPermissions().addAll(manifest.getPermissions());
+        target.getRoles().addAll(manifest.getRoles());
+        target.getUsers().addAll(manifest.getUsers());
+    }
+}
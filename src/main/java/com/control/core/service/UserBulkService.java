@@ -0,0 +1,154 @@
+package com.control.core.service;
+
+import com.control.core.dto.BulkUserActionRequest;
+import com.control.core.model.Role;
+import com.control.core.repository.RoleRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Activates, deactivates and (un)assigns roles for many users with a single statement.
+ *
+ * The selection (explicit ids or a filter such as "no login for 180 days") becomes a WHERE
+ * clause. Assigning a role is one {@code INSERT ... SELECT}; (de)activation and role removal read
+ * the matching ids and change them by id, so no user entity is loaded into memory. A
+ * {@link UsersChangedEvent} is published after the transaction commits so cached user
+ * statistics are dropped.
+ */
+public class UserBulkService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserBulkService.class);
+
+    private static final int ID_CHUNK_SIZE = 1000;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RoleRepository roleRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public UserBulkService(NamedParameterJdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           RoleRepository roleRepository,
+                           ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.roleRepository = roleRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Apply the action to every selected user and return how many rows changed (or would match, for a dry run).
+     * The acting user is never deactivated, nor loses a role, by their own bulk action.
+     */
+    public int apply(BulkUserActionRequest request, String actingUsername) {
+        if (request.getAction() == null) {
+            throw new IllegalArgumentException("An action is required");
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String where = buildWhere(request, params);
+        boolean selfHarming = request.getAction() == BulkUserActionRequest.Action.DEACTIVATE
+            || request.getAction() == BulkUserActionRequest.Action.REMOVE_ROLE;
+        if (selfHarming && actingUsername != null) {
+            // Keeps an admin from locking themselves out, e.g. by removing ADMIN from a selection including themselves
+            where += " AND u.username <> :actingUsername";
+            params.addValue("actingUsername", actingUsername);
+        }
+
+        if (request.isDryRun()) {
+            Integer matching = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users u WHERE " + where, params, Integer.class);
+            return matching != null ? matching : 0;
+        }
+
+        String filter = where;
+        Long roleId = request.getAction() == BulkUserActionRequest.Action.ASSIGN_ROLE
+            || request.getAction() == BulkUserActionRequest.Action.REMOVE_ROLE ? requireRole(request.getRoleName()).getId() : null;
+        Integer affected = transactionTemplate.execute(status -> switch (request.getAction()) {
+            case ACTIVATE, DEACTIVATE -> {
+                boolean enable = request.getAction() == BulkUserActionRequest.Action.ACTIVATE;
+                params.addValue("value", enable);
+                List<Long> ids = selectIds(filter + " AND u.enabled <> :value", params);
+                yield updateByIds("UPDATE users SET enabled = :value WHERE enabled <> :value AND id IN (:ids)",
+                    new MapSqlParameterSource("value", enable), ids);
+            }
+            case ASSIGN_ROLE -> {
+                params.addValue("roleId", roleId);
+                yield jdbcTemplate.update("INSERT INTO user_roles (user_id, role_id) SELECT u.id, :roleId FROM users u WHERE " + filter +
+                    " AND NOT EXISTS (SELECT 1 FROM user_roles ur WHERE ur.user_id = u.id AND ur.role_id = :roleId)", params);
+            }
+            case REMOVE_ROLE -> updateByIds("DELETE FROM user_roles WHERE role_id = :roleId AND user_id IN (:ids)",
+                new MapSqlParameterSource("roleId", roleId), selectIds(filter, params));
+        });
+        int count = affected != null ? affected : 0;
+        logger.info("Bulk {} by {} changed {} user(s)", request.getAction(), actingUsername, count);
+        if (count > 0) {
+            eventPublisher.publishEvent(new UsersChangedEvent(request.getAction().name(), count));
+        }
+        return count;
+    }
+
+    /**
+     * Ids of the selected users. MySQL rejects an UPDATE or DELETE filtered by a subquery on the table
+     * being changed (error 1093), which the selection can be for users and, through the role filter,
+     * for user_roles, so (de)activation and role removal read the ids first.
+     */
+    private List<Long> selectIds(String where, MapSqlParameterSource params) {
+        return jdbcTemplate.queryForList("SELECT u.id FROM users u WHERE " + where, params, Long.class);
+    }
+
+    /**
+     * Run the statement for the ids in chunks that stay within bind parameter limits
+     */
+    private int updateByIds(String sql, MapSqlParameterSource params, List<Long> ids) {
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += ID_CHUNK_SIZE) {
+            params.addValue("ids", ids.subList(from, Math.min(from + ID_CHUNK_SIZE, ids.size())));
+            updated += jdbcTemplate.update(sql, params);
+        }
+        return updated;
+    }
+
+    private String buildWhere(BulkUserActionRequest request, MapSqlParameterSource params) {
+        List<String> conditions = new ArrayList<>();
+        if (request.getIds() != null && !request.getIds().isEmpty()) {
+            conditions.add("u.id IN (:ids)");
+            params.addValue("ids", request.getIds());
+        }
+        if (request.getInactiveDays() != null) {
+            conditions.add("(u.last_login < :cutoff OR (u.last_login IS NULL AND u.created_at < :cutoff))");
+            params.addValue("cutoff", Timestamp.valueOf(LocalDateTime.now().minusDays(request.getInactiveDays())));
+        }
+        if (request.getRole() != null && !request.getRole().isBlank()) {
+            conditions.add("(u.role = :role OR EXISTS (SELECT 1 FROM user_roles fr JOIN roles r ON r.id = fr.role_id " +
+                "WHERE fr.user_id = u.id AND r.name = :role))");
+            params.addValue("role", request.getRole());
+        }
+        if (request.getEnabled() != null) {
+            conditions.add("u.enabled = :enabled");
+            params.addValue("enabled", request.getEnabled());
+        }
+        if (conditions.isEmpty()) {
+            // Refuse to touch every user because a selection was left empty
+            throw new IllegalArgumentException("Select users by id or by at least one filter");
+        }
+        return String.join(" AND ", conditions);
+    }
+
+    private Role requireRole(String roleName) {
+        if (roleName == null || roleName.isBlank()) {
+            throw new IllegalArgumentException("A role name is required");
+        }
+        return roleRepository.findByName(roleName)
+            .orElseThrow(() -> new EntityNotFoundException("Role not found: " + roleName));
+    }
+}
@@ -0,0 +1,393 @@
+package com.control.core.service;
+
+import com.control.core.autoconfigure.CoreAuthProperties;
+import com.control.core.concurrent.CoreAuthThreads;
+import com.control.core.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.regex.Pattern;
+
+/**
+ * Streams users from CSV or NDJSON into the users table.
+ *
+ * Input is read line by line and handled in chunks of {@code core.auth.user-import.batch-size}:
+ * the usernames and emails of a chunk are checked against the database with two IN queries,
+ * passwords are hashed in parallel on the importer's own threads, and the accepted rows are
+ * written with one JDBC batch in one transaction. A row whose password cannot be hashed (e.g.
+ * the encoder refuses work under load) is rejected on its own. If the batch is rejected (a row raced with another insert) the chunk is
+ * retried row by row so only the offending rows fail. Every rejected row is reported with its
+ * line number; the import never stops on a bad row.
+ */
+public class UserImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserImportService.class);
+
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+    private static final String INSERT_USER =
+        "INSERT INTO users (username, password, email, role, enabled, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final CoreAuthProperties.UserImport settings;
+    private final ExecutorService hashExecutor;
+
+    public UserImportService(UserRepository userRepository,
+                             PasswordEncoder passwordEncoder,
+                             JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             CoreAuthProperties properties,
+                             CoreAuthThreads threads) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.settings = properties.getUserImport();
+        // Not the common ForkJoinPool: hashes may block on the encoder's pool, and other code shares the common one
+        this.hashExecutor = threads.newDispatcher("core-auth-import-hash", Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void stop() {
+        hashExecutor.shutdownNow();
+    }
+
+    /**
+     * Import CSV with a header row naming the columns: username, email, password and optionally role, enabled
+     */
+    public ImportResult importCsv(InputStream input) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        ImportResult result = new ImportResult(settings.getMaxReportedErrors());
+
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            return result;
+        }
+        List<String> header = parseCsvLine(headerLine.startsWith("\uFEFF") ? headerLine.substring(1) : headerLine);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : new String[] { "username", "email", "password" }) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV header must contain a '" + required + "' column");
+            }
+        }
+
+        List<ImportRow> chunk = new ArrayList<>(chunkSize());
+        String line;
+        int lineNumber = 1;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> values = parseCsvLine(line);
+            chunk.add(new ImportRow(lineNumber,
+                column(values, columns, "username"),
+                column(values, columns, "email"),
+                column(values, columns, "password"),
+                column(values, columns, "role"),
+                column(values, columns, "enabled")));
+            if (chunk.size() >= chunkSize()) {
+                importChunk(chunk, result);
+                chunk.clear();
+            }
+        }
+        importChunk(chunk, result);
+        return result;
+    }
+
+    /**
+     * Import newline-delimited JSON, one object per line with username, email, password and optionally role, enabled
+     */
+    public ImportResult importNdjson(InputStream input) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        ImportResult result = new ImportResult(settings.getMaxReportedErrors());
+
+        List<ImportRow> chunk = new ArrayList<>(chunkSize());
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (JsonProcessingException e) {
+                result.reject(lineNumber, null, "Invalid JSON: " + e.getOriginalMessage());
+                continue;
+            }
+            chunk.add(new ImportRow(lineNumber, text(node, "username"), text(node, "email"), text(node, "password"),
+                text(node, "role"), text(node, "enabled")));
+            if (chunk.size() >= chunkSize()) {
+                importChunk(chunk, result);
+                chunk.clear();
+            }
+        }
+        importChunk(chunk, result);
+        return result;
+    }
+
+    private void importChunk(List<ImportRow> chunk, ImportResult result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        // Validate and drop duplicates within the file before asking the database
+        List<ImportRow> candidates = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            String problem = validate(row);
+            if (problem != null) {
+                result.reject(row.line, row.username, problem);
+            } else if (!result.seenUsernames.add(row.username)) {
+                result.reject(row.line, row.username, "Duplicate username in import");
+            } else if (!result.seenEmails.add(row.email)) {
+                result.reject(row.line, row.username, "Duplicate email in import");
+            } else {
+                candidates.add(row);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (ImportRow row : candidates) {
+            usernames.add(row.username);
+            emails.add(row.email);
+        }
+        Set<String> existingUsernames = new HashSet<>(userRepository.findExistingUsernames(usernames));
+        Set<String> existingEmails = new HashSet<>(userRepository.findExistingEmails(emails));
+
+        List<ImportRow> accepted = new ArrayList<>(candidates.size());
+        for (ImportRow row : candidates) {
+            if (existingUsernames.contains(row.username)) {
+                result.reject(row.line, row.username, "Username already exists");
+            } else if (existingEmails.contains(row.email)) {
+                result.reject(row.line, row.username, "Email already exists");
+            } else {
+                accepted.add(row);
+            }
+        }
+        // Hashing dominates the cost of an import, so spread it over the available cores
+        List<ImportRow> hashed = hashPasswords(accepted, result);
+        if (hashed.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_USER, hashed, hashed.size(),
+                (ps, row) -> {
+                    ps.setString(1, row.username);
+                    ps.setString(2, row.passwordHash);
+                    ps.setString(3, row.email);
+                    ps.setString(4, row.role);
+                    ps.setBoolean(5, row.enabled);
+                    ps.setTimestamp(6, now);
+                }));
+            result.imported += hashed.size();
+        } catch (DataAccessException e) {
+            logger.debug("Import batch rejected, retrying {} rows one by one: {}", hashed.size(), e.getMessage());
+            for (ImportRow row : hashed) {
+                try {
+                    transactionTemplate.executeWithoutResult(status ->
+                        jdbcTemplate.update(INSERT_USER, row.username, row.passwordHash, row.email, row.role, row.enabled, now));
+                    result.imported++;
+                } catch (DataAccessException rowError) {
+                    result.reject(row.line, row.username, "Insert failed: " + rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Hash the rows' passwords in parallel and return the rows that were hashed; the others are rejected
+     */
+    private List<ImportRow> hashPasswords(List<ImportRow> rows, ImportResult result) {
+        List<CompletableFuture<String>> hashes = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            hashes.add(CompletableFuture.supplyAsync(() -> passwordEncoder.encode(row.password), hashExecutor));
+        }
+        List<ImportRow> hashed = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            ImportRow row = rows.get(i);
+            try {
+                row.passwordHash = hashes.get(i).join();
+                hashed.add(row);
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                result.reject(row.line, row.username, "Password hashing failed: " + cause.getMessage());
+            }
+        }
+        return hashed;
+    }
+
+    private String validate(ImportRow row) {
+        if (row.username == null || row.username.length() < 3 || row.username.length() > 50) {
+            return "Username must be between 3 and 50 characters";
+        }
+        if (row.email == null || !EMAIL.matcher(row.email).matches()) {
+            return "Email should be valid";
+        }
+        if (row.password == null || row.password.length() < 6) {
+            return "Password must be at least 6 characters";
+        }
+        if (row.role.length() > 20) {
+            return "Role must be at most 20 characters";
+        }
+        return null;
+    }
+
+    private int chunkSize() {
+        return Math.max(1, settings.getBatchSize());
+    }
+
+    private static String column(List<String> values, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText().trim();
+    }
+
+    /**
+     * Split one CSV line (RFC 4180 quoting; quoted fields may not span lines)
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private static final class ImportRow {
+        private final int line;
+        private final String username;
+        private final String email;
+        private final String password;
+        private final String role;
+        private final boolean enabled;
+        private String passwordHash;
+
+        ImportRow(int line, String username, String email, String password, String role, String enabled) {
+            this.line = line;
+            this.username = username;
+            this.email = email;
+            this.password = password;
+            this.role = role != null ? role.toUpperCase(Locale.ROOT) : "USER";
+            this.enabled = enabled == null || Boolean.parseBoolean(enabled);
+        }
+    }
+
+    /**
+     * Outcome of an import: counts plus the first rejected rows with the reason
+     */
+    public static final class ImportResult {
+        private final int maxReportedErrors;
+        private final List<RowError> errors = new ArrayList<>();
+        private final Set<String> seenUsernames = new HashSet<>();
+        private final Set<String> seenEmails = new HashSet<>();
+        private int imported;
+        private int failed;
+
+        private ImportResult(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        private void reject(int line, String username, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new RowError(line, username, message));
+            }
+        }
+
+        public int getImported() { return imported; }
+        public int getFailed() { return failed; }
+        public int getTotal() { return imported + failed; }
+        public List<RowError> getErrors() { return errors; }
+        public boolean isErrorsTruncated() { return failed > errors.size(); }
+    }
+
+    /**
+     * A row that was not imported
+     */
+    public static final class RowError {
+        private final int line;
+        private final String username;
+        private final String message;
+
+        private RowError(int line, String username, String message) {
+            this.line = line;
+            this.username = username;
+            this.message = message;
+        }
+
+        public int getLine() { return line; }
+        public String getUsername() { return username; }
+        public String getMessage() { return message; }
+    }
+}
@@ -5,17 +5,23 @@ import com.control.core.model.Permission;
 import com.control.core.model.Role;
 import com.control.core.repository.UserRepository;
 import com.control.core.repository.RoleRepository;
+import com.control.core.security.CoreUserPrincipal;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
-@Service
 public class UserService {
     
     @Autowired
@@ -45,6 +51,21 @@ public class UserService {
         return userRepository.findByUsername(username);
     }
     
+    /**
+     * User counts for the admin dashboards, computed with count queries instead of loading every user
+     */
+    public Map<String, Long> getUserStatistics() {
+        long totalUsers = userRepository.count();
+        long activeUsers = userRepository.countByEnabled(true);
+        
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("totalUsers", totalUsers);
+        stats.put("activeUsers", activeUsers);
+        stats.put("inactiveUsers", totalUsers - activeUsers);
+        stats.put("adminUsers", userRepository.countByRole("ADMIN"));
+        return stats;
+    }
+    
     public User createUser(String username, String password, String email, String role) {
         if (userRepository.existsByUsername(username)) {
             throw new RuntimeException("Username already exists");
@@ -111,6 +132,36 @@ public class UserService {
         return userRepository.findById(id);
     }
     
+    /**
+     * Load the entity behind the logged-in user, only when more than the session principal is needed.
+     * When the password, enabled flag or authorities changed since login and the authentication is
+     * the current one, the security context gets a principal rebuilt from the loaded entity.
+     */
+    public Optional<User> findCurrentUser(Authentication authentication) {
+        if (authentication == null) {
+            return Optional.empty();
+        }
+        if (authentication.getPrincipal() instanceof CoreUserPrincipal principal) {
+            Optional<User> user = userRepository.findById(principal.getId());
+            user.filter(current -> !principal.isCurrent(current)).ifPresent(current -> refreshPrincipal(authentication, current));
+            return user;
+        }
+        return userRepository.findByUsername(authentication.getName());
+    }
+    
+    private void refreshPrincipal(Authentication authentication, User user) {
+        SecurityContext context = SecurityContextHolder.getContext();
+        if (context.getAuthentication() != authentication) {
+            return;
+        }
+        CoreUserPrincipal refreshed = CoreUserPrincipal.from(user);
+        refreshed.eraseCredentials();
+        UsernamePasswordAuthenticationToken token =
+            UsernamePasswordAuthenticationToken.authenticated(refreshed, null, refreshed.getAuthorities());
+        token.setDetails(authentication.getDetails());
+        context.setAuthentication(token);
+    }
+    
     public Optional<User> findByUsername(String username) {
         return userRepository.findByUsername(username);
     }
@@ -141,24 +192,17 @@ public class UserService {
     }
     
     /**
-     * Update user's direct permissions
+     * Update user's direct permissions, loading them with one query and only writing the join rows that change
      */
+    @Transactional
     public void updateDirectPermissions(Long userId, List<Long> permissionIds) {
         User user = findById(userId)
             .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
         
-        // Clear existing direct permissions
-        user.getDirectPermissions().clear();
-        
-        // Add new permissions
-        if (permissionIds != null && !permissionIds.isEmpty()) {
-            for (Long permissionId : permissionIds) {
-                Permission permission = permissionService.findById(permissionId)
-                    .orElseThrow(() -> new EntityNotFoundException("Permission not found with id: " + permissionId));
-                user.getDirectPermissions().add(permission);
-            }
-        }
+        Set<Permission> permissions = permissionService.findAllById(permissionIds);
         
+        user.getDirectPermissions().retainAll(permissions);
+        user.getDirectPermissions().addAll(permissions);
         userRepository.save(user);
     }
     
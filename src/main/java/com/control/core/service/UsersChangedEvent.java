@@ -0,0 +1,23 @@
+package com.control.core.service;
+
+/**
+ * Published after users were changed in bulk, so caches holding user data can be dropped
+ */
+public class UsersChangedEvent {
+    
+    private final String action;
+    private final int affected;
+    
+    public UsersChangedEvent(String action, int affected) {
+        this.action = action;
+        this.affected = affected;
+    }
+    
+    public String getAction() {
+        return action;
+    }
+    
+    public int getAffected() {
+        return affected;
+    }
+}
@@ -0,0 +1,180 @@
+package com.control.core.sse;
+
+import com.control.core.concurrent.CoreAuthThreads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fan-out point for a server-sent event channel.
+ *
+ * Producers publish once and the hub delivers the event to every connected emitter,
+ * dropping emitters whose client has gone away. Used by the live log stream and the
+ * live metrics stream of the admin console.
+ *
+ * Publishing never blocks on the network: each subscriber has a queue of at most
+ * {@value #MAX_PENDING_EVENTS} events (the oldest are dropped for a client that falls behind),
+ * drained in order by a dispatcher task, so memory stays bounded however many clients connect
+ * and a slow client only delays itself.
+ */
+public class SseHub {
+
+    static final int MAX_PENDING_EVENTS = 256;
+
+    private static final int DISPATCH_PLATFORM_THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+    private static final Logger logger = LoggerFactory.getLogger(SseHub.class);
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+
+    private final String name;
+    private final Executor dispatcher;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    public SseHub(String name, CoreAuthThreads threads) {
+        this.name = name;
+        this.dispatcher = threads.newDispatcher("core-auth-sse-" + name, DISPATCH_PLATFORM_THREADS);
+    }
+
+    /**
+     * Register a new subscriber and send it the connection established event
+     */
+    public SseEmitter subscribe(long timeoutMillis) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter);
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError((e) -> remove(subscriber));
+
+        // Send immediate connection established event to trigger browser onopen callback. The emitter is not
+        // returned yet, so this is buffered and written with the response headers by the request thread.
+        subscriber.deliver(new Event("connected", "{\"message\":\"SSE connection established\",\"timestamp\":\"" +
+            LocalDateTime.now().format(TIMESTAMP_FORMAT) + "\"}"));
+        subscribers.add(subscriber);
+
+        return emitter;
+    }
+
+    /**
+     * Send an event to a single subscriber, dropping it if the client is gone
+     */
+    public void send(SseEmitter emitter, String eventName, String payload) {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.emitter == emitter) {
+                subscriber.enqueue(new Event(eventName, payload));
+                return;
+            }
+        }
+    }
+
+    /**
+     * Send an event to every subscriber
+     */
+    public void broadcast(String eventName, String payload) {
+        Event event = new Event(eventName, payload);
+        for (Subscriber subscriber : subscribers) {
+            subscriber.enqueue(event);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    public boolean hasSubscribers() {
+        return !subscribers.isEmpty();
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscribers.remove(subscriber);
+    }
+
+    private static final class Event {
+        private final String name;
+        private final String payload;
+
+        private Event(String name, String payload) {
+            this.name = name;
+            this.payload = payload;
+        }
+    }
+
+    /**
+     * One connected client; at most one dispatcher task drains its queue at a time, which keeps events in order
+     */
+    private final class Subscriber implements Runnable {
+        private final SseEmitter emitter;
+        private final Queue<Event> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void enqueue(Event event) {
+            if (closed) {
+                return;
+            }
+            if (pendingCount.incrementAndGet() > MAX_PENDING_EVENTS && pending.poll() != null) {
+                pendingCount.decrementAndGet();
+            }
+            pending.add(event);
+            schedule();
+        }
+
+        private void schedule() {
+            if (!scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                dispatcher.execute(this);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                Event event;
+                while (!closed && (event = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    deliver(event);
+                }
+            } finally {
+                scheduled.set(false);
+            }
+            // An event may have been queued after the last poll but before the flag was cleared
+            if (!closed && !pending.isEmpty()) {
+                schedule();
+            }
+        }
+
+        private void deliver(Event event) {
+            try {
+                emitter.send(SseEmitter.event()
+                    .name(event.name)
+                    .data(event.payload));
+            } catch (Exception ex) {
+                logger.debug("Dropping {} SSE subscriber: {}", name, ex.getMessage());
+                remove(this);
+                pending.clear();
+                emitter.completeWithError(ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.control.core.startup;
+
+import com.control.core.autoconfigure.CoreAuthProperties;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.LivenessState;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs every {@link InitializationTask} and gates readiness on them.
+ *
+ * In the default {@code DEFERRED} mode the tasks start on a background pool once the application
+ * has started (the web server is already listening), independent tasks in parallel. Until they
+ * have all finished the readiness state is held at {@link ReadinessState#REFUSING_TRAFFIC}, so a
+ * readiness probe keeps the instance out of rotation while liveness is already reported; when
+ * they finish readiness flips to {@link ReadinessState#ACCEPTING_TRAFFIC}. The hold is published
+ * by {@link ReadinessHoldRunListener} right after Spring Boot's own ACCEPTING_TRAFFIC. If a task fails, the
+ * instance never becomes ready and liveness is set to {@link LivenessState#BROKEN}. In
+ * {@code BLOCKING} mode the tasks run (still in parallel) before the web server starts, and a
+ * failure aborts startup.
+ */
+public class InitializationOrchestrator implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(InitializationOrchestrator.class);
+
+    private final ObjectProvider<InitializationTask> tasks;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CoreAuthProperties.Initialization settings;
+
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private final Object readinessLock = new Object();
+    private final List<TaskTiming> timings = new CopyOnWriteArrayList<>();
+    private volatile ExecutorService taskExecutor;
+    private boolean readinessHeld;
+
+    public InitializationOrchestrator(ObjectProvider<InitializationTask> tasks,
+                                      ApplicationEventPublisher eventPublisher,
+                                      CoreAuthProperties properties) {
+        this.tasks = tasks;
+        this.eventPublisher = eventPublisher;
+        this.settings = properties.getInitialization();
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (settings.getMode() != CoreAuthProperties.Initialization.Mode.BLOCKING) {
+            return;
+        }
+        try {
+            start().join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Initialization failed", unwrap(e));
+        }
+    }
+
+    @EventListener
+    public void onApplicationStarted(ApplicationStartedEvent event) {
+        if (settings.getMode() == CoreAuthProperties.Initialization.Mode.DEFERRED) {
+            start().whenComplete((result, error) -> finished(error));
+        }
+    }
+
+    /**
+     * Spring Boot reports ACCEPTING_TRAFFIC as soon as startup completes; take it back while tasks are
+     * still running. Called once Boot's event has reached every listener, so this state is the latest.
+     */
+    public void holdReadiness() {
+        if (!started.get()) {
+            return;
+        }
+        synchronized (readinessLock) {
+            if (!isComplete()) {
+                readinessHeld = true;
+                logger.info("Holding readiness at REFUSING_TRAFFIC until initialization completes");
+                AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+            }
+        }
+    }
+
+    /**
+     * How long each task that has run so far took, in completion order
+     */
+    public List<TaskTiming> getTaskTimings() {
+        return List.copyOf(timings);
+    }
+
+    /**
+     * True once every task finished successfully
+     */
+    public boolean isComplete() {
+        return completion.isDone() && !completion.isCompletedExceptionally();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ExecutorService executor = taskExecutor;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private CompletableFuture<Void> start() {
+        if (!started.compareAndSet(false, true)) {
+            return completion;
+        }
+        Map<String, InitializationTask> byName = new LinkedHashMap<>();
+        tasks.orderedStream().forEach(task -> {
+            if (byName.putIfAbsent(task.getName(), task) != null) {
+                throw new IllegalStateException("Duplicate initialization task name: " + task.getName());
+            }
+        });
+        if (byName.isEmpty()) {
+            completion.complete(null);
+            return completion;
+        }
+
+        int threads = settings.getThreads() > 0 ? settings.getThreads()
+            : Math.min(byName.size(), Runtime.getRuntime().availableProcessors());
+        ExecutorService executor = Executors.newFixedThreadPool(threads, daemonThreads("core-auth-init"));
+        taskExecutor = executor;
+
+        long startedAt = System.nanoTime();
+        Map<String, CompletableFuture<Void>> scheduled = new HashMap<>();
+        for (InitializationTask task : byName.values()) {
+            schedule(task, byName, scheduled, new LinkedHashSet<>(), executor);
+        }
+        CompletableFuture.allOf(scheduled.values().toArray(new CompletableFuture[0])).whenComplete((result, error) -> {
+            executor.shutdown();
+            if (error != null) {
+                completion.completeExceptionally(unwrap(error));
+            } else {
+                logger.info("Initialization completed in {} ms ({} task(s))",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt), byName.size());
+                completion.complete(null);
+            }
+        });
+        return completion;
+    }
+
+    private CompletableFuture<Void> schedule(InitializationTask task, Map<String, InitializationTask> byName,
+                                             Map<String, CompletableFuture<Void>> scheduled, Set<String> path,
+                                             ExecutorService executor) {
+        CompletableFuture<Void> existing = scheduled.get(task.getName());
+        if (existing != null) {
+            return existing;
+        }
+        if (!path.add(task.getName())) {
+            throw new IllegalStateException("Initialization tasks depend on each other in a cycle: " + path);
+        }
+        List<String> dependsOn = task.getDependsOn();
+        CompletableFuture<?>[] dependencies = new CompletableFuture[dependsOn.size()];
+        for (int i = 0; i < dependencies.length; i++) {
+            InitializationTask dependency = byName.get(dependsOn.get(i));
+            if (dependency == null) {
+                throw new IllegalStateException("Initialization task '" + task.getName() +
+                    "' depends on unknown task '" + dependsOn.get(i) + "'");
+            }
+            dependencies[i] = schedule(dependency, byName, scheduled, path, executor);
+        }
+        path.remove(task.getName());
+
+        CompletableFuture<Void> future = CompletableFuture.allOf(dependencies).thenRunAsync(() -> run(task), executor);
+        scheduled.put(task.getName(), future);
+        return future;
+    }
+
+    private void run(InitializationTask task) {
+        Instant startedAt = Instant.now();
+        long started = System.nanoTime();
+        try {
+            task.run();
+        } catch (Exception e) {
+            timings.add(new TaskTiming(task.getName(), startedAt, elapsedMillis(started), true));
+            throw e instanceof RuntimeException runtimeException ? runtimeException : new CompletionException(e);
+        }
+        long elapsed = elapsedMillis(started);
+        timings.add(new TaskTiming(task.getName(), startedAt, elapsed, false));
+        logger.info("Initialization task '{}' finished in {} ms", task.getName(), elapsed);
+    }
+
+    private static long elapsedMillis(long startedNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
+    }
+
+    private void finished(Throwable error) {
+        if (error != null) {
+            logger.error("Initialization failed, the application will not report ready", unwrap(error));
+            AvailabilityChangeEvent.publish(eventPublisher, this, LivenessState.BROKEN);
+            return;
+        }
+        synchronized (readinessLock) {
+            // Without a hold, Boot's own ACCEPTING_TRAFFIC still stands or is yet to come
+            if (readinessHeld) {
+                AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+            }
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Start and duration of one task run
+     */
+    public static final class TaskTiming {
+        private final String name;
+        private final Instant startedAt;
+        private final long durationMillis;
+        private final boolean failed;
+
+        private TaskTiming(String name, Instant startedAt, long durationMillis, boolean failed) {
+            this.name = name;
+            this.startedAt = startedAt;
+            this.durationMillis = durationMillis;
+            this.failed = failed;
+        }
+
+        public String getName() { return name; }
+        public Instant getStartedAt() { return startedAt; }
+        public long getDurationMillis() { return durationMillis; }
+        public boolean isFailed() { return failed; }
+    }
+}
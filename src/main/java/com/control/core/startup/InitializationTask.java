@@ -0,0 +1,27 @@
+package com.control.core.startup;
+
+import java.util.List;
+
+/**
+ * Work that must finish before the application is ready for traffic, such as seeding the database.
+ *
+ * Every bean of this type is run by {@link InitializationOrchestrator}. Tasks run in parallel
+ * unless one names another in {@link #getDependsOn()}, in which case it starts after that one
+ * finished.
+ */
+public interface InitializationTask {
+
+    /**
+     * Unique name, used in logs and by other tasks to depend on this one
+     */
+    String getName();
+
+    /**
+     * Names of the tasks that must complete before this one starts
+     */
+    default List<String> getDependsOn() {
+        return List.of();
+    }
+
+    void run() throws Exception;
+}
@@ -0,0 +1,28 @@
+package com.control.core.startup;
+
+import org.springframework.boot.SpringApplicationRunListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Lets {@link InitializationOrchestrator} hold readiness once Spring Boot has reported the application ready.
+ *
+ * Registered through {@code META-INF/spring.factories}: run listeners are called in order, and Boot's
+ * {@code EventPublishingRunListener} (order 0) publishes ACCEPTING_TRAFFIC from its own {@code ready}.
+ * Running after it, this sees that event delivered to every listener and recorded, so the
+ * REFUSING_TRAFFIC published here cannot be overwritten by it.
+ */
+public class ReadinessHoldRunListener implements SpringApplicationRunListener, Ordered {
+
+    @Override
+    public void ready(ConfigurableApplicationContext context, Duration timeTaken) {
+        context.getBeanProvider(InitializationOrchestrator.class).ifAvailable(InitializationOrchestrator::holdReadiness);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
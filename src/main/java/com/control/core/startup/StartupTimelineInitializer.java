@@ -0,0 +1,32 @@
+package com.control.core.startup;
+
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.metrics.ApplicationStartup;
+
+/**
+ * Records the context startup (bean creation, repository bootstrap, ...) in a
+ * {@link BufferingApplicationStartup} so {@link StartupTimelineReport} can report it.
+ *
+ * Registered through {@code META-INF/spring.factories} because the recorder must be in place
+ * before the context refreshes. An application that already set its own
+ * {@link ApplicationStartup} keeps it. Off unless {@code core.auth.startup.timeline-enabled=true}.
+ */
+public class StartupTimelineInitializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+    static final String ENABLED_PROPERTY = "core.auth.startup.timeline-enabled";
+    static final String CAPACITY_PROPERTY = "core.auth.startup.timeline-capacity";
+
+    @Override
+    public void initialize(ConfigurableApplicationContext context) {
+        if (context.getApplicationStartup() != ApplicationStartup.DEFAULT) {
+            return;
+        }
+        if (!context.getEnvironment().getProperty(ENABLED_PROPERTY, Boolean.class, false)) {
+            return;
+        }
+        int capacity = context.getEnvironment().getProperty(CAPACITY_PROPERTY, Integer.class, 10000);
+        context.setApplicationStartup(new BufferingApplicationStartup(capacity));
+    }
+}
@@ -0,0 +1,191 @@
+package com.control.core.startup;
+
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline.TimelineEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Startup steps recorded by {@link StartupTimelineInitializer}, plus the initialization tasks that ran after startup.
+ *
+ * Each step carries its total duration and its self time (total minus the steps nested in it),
+ * so a bean whose dependencies are slow does not look slow itself. Reading the timeline does not
+ * drain it, so the actuator {@code startup} endpoint keeps working.
+ */
+public class StartupTimelineReport {
+
+    public static final String CATEGORY_BEANS = "Bean initialization";
+    public static final String CATEGORY_REPOSITORIES = "Repository bootstrap";
+    public static final String CATEGORY_INITIALIZATION = "Initialization tasks";
+    public static final String CATEGORY_CONTEXT = "Context";
+    public static final String CATEGORY_OTHER = "Other";
+
+    private static final String STARTER_PACKAGE = "com.control.core.";
+
+    // Tags naming what a step worked on, most specific first
+    private static final String[] LABEL_TAGS = { "beanName", "repository", "repositoryInterface", "postProcessor", "phase" };
+
+    private final ConfigurableApplicationContext context;
+    private final InitializationOrchestrator orchestrator;
+
+    public StartupTimelineReport(ConfigurableApplicationContext context, InitializationOrchestrator orchestrator) {
+        this.context = context;
+        this.orchestrator = orchestrator;
+    }
+
+    /**
+     * False when the application runs with its own (non-buffering) ApplicationStartup or recording is disabled
+     */
+    public boolean isRecording() {
+        return context.getApplicationStartup() instanceof BufferingApplicationStartup;
+    }
+
+    public List<Step> getSteps() {
+        ApplicationStartup startup = context.getApplicationStartup();
+        if (!(startup instanceof BufferingApplicationStartup buffering)) {
+            return List.of();
+        }
+        StartupTimeline timeline = buffering.getBufferedTimeline();
+        Instant origin = timeline.getStartTime();
+        List<TimelineEvent> events = timeline.getEvents();
+
+        Map<Long, Long> nestedNanos = new HashMap<>();
+        for (TimelineEvent event : events) {
+            Long parentId = event.getStartupStep().getParentId();
+            if (parentId != null) {
+                nestedNanos.merge(parentId, event.getDuration().toNanos(), Long::sum);
+            }
+        }
+
+        List<Step> steps = new ArrayList<>(events.size() + 4);
+        for (TimelineEvent event : events) {
+            StartupStep step = event.getStartupStep();
+            Map<String, String> tags = new HashMap<>();
+            step.getTags().forEach(tag -> tags.put(tag.getKey(), tag.getValue()));
+            long total = event.getDuration().toNanos();
+            long self = Math.max(0, total - nestedNanos.getOrDefault(step.getId(), 0L));
+            String label = label(step.getName(), tags);
+            steps.add(new Step(step.getId(), step.getParentId(), step.getName(), label, category(step.getName()),
+                millis(Duration.between(origin, event.getStartTime()).toNanos()), millis(total), millis(self),
+                isStarter(tags, label)));
+        }
+
+        for (InitializationOrchestrator.TaskTiming timing : orchestrator.getTaskTimings()) {
+            long duration = timing.getDurationMillis();
+            steps.add(new Step(-1, null, "core.auth.init.task", timing.getName() + (timing.isFailed() ? " (failed)" : ""),
+                CATEGORY_INITIALIZATION, millis(Duration.between(origin, timing.getStartedAt()).toNanos()),
+                duration, duration, true));
+        }
+        return steps;
+    }
+
+    /**
+     * Total self time per category, so the categories add up to the recorded startup time
+     */
+    public Map<String, Long> getSelfTimeByCategory(List<Step> steps) {
+        Map<String, Long> totals = new HashMap<>();
+        for (Step step : steps) {
+            totals.merge(step.getCategory(), step.getSelfMillis(), Long::sum);
+        }
+        return totals;
+    }
+
+    private boolean isStarter(Map<String, String> tags, String label) {
+        if (label.startsWith(STARTER_PACKAGE)) {
+            return true;
+        }
+        String beanName = tags.get("beanName");
+        if (beanName == null || beanName.isEmpty() || !context.getBeanFactory().containsBean(beanName)) {
+            return false;
+        }
+        // Spring only tags the bean type when the lookup asked for one, so resolve it here instead
+        Class<?> type = context.getBeanFactory().getType(beanName, false);
+        if (type != null && (type.getName().startsWith(STARTER_PACKAGE)
+                || Arrays.stream(type.getInterfaces()).anyMatch(i -> i.getName().startsWith(STARTER_PACKAGE)))) {
+            return true;
+        }
+        // @Bean methods declared by the starter's configuration classes
+        if (context.getBeanFactory().containsBeanDefinition(beanName)) {
+            String factoryBean = context.getBeanFactory().getBeanDefinition(beanName).getFactoryBeanName();
+            Class<?> factoryType = factoryBean != null ? context.getBeanFactory().getType(factoryBean, false) : null;
+            return factoryType != null && factoryType.getName().startsWith(STARTER_PACKAGE);
+        }
+        return false;
+    }
+
+    private static String category(String name) {
+        if (name.startsWith("spring.data.repository")) {
+            return CATEGORY_REPOSITORIES;
+        }
+        if (name.startsWith("spring.beans.")) {
+            return CATEGORY_BEANS;
+        }
+        if (name.startsWith("spring.context.") || name.startsWith("spring.boot.")) {
+            return CATEGORY_CONTEXT;
+        }
+        return CATEGORY_OTHER;
+    }
+
+    private static String label(String name, Map<String, String> tags) {
+        for (String key : LABEL_TAGS) {
+            String value = tags.get(key);
+            if (value != null && !value.isEmpty()) {
+                return value;
+            }
+        }
+        return tags.values().stream().filter(value -> !value.isEmpty()).findFirst().orElse(name);
+    }
+
+    private static long millis(long nanos) {
+        return nanos / 1_000_000;
+    }
+
+    /**
+     * One recorded startup step; times are in milliseconds, the start relative to the beginning of the timeline
+     */
+    public static final class Step {
+        private final long id;
+        private final Long parentId;
+        private final String name;
+        private final String label;
+        private final String category;
+        private final long startMillis;
+        private final long durationMillis;
+        private final long selfMillis;
+        private final boolean starter;
+
+        private Step(long id, Long parentId, String name, String label, String category,
+                     long startMillis, long durationMillis, long selfMillis, boolean starter) {
+            this.id = id;
+            this.parentId = parentId;
+            this.name = name;
+            this.label = label;
+            this.category = category;
+            this.startMillis = startMillis;
+            this.durationMillis = durationMillis;
+            this.selfMillis = selfMillis;
+            this.starter = starter;
+        }
+
+        public long getId() { return id; }
+        public Long getParentId() { return parentId; }
+        public String getName() { return name; }
+        public String getLabel() { return label; }
+        public String getCategory() { return category; }
+        public long getStartMillis() { return startMillis; }
+        public long getDurationMillis() { return durationMillis; }
+        public long getSelfMillis() { return selfMillis; }
+        /** True when the step belongs to this starter (its bean type or name is in com.control.core) */
+        public boolean isStarter() { return starter; }
+    }
+}
@@ -0,0 +1,74 @@
+package com.control.core.actuator;
+
+import com.control.core.autoconfigure.CoreAuthProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.actuate.health.DefaultHealthContributorRegistry;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthContributor;
+import org.springframework.boot.actuate.health.HealthContributorRegistry;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.SimpleStatusAggregator;
+import org.springframework.boot.actuate.health.StatusAggregator;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The status snapshot is derived from the cached report without loading one cache entry inside another
+ */
+class HealthAggregatorTest {
+
+    private final AtomicInteger checks = new AtomicInteger();
+    private volatile Health health = Health.up().build();
+    private HealthAggregator aggregator;
+
+    @AfterEach
+    void stop() {
+        aggregator.stop();
+    }
+
+    @Test
+    void shouldReuseTheReportForTheStatusSnapshot() {
+        aggregator = aggregator(Duration.ofMinutes(1));
+
+        HealthAggregator.HealthReport report = aggregator.getReport();
+        SnapshotCache.Snapshot status = aggregator.getStatusSnapshot();
+
+        assertThat(checks).hasValue(1);
+        assertThat(status.getValue()).isEqualTo(report.toStatusMap());
+        assertThat(aggregator.getStatusSnapshot().getETag()).isEqualTo(status.getETag());
+    }
+
+    @Test
+    void shouldMoveTheStatusVersionOnlyWhenAStatusChanges() {
+        aggregator = aggregator(Duration.ZERO);
+
+        long version = aggregator.getStatusSnapshot().getVersion();
+        assertThat(aggregator.getStatusSnapshot().getVersion()).isEqualTo(version);
+
+        health = Health.down().build();
+        assertThat(aggregator.getStatusSnapshot().getVersion()).isGreaterThan(version);
+        assertThat(checks).hasValue(3);
+    }
+
+    private HealthAggregator aggregator(Duration ttl) {
+        CoreAuthProperties properties = new CoreAuthProperties();
+        properties.getActuator().setHealthCacheTtl(ttl);
+        HealthIndicator indicator = () -> {
+            checks.incrementAndGet();
+            return health;
+        };
+        Map<String, HealthContributor> contributors = Map.of("db", indicator);
+
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("registry", new DefaultHealthContributorRegistry(contributors));
+        beans.addBean("statusAggregator", new SimpleStatusAggregator());
+        return new HealthAggregator(beans.getBeanProvider(HealthContributorRegistry.class),
+            beans.getBeanProvider(StatusAggregator.class), properties);
+    }
+}
@@ -0,0 +1,89 @@
+package com.control.core.actuator;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Single-flight loading outside the map: one load per stale key, other keys never wait on it
+ */
+class SnapshotCacheTest {
+
+    @Test
+    void shouldLoadAStaleKeyOnceForConcurrentCallers() throws Exception {
+        SnapshotCache cache = new SnapshotCache(Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Future<Object> first = executor.submit(() -> cache.get("health", () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return "UP";
+            }));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+            List<Future<Object>> waiters = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                waiters.add(executor.submit(() -> cache.get("health", () -> {
+                    loads.incrementAndGet();
+                    return "DOWN";
+                })));
+            }
+            // A different key is served while the slow load holds no lock shared with it
+            assertThat(cache.get("status", () -> "other")).isEqualTo("other");
+
+            release.countDown();
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("UP");
+            for (Future<Object> waiter : waiters) {
+                assertThat(waiter.get(5, TimeUnit.SECONDS)).isEqualTo("UP");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void shouldAllowALoaderToReadAnotherKey() {
+        SnapshotCache cache = new SnapshotCache(Duration.ofMinutes(1));
+
+        Object status = cache.get("status", () -> "status of " + cache.get("health", () -> "UP"));
+
+        assertThat(status).isEqualTo("status of UP");
+    }
+
+    @Test
+    void shouldKeepTheVersionWhileTheValueIsUnchangedAndRetryAfterAFailure() {
+        SnapshotCache cache = new SnapshotCache(Duration.ZERO);
+        long version = cache.getSnapshot("health", () -> "UP").getVersion();
+
+        assertThat(cache.getSnapshot("health", () -> "UP").getVersion()).isEqualTo(version);
+        assertThatThrownBy(() -> cache.get("health", () -> {
+            throw new IllegalStateException("probe failed");
+        })).hasMessage("probe failed");
+        assertThat(cache.getSnapshot("health", () -> "DOWN").getVersion()).isGreaterThan(version);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
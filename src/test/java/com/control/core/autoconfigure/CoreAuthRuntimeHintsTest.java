@@ -0,0 +1,52 @@
+package com.control.core.autoconfigure;
+
+import com.control.core.logging.InMemoryLogAppender;
+import com.control.core.model.User;
+import com.control.core.service.AuthorizationService;
+import com.control.core.service.SeedManifest;
+import com.control.core.startup.StartupTimelineReport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.boot.actuate.management.ThreadDumpEndpoint;
+import org.springframework.security.core.Authentication;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CoreAuthRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @BeforeEach
+    void registerHints() {
+        new CoreAuthRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void shouldRegisterReflectionForEntitiesAndViewObjects() throws Exception {
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(User.class.getMethod("getUsername"))).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(StartupTimelineReport.Step.class.getMethod("getSelfMillis")))
+            .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(SeedManifest.RoleSeed.class.getMethod("setPermissions", List.class)))
+            .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(
+            AuthorizationService.class.getMethod("hasPermission", Authentication.class, String.class))).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onConstructor(InMemoryLogAppender.class.getConstructor()))
+            .accepts(hints);
+    }
+
+    @Test
+    void shouldRegisterActuatorDescriptorsWhenActuatorIsPresent() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(ThreadDumpEndpoint.ThreadDumpDescriptor.class)).accepts(hints);
+    }
+
+    @Test
+    void shouldRegisterTemplatesAndManifestResources() {
+        assertThat(RuntimeHintsPredicates.resource().forResource("templates/login.html")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("templates/startup-timeline.html")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("core-auth-seed.json")).accepts(hints);
+    }
+}
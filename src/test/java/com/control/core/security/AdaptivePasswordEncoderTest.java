@@ -0,0 +1,95 @@
+package com.control.core.security;
+
+import com.control.core.autoconfigure.CoreAuthProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Saturation of the hashing pool and the upgrade of hashes written by earlier versions
+ */
+class AdaptivePasswordEncoderTest {
+
+    private AdaptivePasswordEncoder encoder;
+
+    @AfterEach
+    void close() {
+        encoder.close();
+    }
+
+    @Test
+    void shouldRefuseLoginsButHashNewPasswordsInlineWhenSaturated() throws Exception {
+        encoder = encoder(5, 1, 1);
+        String hash = encoder.encode("password");
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            // One hash on the only thread, one waiting in the queue
+            callers.submit(() -> encoder.hash(() -> {
+                running.countDown();
+                return release.await(5, TimeUnit.SECONDS);
+            }));
+            assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+            callers.submit(() -> encoder.hash(() -> release.await(5, TimeUnit.SECONDS)));
+            while (encoder.getQueueDepth() < 1) {
+                Thread.onSpinWait();
+            }
+
+            assertThatThrownBy(() -> encoder.matches("password", hash))
+                .isInstanceOf(AuthenticationServiceException.class)
+                .hasMessageContaining("at capacity");
+            String inline = encoder.encode("other-password");
+            assertThat(inline).startsWith("{bcrypt}");
+
+            release.countDown();
+            assertThat(encoder.matches("other-password", inline)).isTrue();
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldUpgradeLegacyBcryptHashes() {
+        encoder = encoder(5, 1, 10);
+        String weaker = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("password");
+        String unprefixed = new BCryptPasswordEncoder(5).encode("password");
+
+        assertThat(encoder.matches("password", weaker)).isTrue();
+        assertThat(encoder.upgradeEncoding(weaker)).isTrue();
+        assertThat(encoder.matches("password", unprefixed)).isTrue();
+        assertThat(encoder.upgradeEncoding(unprefixed)).isTrue();
+
+        String current = encoder.encode("password");
+        assertThat(encoder.upgradeEncoding(current)).isFalse();
+    }
+
+    @Test
+    void shouldUpgradePbkdf2Hashes() {
+        encoder = encoder(5, 1, 10);
+        String pbkdf2 = "{pbkdf2@SpringSecurity_v5_8}" + Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8().encode("password");
+
+        assertThat(encoder.matches("password", pbkdf2)).isTrue();
+        assertThat(encoder.matches("wrong", pbkdf2)).isFalse();
+        assertThat(encoder.upgradeEncoding(pbkdf2)).isTrue();
+    }
+
+    private static AdaptivePasswordEncoder encoder(int strength, int threads, int queueCapacity) {
+        CoreAuthProperties.PasswordHashing settings = new CoreAuthProperties().getPasswordHashing();
+        settings.setStrength(strength);
+        settings.setThreads(threads);
+        settings.setQueueCapacity(queueCapacity);
+        return new AdaptivePasswordEncoder(settings);
+    }
+}
@@ -0,0 +1,96 @@
+package com.control.core.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The stateless /api/** mode: bearer access tokens authorize without a session, refresh tokens rotate
+ * and reusing one revokes its family
+ */
+@SpringBootTest(properties = {
+    "core.auth.password-hashing.strength=4",
+    "core.auth.api-token.enabled=true",
+    "core.auth.api-token.secret=test-secret-that-is-at-least-32-characters-long"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ApiTokenAuthenticationTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void accessTokenAuthorizesApiCallsWithoutASession() throws Exception {
+        JsonNode tokens = login("admin", "admin123");
+        assertThat(tokens.get("tokenType").asText()).isEqualTo("Bearer");
+        assertThat(tokens.get("accessToken").asText().length()).isLessThan(200);
+
+        MvcResult result = mockMvc.perform(get("/api/users")
+                .header("Authorization", "Bearer " + tokens.get("accessToken").asText()))
+            .andExpect(status().isOk())
+            .andReturn();
+        assertThat(result.getRequest().getSession(false)).isNull();
+
+        mockMvc.perform(get("/api/users")).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void rejectsTamperedTokensAndBadPasswords() throws Exception {
+        String accessToken = login("admin", "admin123").get("accessToken").asText();
+        // Flip one character of the signed claims
+        char flipped = accessToken.charAt(5) == 'A' ? 'B' : 'A';
+        String tampered = accessToken.substring(0, 5) + flipped + accessToken.substring(6);
+
+        mockMvc.perform(get("/api/users").header("Authorization", "Bearer " + tampered))
+            .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/auth/token").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"admin\",\"password\":\"wrong\"}"))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void refreshRotatesAndReuseRevokesTheFamily() throws Exception {
+        String firstRefresh = login("admin", "admin123").get("refreshToken").asText();
+
+        JsonNode rotated = refresh(firstRefresh, 200);
+        String secondRefresh = rotated.get("refreshToken").asText();
+        assertThat(secondRefresh).isNotEqualTo(firstRefresh);
+        mockMvc.perform(get("/api/users").header("Authorization", "Bearer " + rotated.get("accessToken").asText()))
+            .andExpect(status().isOk());
+
+        // Replaying the first token revokes every token of that login, including the one just issued
+        refresh(firstRefresh, 401);
+        refresh(secondRefresh, 401);
+    }
+
+    private JsonNode login(String username, String password) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/auth/token").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}"))
+            .andExpect(status().isOk())
+            .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    private JsonNode refresh(String refreshToken, int expectedStatus) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/auth/refresh").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"refreshToken\":\"" + refreshToken + "\"}"))
+            .andExpect(status().is(expectedStatus))
+            .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+}
@@ -0,0 +1,87 @@
+package com.control.core.security;
+
+import com.control.core.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+
+/**
+ * Form logins through the throttling filter: lockout after repeated failures, reset on success,
+ * and no shared lockout for clients behind one address unless the per-address limit is configured
+ */
+@SpringBootTest(properties = {
+    "core.auth.password-hashing.strength=4",
+    "core.auth.login-throttle.max-failures-per-username=3"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LoginThrottlingFilterTest {
+
+    private static final String FAILED = "/login?error=true";
+    private static final String LOCKED = "/login?locked=true";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void shouldLockOutAUsernameAfterRepeatedFailures() throws Exception {
+        String username = createUser();
+        for (int i = 0; i < 3; i++) {
+            login(username, "wrong").andExpect(redirectedUrl(FAILED));
+        }
+
+        // Rejected before the password is checked, even when it is right
+        login(username, "password").andExpect(redirectedUrl(LOCKED));
+    }
+
+    @Test
+    void shouldForgetFailuresAfterASuccessfulLogin() throws Exception {
+        String username = createUser();
+        login(username, "wrong").andExpect(redirectedUrl(FAILED));
+        login(username, "wrong").andExpect(redirectedUrl(FAILED));
+        login(username, "password").andExpect(succeeded());
+
+        login(username, "wrong").andExpect(redirectedUrl(FAILED));
+        login(username, "wrong").andExpect(redirectedUrl(FAILED));
+        // Two more failures would have made four in a row without the reset
+        login(username, "password").andExpect(succeeded());
+    }
+
+    @Test
+    void shouldNotLockOutOtherUsersSharingAnAddressByDefault() throws Exception {
+        // Every MockMvc request comes from 127.0.0.1, like every client behind a reverse proxy
+        for (int i = 0; i < 60; i++) {
+            login("nobody_" + i, "wrong").andExpect(redirectedUrl(FAILED));
+        }
+
+        String username = createUser();
+        login(username, "password").andExpect(succeeded());
+    }
+
+    private static ResultMatcher succeeded() {
+        return result -> assertThat(result.getResponse().getRedirectedUrl()).isNotIn(FAILED, LOCKED);
+    }
+
+    private String createUser() {
+        String username = "throttle_" + System.nanoTime();
+        userService.createUser(username, "password", username + "@example.com", "USER");
+        return username;
+    }
+
+    private ResultActions login(String username, String password) throws Exception {
+        return mockMvc.perform(post("/login").with(csrf()).param("username", username).param("password", password));
+    }
+}
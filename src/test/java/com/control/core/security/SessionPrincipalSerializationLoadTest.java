@@ -0,0 +1,103 @@
+package com.control.core.security;
+
+import com.control.core.model.User;
+import com.control.core.repository.UserRepository;
+import com.control.core.service.CustomUserDetailsService;
+import com.control.core.service.UserService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+/**
+ * Serialized size and serialization time of the security context a session stores, with the entity
+ * versus the slim principal as {@code Authentication} principal.
+ *
+ * Timings depend on the machine, so they are reported, not asserted; the size comparison is
+ * asserted by {@link SessionPrincipalSizeTest}. Tagged {@code load}: not part of {@code gradle test},
+ * run it with {@code gradle loadTest}.
+ */
+@Tag("load")
+@SpringBootTest(properties = "core.auth.password-hashing.strength=4")
+@ActiveProfiles("test")
+class SessionPrincipalSerializationLoadTest {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 100_000;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void reportSerializedSizeAndTime() throws Exception {
+        // Without role or permission entities, the only case in which the entity serializes at all
+        String username = "session_load_" + System.nanoTime();
+        userService.createUser(username, "password", username + "@example.com", "USER");
+        User entity = userRepository.findByUsername(username).orElseThrow();
+
+        report("entity", context(entity));
+        report("principal", context(erased(userDetailsService.loadUserByUsername(username))));
+        report("principal (admin, with roles)", context(erased(userDetailsService.loadUserByUsername("admin"))));
+    }
+
+    private static void report(String label, SecurityContextImpl context) throws Exception {
+        byte[] bytes = serialize(context);
+        for (int i = 0; i < WARMUP; i++) {
+            deserialize(serialize(context));
+        }
+
+        long started = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            serialize(context);
+        }
+        long serializeNanos = (System.nanoTime() - started) / ITERATIONS;
+
+        started = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            deserialize(bytes);
+        }
+        long deserializeNanos = (System.nanoTime() - started) / ITERATIONS;
+
+        System.out.printf("Session security context, %s: %d bytes, serialize %.2f us, deserialize %.2f us%n",
+            label, bytes.length, serializeNanos / 1000.0, deserializeNanos / 1000.0);
+    }
+
+    private static UserDetails erased(UserDetails principal) {
+        ((CoreUserPrincipal) principal).eraseCredentials();
+        return principal;
+    }
+
+    private static SecurityContextImpl context(UserDetails principal) {
+        return new SecurityContextImpl(UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities()));
+    }
+
+    private static byte[] serialize(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.control.core.security;
+
+import com.control.core.model.Role;
+import com.control.core.model.User;
+import com.control.core.repository.UserRepository;
+import com.control.core.service.CustomUserDetailsService;
+import com.control.core.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Size of the security context a session stores, with the entity versus the slim principal as
+ * {@code Authentication} principal, and how a stale principal is detected. Serialization time is
+ * measured by {@link SessionPrincipalSerializationLoadTest}.
+ */
+@SpringBootTest(properties = "core.auth.password-hashing.strength=4")
+@ActiveProfiles("test")
+class SessionPrincipalSizeTest {
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void slimPrincipalShouldSerializeSmallerThanTheEntity() throws Exception {
+        // Without role or permission entities, the only case in which the entity serializes at all
+        String username = "session_" + System.nanoTime();
+        userService.createUser(username, "password", username + "@example.com", "USER");
+        User entity = userRepository.findByUsername(username).orElseThrow();
+        CoreUserPrincipal principal = authenticated(username);
+
+        byte[] entityBytes = serialize(context(entity));
+        byte[] principalBytes = serialize(context(principal));
+        // The token, its authorities and the context cost the same either way; compare what the principal adds
+        int baseline = serialize(new SecurityContextImpl(
+            UsernamePasswordAuthenticationToken.authenticated(username, null, principal.getAuthorities()))).length;
+
+        assertThat(principalBytes.length).isLessThan(entityBytes.length);
+        assertThat(principalBytes.length - baseline).isLessThan((entityBytes.length - baseline) / 2);
+        assertThat(new String(principalBytes, StandardCharsets.ISO_8859_1))
+            .doesNotContain(entity.getPassword())
+            .doesNotContain(entity.getEmail());
+    }
+
+    @Test
+    void principalWithRolesShouldSurviveASessionRoundTrip() throws Exception {
+        User admin = userRepository.findByUsername("admin").orElseThrow();
+        assertThat(admin.getRoles()).isNotEmpty();
+        // Role and Permission are not serializable, so such a user could not be kept in a persisted session
+        assertThatThrownBy(() -> serialize(context(admin))).isInstanceOf(NotSerializableException.class);
+
+        CoreUserPrincipal principal = authenticated("admin");
+        SecurityContextImpl restored = deserialize(serialize(context(principal)));
+        CoreUserPrincipal restoredPrincipal = (CoreUserPrincipal) restored.getAuthentication().getPrincipal();
+
+        assertThat(restoredPrincipal.getId()).isEqualTo(admin.getId());
+        assertThat(restoredPrincipal.getPassword()).isNull();
+        assertThat(AuthorityUtils.authorityListToSet(restoredPrincipal.getAuthorities()))
+            .isEqualTo(AuthorityUtils.authorityListToSet(admin.getAuthorities()))
+            .isEqualTo(AuthorityUtils.authorityListToSet(restored.getAuthentication().getAuthorities()));
+        assertThat(restoredPrincipal.getRoleIds()).containsExactly(admin.getRoles().stream().mapToLong(Role::getId).sorted().toArray());
+        assertThat(restoredPrincipal.isCurrent(admin)).isTrue();
+        assertThat(userService.findCurrentUser(restored.getAuthentication())).map(User::getId).contains(admin.getId());
+
+        admin.setEnabled(false);
+        assertThat(restoredPrincipal.isCurrent(admin)).isFalse();
+    }
+
+    @Test
+    void findCurrentUserShouldRefreshAStalePrincipal() {
+        String username = "stale_" + System.nanoTime();
+        userService.createUser(username, "password", username + "@example.com", "USER");
+        CoreUserPrincipal principal = authenticated(username);
+        SecurityContextImpl context = context(principal);
+        SecurityContextHolder.setContext(context);
+        try {
+            User user = userRepository.findByUsername(username).orElseThrow();
+            user.setEnabled(false);
+            userRepository.save(user);
+
+            Authentication stale = context.getAuthentication();
+            assertThat(userService.findCurrentUser(stale)).map(User::getId).contains(principal.getId());
+
+            CoreUserPrincipal refreshed = (CoreUserPrincipal) context.getAuthentication().getPrincipal();
+            assertThat(refreshed).isNotSameAs(principal);
+            assertThat(refreshed.isEnabled()).isFalse();
+            assertThat(refreshed.getPassword()).isNull();
+            assertThat(refreshed.getVersion()).isNotEqualTo(principal.getVersion());
+
+            // A current principal is left alone
+            Authentication current = context.getAuthentication();
+            userService.findCurrentUser(current);
+            assertThat(context.getAuthentication()).isSameAs(current);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    /**
+     * The principal as a successful login leaves it: loaded, then credentials erased
+     */
+    private CoreUserPrincipal authenticated(String username) {
+        UserDetails details = userDetailsService.loadUserByUsername(username);
+        UsernamePasswordAuthenticationToken token =
+            UsernamePasswordAuthenticationToken.authenticated(details, null, details.getAuthorities());
+        token.eraseCredentials();
+        return (CoreUserPrincipal) details;
+    }
+
+    private static SecurityContextImpl context(UserDetails principal) {
+        return new SecurityContextImpl(UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities()));
+    }
+
+    private static byte[] serialize(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static SecurityContextImpl deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return (SecurityContextImpl) in.readObject();
+        }
+    }
+}
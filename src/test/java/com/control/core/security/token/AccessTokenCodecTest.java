@@ -0,0 +1,63 @@
+package com.control.core.security.token;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Token size depends on how many ids a user has, not on how large they are
+ */
+class AccessTokenCodecTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final AccessTokenCodec codec = new AccessTokenCodec(SECRET, Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    void shouldRoundTripLargeIdsInAShortToken() {
+        long[] roleIds = { 9_000_000_000L, 3L, 70_000L, 3L };
+        long[] permissionIds = LongStream.rangeClosed(1, 20).map(i -> 5_000_000L + i * 1000).toArray();
+
+        String value = codec.encode(token(roleIds, permissionIds));
+        AccessToken decoded = codec.decode(value);
+
+        assertThat(value.length()).isLessThan(200);
+        assertThat(decoded.getRoleIds()).containsExactly(3L, 70_000L, 9_000_000_000L);
+        assertThat(decoded.getPermissionIds()).containsExactly(permissionIds);
+        assertThat(decoded.getUsername()).isEqualTo("editor");
+        assertThat(decoded.getRole()).isEqualTo("USER");
+    }
+
+    @Test
+    void shouldRefuseToIssueATokenTooLongToBeAccepted() {
+        long[] permissionIds = LongStream.range(0, 3000).map(i -> i * 1_000_003L).toArray();
+
+        assertThatThrownBy(() -> codec.encode(token(new long[0], permissionIds)))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("editor")
+            .hasMessageContaining("too many roles and permissions");
+    }
+
+    @Test
+    void shouldRejectTamperedTokens() {
+        String value = codec.encode(token(new long[] { 1L }, new long[] { 2L }));
+        String other = new AccessTokenCodec(SECRET.replace('0', 'x'), Clock.fixed(NOW, ZoneOffset.UTC))
+            .encode(token(new long[] { 1L }, new long[] { 2L, 3L }));
+
+        assertThatThrownBy(() -> codec.decode(other)).isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> codec.decode(value.substring(0, value.indexOf('.')) + other.substring(other.indexOf('.'))))
+            .isInstanceOf(BadCredentialsException.class);
+    }
+
+    private static AccessToken token(long[] roleIds, long[] permissionIds) {
+        return new AccessToken(42L, "editor", "USER", roleIds, permissionIds, NOW, NOW.plusSeconds(900));
+    }
+}
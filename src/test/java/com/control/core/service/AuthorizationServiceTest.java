@@ -0,0 +1,26 @@
+package com.control.core.service;
+
+import com.control.core.security.token.AccessTokenPrincipal;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Ownership of token-authenticated requests is decided on the principal alone
+ */
+class AuthorizationServiceTest {
+
+    // No user service: any lookup would fail and deny access
+    private final AuthorizationService authorizationService = new AuthorizationService(null);
+
+    @Test
+    void shouldReadTheOwnerFromAnAccessTokenPrincipal() {
+        var authentication = UsernamePasswordAuthenticationToken.authenticated(
+            new AccessTokenPrincipal(42L, "editor"), null, AuthorityUtils.createAuthorityList("ROLE_USER"));
+
+        assertThat(authorizationService.isOwnerOrAdmin(authentication, 42L)).isTrue();
+        assertThat(authorizationService.isOwnerOrAdmin(authentication, 43L)).isFalse();
+    }
+}
@@ -0,0 +1,215 @@
+package com.control.core.service;
+
+import com.control.core.autoconfigure.CoreAuthProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailMessage;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMailMessage;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bulk sending against a minimal in-process SMTP server
+ */
+class BulkMailSenderTest {
+
+    private FakeSmtpServer smtpServer;
+    private JavaMailSenderImpl mailSender;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        smtpServer = new FakeSmtpServer();
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtpServer.getPort());
+    }
+
+    @AfterEach
+    void stopServer() throws IOException {
+        smtpServer.close();
+    }
+
+    @Test
+    void sendsEachChunkOverOneConnection() {
+        BulkMailSender sender = new BulkMailSender(mailSender, properties(50, 0));
+
+        BulkMailSender.Result result = sender.send(messages(120));
+
+        assertThat(result.getSentCount()).isEqualTo(120);
+        assertThat(result.hasFailures()).isFalse();
+        assertThat(smtpServer.getMessageCount()).isEqualTo(120);
+        assertThat(smtpServer.getConnectionCount()).isEqualTo(3);
+    }
+
+    @Test
+    void reportsRejectedRecipientsWithoutFailingTheBatch() {
+        BulkMailSender sender = new BulkMailSender(mailSender, properties(50, 0));
+        List<SimpleMailMessage> messages = messages(5);
+        messages.get(2).setTo("rejected@example.com");
+
+        BulkMailSender.Result result = sender.send(messages);
+
+        assertThat(result.getSentCount()).isEqualTo(4);
+        assertThat(result.getFailures()).containsOnlyKeys(messages.get(2));
+        assertThat(smtpServer.getMessageCount()).isEqualTo(4);
+    }
+
+    @Test
+    void pacesChunksToTheProviderRateLimit() {
+        CoreAuthProperties properties = properties(10, 0);
+        properties.getEmail().getProviderRateLimits().put("localhost", 20.0);
+        BulkMailSender sender = new BulkMailSender(mailSender, properties);
+
+        long started = System.nanoTime();
+        BulkMailSender.Result result = sender.send(messages(30));
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        // Three chunks of ten at 20 messages per second: the third may only start after one second
+        assertThat(result.getSentCount()).isEqualTo(30);
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(950);
+    }
+
+    @Test
+    void sendsMultipartMessagesInTheirOwnChunks() throws Exception {
+        BulkMailSender sender = new BulkMailSender(mailSender, properties(50, 0));
+        MimeMailMessage multipart = sender.createMultipartMessage("noreply@example.com", "html@example.com",
+            "Welcome", "Hello", "<p>Hello</p>");
+        MimeMailMessage rejected = sender.createMultipartMessage("noreply@example.com", "rejected@example.com",
+            "Welcome", "Hello", "<p>Hello</p>");
+        List<MailMessage> messages = new ArrayList<>(messages(3));
+        messages.add(1, multipart);
+        messages.add(rejected);
+
+        BulkMailSender.Result result = sender.send(messages);
+
+        assertThat(result.getSentCount()).isEqualTo(4);
+        assertThat(result.getFailures()).containsOnlyKeys(rejected);
+        // One connection for the plain messages, one for the multipart ones
+        assertThat(smtpServer.getConnectionCount()).isEqualTo(2);
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        multipart.getMimeMessage().writeTo(raw);
+        assertThat(raw.toString(StandardCharsets.UTF_8)).contains("multipart/alternative", "text/plain", "text/html");
+    }
+
+    private CoreAuthProperties properties(int messagesPerConnection, double rateLimit) {
+        CoreAuthProperties properties = new CoreAuthProperties();
+        properties.getEmail().setMessagesPerConnection(messagesPerConnection);
+        properties.getEmail().setRateLimit(rateLimit);
+        return properties;
+    }
+
+    private List<SimpleMailMessage> messages(int count) {
+        List<SimpleMailMessage> messages = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom("noreply@example.com");
+            message.setTo("user" + i + "@example.com");
+            message.setSubject("Notification " + i);
+            message.setText("Hello " + i);
+            messages.add(message);
+        }
+        return messages;
+    }
+
+    /**
+     * Just enough SMTP to accept mail: counts connections and delivered messages,
+     * and rejects any recipient starting with "rejected"
+     */
+    private static class FakeSmtpServer implements AutoCloseable {
+
+        private final ServerSocket serverSocket;
+        private final AtomicInteger connections = new AtomicInteger();
+        private final AtomicInteger messages = new AtomicInteger();
+
+        FakeSmtpServer() throws IOException {
+            serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            Thread acceptor = new Thread(this::acceptLoop, "fake-smtp");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        int getPort() {
+            return serverSocket.getLocalPort();
+        }
+
+        int getConnectionCount() {
+            return connections.get();
+        }
+
+        int getMessageCount() {
+            return messages.get();
+        }
+
+        private void acceptLoop() {
+            while (!serverSocket.isClosed()) {
+                try {
+                    Socket socket = serverSocket.accept();
+                    connections.incrementAndGet();
+                    Thread session = new Thread(() -> handle(socket), "fake-smtp-session");
+                    session.setDaemon(true);
+                    session.start();
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+
+        private void handle(Socket socket) {
+            try (socket;
+                 BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                 OutputStream out = socket.getOutputStream()) {
+                reply(out, "220 localhost fake SMTP ready");
+                String line;
+                while ((line = in.readLine()) != null) {
+                    String command = line.toUpperCase();
+                    if (command.startsWith("EHLO")) {
+                        reply(out, "250-localhost\r\n250 OK");
+                    } else if (command.startsWith("RCPT") && command.contains("<REJECTED")) {
+                        reply(out, "550 No such user");
+                    } else if (command.startsWith("DATA")) {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            // discard message content
+                        }
+                        messages.incrementAndGet();
+                        reply(out, "250 OK queued");
+                    } else if (command.startsWith("QUIT")) {
+                        reply(out, "221 Bye");
+                        return;
+                    } else {
+                        // HELO, MAIL, RCPT, RSET, NOOP
+                        reply(out, "250 OK");
+                    }
+                }
+            } catch (IOException e) {
+                // client went away
+            }
+        }
+
+        private void reply(OutputStream out, String response) throws IOException {
+            out.write((response + "\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverSocket.close();
+        }
+    }
+}
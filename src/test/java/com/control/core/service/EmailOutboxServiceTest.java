@@ -0,0 +1,142 @@
+package com.control.core.service;
+
+import com.control.core.autoconfigure.CoreAuthProperties;
+import com.control.core.concurrent.CoreAuthThreads;
+import com.control.core.model.EmailOutboxMessage;
+import com.control.core.repository.EmailOutboxRepository;
+import com.control.core.repository.JobLeaseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Outbox dispatch against a recording mail sender, with the lease outcome scripted per call
+ */
+@SpringBootTest(properties = {
+    "core.auth.password-hashing.strength=4",
+    // Keep the application's own dispatcher away from the rows these tests insert
+    "core.auth.email.outbox.poll-interval=1h"
+})
+@ActiveProfiles("test")
+class EmailOutboxServiceTest {
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private JobLeaseRepository leaseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final RecordingMailSender mailSender = new RecordingMailSender();
+
+    @BeforeEach
+    void clearOutbox() {
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    void shouldStopWhenTheLeaseIsLostBetweenBatches() {
+        for (int i = 0; i < 5; i++) {
+            outboxRepository.save(new EmailOutboxMessage("noreply@example.com", "user" + i + "@example.com", "Hello", "Body"));
+        }
+        // Held for the first batch, then taken over by another node while this one was sending
+        EmailOutboxService outbox = outbox(new ScriptedLeaseService(true, false));
+
+        outbox.dispatch();
+
+        assertThat(mailSender.recipients).containsExactly("user0@example.com", "user1@example.com");
+        List<EmailOutboxMessage> remaining = outboxRepository.findAll();
+        assertThat(remaining).hasSize(3);
+        assertThat(remaining).allSatisfy(message -> {
+            assertThat(message.getClaimedBy()).isNull();
+            assertThat(message.getNextAttemptAt()).isBeforeOrEqualTo(LocalDateTime.now());
+        });
+    }
+
+    @Test
+    void shouldNotSendMessagesClaimedByAnotherNode() {
+        EmailOutboxMessage taken = outboxRepository.save(
+            new EmailOutboxMessage("noreply@example.com", "taken@example.com", "Hello", "Body"));
+        outboxRepository.save(new EmailOutboxMessage("noreply@example.com", "free@example.com", "Hello", "Body"));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+            outboxRepository.claim(taken.getId(), "other-node", LocalDateTime.now().plusMinutes(5), LocalDateTime.now()));
+
+        outbox(new ScriptedLeaseService(true, true)).dispatch();
+
+        assertThat(mailSender.recipients).containsExactly("free@example.com");
+        assertThat(outboxRepository.findAll()).singleElement()
+            .satisfies(message -> assertThat(message.getClaimedBy()).isEqualTo("other-node"));
+    }
+
+    @Test
+    void shouldSizeBatchesToFinishWithinHalfALease() {
+        CoreAuthProperties properties = properties();
+        properties.getEmail().setRateLimit(0.1);
+        properties.getEmail().getOutbox().setBatchSize(50);
+        EmailOutboxService outbox = new EmailOutboxService(outboxRepository, new BulkMailSender(mailSender, properties),
+            new ScriptedLeaseService(), transactionManager, properties, new CoreAuthThreads(false));
+
+        // 0.1 messages per second over half of a five minute lease
+        assertThat(outbox.batchSize()).isEqualTo(15);
+    }
+
+    private EmailOutboxService outbox(JobLeaseService leaseService) {
+        CoreAuthProperties properties = properties();
+        return new EmailOutboxService(outboxRepository, new BulkMailSender(mailSender, properties), leaseService,
+            transactionManager, properties, new CoreAuthThreads(false));
+    }
+
+    private static CoreAuthProperties properties() {
+        CoreAuthProperties properties = new CoreAuthProperties();
+        properties.getEmail().setRateLimit(0);
+        properties.getEmail().getOutbox().setBatchSize(2);
+        return properties;
+    }
+
+    private final class ScriptedLeaseService extends JobLeaseService {
+        private final Deque<Boolean> answers;
+
+        ScriptedLeaseService(Boolean... answers) {
+            super(leaseRepository, transactionManager);
+            this.answers = new ArrayDeque<>(Arrays.asList(answers));
+        }
+
+        @Override
+        public boolean tryAcquire(String name, Duration duration) {
+            return Boolean.TRUE.equals(answers.poll());
+        }
+
+        @Override
+        public void release(String name) {
+        }
+    }
+
+    private static final class RecordingMailSender extends JavaMailSenderImpl {
+        private final List<String> recipients = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(SimpleMailMessage... messages) {
+            for (SimpleMailMessage message : messages) {
+                recipients.add(message.getTo()[0]);
+            }
+        }
+    }
+}
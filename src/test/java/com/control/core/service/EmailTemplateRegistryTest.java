@@ -0,0 +1,128 @@
+package com.control.core.service;
+
+import com.control.core.autoconfigure.CoreAuthProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Template file names, locale fallback and rendering of the compiled templates
+ */
+class EmailTemplateRegistryTest {
+
+    private static final Map<String, Object> VARIABLES = Map.of(
+        "username", "alice", "resetUrl", "https://example.com/reset?token=t", "expiresIn", "1 hour", "baseUrl", "https://example.com");
+
+    @TempDir
+    Path primary;
+
+    @TempDir
+    Path shared;
+
+    private EmailTemplateRegistry registry;
+
+    @BeforeEach
+    void load() throws IOException {
+        write(primary, "password-reset.txt", "Subject: Reset your ${username} password\nHello ${username},\nReset here: ${resetUrl} (${expiresIn})");
+        write(primary, "password-reset_fr.txt", "Subject: Réinitialisez votre mot de passe\nBonjour ${username}");
+        write(primary, "password-reset_pt_BR.txt", "Olá ${username}");
+        write(primary, "password-change-confirmation.txt", "Subject: Password changed\nHello ${username}, see ${baseUrl}");
+        write(primary, "welcome_zz.txt", "Unknown language suffix");
+        write(primary, "digest_en_ZZ.txt", "Unknown country suffix");
+        write(primary, "password-reset.html", "Subject: Ignored, the text file has one\n<p>Hello ${username}</p>");
+        write(primary, "password-reset_fr.html", "<p>Bonjour ${username}</p>");
+        write(primary, "account-created.html", "Subject: Welcome ${username}\n<a href=\"${baseUrl}\">${username}</a>");
+        write(shared, "password-reset.txt", "Shadowed");
+        write(shared, "account-locked.txt", "Locked ${username}");
+
+        CoreAuthProperties properties = new CoreAuthProperties();
+        properties.getEmail().setTemplateLocations(List.of(primary.toUri().toString(), shared.toUri().toString()));
+        registry = new EmailTemplateRegistry(new DefaultResourceLoader(), properties);
+        registry.load();
+    }
+
+    @Test
+    void shouldRenderEachTemplate() {
+        EmailTemplateRegistry.Rendered reset = registry.render("password-reset", Locale.ROOT, VARIABLES);
+        assertThat(reset.getSubject()).isEqualTo("Reset your alice password");
+        assertThat(reset.getText()).isEqualTo("Hello alice,\nReset here: https://example.com/reset?token=t (1 hour)");
+
+        EmailTemplateRegistry.Rendered confirmation = registry.render("password-change-confirmation", Locale.ROOT, VARIABLES);
+        assertThat(confirmation.getSubject()).isEqualTo("Password changed");
+        assertThat(confirmation.getText()).isEqualTo("Hello alice, see https://example.com");
+
+        EmailTemplateRegistry.Rendered locked = registry.render("account-locked", Locale.ROOT, VARIABLES);
+        assertThat(locked.getSubject()).isNull();
+        assertThat(locked.getText()).isEqualTo("Locked alice");
+
+        assertThat(registry.render("missing", Locale.ROOT, VARIABLES)).isNull();
+    }
+
+    @Test
+    void shouldFallBackFromCountryToLanguageToUnlocalized() {
+        assertThat(registry.render("password-reset", Locale.forLanguageTag("pt-BR"), VARIABLES).getText()).isEqualTo("Olá alice");
+        assertThat(registry.render("password-reset", Locale.forLanguageTag("fr-CA"), VARIABLES).getText()).isEqualTo("Bonjour alice");
+        assertThat(registry.render("password-reset", Locale.FRENCH, VARIABLES).getSubject()).isEqualTo("Réinitialisez votre mot de passe");
+        assertThat(registry.render("password-reset", Locale.GERMANY, VARIABLES).getSubject()).isEqualTo("Reset your alice password");
+        assertThat(registry.render("password-reset", Locale.forLanguageTag("pt-PT"), VARIABLES).getText()).startsWith("Hello alice");
+        assertThat(registry.render("password-reset", null, VARIABLES).getText()).startsWith("Hello alice");
+    }
+
+    @Test
+    void shouldTreatSuffixesThatAreNotIsoCodesAsPartOfTheName() {
+        assertThat(EmailTemplateRegistry.templateKey("password-reset_pt_BR")).isEqualTo("password-reset/pt_BR");
+        assertThat(EmailTemplateRegistry.templateKey("password-reset_fr")).isEqualTo("password-reset/fr");
+        assertThat(EmailTemplateRegistry.templateKey("welcome_zz")).isEqualTo("welcome_zz");
+        assertThat(EmailTemplateRegistry.templateKey("digest_en_ZZ")).isEqualTo("digest_en_ZZ");
+        assertThat(EmailTemplateRegistry.templateKey("digest_EN")).isEqualTo("digest_EN");
+        assertThat(registry.render("welcome_zz", Locale.ROOT, VARIABLES).getText()).isEqualTo("Unknown language suffix");
+        assertThat(registry.render("welcome", new Locale("zz"), VARIABLES)).isNull();
+        assertThat(registry.render("digest_en_ZZ", Locale.ROOT, VARIABLES).getText()).isEqualTo("Unknown country suffix");
+        assertThat(registry.render("digest_en", new Locale("en", "ZZ"), VARIABLES)).isNull();
+        assertThat(registry.render("digest", Locale.ENGLISH, VARIABLES)).isNull();
+    }
+
+    @Test
+    void shouldRenderTheHtmlVariantWithEscapedValues() {
+        EmailTemplateRegistry.Rendered reset = registry.render("password-reset", Locale.ROOT,
+            Map.of("username", "<alice & bob>"));
+        assertThat(reset.getSubject()).isEqualTo("Reset your <alice & bob> password");
+        assertThat(reset.getText()).startsWith("Hello <alice & bob>,");
+        assertThat(reset.getHtml()).isEqualTo("<p>Hello &lt;alice &amp; bob&gt;</p>");
+
+        EmailTemplateRegistry.Rendered created = registry.render("account-created", Locale.ROOT, VARIABLES);
+        assertThat(created.getSubject()).isEqualTo("Welcome alice");
+        assertThat(created.getText()).isNull();
+        assertThat(created.getHtml()).isEqualTo("<a href=\"https://example.com\">alice</a>");
+    }
+
+    @Test
+    void shouldTakeTheHtmlVariantFromTheSameLocaleAsTheText() {
+        assertThat(registry.render("password-reset", Locale.forLanguageTag("fr-CA"), VARIABLES).getHtml()).isEqualTo("<p>Bonjour alice</p>");
+        assertThat(registry.render("password-reset", Locale.GERMANY, VARIABLES).getHtml()).isEqualTo("<p>Hello alice</p>");
+        // pt_BR only has a text file: no English HTML next to Portuguese text
+        EmailTemplateRegistry.Rendered portuguese = registry.render("password-reset", Locale.forLanguageTag("pt-BR"), VARIABLES);
+        assertThat(portuguese.getText()).isEqualTo("Olá alice");
+        assertThat(portuguese.getHtml()).isNull();
+    }
+
+    @Test
+    void shouldPreferEarlierLocations() {
+        assertThat(registry.render("password-reset", Locale.ROOT, VARIABLES).getText()).doesNotContain("Shadowed");
+    }
+
+    private static void write(Path directory, String name, String content) throws IOException {
+        Files.writeString(directory.resolve(name), content, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,87 @@
+package com.control.core.service;
+
+import com.control.core.model.EmailOutboxMessage;
+import com.control.core.model.JobLease;
+import com.control.core.repository.EmailOutboxRepository;
+import com.control.core.repository.JobLeaseRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The reset link is minted when the queued email is rendered, never stored in the outbox
+ */
+@SpringBootTest(properties = "core.auth.password-hashing.strength=4")
+@ActiveProfiles("test")
+class PasswordResetEmailTest {
+
+    private static final Pattern TOKEN = Pattern.compile("token=([A-Za-z0-9_-]+)");
+
+    @Autowired
+    private PasswordResetService passwordResetService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private JobLeaseRepository leaseRepository;
+
+    @BeforeEach
+    void holdOutboxLease() {
+        // Another "node" holds the lease, so the application's dispatcher leaves the queued rows alone
+        leaseRepository.save(new JobLease(EmailOutboxService.LEASE_NAME, "test", LocalDateTime.now().plusHours(1)));
+        outboxRepository.deleteAll();
+    }
+
+    @AfterEach
+    void releaseOutboxLease() {
+        leaseRepository.deleteById(EmailOutboxService.LEASE_NAME);
+    }
+
+    @Test
+    void shouldQueueAReferenceAndMintTheLinkAtSendTime() {
+        String username = "reset_" + System.nanoTime();
+        userService.createUser(username, "password", username + "@example.com", "USER");
+
+        passwordResetService.createPasswordResetToken(username + "@example.com");
+
+        EmailOutboxMessage queued = outboxRepository.findAll().get(0);
+        assertThat(queued.getBody()).isNull();
+        assertThat(queued.getTemplateName()).isEqualTo(EmailService.PASSWORD_RESET_TEMPLATE);
+        assertThat(queued.getReferenceId()).isNotNull();
+
+        // No HTML template ships with the starter, so the email is plain text
+        String first = token((SimpleMailMessage) passwordResetService.renderPasswordResetEmail(queued));
+        assertThat(passwordResetService.isTokenValid(first)).isTrue();
+
+        // A retry re-keys the row: only the link in the email actually sent last works
+        SimpleMailMessage retried = (SimpleMailMessage) passwordResetService.renderPasswordResetEmail(queued);
+        assertThat(retried.getTo()).containsExactly(username + "@example.com");
+        assertThat(retried.getText()).contains(username);
+        String second = token(retried);
+        assertThat(passwordResetService.isTokenValid(first)).isFalse();
+        assertThat(passwordResetService.isTokenValid(second)).isTrue();
+
+        passwordResetService.resetPassword(second, "new-password");
+        assertThat(passwordResetService.renderPasswordResetEmail(queued)).isNull();
+    }
+
+    private static String token(SimpleMailMessage message) {
+        Matcher matcher = TOKEN.matcher(message.getText());
+        assertThat(matcher.find()).isTrue();
+        return matcher.group(1);
+    }
+}
@@ -0,0 +1,148 @@
+package com.control.core.service;
+
+import com.control.core.autoconfigure.CoreAuthProperties;
+import com.control.core.model.PasswordResetToken;
+import com.control.core.model.User;
+import com.control.core.repository.JobLeaseRepository;
+import com.control.core.repository.PasswordResetTokenRepository;
+import com.control.core.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Expired tokens are deleted chunk by chunk, live ones are kept, and only the lease holder purges
+ */
+@SpringBootTest(properties = {
+    "core.auth.password-hashing.strength=4",
+    // Keep the application's own purge job away from the rows these tests insert
+    "core.auth.password-reset.purge-enabled=false"
+})
+@ActiveProfiles("test")
+class PasswordResetTokenPurgeJobTest {
+
+    private static final int BATCH_SIZE = 3;
+
+    @Autowired
+    private PasswordResetTokenRepository tokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JobLeaseRepository leaseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicInteger chunks = new AtomicInteger();
+    private CoreAuthProperties properties;
+    private User user;
+
+    @BeforeEach
+    void createUser() {
+        String username = "purge_" + System.nanoTime();
+        user = userRepository.save(new User(username, "password", username + "@example.com", "USER"));
+        properties = new CoreAuthProperties();
+        properties.getPasswordReset().setPurgeBatchSize(BATCH_SIZE);
+    }
+
+    @Test
+    void shouldDeleteOnlyExpiredTokensAcrossSeveralChunks() {
+        List<Long> expired = saveTokens(BATCH_SIZE * 2 + 1, Duration.ofHours(-1));
+        List<Long> live = saveTokens(BATCH_SIZE + 1, Duration.ofHours(1));
+
+        int purged = purgeJob(new JobLeaseService(leaseRepository, transactionManager)).purgeExpired();
+
+        assertThat(purged).isGreaterThanOrEqualTo(expired.size());
+        assertThat(chunks.get()).isGreaterThanOrEqualTo(3);
+        assertThat(tokenRepository.findAllById(expired)).isEmpty();
+        assertThat(tokenRepository.findAllById(live)).extracting(PasswordResetToken::getId)
+            .containsExactlyInAnyOrderElementsOf(live);
+    }
+
+    @Test
+    void shouldNotLetASecondNodeTakeALeaseThatIsStillHeld() {
+        JobLeaseService first = new JobLeaseService(leaseRepository, transactionManager);
+        JobLeaseService second = new JobLeaseService(leaseRepository, transactionManager);
+        String name = "lease_" + System.nanoTime();
+
+        assertThat(first.tryAcquire(name, Duration.ofMinutes(5))).isTrue();
+        assertThat(second.tryAcquire(name, Duration.ofMinutes(5))).isFalse();
+        // The holder can extend its own lease
+        assertThat(first.tryAcquire(name, Duration.ofMinutes(5))).isTrue();
+        assertThat(leaseRepository.findById(name)).get()
+            .satisfies(lease -> assertThat(lease.getOwner()).isEqualTo(first.getOwner()));
+
+        // Releasing from the wrong node changes nothing
+        second.release(name);
+        assertThat(second.tryAcquire(name, Duration.ofMinutes(5))).isFalse();
+
+        first.release(name);
+        assertThat(second.tryAcquire(name, Duration.ofMinutes(5))).isTrue();
+        assertThat(first.tryAcquire(name, Duration.ofMinutes(5))).isFalse();
+    }
+
+    @Test
+    void shouldSkipThePurgeWhileAnotherNodeHoldsTheLease() {
+        JobLeaseService holder = new JobLeaseService(leaseRepository, transactionManager);
+        List<Long> expired = saveTokens(2, Duration.ofHours(-1));
+
+        assertThat(holder.tryAcquire(PasswordResetTokenPurgeJob.LEASE_NAME, Duration.ofMinutes(5))).isTrue();
+        try {
+            PasswordResetTokenPurgeJob job = purgeJob(new JobLeaseService(leaseRepository, transactionManager));
+            assertThat(job.purgeIfLeader()).isZero();
+            assertThat(chunks).hasValue(0);
+            assertThat(tokenRepository.findAllById(expired)).hasSize(2);
+        } finally {
+            holder.release(PasswordResetTokenPurgeJob.LEASE_NAME);
+        }
+    }
+
+    private List<Long> saveTokens(int count, Duration validity) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            PasswordResetToken token = new PasswordResetToken("purge_" + System.nanoTime() + "_" + i, user, validity);
+            ids.add(tokenRepository.save(token).getId());
+        }
+        return ids;
+    }
+
+    private PasswordResetTokenPurgeJob purgeJob(JobLeaseService leaseService) {
+        ObjectProvider<MeterRegistry> meterRegistry = new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class);
+        return new PasswordResetTokenPurgeJob(countingRepository(), leaseService, transactionManager, meterRegistry, properties);
+    }
+
+    /**
+     * Counts the chunks the job reads, delegating everything to the real repository
+     */
+    private PasswordResetTokenRepository countingRepository() {
+        return (PasswordResetTokenRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[] { PasswordResetTokenRepository.class }, (proxy, method, args) -> {
+                if (method.getName().equals("findExpiredIds")) {
+                    chunks.incrementAndGet();
+                }
+                try {
+                    return method.invoke(tokenRepository, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+    }
+}
@@ -0,0 +1,117 @@
+package com.control.core.service;
+
+import com.control.core.model.Permission;
+import com.control.core.model.Role;
+import com.control.core.model.User;
+import com.control.core.repository.PermissionRepository;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityNotFoundException;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Replacing a large permission set costs a constant number of queries plus one write per changed row
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "core.auth.password-hashing.strength=4"
+})
+@ActiveProfiles("test")
+class PermissionUpdateStatementCountTest {
+
+    private static final int PERMISSIONS = 300;
+    private static final int CHANGED = 10;
+
+    @Autowired
+    private RoleService roleService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PermissionRepository permissionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private List<Long> permissionIds;
+
+    @BeforeEach
+    void createPermissions() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        String prefix = "stmt_" + System.nanoTime() + "_";
+        List<Permission> permissions = new ArrayList<>();
+        for (int i = 0; i < PERMISSIONS + CHANGED; i++) {
+            permissions.add(new Permission(prefix + i, "Statement count test", "TEST"));
+        }
+        permissionIds = permissionRepository.saveAll(permissions).stream().map(Permission::getId).toList();
+    }
+
+    @Test
+    void rolePermissionUpdateOnlyWritesChangedRows() {
+        Role role = roleService.create("STMT_" + System.nanoTime(), "Statement count test");
+        roleService.updateRolePermissions(role.getId(), new HashSet<>(permissionIds.subList(0, PERMISSIONS)));
+        assertThat(countRows("role_permissions", "role_id", role.getId())).isEqualTo(PERMISSIONS);
+
+        // Swap the first ten permissions for ten new ones
+        Set<Long> updated = new HashSet<>(permissionIds.subList(CHANGED, PERMISSIONS + CHANGED));
+        statistics.clear();
+        roleService.updateRolePermissions(role.getId(), updated);
+
+        assertThat(statistics.getPrepareStatementCount())
+            .as("statements for %d changed permissions", CHANGED * 2)
+            .isLessThanOrEqualTo(2L * CHANGED + 5);
+        assertThat(countRows("role_permissions", "role_id", role.getId())).isEqualTo(PERMISSIONS);
+
+        statistics.clear();
+        roleService.updateRolePermissions(role.getId(), updated);
+        assertThat(statistics.getPrepareStatementCount()).as("statements when nothing changed").isLessThanOrEqualTo(5L);
+    }
+
+    @Test
+    void directPermissionUpdateOnlyWritesChangedRows() {
+        long suffix = System.nanoTime();
+        User user = userService.createUser("stmt" + suffix, "secret1", "stmt" + suffix + "@example.com", "USER");
+        userService.updateDirectPermissions(user.getId(), permissionIds.subList(0, PERMISSIONS));
+        assertThat(countRows("user_permissions", "user_id", user.getId())).isEqualTo(PERMISSIONS);
+
+        statistics.clear();
+        userService.updateDirectPermissions(user.getId(), permissionIds.subList(CHANGED, PERMISSIONS + CHANGED));
+
+        assertThat(statistics.getPrepareStatementCount())
+            .as("statements for %d changed permissions", CHANGED * 2)
+            .isLessThanOrEqualTo(2L * CHANGED + 8);
+        assertThat(countRows("user_permissions", "user_id", user.getId())).isEqualTo(PERMISSIONS);
+    }
+
+    @Test
+    void unknownPermissionIdIsRejected() {
+        Role role = roleService.create("STMT_" + System.nanoTime(), "Statement count test");
+        assertThatThrownBy(() -> roleService.updateRolePermissions(role.getId(), Set.of(permissionIds.get(0), -1L)))
+            .isInstanceOf(EntityNotFoundException.class)
+            .hasMessageContaining("-1");
+    }
+
+    private int countRows(String table, String column, Long id) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE " + column + " = ?", Integer.class, id);
+        return count != null ? count : 0;
+    }
+}
@@ -0,0 +1,186 @@
+package com.control.core.service;
+
+import com.control.core.autoconfigure.CoreAuthProperties;
+import com.control.core.repository.SeedStateRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * An unchanged manifest is skipped on its stored hash alone, and a changed one only adds what is missing
+ */
+@SpringBootTest(properties = "core.auth.password-hashing.strength=4")
+@ActiveProfiles("test")
+class SeedServiceTest {
+
+    @TempDir
+    Path directory;
+
+    @Autowired
+    private ResourceLoader resourceLoader;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private SeedStateRepository seedStateRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final AtomicInteger statements = new AtomicInteger();
+    private String prefix;
+    private String role;
+    private Path manifest;
+    private SeedService seedService;
+
+    @BeforeEach
+    void createSeedService() {
+        prefix = "seed_" + System.nanoTime();
+        role = prefix.toUpperCase();
+        manifest = directory.resolve("seed.json");
+
+        CoreAuthProperties properties = new CoreAuthProperties();
+        properties.getAdmin().setEnabled(false);
+        properties.getSeed().setManifests(List.of(manifest.toUri().toString()));
+        seedService = new SeedService(resourceLoader, objectMapper, new CountingJdbcTemplate(dataSource),
+            transactionManager, passwordEncoder, seedStateRepository, properties);
+    }
+
+    @Test
+    void shouldSkipAnUnchangedManifestAndOnlyAddWhatIsMissingWhenItChanges() throws IOException {
+        writeManifest(List.of("a", "b"), List.of("a", "b"), List.of("one"));
+
+        assertThat(seedService.seed()).isTrue();
+        assertThat(permissions()).containsExactly(prefix + "_a", prefix + "_b");
+        assertThat(grants()).containsExactly(prefix + "_a", prefix + "_b");
+        assertThat(users()).containsExactly(prefix + "_one");
+        assertThat(count("SELECT COUNT(*) FROM user_roles ur JOIN roles r ON r.id = ur.role_id WHERE r.name = ?", role)).isEqualTo(1);
+
+        // Same manifest: decided on the stored hash, without a single query against the seeded tables
+        statements.set(0);
+        assertThat(seedService.seed()).isFalse();
+        assertThat(statements).hasValue(0);
+        assertThat(permissions()).hasSize(2);
+        assertThat(users()).hasSize(1);
+
+        // An administrator edits the seeded rows
+        jdbcTemplate.update("UPDATE permissions SET description = 'Edited' WHERE name = ?", prefix + "_a");
+        jdbcTemplate.update("UPDATE users SET enabled = FALSE, email = ? WHERE username = ?", prefix + "_edited@example.com", prefix + "_one");
+        jdbcTemplate.update("UPDATE roles SET description = 'Edited' WHERE name = ?", role);
+
+        writeManifest(List.of("a", "b", "c"), List.of("a", "b", "c"), List.of("one", "two"));
+
+        assertThat(seedService.seed()).isTrue();
+        assertThat(permissions()).containsExactly(prefix + "_a", prefix + "_b", prefix + "_c");
+        assertThat(grants()).containsExactly(prefix + "_a", prefix + "_b", prefix + "_c");
+        assertThat(users()).containsExactly(prefix + "_one", prefix + "_two");
+        assertThat(jdbcTemplate.queryForObject("SELECT description FROM permissions WHERE name = ?", String.class, prefix + "_a"))
+            .isEqualTo("Edited");
+        assertThat(jdbcTemplate.queryForObject("SELECT description FROM roles WHERE name = ?", String.class, role))
+            .isEqualTo("Edited");
+        assertThat(jdbcTemplate.queryForObject("SELECT enabled FROM users WHERE username = ?", Boolean.class, prefix + "_one"))
+            .isFalse();
+        assertThat(count("SELECT COUNT(*) FROM users WHERE email = ?", prefix + "_one@example.com")).isZero();
+        assertThat(count("SELECT COUNT(*) FROM user_roles ur JOIN roles r ON r.id = ur.role_id WHERE r.name = ?", role)).isEqualTo(2);
+
+        assertThat(seedService.seed()).isFalse();
+    }
+
+    private void writeManifest(List<String> permissions, List<String> granted, List<String> users) throws IOException {
+        StringBuilder json = new StringBuilder("{\n  \"permissions\": [");
+        for (int i = 0; i < permissions.size(); i++) {
+            json.append(i > 0 ? ", " : "").append("{ \"name\": \"").append(prefix).append('_').append(permissions.get(i))
+                .append("\", \"description\": \"Seeded\", \"category\": \"TEST\" }");
+        }
+        json.append("],\n  \"roles\": [{ \"name\": \"").append(role).append("\", \"description\": \"Seeded\", \"permissions\": [");
+        for (int i = 0; i < granted.size(); i++) {
+            json.append(i > 0 ? ", " : "").append('"').append(prefix).append('_').append(granted.get(i)).append('"');
+        }
+        json.append("] }],\n  \"users\": [");
+        for (int i = 0; i < users.size(); i++) {
+            String username = prefix + "_" + users.get(i);
+            json.append(i > 0 ? ", " : "").append("{ \"username\": \"").append(username)
+                .append("\", \"email\": \"").append(username).append("@example.com\", \"password\": \"password\", ")
+                .append("\"role\": \"USER\", \"roles\": [\"").append(role).append("\"] }");
+        }
+        json.append("]\n}\n");
+        Files.writeString(manifest, json, StandardCharsets.UTF_8);
+    }
+
+    private List<String> permissions() {
+        return jdbcTemplate.queryForList("SELECT name FROM permissions WHERE name LIKE ? ORDER BY name", String.class, prefix + "%");
+    }
+
+    private List<String> grants() {
+        return jdbcTemplate.queryForList(
+            "SELECT p.name FROM role_permissions rp JOIN roles r ON r.id = rp.role_id JOIN permissions p ON p.id = rp.permission_id " +
+            "WHERE r.name = ? ORDER BY p.name", String.class, role);
+    }
+
+    private List<String> users() {
+        return jdbcTemplate.queryForList("SELECT username FROM users WHERE username LIKE ? ORDER BY username", String.class, prefix + "%");
+    }
+
+    private int count(String sql, Object... args) {
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class, args);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Counts the statements the seed service runs against the seeded tables
+     */
+    private final class CountingJdbcTemplate extends NamedParameterJdbcTemplate {
+
+        CountingJdbcTemplate(DataSource dataSource) {
+            super(dataSource);
+        }
+
+        @Override
+        public <T> List<T> queryForList(String sql, SqlParameterSource paramSource, Class<T> elementType) {
+            statements.incrementAndGet();
+            return super.queryForList(sql, paramSource, elementType);
+        }
+
+        @Override
+        public int update(String sql, SqlParameterSource paramSource) {
+            statements.incrementAndGet();
+            return super.update(sql, paramSource);
+        }
+
+        @Override
+        public int[] batchUpdate(String sql, SqlParameterSource[] batchArgs) {
+            statements.incrementAndGet();
+            return super.batchUpdate(sql, batchArgs);
+        }
+    }
+}
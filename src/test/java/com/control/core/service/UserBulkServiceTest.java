@@ -0,0 +1,98 @@
+package com.control.core.service;
+
+import com.control.core.dto.BulkUserActionRequest;
+import com.control.core.model.User;
+import com.control.core.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bulk actions resolve the selection to ids before changing users or their roles, and leave the acting
+ * user's own account and roles alone
+ */
+@SpringBootTest(properties = "core.auth.password-hashing.strength=4")
+@ActiveProfiles("test")
+@WithMockUser(username = "admin", roles = "ADMIN")
+class UserBulkServiceTest {
+
+    @Autowired
+    private UserBulkService userBulkService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldDeactivateAndActivateTheSelectionButNotTheActingUser() {
+        User first = createUser();
+        User second = createUser();
+        Long adminId = userRepository.findByUsername("admin").orElseThrow().getId();
+
+        int deactivated = userBulkService.apply(request(BulkUserActionRequest.Action.DEACTIVATE,
+            List.of(first.getId(), second.getId(), adminId)), "admin");
+
+        assertThat(deactivated).isEqualTo(2);
+        assertThat(enabled(first.getId())).isFalse();
+        assertThat(enabled(second.getId())).isFalse();
+        assertThat(enabled(adminId)).isTrue();
+
+        // Only rows whose flag actually changes are counted
+        BulkUserActionRequest activate = request(BulkUserActionRequest.Action.ACTIVATE, List.of(first.getId(), adminId));
+        assertThat(userBulkService.apply(activate, "admin")).isEqualTo(1);
+        assertThat(enabled(first.getId())).isTrue();
+        assertThat(enabled(second.getId())).isFalse();
+    }
+
+    @Test
+    void shouldRemoveARoleSelectedByThatRoleWithoutTouchingTheActingUser() {
+        User editor = createUser();
+        BulkUserActionRequest assign = request(BulkUserActionRequest.Action.ASSIGN_ROLE, List.of(editor.getId()));
+        assign.setRoleName("ADMIN");
+        assertThat(userBulkService.apply(assign, "admin")).isEqualTo(1);
+
+        // Filtered through user_roles while deleting from it, which MySQL only allows with the ids read first
+        BulkUserActionRequest remove = new BulkUserActionRequest();
+        remove.setAction(BulkUserActionRequest.Action.REMOVE_ROLE);
+        remove.setRole("ADMIN");
+        remove.setRoleName("ADMIN");
+
+        assertThat(userBulkService.apply(remove, "admin")).isEqualTo(1);
+        assertThat(roleNames("admin")).contains("ADMIN");
+        assertThat(roleNames(editor.getUsername())).doesNotContain("ADMIN");
+    }
+
+    private User createUser() {
+        String username = "bulk_" + System.nanoTime();
+        userService.createUser(username, "password", username + "@example.com", "USER");
+        return userRepository.findByUsername(username).orElseThrow();
+    }
+
+    private boolean enabled(Long id) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT enabled FROM users WHERE id = ?", Boolean.class, id));
+    }
+
+    private List<String> roleNames(String username) {
+        return jdbcTemplate.queryForList("SELECT r.name FROM user_roles ur JOIN roles r ON r.id = ur.role_id " +
+            "JOIN users u ON u.id = ur.user_id WHERE u.username = ?", String.class, username);
+    }
+
+    private static BulkUserActionRequest request(BulkUserActionRequest.Action action, List<Long> ids) {
+        BulkUserActionRequest request = new BulkUserActionRequest();
+        request.setAction(action);
+        request.setIds(ids);
+        return request;
+    }
+}
@@ -0,0 +1,124 @@
+package com.control.core.service;
+
+import com.control.core.autoconfigure.CoreAuthProperties;
+import com.control.core.concurrent.CoreAuthThreads;
+import com.control.core.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Password hashing failures reject only the rows concerned, never the rest of their chunk
+ */
+@SpringBootTest(properties = "core.auth.password-hashing.strength=4")
+@ActiveProfiles("test")
+class UserImportServiceTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private UserImportService importService;
+
+    @AfterEach
+    void stop() {
+        importService.stop();
+    }
+
+    @Test
+    void shouldImportTheRestOfAChunkWhenSomeHashesAreRefused() throws Exception {
+        importService = importService(new RefusingEncoder("refused"));
+        String prefix = "import_" + System.nanoTime();
+
+        UserImportService.ImportResult result = importService.importCsv(csv(
+            "username,email,password",
+            prefix + "_a," + prefix + "_a@example.com,password",
+            prefix + "_b," + prefix + "_b@example.com,refused",
+            prefix + "_c," + prefix + "_c@example.com,password"));
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getLine()).isEqualTo(3);
+            assertThat(error.getUsername()).isEqualTo(prefix + "_b");
+            assertThat(error.getMessage()).startsWith("Password hashing failed").contains("at capacity");
+        });
+        assertThat(userRepository.findByUsername(prefix + "_a")).isPresent();
+        assertThat(userRepository.findByUsername(prefix + "_b")).isEmpty();
+        assertThat(userRepository.findByUsername(prefix + "_c")).isPresent();
+    }
+
+    @Test
+    void shouldReportEveryRowWhenTheEncoderRefusesAll() throws Exception {
+        importService = importService(new RefusingEncoder("password"));
+        String prefix = "import_" + System.nanoTime();
+
+        UserImportService.ImportResult result = importService.importCsv(csv(
+            "username,email,password",
+            prefix + "_a," + prefix + "_a@example.com,password",
+            prefix + "_b," + prefix + "_b@example.com,password",
+            prefix + "_c," + prefix + "_c@example.com,password"));
+
+        assertThat(result.getImported()).isZero();
+        assertThat(result.getErrors()).extracting(UserImportService.RowError::getLine).containsExactly(2, 3, 4);
+    }
+
+    private UserImportService importService(PasswordEncoder encoder) {
+        CoreAuthProperties properties = new CoreAuthProperties();
+        // Rows of one chunk succeed or fail independently
+        properties.getUserImport().setBatchSize(10);
+        return new UserImportService(userRepository, encoder, jdbcTemplate, transactionManager, objectMapper,
+            properties, CoreAuthThreads.platform());
+    }
+
+    private static ByteArrayInputStream csv(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Refuses to hash one particular password, as a saturated encoder would
+     */
+    private final class RefusingEncoder implements PasswordEncoder {
+        private final String refused;
+
+        RefusingEncoder(String refused) {
+            this.refused = refused;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            if (refused.contentEquals(rawPassword)) {
+                throw new AuthenticationServiceException("Password hashing is at capacity, please try again shortly");
+            }
+            return passwordEncoder.encode(rawPassword);
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return passwordEncoder.matches(rawPassword, encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.control.core.sse;
+
+import com.control.core.concurrent.CoreAuthThreads;
+import com.control.core.logging.InMemoryLogAppender;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.management.ManagementFactory;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Many admin consoles following the live log stream while the application logs heavily.
+ *
+ * Checks that subscribers cost neither a thread each nor memory that grows with the number of
+ * events, and that logging is not slowed down by delivery. Tagged {@code load}: not part of
+ * {@code gradle test}, run it with {@code gradle loadTest}. Enables virtual threads, which are
+ * used on Java 21+; on older JVMs the same test covers the platform thread dispatcher.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "core.auth.password-hashing.strength=4",
+    "core.auth.virtual-threads-enabled=true"
+})
+@ActiveProfiles("test")
+class SseSubscriberLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger("com.control.core.load");
+
+    private static final int SUBSCRIBERS = 500;
+    private static final int EVENTS = 2_000;
+
+    // Per open stream, client and server side together (socket buffers, Tomcat's async request, queue);
+    // about 160 KB measured on Java 17
+    private static final long HEAP_BUDGET_PER_SUBSCRIBER_BYTES = 256 * 1024;
+    // Growth of retained heap across the whole log burst, with every subscriber still connected
+    private static final long HEAP_BUDGET_FOR_BURST_BYTES = 16 * 1024 * 1024;
+    // Threads besides Tomcat's request pool, which is capped by server.tomcat.threads.max and virtual when enabled
+    private static final int THREAD_BUDGET = 50;
+    private static final long LOGGING_BUDGET_MILLIS = 10_000;
+
+    private static final Pattern CSRF = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CoreAuthThreads threads;
+
+    @Test
+    void manySubscribersShareBoundedThreadsAndMemory() throws Exception {
+        // A fixed client pool, so the thread count below reflects the server side
+        ExecutorService clientThreads = Executors.newFixedThreadPool(4);
+        HttpClient client = HttpClient.newBuilder().cookieHandler(new CookieManager()).executor(clientThreads).build();
+        logIn(client);
+
+        long baselineHeap = retainedHeap();
+        int baselineThreads = threadsOutsideRequestPool();
+
+        String marker = "load-test-done-" + UUID.randomUUID();
+        CountDownLatch markerSeen = new CountDownLatch(SUBSCRIBERS);
+        List<CompletableFuture<HttpResponse<Flow.Publisher<List<ByteBuffer>>>>> streams = new ArrayList<>();
+        List<MarkerSubscriber> readers = new ArrayList<>();
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            HttpRequest request = HttpRequest.newBuilder(uri("/admin/actuator/logs/stream"))
+                .header("Accept", "text/event-stream")
+                .GET().build();
+            streams.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofPublisher()));
+        }
+        for (CompletableFuture<HttpResponse<Flow.Publisher<List<ByteBuffer>>>> stream : streams) {
+            HttpResponse<Flow.Publisher<List<ByteBuffer>>> response = stream.get(60, TimeUnit.SECONDS);
+            assertThat(response.statusCode()).isEqualTo(200);
+            MarkerSubscriber reader = new MarkerSubscriber(marker, markerSeen);
+            readers.add(reader);
+            response.body().subscribe(HttpResponse.BodySubscribers.fromLineSubscriber(reader));
+        }
+        assertThat(InMemoryLogAppender.getInstance().getStatistics().get("activeStreams")).isEqualTo(SUBSCRIBERS);
+
+        long connectedHeap = retainedHeap();
+        int connectedThreads = threadsOutsideRequestPool();
+
+        long started = System.nanoTime();
+        for (int i = 0; i < EVENTS; i++) {
+            logger.info("Load test event {} of {}", i, EVENTS);
+        }
+        logger.info(marker);
+        long loggingMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        assertThat(markerSeen.await(2, TimeUnit.MINUTES))
+            .as("subscribers still waiting for the last event: %d", markerSeen.getCount()).isTrue();
+        long afterBurstHeap = retainedHeap();
+        int afterBurstThreads = threadsOutsideRequestPool();
+
+        System.out.printf("SSE load (%s threads): %d subscribers, %d events; logging took %d ms; "
+                + "heap per subscriber %d KB; heap growth over burst %d KB; other platform threads %d -> %d -> %d%n",
+            threads.isVirtual() ? "virtual" : "platform", SUBSCRIBERS, EVENTS, loggingMillis,
+            (connectedHeap - baselineHeap) / SUBSCRIBERS / 1024, (afterBurstHeap - connectedHeap) / 1024,
+            baselineThreads, connectedThreads, afterBurstThreads);
+
+        assertThat(loggingMillis).as("logging is not held up by delivery").isLessThan(LOGGING_BUDGET_MILLIS);
+        assertThat(connectedHeap - baselineHeap).as("heap held by open streams")
+            .isLessThan(SUBSCRIBERS * HEAP_BUDGET_PER_SUBSCRIBER_BYTES);
+        assertThat(afterBurstHeap - connectedHeap).as("heap growth over the burst").isLessThan(HEAP_BUDGET_FOR_BURST_BYTES);
+        assertThat(Math.max(connectedThreads, afterBurstThreads) - baselineThreads).as("threads added")
+            .isLessThan(THREAD_BUDGET);
+
+        readers.forEach(MarkerSubscriber::close);
+        clientThreads.shutdown();
+    }
+
+    private void logIn(HttpClient client) throws Exception {
+        HttpResponse<String> page = client.send(HttpRequest.newBuilder(uri("/login")).GET().build(), HttpResponse.BodyHandlers.ofString());
+        Matcher csrf = CSRF.matcher(page.body());
+        assertThat(csrf.find()).isTrue();
+        String form = "username=admin&password=admin123&_csrf=" + URLEncoder.encode(csrf.group(1), StandardCharsets.UTF_8);
+        HttpResponse<String> login = client.send(HttpRequest.newBuilder(uri("/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(login.headers().firstValue("Location")).get().asString().doesNotContain("error");
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    /**
+     * Live platform threads (virtual threads are not listed) other than Tomcat's request workers
+     */
+    private static int threadsOutsideRequestPool() {
+        return (int) Thread.getAllStackTraces().keySet().stream()
+            .filter(thread -> !thread.getName().contains("-exec-"))
+            .count();
+    }
+
+    private static long retainedHeap() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(Duration.ofMillis(200).toMillis());
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Reads the stream as fast as it arrives and counts down once the marker event shows up
+     */
+    private static final class MarkerSubscriber implements Flow.Subscriber<String> {
+        private final String marker;
+        private final CountDownLatch markerSeen;
+        private volatile Flow.Subscription subscription;
+        private boolean seen;
+
+        private MarkerSubscriber(String marker, CountDownLatch markerSeen) {
+            this.marker = marker;
+            this.markerSeen = markerSeen;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (!seen && line.startsWith("data:") && line.contains(marker)) {
+                seen = true;
+                markerSeen.countDown();
+            }
+        }
+
+        void close() {
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.control.core.startup;
+
+import com.control.core.autoconfigure.CoreAuthProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.AvailabilityState;
+import org.springframework.boot.availability.LivenessState;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Task ordering and the readiness states published around a deferred initialization
+ */
+class InitializationOrchestratorTest {
+
+    private final List<String> ran = new CopyOnWriteArrayList<>();
+    private final List<AvailabilityState> published = new CopyOnWriteArrayList<>();
+
+    @Test
+    void shouldRunTasksAfterTheTasksTheyDependOn() {
+        InitializationOrchestrator orchestrator = orchestrator(CoreAuthProperties.Initialization.Mode.BLOCKING,
+            task("report", List.of("roles", "users")), task("users", List.of("roles")), task("roles", List.of()));
+
+        orchestrator.afterSingletonsInstantiated();
+
+        assertThat(ran).containsExactly("roles", "users", "report");
+        assertThat(orchestrator.isComplete()).isTrue();
+        assertThat(orchestrator.getTaskTimings()).extracting(InitializationOrchestrator.TaskTiming::getName)
+            .containsExactly("roles", "users", "report");
+    }
+
+    @Test
+    void shouldRefuseCyclesAndUnknownDependencies() {
+        InitializationOrchestrator cycle = orchestrator(CoreAuthProperties.Initialization.Mode.BLOCKING,
+            task("a", List.of("b")), task("b", List.of("a")));
+        InitializationOrchestrator unknown = orchestrator(CoreAuthProperties.Initialization.Mode.BLOCKING,
+            task("a", List.of("missing")));
+
+        assertThatThrownBy(cycle::afterSingletonsInstantiated).hasMessageContaining("cycle");
+        assertThatThrownBy(unknown::afterSingletonsInstantiated).hasMessageContaining("unknown task 'missing'");
+        assertThat(ran).isEmpty();
+    }
+
+    @Test
+    void shouldHoldReadinessUntilDeferredTasksFinish() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        InitializationOrchestrator orchestrator = orchestrator(CoreAuthProperties.Initialization.Mode.DEFERRED,
+            new Task("seed", List.of(), release));
+
+        orchestrator.onApplicationStarted(null);
+        orchestrator.holdReadiness();
+        assertThat(published).containsExactly(ReadinessState.REFUSING_TRAFFIC);
+
+        release.countDown();
+        await().atMost(5, TimeUnit.SECONDS).until(orchestrator::isComplete);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> published.size() == 2);
+        assertThat(published).containsExactly(ReadinessState.REFUSING_TRAFFIC, ReadinessState.ACCEPTING_TRAFFIC);
+    }
+
+    @Test
+    void shouldLeaveReadinessAloneWhenTasksFinishedFirst() {
+        InitializationOrchestrator orchestrator = orchestrator(CoreAuthProperties.Initialization.Mode.DEFERRED,
+            task("seed", List.of()));
+
+        orchestrator.onApplicationStarted(null);
+        await().atMost(5, TimeUnit.SECONDS).until(orchestrator::isComplete);
+        orchestrator.holdReadiness();
+
+        assertThat(published).isEmpty();
+    }
+
+    @Test
+    void shouldReportBrokenAndNeverReadyWhenATaskFails() {
+        InitializationOrchestrator orchestrator = orchestrator(CoreAuthProperties.Initialization.Mode.DEFERRED,
+            new Task("seed", List.of(), null) {
+                @Override
+                public void run() {
+                    throw new IllegalStateException("database unreachable");
+                }
+            });
+
+        orchestrator.onApplicationStarted(null);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> published.contains(LivenessState.BROKEN));
+        orchestrator.holdReadiness();
+
+        assertThat(published).containsExactly(LivenessState.BROKEN, ReadinessState.REFUSING_TRAFFIC);
+    }
+
+    private InitializationOrchestrator orchestrator(CoreAuthProperties.Initialization.Mode mode, InitializationTask... tasks) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        for (InitializationTask task : tasks) {
+            beans.addBean(task.getName(), task);
+        }
+        CoreAuthProperties properties = new CoreAuthProperties();
+        properties.getInitialization().setMode(mode);
+        ApplicationEventPublisher publisher = event -> {
+            if (event instanceof AvailabilityChangeEvent<?> change) {
+                published.add(change.getState());
+            }
+        };
+        return new InitializationOrchestrator(beans.getBeanProvider(InitializationTask.class), publisher, properties);
+    }
+
+    private Task task(String name, List<String> dependsOn) {
+        return new Task(name, dependsOn, null);
+    }
+
+    private class Task implements InitializationTask {
+        private final String name;
+        private final List<String> dependsOn;
+        private final CountDownLatch release;
+
+        Task(String name, List<String> dependsOn, CountDownLatch release) {
+            this.name = name;
+            this.dependsOn = dependsOn;
+            this.release = release;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public List<String> getDependsOn() {
+            return dependsOn;
+        }
+
+        @Override
+        public void run() throws Exception {
+            if (release != null) {
+                release.await(5, TimeUnit.SECONDS);
+            }
+            ran.add(name);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.control.core.startup;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Readiness through a real startup: the hold published after Spring Boot's ACCEPTING_TRAFFIC is the state probes see
+ */
+@SpringBootTest(properties = {
+    "core.auth.password-hashing.strength=4",
+    "core.auth.initialization.mode=deferred"
+})
+@ActiveProfiles("test")
+class InitializationReadinessTest {
+
+    private static final CountDownLatch RELEASE = new CountDownLatch(1);
+
+    @Autowired
+    private ApplicationAvailability availability;
+
+    @Autowired
+    private InitializationOrchestrator orchestrator;
+
+    @AfterAll
+    static void release() {
+        RELEASE.countDown();
+    }
+
+    @Test
+    void shouldRefuseTrafficUntilInitializationCompletes() {
+        assertThat(orchestrator.isComplete()).isFalse();
+        assertThat(availability.getReadinessState()).isEqualTo(ReadinessState.REFUSING_TRAFFIC);
+
+        RELEASE.countDown();
+
+        await().atMost(10, TimeUnit.SECONDS)
+            .until(() -> availability.getReadinessState() == ReadinessState.ACCEPTING_TRAFFIC);
+        assertThat(orchestrator.isComplete()).isTrue();
+    }
+
+    @TestConfiguration
+    static class SlowTaskConfiguration {
+
+        @Bean
+        InitializationTask slowTask() {
+            return new InitializationTask() {
+                @Override
+                public String getName() {
+                    return "slow";
+                }
+
+                @Override
+                public void run() throws Exception {
+                    RELEASE.await(30, TimeUnit.SECONDS);
+                }
+            };
+        }
+    }
+}
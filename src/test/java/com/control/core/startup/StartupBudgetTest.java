@@ -0,0 +1,92 @@
+package com.control.core.startup;
+
+import com.control.core.service.DataInitializationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fails when the starter's own startup steps take a larger share of the context startup than budgeted.
+ *
+ * Budgets are fractions of the whole recorded startup (the self time of every step), so they hold on
+ * fast and slow machines alike while still catching a repository or seed step that starts doing
+ * per-row work. Loosen them temporarily with {@code -Dcore.auth.startup-budget.scale=1.5}.
+ */
+@SpringBootTest(properties = {
+    "core.auth.password-hashing.strength=4",
+    "core.auth.startup.timeline-enabled=true"
+})
+@ActiveProfiles("test")
+class StartupBudgetTest {
+
+    // The first repository proxy also pays for Spring Data's one-time warm-up
+    private static final double STEP_BUDGET = 0.20;
+    private static final double STARTER_TOTAL_BUDGET = 0.50;
+    private static final double REPOSITORY_BOOTSTRAP_BUDGET = 0.35;
+    private static final double SEED_BUDGET = 0.10;
+
+    private static final double SCALE = Double.parseDouble(System.getProperty("core.auth.startup-budget.scale", "1"));
+
+    @Autowired
+    private StartupTimelineReport report;
+
+    @Test
+    void starterStartupStepsStayWithinBudget() {
+        assertThat(report.isRecording()).isTrue();
+        List<StartupTimelineReport.Step> steps = report.getSteps();
+        long startup = totalSelfMillis(steps);
+        List<StartupTimelineReport.Step> starterSteps = steps.stream().filter(StartupTimelineReport.Step::isStarter).toList();
+        assertThat(starterSteps).extracting(StartupTimelineReport.Step::getName)
+            .contains("spring.data.repository.proxy", "core.auth.init.task");
+
+        List<String> overBudget = starterSteps.stream()
+            .filter(step -> step.getSelfMillis() > budget(STEP_BUDGET, startup))
+            .map(step -> step.getLabel() + " (" + step.getName() + "): " + step.getSelfMillis() + " ms")
+            .toList();
+        assertThat(overBudget).as("starter steps over %d of %d ms", budget(STEP_BUDGET, startup), startup).isEmpty();
+
+        long starterTotal = totalSelfMillis(starterSteps);
+        assertThat(starterTotal).as("starter self time of %d ms, slowest steps: %s", startup, slowest(starterSteps))
+            .isLessThanOrEqualTo(budget(STARTER_TOTAL_BUDGET, startup));
+
+        Map<String, Long> byCategory = report.getSelfTimeByCategory(steps);
+        assertThat(byCategory.getOrDefault(StartupTimelineReport.CATEGORY_REPOSITORIES, 0L))
+            .as("repository bootstrap of %d ms", startup)
+            .isLessThanOrEqualTo(budget(REPOSITORY_BOOTSTRAP_BUDGET, startup));
+    }
+
+    @Test
+    void seedTaskStaysWithinBudget() {
+        List<StartupTimelineReport.Step> steps = report.getSteps();
+        long startup = totalSelfMillis(steps);
+        StartupTimelineReport.Step seed = steps.stream()
+            .filter(step -> step.getName().equals("core.auth.init.task"))
+            .filter(step -> step.getLabel().equals(DataInitializationService.TASK_NAME))
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("seed task was not recorded"));
+        assertThat(seed.getDurationMillis()).as("seed task of %d ms", startup).isLessThanOrEqualTo(budget(SEED_BUDGET, startup));
+    }
+
+    private static long totalSelfMillis(List<StartupTimelineReport.Step> steps) {
+        return steps.stream().mapToLong(StartupTimelineReport.Step::getSelfMillis).sum();
+    }
+
+    private static long budget(double share, long startupMillis) {
+        return Math.round(share * startupMillis * SCALE);
+    }
+
+    private static String slowest(List<StartupTimelineReport.Step> steps) {
+        return steps.stream()
+            .sorted((a, b) -> Long.compare(b.getSelfMillis(), a.getSelfMillis()))
+            .limit(5)
+            .map(step -> step.getLabel() + "=" + step.getSelfMillis() + "ms")
+            .collect(Collectors.joining(", "));
+    }
+}